@@ -1,11 +1,59 @@
 package com.scheduler;
 
+import com.scheduler.cli.BatchCommand;
+import com.scheduler.cli.ExportCommand;
+import com.scheduler.cli.GenerateCommand;
+import com.scheduler.cli.MetricsCommand;
+import com.scheduler.cli.PipeCommand;
+import com.scheduler.cli.ServeCommand;
+import com.scheduler.cli.SweepCommand;
+import com.scheduler.cli.TraceCommand;
+import com.scheduler.cli.WorkerCommand;
+import com.scheduler.diagnostics.MetricsRegistry;
+import com.scheduler.diagnostics.MetricsServer;
+import com.scheduler.diagnostics.RunMetrics;
+
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * Launcher class to work around JavaFX module issues when creating a shaded JAR.
  * This class doesn't extend Application, so it can be used as the main class in the manifest.
+ * Headless commands are dispatched before JavaFX is touched.
+ *
+ * <p>Run metrics are registered as the {@code com.scheduler:type=Metrics} MBean, and
+ * served at {@code http://localhost:<port>/metrics} when {@code -Dscheduler.metrics.port}
+ * is set.
  */
 public class Launcher {
     public static void main(String[] args) {
-        App.main(args);
+        exposeMetrics();
+        String command = args.length > 0 ? args[0] : "";
+        String[] rest = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+        switch (command) {
+            case "metrics" -> System.exit(MetricsCommand.run(rest));
+            case "generate" -> System.exit(GenerateCommand.run(rest));
+            case "trace" -> System.exit(TraceCommand.run(rest));
+            case "export" -> System.exit(ExportCommand.run(rest));
+            case "batch" -> System.exit(BatchCommand.run(rest));
+            case "pipe" -> System.exit(PipeCommand.run(rest));
+            case "serve" -> System.exit(ServeCommand.run(rest));
+            case "sweep" -> System.exit(SweepCommand.run(rest));
+            case "worker" -> System.exit(WorkerCommand.run(rest));
+            default -> App.main(args);
+        }
+    }
+
+    private static void exposeMetrics() {
+        MetricsRegistry registry = RunMetrics.registry();
+        registry.registerMBean();
+        String port = System.getProperty("scheduler.metrics.port");
+        if (port == null) return;
+        try {
+            MetricsServer server = MetricsServer.start(registry, Integer.parseInt(port.trim()));
+            System.err.println("Metrics at http://localhost:" + server.getPort() + "/metrics");
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Cannot serve metrics on port " + port + ": " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,176 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.*;
+
+/**
+ * Completely Fair Scheduler (CFS) model.
+ * Preemptive scheduling that always runs the process with the smallest virtual
+ * runtime. Virtual runtime advances inversely to the process weight, which is
+ * derived from its priority the way Linux derives weight from nice values
+ * (priority 0 = nice 0, lower number = higher priority, clamped to -20..19).
+ * A process blocked on I/O leaves the run queue and rejoins it on wakeup with its
+ * virtual runtime raised to the queue minimum.
+ *
+ * <p>Parameters:
+ * <ul>
+ *   <li>{@code targetLatency} - period in which every runnable process should run once (default 6)</li>
+ *   <li>{@code minGranularity} - smallest slice a process is given, also the wakeup
+ *       preemption threshold (default 1)</li>
+ *   <li>{@code contextSwitch} - switch overhead, see {@link ContextSwitchModel}</li>
+ * </ul>
+ */
+public class CfsScheduler implements Scheduler {
+
+    private static final int NICE_0_WEIGHT = 1024;
+
+    static final ParamSpec TARGET_LATENCY = ParamSpec.integer("targetLatency", "Target latency", 6, 1,
+            Integer.MAX_VALUE, "Period in which every runnable process should run once");
+    static final ParamSpec MIN_GRANULARITY = ParamSpec.integer("minGranularity", "Min granularity", 1, 1,
+            Integer.MAX_VALUE, "Smallest slice a process is given");
+
+    /** Linux sched_prio_to_weight table, indexed by nice + 20. */
+    private static final int[] PRIO_TO_WEIGHT = {
+        88761, 71755, 56483, 46273, 36291,
+        29154, 23254, 18705, 14949, 11916,
+        9548, 7620, 6100, 4904, 3906,
+        3121, 2501, 1991, 1586, 1277,
+        1024, 820, 655, 526, 423,
+        335, 272, 215, 172, 137,
+        110, 87, 70, 56, 45,
+        36, 29, 23, 18, 15,
+    };
+
+    @Override
+    public String getName() {
+        return "CFS";
+    }
+
+    @Override
+    public List<ParamSpec> getParams() {
+        return List.of(TARGET_LATENCY, MIN_GRANULARITY, ParamSpec.CONTEXT_SWITCH, ParamSpec.IO_CHANNELS);
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    /**
+     * Weight of a process with the given priority.
+     */
+    public static int weightOf(int priority) {
+        int nice = Math.max(-20, Math.min(19, priority));
+        return PRIO_TO_WEIGHT[nice + 20];
+    }
+
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
+        List<GanttSegment> segments = new ArrayList<>();
+        schedule(processes, params, SegmentSink.into(processes, segments));
+        return segments;
+    }
+
+    @Override
+    public void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        if (processes.isEmpty()) return;
+
+        int targetLatency = TARGET_LATENCY.intValue(params);
+        int minGranularity = MIN_GRANULARITY.intValue(params);
+        long wakeupGranularity = fairDelta(minGranularity, NICE_0_WEIGHT);
+        ContextSwitchModel switches = ContextSwitchModel.from(params);
+
+        Workload workload = new Workload(processes, params, sink);
+        // Merges back-to-back runs of the process that keeps the CPU
+        SegmentMerger out = new SegmentMerger(sink);
+        int n = workload.size();
+        int[] weight = new int[n];
+        long[] vruntime = new long[n];
+        for (int i = 0; i < n; i++) {
+            weight[i] = weightOf(workload.process(i).getPriority());
+        }
+
+        // Run queue keyed on (vruntime, enqueue order): each pick is O(log n)
+        IntHeap runQueue = new IntHeap(n);
+        long sequence = 0;
+        long totalWeight = 0;
+        long minVruntime = 0;
+        long currentTime = 0;
+
+        while (!workload.isDone()) {
+            for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
+                vruntime[p] = Math.max(vruntime[p], minVruntime);
+                runQueue.push(p, vruntime[p], sequence++);
+                totalWeight += weight[p];
+            }
+
+            if (runQueue.isEmpty()) {
+                // Idle time - jump to next arrival or wakeup
+                long next = workload.nextEventTime();
+                out.emit(SegmentSink.IDLE, currentTime, next);
+                currentTime = next;
+                continue;
+            }
+
+            int current = runQueue.pop();
+            int overhead = switches.charge(0, workload.id(current));
+            if (overhead > 0) {
+                out.emit(SegmentSink.SWITCH, currentTime, currentTime + overhead);
+                currentTime += overhead;
+            }
+            int runnable = runQueue.size() + 1;
+            long period = runnable > targetLatency / minGranularity
+                    ? (long) runnable * minGranularity
+                    : targetLatency;
+            int slice = (int) Math.max(minGranularity, period * weight[current] / totalWeight);
+
+            // Run until the slice expires, the burst finishes, or a new arrival or wakeup preempts it
+            int sliceLeft = slice;
+            boolean blocked = false;
+            while (sliceLeft > 0 && !blocked) {
+                long untilEvent = workload.nextEventTime() - currentTime;
+                int run = (int) Math.min(Math.min(sliceLeft, workload.burstLeft(current)), Math.max(1, untilEvent));
+
+                out.emit(workload.index(current), currentTime, currentTime + run);
+                currentTime += run;
+                sliceLeft -= run;
+                vruntime[current] += fairDelta(run, weight[current]);
+                // Keep the run ahead of the I/O segment the workload emits if the burst ends
+                if (run == workload.burstLeft(current)) out.flush();
+                blocked = workload.run(current, run, currentTime);
+
+                long leftmost = runQueue.isEmpty() ? vruntime[current] : runQueue.peekPrimary();
+                minVruntime = Math.max(minVruntime, Math.min(vruntime[current], leftmost));
+
+                boolean woken = false;
+                for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
+                    vruntime[p] = Math.max(vruntime[p], minVruntime);
+                    runQueue.push(p, vruntime[p], sequence++);
+                    totalWeight += weight[p];
+                    woken = true;
+                }
+                if (woken && vruntime[current] - runQueue.peekPrimary() > wakeupGranularity) {
+                    break;
+                }
+            }
+
+            if (blocked) {
+                totalWeight -= weight[current];
+            } else {
+                runQueue.push(current, vruntime[current], sequence++);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Virtual runtime charged for running the given number of ticks at the given weight,
+     * in fixed point so light processes do not round down to zero.
+     */
+    private static long fairDelta(long ticks, int weight) {
+        return ticks * ((long) NICE_0_WEIGHT << 10) / weight;
+    }
+}
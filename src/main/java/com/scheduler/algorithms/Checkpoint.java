@@ -0,0 +1,31 @@
+package com.scheduler.algorithms;
+
+/**
+ * Saved state of an incremental scheduler at the top of its event loop, enough to
+ * carry on from {@link #time} as if it had never stopped.
+ */
+final class Checkpoint {
+    final long time;
+    final int segmentCount;
+    final Workload.Snapshot workload;
+    final ContextSwitchModel.State switches;
+    final long sequence;
+    final IntHeap readyHeap;
+    final int[] readyFifo;
+    long decisions;
+
+    /**
+     * @param readyHeap ready queue of a key-ordered scheduler, or null
+     * @param readyFifo ready queue of a FIFO scheduler in queue order, or null
+     */
+    Checkpoint(long time, int segmentCount, Workload.Snapshot workload, ContextSwitchModel.State switches,
+               long sequence, IntHeap readyHeap, int[] readyFifo) {
+        this.time = time;
+        this.segmentCount = segmentCount;
+        this.workload = workload;
+        this.switches = switches;
+        this.sequence = sequence;
+        this.readyHeap = readyHeap;
+        this.readyFifo = readyFifo;
+    }
+}
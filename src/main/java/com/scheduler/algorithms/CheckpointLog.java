@@ -0,0 +1,117 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpoints saved by an {@link IncrementalScheduler} during its last run, along
+ * with that run's segments.
+ *
+ * <p>A checkpoint is saved every {@code interval} scheduling decisions. When more than
+ * {@value #MAX_CHECKPOINTS} have been saved, every other one is dropped and the interval
+ * doubles, so memory stays bounded however long the schedule is.
+ *
+ * <p>A log belongs to one scheduler and one set of parameters; start a new log when
+ * either changes.
+ */
+public final class CheckpointLog {
+    private static final int MAX_CHECKPOINTS = 32;
+    private static final long MIN_INTERVAL = 16;
+
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private List<GanttSegment> segments = List.of();
+    private long interval = MIN_INTERVAL;
+    private long decisions;
+    private long nextAt;
+    private int reusedSegments;
+    private long resumedTime;
+
+    /**
+     * Number of leading segments the last run kept from the run before it.
+     */
+    public int getReusedSegments() {
+        return reusedSegments;
+    }
+
+    /**
+     * Time the last run resumed from, 0 if it ran from the start.
+     */
+    public long getResumedTime() {
+        return resumedTime;
+    }
+
+    public int size() {
+        return checkpoints.size();
+    }
+
+    public void clear() {
+        checkpoints.clear();
+        segments = List.of();
+        interval = MIN_INTERVAL;
+        decisions = 0;
+        nextAt = 0;
+    }
+
+    /**
+     * Latest checkpoint strictly before {@code changedFrom}, dropping every later one,
+     * or null after clearing the log if there is none.
+     */
+    Checkpoint resume(long changedFrom) {
+        int keep = checkpoints.size();
+        while (keep > 0 && checkpoints.get(keep - 1).time >= changedFrom) {
+            keep--;
+        }
+        if (keep == 0) {
+            clear();
+            return null;
+        }
+        checkpoints.subList(keep, checkpoints.size()).clear();
+        Checkpoint checkpoint = checkpoints.get(keep - 1);
+        decisions = checkpoint.decisions;
+        nextAt = decisions + interval;
+        return checkpoint;
+    }
+
+    /**
+     * Segments of the last run that precede the checkpoint.
+     */
+    List<GanttSegment> prefix(Checkpoint checkpoint) {
+        return new ArrayList<>(segments.subList(0, checkpoint.segmentCount));
+    }
+
+    /**
+     * Count a scheduling decision.
+     *
+     * @return true if a checkpoint should be saved now
+     */
+    boolean due() {
+        return ++decisions > nextAt;
+    }
+
+    void add(Checkpoint checkpoint) {
+        checkpoint.decisions = decisions;
+        checkpoints.add(checkpoint);
+        nextAt = decisions + interval;
+        if (checkpoints.size() > MAX_CHECKPOINTS) {
+            int kept = 0;
+            for (int i = 0; i < checkpoints.size(); i += 2) {
+                checkpoints.set(kept++, checkpoints.get(i));
+            }
+            checkpoints.subList(kept, checkpoints.size()).clear();
+            interval *= 2;
+        }
+    }
+
+    /**
+     * Remember the finished run's segments for the next resume.
+     *
+     * @param resumedFrom checkpoint the run resumed from, or null
+     */
+    void finish(List<GanttSegment> segments, Checkpoint resumedFrom) {
+        this.segments = segments;
+        this.reusedSegments = resumedFrom == null ? 0 : resumedFrom.segmentCount;
+        this.resumedTime = resumedFrom == null ? 0 : resumedFrom.time;
+    }
+}
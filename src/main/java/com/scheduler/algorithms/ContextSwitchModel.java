@@ -0,0 +1,74 @@
+package com.scheduler.algorithms;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Charges CPU time for switching between processes.
+ *
+ * <p>A switch costs {@code contextSwitch} time units whenever a core dispatches a
+ * process other than the one it last ran. When a process resumes on a different
+ * core than it last ran on, {@code migrationPenalty} is added for refilling the
+ * cache. Schedulers emit the charged time as a {@code "switch"} segment.
+ */
+final class ContextSwitchModel {
+    private final int switchCost;
+    private final int migrationPenalty;
+    private String[] lastOnCore = new String[1];
+    private Map<String, Integer> lastCoreOf;
+
+    ContextSwitchModel(int switchCost, int migrationPenalty) {
+        this.switchCost = Math.max(0, switchCost);
+        this.migrationPenalty = Math.max(0, migrationPenalty);
+        this.lastCoreOf = this.migrationPenalty > 0 ? new HashMap<>() : null;
+    }
+
+    static ContextSwitchModel from(Map<String, Object> params) {
+        return new ContextSwitchModel(
+                ParamSpec.CONTEXT_SWITCH.intValue(params),
+                ParamSpec.MIGRATION_PENALTY.intValue(params));
+    }
+
+    /**
+     * Which process each core last ran, for {@link #restore(State)}.
+     */
+    State save() {
+        return new State(lastOnCore.clone(), lastCoreOf == null ? null : new HashMap<>(lastCoreOf));
+    }
+
+    void restore(State state) {
+        lastOnCore = state.lastOnCore().clone();
+        lastCoreOf = state.lastCoreOf() == null ? null : new HashMap<>(state.lastCoreOf());
+    }
+
+    record State(String[] lastOnCore, Map<String, Integer> lastCoreOf) {
+    }
+
+    /**
+     * Record that the core is dispatching the given process.
+     *
+     * @return overhead to charge before the process starts running
+     */
+    int charge(int core, String pid) {
+        if (switchCost == 0 && migrationPenalty == 0) return 0;
+        if (core >= lastOnCore.length) {
+            lastOnCore = Arrays.copyOf(lastOnCore, Math.max(core + 1, lastOnCore.length * 2));
+        }
+
+        int overhead = 0;
+        String previous = lastOnCore[core];
+        if (previous != null && !previous.equals(pid)) {
+            overhead += switchCost;
+        }
+        lastOnCore[core] = pid;
+
+        if (lastCoreOf != null) {
+            Integer previousCore = lastCoreOf.put(pid, core);
+            if (previousCore != null && previousCore != core) {
+                overhead += migrationPenalty;
+            }
+        }
+        return overhead;
+    }
+}
@@ -0,0 +1,20 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.ProcessModel;
+
+/**
+ * Earliest Deadline First (EDF) scheduling algorithm.
+ * Preemptive real-time scheduling that always runs the job with the nearest absolute deadline.
+ */
+public class EdfScheduler extends RealTimeScheduler {
+
+    @Override
+    public String getName() {
+        return "EDF";
+    }
+
+    @Override
+    protected long priorityKey(ProcessModel task, long absoluteDeadline) {
+        return absoluteDeadline;
+    }
+}
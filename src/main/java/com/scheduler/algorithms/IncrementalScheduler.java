@@ -0,0 +1,29 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A scheduler that saves checkpoints as it runs, so that after the workload changes
+ * only the part of the schedule from the change onward is recomputed.
+ *
+ * <p>Schedulers implementing this never look at a process before it arrives, so a
+ * change that first matters at time {@code t} leaves every decision before {@code t}
+ * as it was.
+ */
+public interface IncrementalScheduler extends Scheduler {
+
+    /**
+     * Schedule the processes, resuming from the latest checkpoint in the log before
+     * {@code changedFrom}, or from the start if there is none. The log must come from
+     * a previous run of this scheduler with the same parameters, or be empty.
+     *
+     * @param changedFrom earliest arrival time, old or new, of any process added,
+     *                    removed or edited since the last run
+     */
+    List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params,
+                                CheckpointLog log, long changedFrom);
+}
@@ -0,0 +1,122 @@
+package com.scheduler.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items ordered by a (primary, secondary) long key pair.
+ * Used for run queues and event queues so large workloads avoid boxing.
+ */
+public final class IntHeap {
+    private int[] items;
+    private long[] primary;
+    private long[] secondary;
+    private int size;
+
+    public IntHeap(int capacity) {
+        int initial = Math.max(4, capacity);
+        this.items = new int[initial];
+        this.primary = new long[initial];
+        this.secondary = new long[initial];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Independent copy holding the same entries.
+     */
+    public IntHeap copy() {
+        IntHeap copy = new IntHeap(size);
+        System.arraycopy(items, 0, copy.items, 0, size);
+        System.arraycopy(primary, 0, copy.primary, 0, size);
+        System.arraycopy(secondary, 0, copy.secondary, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Item at the given position of the heap array, for visiting every entry in no
+     * particular order.
+     */
+    public int get(int index) {
+        return items[index];
+    }
+
+    public int peek() {
+        return items[0];
+    }
+
+    public long peekPrimary() {
+        return primary[0];
+    }
+
+    public long peekSecondary() {
+        return secondary[0];
+    }
+
+    public void push(int item, long primaryKey, long secondaryKey) {
+        if (size == items.length) {
+            int grown = items.length * 2;
+            items = Arrays.copyOf(items, grown);
+            primary = Arrays.copyOf(primary, grown);
+            secondary = Arrays.copyOf(secondary, grown);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(primaryKey, secondaryKey, primary[parent], secondary[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        set(i, item, primaryKey, secondaryKey);
+    }
+
+    public int pop() {
+        int top = items[0];
+        int last = --size;
+        if (last > 0) {
+            int item = items[last];
+            long p = primary[last];
+            long s = secondary[last];
+            int i = 0;
+            int half = last >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < last && less(primary[right], secondary[right], primary[child], secondary[child])) {
+                    child = right;
+                }
+                if (!less(primary[child], secondary[child], p, s)) break;
+                move(child, i);
+                i = child;
+            }
+            set(i, item, p, s);
+        }
+        return top;
+    }
+
+    private static boolean less(long p1, long s1, long p2, long s2) {
+        return p1 < p2 || (p1 == p2 && s1 < s2);
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        primary[to] = primary[from];
+        secondary[to] = secondary[from];
+    }
+
+    private void set(int i, int item, long p, long s) {
+        items[i] = item;
+        primary[i] = p;
+        secondary[i] = s;
+    }
+}
@@ -0,0 +1,61 @@
+package com.scheduler.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Growable FIFO queue of ints in a circular array, for ready queues that must not box
+ * or allocate per operation.
+ */
+final class IntRing {
+    private int[] items;
+    private int head;
+    private int size;
+
+    IntRing(int capacity) {
+        // Power of two, so positions wrap with a mask
+        items = new int[Integer.highestOneBit(Math.max(4, capacity) * 2 - 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void offer(int item) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size) & (items.length - 1)] = item;
+        size++;
+    }
+
+    /**
+     * Remove and return the head; the queue must not be empty.
+     */
+    int poll() {
+        int item = items[head];
+        head = (head + 1) & (items.length - 1);
+        size--;
+        return item;
+    }
+
+    /**
+     * Entries in queue order.
+     */
+    int[] toArray() {
+        int[] copy = new int[size];
+        int first = Math.min(size, items.length - head);
+        System.arraycopy(items, head, copy, 0, first);
+        System.arraycopy(items, 0, copy, first, size - first);
+        return copy;
+    }
+
+    private void grow() {
+        int[] grown = toArray();
+        items = Arrays.copyOf(grown, items.length * 2);
+        head = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.scheduler.algorithms;
+
+/**
+ * I/O device model that serves requests in parallel with the CPU.
+ *
+ * <p>With a fixed number of channels, requests queue FIFO for the first free channel.
+ * With unlimited channels every request starts immediately. Requests must be
+ * submitted in non-decreasing time order, which every scheduler's event loop does.
+ * Each request is placed on the lowest-numbered free channel so channels can be
+ * drawn as non-overlapping lanes.
+ */
+final class IoDevice {
+    private final int channels;
+    private final IntHeap busy;
+    private final IntHeap free;
+    private int opened;
+    private int lastChannel;
+    private long lastStart;
+
+    /**
+     * @param channels number of requests served at once, or 0 for unlimited
+     */
+    IoDevice(int channels) {
+        this(Math.max(0, channels), new IntHeap(16), new IntHeap(16), 0);
+    }
+
+    private IoDevice(int channels, IntHeap busy, IntHeap free, int opened) {
+        this.channels = channels;
+        this.busy = busy;
+        this.free = free;
+        this.opened = opened;
+    }
+
+    /**
+     * Independent copy with the same channels in service.
+     */
+    IoDevice copy() {
+        return new IoDevice(channels, busy.copy(), free.copy(), opened);
+    }
+
+    /**
+     * Submit a request of the given length at time {@code now}.
+     *
+     * @return time the request completes
+     */
+    long submit(long now, int duration) {
+        while (!busy.isEmpty() && busy.peekPrimary() <= now) {
+            int channel = busy.pop();
+            free.push(channel, channel, 0);
+        }
+
+        long start = now;
+        int channel;
+        if (!free.isEmpty()) {
+            channel = free.pop();
+        } else if (channels == 0 || opened < channels) {
+            channel = opened++;
+        } else {
+            // Every channel is busy: wait for the earliest one to finish
+            start = busy.peekPrimary();
+            channel = busy.pop();
+        }
+
+        long end = start + duration;
+        busy.push(channel, end, channel);
+        lastChannel = channel;
+        lastStart = start;
+        return end;
+    }
+
+    /**
+     * Channel that served the last submitted request.
+     */
+    int lastChannel() {
+        return lastChannel;
+    }
+
+    /**
+     * Time the last submitted request started service.
+     */
+    long lastStart() {
+        return lastStart;
+    }
+}
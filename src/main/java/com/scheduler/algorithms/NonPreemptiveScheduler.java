@@ -0,0 +1,93 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.*;
+
+/**
+ * Base class for non-preemptive schedulers: whenever the CPU is free, the ready
+ * process with the smallest key runs its current CPU burst to completion.
+ * Ties go to the process that became ready first, then to the smaller ID.
+ * Processes with I/O bursts block after each CPU burst and rejoin the ready queue on wakeup.
+ */
+public abstract class NonPreemptiveScheduler implements IncrementalScheduler {
+
+    /**
+     * Ready queue key of a process; the smallest key runs first.
+     *
+     * @param burst length of the process's next CPU burst
+     */
+    protected abstract long priorityKey(ProcessModel process, int burst);
+
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
+        return schedule(processes, params, null, 0);
+    }
+
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params,
+                                       CheckpointLog log, long changedFrom) {
+        Checkpoint resume = log == null ? null : log.resume(changedFrom);
+        List<GanttSegment> segments = resume == null ? new ArrayList<>() : log.prefix(resume);
+        run(processes, params, SegmentSink.into(processes, segments), log, resume, segments);
+        if (log != null) log.finish(segments, resume);
+        return segments;
+    }
+
+    @Override
+    public void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        run(processes, params, sink, null, null, null);
+    }
+
+    /**
+     * @param segments segments emitted so far, needed only for checkpoints
+     */
+    private void run(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink,
+                     CheckpointLog log, Checkpoint resume, List<GanttSegment> segments) {
+        Workload workload = new Workload(processes, params, sink);
+        ContextSwitchModel switches = ContextSwitchModel.from(params);
+        IntHeap readyQueue = new IntHeap(workload.size());
+        long sequence = 0;
+        long currentTime = 0;
+        if (resume != null) {
+            workload.restore(resume.workload);
+            switches.restore(resume.switches);
+            readyQueue = resume.readyHeap.copy();
+            sequence = resume.sequence;
+            currentTime = resume.time;
+        }
+
+        while (!workload.isDone()) {
+            if (log != null && log.due()) {
+                log.add(new Checkpoint(currentTime, segments.size(), workload.save(), switches.save(),
+                        sequence, readyQueue.copy(), null));
+            }
+
+            for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
+                readyQueue.push(p, priorityKey(workload.process(p), workload.burstLeft(p)), sequence++);
+            }
+
+            if (readyQueue.isEmpty()) {
+                // Idle time - jump to next arrival or wakeup
+                long next = workload.nextEventTime();
+                sink.segment(SegmentSink.IDLE, currentTime, next, 0, false);
+                currentTime = next;
+                continue;
+            }
+
+            int process = readyQueue.pop();
+            int overhead = switches.charge(0, workload.id(process));
+            if (overhead > 0) {
+                sink.segment(SegmentSink.SWITCH, currentTime, currentTime + overhead, 0, false);
+                currentTime += overhead;
+            }
+
+            long finishTime = currentTime + workload.burstLeft(process);
+            sink.segment(workload.index(process), currentTime, finishTime, 0, false);
+            workload.run(process, workload.burstLeft(process), finishTime);
+            currentTime = finishTime;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.scheduler.algorithms;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declaration of one scheduler parameter: its key, type, default and valid range.
+ *
+ * <p>Schedulers list their parameters through {@link Scheduler#getParams()}, so the UI
+ * and the headless commands can build controls and reject bad values before a run.
+ * Inside a scheduler the typed getters read each parameter once when the run starts.
+ * Values may be given typed or as strings, as the command line passes them.
+ *
+ * @param min smallest accepted value of an integer parameter
+ * @param max largest accepted value of an integer parameter
+ * @param choices accepted values of a choice parameter, compared ignoring case
+ */
+public record ParamSpec(String key, String label, Kind kind, Object defaultValue,
+                        long min, long max, List<String> choices, String description) {
+
+    public enum Kind { INTEGER, BOOLEAN, CHOICE }
+
+    /** Switch overhead charged by every scheduler, see {@link ContextSwitchModel}. */
+    public static final ParamSpec CONTEXT_SWITCH = integer("contextSwitch", "Switch cost", 0, 0, 1_000_000,
+            "Time charged whenever a core switches to another process");
+    /** I/O device channels shared by every scheduler that runs I/O bursts. */
+    public static final ParamSpec IO_CHANNELS = integer("ioChannels", "I/O channels", 0, 0, 1_000_000,
+            "I/O requests served at once (0 = unlimited)");
+    /** Cache-refill penalty, for schedulers that can move a process between cores. */
+    public static final ParamSpec MIGRATION_PENALTY = integer("migrationPenalty", "Migration", 0, 0, 1_000_000,
+            "Cache-refill penalty after a migration");
+
+    public static ParamSpec integer(String key, String label, long defaultValue, long min, long max,
+                                    String description) {
+        return new ParamSpec(key, label, Kind.INTEGER, defaultValue, min, max, List.of(), description);
+    }
+
+    public static ParamSpec bool(String key, String label, boolean defaultValue, String description) {
+        return new ParamSpec(key, label, Kind.BOOLEAN, defaultValue, 0, 0, List.of(), description);
+    }
+
+    public static ParamSpec choice(String key, String label, String defaultValue, List<String> choices,
+                                   String description) {
+        return new ParamSpec(key, label, Kind.CHOICE, defaultValue, 0, 0, List.copyOf(choices), description);
+    }
+
+    /**
+     * Convert and check a value: a {@code Long}, {@code Boolean} or one of the choices.
+     *
+     * @throws IllegalArgumentException if the value has the wrong type or is out of range
+     */
+    public Object parse(Object value) {
+        switch (kind) {
+            case INTEGER -> {
+                long number;
+                if (value instanceof Integer || value instanceof Long || value instanceof Short
+                        || value instanceof Byte) {
+                    number = ((Number) value).longValue();
+                } else if (value instanceof String text) {
+                    try {
+                        number = Long.parseLong(text.trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Parameter '" + key + "' must be an integer: " + value);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Parameter '" + key + "' must be an integer: " + value);
+                }
+                if (number < min || number > max) {
+                    throw new IllegalArgumentException("Parameter '" + key + "' must be between " + min
+                            + " and " + max + ": " + number);
+                }
+                return number;
+            }
+            case BOOLEAN -> {
+                if (value instanceof Boolean flag) return flag;
+                if (value instanceof String text) {
+                    if (text.trim().equalsIgnoreCase("true")) return true;
+                    if (text.trim().equalsIgnoreCase("false")) return false;
+                }
+                throw new IllegalArgumentException("Parameter '" + key + "' must be true or false: " + value);
+            }
+            default -> {
+                if (value != null) {
+                    for (String choice : choices) {
+                        if (choice.equalsIgnoreCase(value.toString().trim())) return choice;
+                    }
+                }
+                throw new IllegalArgumentException("Parameter '" + key + "' must be one of " + choices + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * The checked value of this parameter in the map, or the default if it is absent.
+     */
+    public Object valueIn(Map<String, ?> params) {
+        if (params == null) return defaultValue;
+        Object value = params.get(key);
+        return value == null ? defaultValue : parse(value);
+    }
+
+    public long longValue(Map<String, ?> params) {
+        return (Long) valueIn(params);
+    }
+
+    public int intValue(Map<String, ?> params) {
+        return Math.toIntExact(longValue(params));
+    }
+
+    public boolean booleanValue(Map<String, ?> params) {
+        return (Boolean) valueIn(params);
+    }
+
+    public String stringValue(Map<String, ?> params) {
+        return (String) valueIn(params);
+    }
+}
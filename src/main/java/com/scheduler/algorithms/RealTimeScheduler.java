@@ -0,0 +1,228 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.DeadlineReport;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Base class for preemptive real-time schedulers over periodic task sets.
+ *
+ * <p>Each process is a task: {@code arrival} is the first release (phase),
+ * {@code burst} the worst-case execution time, {@code period} the release period
+ * (0 releases a single job) and {@code deadline} the relative deadline (0 = period).
+ * Deadlines may not exceed the period, so every task has at most one live job, and
+ * tasks may not block on I/O: each job is one CPU burst.
+ * Jobs are released lazily from an event queue, so memory stays proportional
+ * to the number of tasks however long the hyperperiod is. A job still unfinished
+ * at its deadline counts as a miss and is aborted.
+ *
+ * <p>Parameters:
+ * <ul>
+ *   <li>{@code contextSwitch} - switch overhead, see {@link ContextSwitchModel}</li>
+ *   <li>{@code horizon} - no job is released at or after this time (default 0: hyperperiod plus the largest phase)</li>
+ * </ul>
+ */
+public abstract class RealTimeScheduler implements Scheduler {
+
+    static final ParamSpec HORIZON = ParamSpec.integer("horizon", "Horizon", 0, 0, Long.MAX_VALUE,
+            "No job is released at or after this time (0 = hyperperiod plus the largest phase)");
+
+    /**
+     * Dispatch priority of a job; the smallest key runs first.
+     */
+    protected abstract long priorityKey(ProcessModel task, long absoluteDeadline);
+
+    @Override
+    public List<ParamSpec> getParams() {
+        return List.of(HORIZON, ParamSpec.CONTEXT_SWITCH);
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
+        List<GanttSegment> segments = new ArrayList<>();
+        simulate(processes, params, segments::add);
+        return segments;
+    }
+
+    @Override
+    public void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        simulate(processes, params, sink);
+    }
+
+    /**
+     * Simulate the task set, streaming segments to the sink in time order.
+     *
+     * @return deadline misses and slack of every task
+     */
+    public DeadlineReport simulate(List<ProcessModel> tasks, Map<String, Object> params,
+                                   Consumer<GanttSegment> sink) {
+        return simulate(tasks, params, SegmentSink.into(tasks, sink));
+    }
+
+    /**
+     * Like {@link #simulate(List, Map, Consumer)}, but streaming to a {@link SegmentSink}
+     * without making segment objects.
+     */
+    public DeadlineReport simulate(List<ProcessModel> tasks, Map<String, Object> params, SegmentSink sink) {
+        int n = tasks.size();
+        List<String> ids = new ArrayList<>(n);
+        for (ProcessModel task : tasks) {
+            if (task.getDeadline() > 0 && task.isPeriodic() && task.getDeadline() > task.getPeriod()) {
+                throw new IllegalArgumentException("Deadline of " + task.getId() + " exceeds its period");
+            }
+            if (task.hasIo()) {
+                throw new IllegalArgumentException("Task " + task.getId() + " has I/O bursts, which "
+                        + getName() + " does not model");
+            }
+            ids.add(task.getId());
+        }
+
+        long horizon = horizon(tasks, params);
+        DeadlineReport report = new DeadlineReport(ids, horizon);
+        if (n == 0) return report;
+
+        long[] jobDeadline = new long[n];
+        long[] jobId = new long[n];
+        int[] jobRemaining = new int[n];
+        long nextJobId = 0;
+
+        IntHeap releases = new IntHeap(n);
+        for (int i = 0; i < n; i++) {
+            releases.push(i, tasks.get(i).getArrival(), i);
+        }
+        IntHeap ready = new IntHeap(n);
+        ContextSwitchModel switches = ContextSwitchModel.from(params);
+        SegmentMerger out = new SegmentMerger(sink);
+        long now = 0;
+
+        while (!releases.isEmpty() || !ready.isEmpty()) {
+            // Release every job due by now
+            while (!releases.isEmpty() && releases.peekPrimary() <= now) {
+                long release = releases.peekPrimary();
+                int task = releases.pop();
+                ProcessModel model = tasks.get(task);
+                if (jobRemaining[task] > 0) {
+                    report.recordMiss(task);
+                }
+                int relative = model.getRelativeDeadline();
+                jobDeadline[task] = relative > 0 ? release + relative : Long.MAX_VALUE;
+                jobRemaining[task] = model.getBurst();
+                jobId[task] = nextJobId++;
+                report.recordRelease(task);
+                if (jobRemaining[task] > 0) {
+                    ready.push(task, priorityKey(model, jobDeadline[task]), jobId[task]);
+                } else {
+                    report.recordCompletion(task, relative > 0 ? relative : 0);
+                }
+
+                if (model.isPeriodic() && release + model.getPeriod() < horizon) {
+                    releases.push(task, release + model.getPeriod(), task);
+                }
+            }
+
+            // Drop finished or superseded jobs and abort jobs past their deadline
+            int current = -1;
+            while (!ready.isEmpty()) {
+                int task = ready.peek();
+                if (ready.peekSecondary() != jobId[task] || jobRemaining[task] == 0) {
+                    ready.pop();
+                } else if (jobDeadline[task] <= now) {
+                    ready.pop();
+                    jobRemaining[task] = 0;
+                    report.recordMiss(task);
+                } else {
+                    current = task;
+                    break;
+                }
+            }
+
+            long nextRelease = releases.isEmpty() ? Long.MAX_VALUE : releases.peekPrimary();
+            if (current < 0) {
+                if (nextRelease == Long.MAX_VALUE) break;
+                // Idle time - jump to next release
+                out.emit(SegmentSink.IDLE, now, nextRelease);
+                now = nextRelease;
+                continue;
+            }
+
+            // A switch is not preemptible; releases during it are handled before the job runs
+            int overhead = switches.charge(0, tasks.get(current).getId());
+            if (overhead > 0) {
+                out.emit(SegmentSink.SWITCH, now, now + overhead);
+                now += overhead;
+                continue;
+            }
+
+            // Run until the job finishes, reaches its deadline, or a release may preempt it
+            long end = Math.min(now + jobRemaining[current], Math.min(nextRelease, jobDeadline[current]));
+            out.emit(current, now, end);
+            jobRemaining[current] -= (int) (end - now);
+            now = end;
+
+            if (jobRemaining[current] == 0) {
+                ready.pop();
+                report.recordCompletion(current, jobDeadline[current] == Long.MAX_VALUE
+                        ? 0 : jobDeadline[current] - now);
+            }
+        }
+
+        out.flush();
+        return report;
+    }
+
+    /**
+     * Time from which no job is released: the {@code horizon} parameter, or
+     * {@link #defaultHorizon} if it is 0.
+     */
+    public static long horizon(List<ProcessModel> tasks, Map<String, ?> params) {
+        long horizon = HORIZON.longValue(params);
+        return horizon == 0 ? defaultHorizon(tasks) : horizon;
+    }
+
+    /**
+     * Number of jobs a task releases before the horizon; the first release always happens.
+     */
+    public static long jobCount(ProcessModel task, long horizon) {
+        if (!task.isPeriodic() || task.getArrival() >= horizon) return 1;
+        return 1 + (horizon - 1 - task.getArrival()) / task.getPeriod();
+    }
+
+    /**
+     * Least common multiple of all periods plus the largest phase, capped at {@link Integer#MAX_VALUE}
+     * time units so coprime periods cannot make a run unbounded.
+     */
+    static long defaultHorizon(List<ProcessModel> tasks) {
+        long hyperperiod = 1;
+        long maxPhase = 0;
+        for (ProcessModel task : tasks) {
+            maxPhase = Math.max(maxPhase, task.getArrival());
+            if (!task.isPeriodic()) continue;
+            long gcd = gcd(hyperperiod, task.getPeriod());
+            try {
+                hyperperiod = Math.multiplyExact(hyperperiod / gcd, task.getPeriod());
+            } catch (ArithmeticException overflow) {
+                return Integer.MAX_VALUE;
+            }
+            if (hyperperiod > Integer.MAX_VALUE) return Integer.MAX_VALUE;
+        }
+        return Math.min(Integer.MAX_VALUE, hyperperiod + maxPhase);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
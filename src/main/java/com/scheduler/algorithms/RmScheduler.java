@@ -0,0 +1,21 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.ProcessModel;
+
+/**
+ * Rate-Monotonic (RM) scheduling algorithm.
+ * Preemptive real-time scheduling with fixed priorities: the shorter the period,
+ * the higher the priority. Tasks without a period run in the background.
+ */
+public class RmScheduler extends RealTimeScheduler {
+
+    @Override
+    public String getName() {
+        return "Rate-Monotonic";
+    }
+
+    @Override
+    protected long priorityKey(ProcessModel task, long absoluteDeadline) {
+        return task.isPeriodic() ? task.getPeriod() : Long.MAX_VALUE;
+    }
+}
@@ -2,6 +2,7 @@ package com.scheduler.algorithms;
 
 import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
 
 import java.util.*;
 
@@ -9,84 +10,115 @@ import java.util.*;
  * Round-Robin (RR) scheduling algorithm.
  * Preemptive scheduling with a time quantum.
  */
-public class RrScheduler implements Scheduler {
+public class RrScheduler implements IncrementalScheduler {
+
+    static final ParamSpec QUANTUM = ParamSpec.integer("quantum", "Quantum", 2, 1, Integer.MAX_VALUE,
+            "Time slice before the running process goes to the back of the queue");
 
     @Override
     public String getName() {
         return "Round-Robin";
     }
 
+    @Override
+    public List<ParamSpec> getParams() {
+        return List.of(QUANTUM, ParamSpec.CONTEXT_SWITCH, ParamSpec.IO_CHANNELS);
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
     @Override
     public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
-        List<GanttSegment> segments = new ArrayList<>();
-        if (processes.isEmpty()) return segments;
-
-        int quantum = params != null && params.containsKey("quantum") 
-                ? (Integer) params.get("quantum") 
-                : 2;
-
-        // Create copies
-        Map<String, ProcessModel> processMap = new HashMap<>();
-        for (ProcessModel p : processes) {
-            ProcessModel copy = new ProcessModel(p);
-            processMap.put(copy.getId(), copy);
-        }
+        return schedule(processes, params, null, 0);
+    }
 
-        Queue<ProcessModel> readyQueue = new LinkedList<>();
-        List<ProcessModel> sortedProcesses = new ArrayList<>(processMap.values());
-        sortedProcesses.sort(Comparator.comparingInt(ProcessModel::getArrival)
-                .thenComparing(ProcessModel::getId));
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params,
+                                       CheckpointLog log, long changedFrom) {
+        Checkpoint resume = log == null ? null : log.resume(changedFrom);
+        List<GanttSegment> segments = resume == null ? new ArrayList<>() : log.prefix(resume);
+        run(processes, params, SegmentSink.into(processes, segments), log, resume, segments);
+        if (log != null) log.finish(segments, resume);
+        return segments;
+    }
+
+    /**
+     * Schedule into a primitive sink. Once the queues have grown to the workload's size
+     * the dispatch loop allocates nothing, so long runs produce no garbage of their own.
+     */
+    @Override
+    public void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        run(processes, params, sink, null, null, null);
+    }
 
-        int currentTime = 0;
-        int processIndex = 0;
+    /**
+     * @param segments segments emitted so far, needed only for checkpoints
+     */
+    private void run(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink,
+                     CheckpointLog log, Checkpoint resume, List<GanttSegment> segments) {
+        int quantum = QUANTUM.intValue(params);
 
-        // Add initially arrived processes
-        while (processIndex < sortedProcesses.size() 
-                && sortedProcesses.get(processIndex).getArrival() <= currentTime) {
-            readyQueue.offer(sortedProcesses.get(processIndex));
-            processIndex++;
+        Workload workload = new Workload(processes, params, sink);
+        ContextSwitchModel switches = ContextSwitchModel.from(params);
+        // Process ordinals, so dispatching neither boxes nor allocates queue nodes
+        IntRing readyQueue = new IntRing(processes.size());
+
+        long currentTime = 0;
+
+        if (resume != null) {
+            workload.restore(resume.workload);
+            switches.restore(resume.switches);
+            for (int p : resume.readyFifo) {
+                readyQueue.offer(p);
+            }
+            currentTime = resume.time;
+        } else {
+            // Add initially arrived processes
+            for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
+                readyQueue.offer(p);
+            }
         }
 
-        while (!readyQueue.isEmpty() || processIndex < sortedProcesses.size()) {
+        while (!workload.isDone()) {
+            if (log != null && log.due()) {
+                log.add(new Checkpoint(currentTime, segments.size(), workload.save(), switches.save(),
+                        0, null, readyQueue.toArray()));
+            }
+
             if (readyQueue.isEmpty()) {
-                // Idle time
-                ProcessModel nextProcess = sortedProcesses.get(processIndex);
-                segments.add(new GanttSegment("idle", currentTime, nextProcess.getArrival()));
-                currentTime = nextProcess.getArrival();
-                readyQueue.offer(nextProcess);
-                processIndex++;
+                // Idle time - jump to next arrival or wakeup
+                long next = workload.nextEventTime();
+                sink.segment(SegmentSink.IDLE, currentTime, next, 0, false);
+                currentTime = next;
+                for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
+                    readyQueue.offer(p);
+                }
                 continue;
             }
 
-            ProcessModel current = readyQueue.poll();
-            int executionTime = Math.min(quantum, current.getRemaining());
-            
-            current.setStartTime(currentTime);
-            segments.add(new GanttSegment(current.getId(), currentTime, currentTime + executionTime));
-            
-            current.setRemaining(current.getRemaining() - executionTime);
-            currentTime += executionTime;
-
-            // Add newly arrived processes to queue
-            List<ProcessModel> newArrivals = new ArrayList<>();
-            while (processIndex < sortedProcesses.size() 
-                    && sortedProcesses.get(processIndex).getArrival() <= currentTime) {
-                newArrivals.add(sortedProcesses.get(processIndex));
-                processIndex++;
+            int current = readyQueue.poll();
+            int overhead = switches.charge(0, workload.id(current));
+            if (overhead > 0) {
+                sink.segment(SegmentSink.SWITCH, currentTime, currentTime + overhead, 0, false);
+                currentTime += overhead;
             }
+            int executionTime = Math.min(quantum, workload.burstLeft(current));
 
-            // Add new arrivals before re-adding current process (if not finished)
-            for (ProcessModel p : newArrivals) {
+            sink.segment(workload.index(current), currentTime, currentTime + executionTime, 0, false);
+            currentTime += executionTime;
+            boolean blocked = workload.run(current, executionTime, currentTime);
+
+            // Add newly arrived and woken processes before re-adding current process (if not finished)
+            for (int p = workload.pollDue(currentTime); p >= 0; p = workload.pollDue(currentTime)) {
                 readyQueue.offer(p);
             }
 
-            if (current.getRemaining() > 0) {
+            if (!blocked) {
                 readyQueue.offer(current);
-            } else {
-                current.setCompletionTime(currentTime);
             }
         }
-
-        return segments;
     }
 }
@@ -2,12 +2,18 @@ package com.scheduler.algorithms;
 
 import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Interface for CPU scheduling algorithms.
+ *
+ * <p>This is also the plugin interface: implementations with a public no-argument
+ * constructor listed in {@code META-INF/services/com.scheduler.algorithms.Scheduler}
+ * are discovered by {@link Schedulers#create()}.
  */
 public interface Scheduler {
     /**
@@ -18,6 +24,35 @@ public interface Scheduler {
      * @return List of Gantt segments representing the schedule
      */
     List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params);
+
+    /**
+     * Schedule the given processes into a sink, for schedules too large to keep as
+     * segment objects. This default builds the segment list and replays it; the built-in
+     * schedulers override it to write primitives as they go.
+     *
+     * @throws IllegalStateException if a segment names a process that is not in the list
+     */
+    default void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < processes.size(); i++) {
+            index.put(processes.get(i).getId(), i);
+        }
+        for (GanttSegment seg : schedule(processes, params)) {
+            int process;
+            if (seg.isIdle()) {
+                process = SegmentSink.IDLE;
+            } else if (seg.isContextSwitch()) {
+                process = SegmentSink.SWITCH;
+            } else {
+                Integer i = index.get(seg.getPid());
+                if (i == null) {
+                    throw new IllegalStateException(getName() + " scheduled unknown process '" + seg.getPid() + "'");
+                }
+                process = i;
+            }
+            sink.segment(process, seg.getStart(), seg.getEnd(), seg.getCore(), seg.isIo());
+        }
+    }
     
     /**
      * Get the name of this scheduling algorithm.
@@ -25,4 +60,25 @@ public interface Scheduler {
      * @return Algorithm name
      */
     String getName();
+
+    /**
+     * Parameters this algorithm reads, for building controls and checking values.
+     */
+    default List<ParamSpec> getParams() {
+        return List.of(ParamSpec.CONTEXT_SWITCH, ParamSpec.IO_CHANNELS);
+    }
+
+    /**
+     * Whether a running process can be interrupted before its CPU burst ends.
+     */
+    default boolean isPreemptive() {
+        return false;
+    }
+
+    /**
+     * Whether segments can run on more than one core.
+     */
+    default boolean supportsMulticore() {
+        return false;
+    }
 }
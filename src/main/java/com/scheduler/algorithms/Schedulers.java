@@ -0,0 +1,89 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.ProcessModel;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The available scheduling algorithms, by display name: the built-in ones and any
+ * plugins on the class path, discovered through {@link ServiceLoader}.
+ */
+public final class Schedulers {
+
+    private Schedulers() {
+    }
+
+    /**
+     * A fresh instance of every scheduler, built-in ones first in menu order.
+     */
+    public static Map<String, Scheduler> create() {
+        Map<String, Scheduler> schedulers = new LinkedHashMap<>();
+        for (Scheduler scheduler : ServiceLoader.load(Scheduler.class, Schedulers.class.getClassLoader())) {
+            schedulers.putIfAbsent(scheduler.getName(), scheduler);
+        }
+        return schedulers;
+    }
+
+    /**
+     * The scheduler with the given name, ignoring case.
+     *
+     * @throws IllegalArgumentException if no scheduler has that name
+     */
+    public static Scheduler byName(String name) {
+        Map<String, Scheduler> schedulers = create();
+        for (Map.Entry<String, Scheduler> entry : schedulers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) return entry.getValue();
+        }
+        throw new IllegalArgumentException("Unknown algorithm '" + name + "', expected one of " + schedulers.keySet());
+    }
+
+    /**
+     * Check parameters against what the scheduler declares, converting string values.
+     *
+     * @return typed values of the given parameters, without defaults filled in
+     * @throws IllegalArgumentException on an unknown key or a bad value
+     */
+    public static Map<String, Object> validate(Scheduler scheduler, Map<String, ?> params) {
+        List<ParamSpec> specs = scheduler.getParams();
+        Map<String, Object> typed = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> entry : params.entrySet()) {
+            ParamSpec spec = specs.stream().filter(s -> s.key().equals(entry.getKey())).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown parameter '" + entry.getKey()
+                            + "' for " + scheduler.getName() + ", expected one of "
+                            + specs.stream().map(ParamSpec::key).toList()));
+            typed.put(spec.key(), spec.parse(entry.getValue()));
+        }
+        return typed;
+    }
+
+    /**
+     * Rough upper bound on the segments a schedule will have. Every burst ends in at
+     * least one segment; a time slice, if the scheduler has one, bounds how finely CPU
+     * bursts are cut. Real-time tasks count once per job released before the horizon,
+     * and a switch cost adds a switch segment per dispatch. In a double, since a
+     * client-chosen horizon can release more jobs than a long counts.
+     */
+    public static double estimateSegments(Scheduler scheduler, List<ProcessModel> processes,
+                                          Map<String, Object> params) {
+        long slice = 0;
+        for (ParamSpec spec : scheduler.getParams()) {
+            if (spec.kind() == ParamSpec.Kind.INTEGER
+                    && (spec.key().equals("quantum") || spec.key().equals("minGranularity"))) {
+                slice = spec.longValue(params);
+                if (slice > 0) break;
+            }
+        }
+        long horizon = scheduler instanceof RealTimeScheduler ? RealTimeScheduler.horizon(processes, params) : 0;
+        double segments = 0;
+        for (ProcessModel p : processes) {
+            double jobs = horizon > 0 ? RealTimeScheduler.jobCount(p, horizon) : 1;
+            segments += jobs * 2 * p.getCpuBurstCount();
+            if (slice > 0) segments += jobs * (p.getBurst() / slice);
+        }
+        if (ParamSpec.CONTEXT_SWITCH.longValue(params) > 0) segments *= 2;
+        return segments;
+    }
+}
@@ -0,0 +1,39 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.SegmentSink;
+
+/**
+ * Coalesces consecutive runs of the same process on a single core into one segment
+ * before handing it on. Processes are indexes into the scheduled list, or
+ * {@link SegmentSink#IDLE} or {@link SegmentSink#SWITCH}.
+ */
+final class SegmentMerger {
+    private final SegmentSink sink;
+    private int process = Integer.MIN_VALUE;
+    private long start;
+    private long end;
+
+    SegmentMerger(SegmentSink sink) {
+        this.sink = sink;
+    }
+
+    void emit(int process, long start, long end) {
+        if (process == this.process && start == this.end) {
+            this.end = end;
+            return;
+        }
+        flush();
+        this.process = process;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Hand on the pending segment, if any.
+     */
+    void flush() {
+        if (process == Integer.MIN_VALUE) return;
+        sink.segment(process, start, end, 0, false);
+        process = Integer.MIN_VALUE;
+    }
+}
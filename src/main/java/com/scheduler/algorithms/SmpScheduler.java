@@ -0,0 +1,245 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.*;
+
+/**
+ * Symmetric multiprocessing (SMP) scheduling algorithm.
+ * Dispatches processes to several cores from either one global run queue or
+ * per-core run queues, optionally letting idle cores steal queued work.
+ *
+ * <p>Parameters:
+ * <ul>
+ *   <li>{@code cores} - number of simulated cores (default 4)</li>
+ *   <li>{@code queues} - {@code "global"} or {@code "per-core"} (default global)</li>
+ *   <li>{@code stealing} - idle cores steal from the busiest queue (default true, per-core only)</li>
+ *   <li>{@code policy} - run queue order: {@code "FCFS"}, {@code "SJF"} or {@code "Priority"} (default FCFS)</li>
+ *   <li>{@code quantum} - time slice before a process is requeued, 0 runs to completion (default 0)</li>
+ *   <li>{@code contextSwitch}, {@code migrationPenalty} - switch overhead, see {@link ContextSwitchModel}</li>
+ * </ul>
+ * Every segment carries the core it ran on. Processes woken from I/O are placed
+ * like new arrivals.
+ */
+public class SmpScheduler implements Scheduler {
+
+    static final ParamSpec CORES = ParamSpec.integer("cores", "Cores", 4, 1, 4096, "Number of simulated cores");
+    static final ParamSpec QUEUES = ParamSpec.choice("queues", "Queues", "global", List.of("global", "per-core"),
+            "One global run queue or one per core");
+    static final ParamSpec STEALING = ParamSpec.bool("stealing", "Stealing", true,
+            "Idle cores steal from the busiest queue (per-core queues only)");
+    static final ParamSpec POLICY = ParamSpec.choice("policy", "Policy", "FCFS", List.of("FCFS", "SJF", "Priority"),
+            "Run queue order");
+    static final ParamSpec QUANTUM = ParamSpec.integer("quantum", "Quantum", 0, 0, Integer.MAX_VALUE,
+            "Time slice before a process is requeued (0 = run to completion)");
+
+    @Override
+    public String getName() {
+        return "SMP";
+    }
+
+    @Override
+    public List<ParamSpec> getParams() {
+        return List.of(CORES, QUEUES, STEALING, POLICY, QUANTUM,
+                ParamSpec.CONTEXT_SWITCH, ParamSpec.MIGRATION_PENALTY, ParamSpec.IO_CHANNELS);
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsMulticore() {
+        return true;
+    }
+
+    @Override
+    public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
+        List<GanttSegment> segments = new ArrayList<>();
+        schedule(processes, params, SegmentSink.into(processes, segments));
+        return segments;
+    }
+
+    @Override
+    public void schedule(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        if (processes.isEmpty()) return;
+
+        int cores = CORES.intValue(params);
+        boolean perCore = "per-core".equals(QUEUES.stringValue(params));
+        boolean stealing = perCore && STEALING.booleanValue(params);
+        String policy = POLICY.stringValue(params);
+        int quantum = QUANTUM.intValue(params);
+
+        Workload workload = new Workload(processes, params, sink);
+        new Run(workload, cores, perCore, stealing, policy, quantum, ContextSwitchModel.from(params), sink)
+                .execute();
+    }
+
+    /**
+     * Mutable state of a single scheduling run. Processes are referred to by
+     * their ordinal in arrival order so the queues stay primitive.
+     */
+    private static final class Run {
+        private final Workload workload;
+        private final int cores;
+        private final boolean perCore;
+        private final boolean stealing;
+        private final Policy policy;
+        private final int quantum;
+        private final ContextSwitchModel switches;
+        private final SegmentSink sink;
+
+        private final IntHeap[] queues;
+        private final IntHeap sliceEnds;
+        private final BitSet idleCores;
+        private final int[] running;
+        private final int[] sliceLength;
+        private final long[] idleSince;
+        private final int[] preemptedProcess;
+        private final int[] preemptedCore;
+        private long sequence;
+        private int queued;
+        private int placement;
+
+        Run(Workload workload, int cores, boolean perCore, boolean stealing,
+            String policy, int quantum, ContextSwitchModel switches, SegmentSink sink) {
+            this.workload = workload;
+            this.cores = cores;
+            this.perCore = perCore;
+            this.stealing = stealing;
+            this.policy = Policy.of(policy);
+            this.quantum = quantum;
+            this.switches = switches;
+            this.sink = sink;
+
+            this.queues = new IntHeap[perCore ? cores : 1];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new IntHeap(perCore ? 16 : workload.size());
+            }
+            this.sliceEnds = new IntHeap(cores);
+            this.idleCores = new BitSet(cores);
+            idleCores.set(0, cores);
+            this.running = new int[cores];
+            Arrays.fill(running, -1);
+            this.sliceLength = new int[cores];
+            this.idleSince = new long[cores];
+            this.preemptedProcess = new int[cores];
+            this.preemptedCore = new int[cores];
+        }
+
+        void execute() {
+            while (!workload.isDone()) {
+                long nextSliceEnd = sliceEnds.isEmpty() ? Long.MAX_VALUE : sliceEnds.peekPrimary();
+                long now = Math.min(workload.nextEventTime(), nextSliceEnd);
+
+                // Retire every slice ending now; preempted processes are requeued after arrivals
+                int preemptedCount = 0;
+                while (!sliceEnds.isEmpty() && sliceEnds.peekPrimary() == now) {
+                    int core = sliceEnds.pop();
+                    int process = running[core];
+                    running[core] = -1;
+                    idleCores.set(core);
+                    idleSince[core] = now;
+                    if (!workload.run(process, sliceLength[core], now)) {
+                        preemptedProcess[preemptedCount] = process;
+                        preemptedCore[preemptedCount] = core;
+                        preemptedCount++;
+                    }
+                }
+
+                for (int p = workload.pollDue(now); p >= 0; p = workload.pollDue(now)) {
+                    enqueue(p, placeArrival());
+                }
+
+                for (int i = 0; i < preemptedCount; i++) {
+                    enqueue(preemptedProcess[i], preemptedCore[i]);
+                }
+
+                dispatch(now);
+            }
+        }
+
+        private void enqueue(int process, int core) {
+            long key = switch (policy) {
+                case SJF -> workload.burstLeft(process);
+                case PRIORITY -> workload.process(process).getPriority();
+                case FCFS -> 0L;
+            };
+            queues[perCore ? core : 0].push(process, key, sequence++);
+            queued++;
+        }
+
+        /**
+         * Per-core queues place an arrival on an idle core when one exists,
+         * otherwise round-robin across cores.
+         */
+        private int placeArrival() {
+            if (!perCore) return 0;
+            for (int core = idleCores.nextSetBit(0); core >= 0; core = idleCores.nextSetBit(core + 1)) {
+                if (queues[core].isEmpty()) return core;
+            }
+            placement = (placement + 1) % cores;
+            return placement;
+        }
+
+        private void dispatch(long now) {
+            for (int core = idleCores.nextSetBit(0); core >= 0 && queued > 0;
+                 core = idleCores.nextSetBit(core + 1)) {
+                IntHeap queue = queues[perCore ? core : 0];
+                if (queue.isEmpty() && stealing) {
+                    queue = busiestQueue();
+                }
+                if (queue.isEmpty()) continue;
+
+                queued--;
+                run(core, queue.pop(), now);
+            }
+        }
+
+        private IntHeap busiestQueue() {
+            IntHeap busiest = queues[0];
+            for (IntHeap queue : queues) {
+                if (queue.size() > busiest.size()) busiest = queue;
+            }
+            return busiest;
+        }
+
+        private void run(int core, int process, long now) {
+            if (idleSince[core] < now) {
+                sink.segment(SegmentSink.IDLE, idleSince[core], now, core, false);
+            }
+            int overhead = switches.charge(core, workload.id(process));
+            if (overhead > 0) {
+                sink.segment(SegmentSink.SWITCH, now, now + overhead, core, false);
+                now += overhead;
+            }
+            int burst = workload.burstLeft(process);
+            int slice = quantum > 0 ? Math.min(quantum, burst) : burst;
+            sink.segment(workload.index(process), now, now + slice, core, false);
+
+            running[core] = process;
+            sliceLength[core] = slice;
+            idleCores.clear(core);
+            sliceEnds.push(core, now + slice, core);
+        }
+    }
+
+    /**
+     * Ordering of a run queue; ties are broken by enqueue order.
+     */
+    private enum Policy {
+        FCFS, SJF, PRIORITY;
+
+        static Policy of(String name) {
+            return switch (name.toUpperCase(Locale.ROOT)) {
+                case "SJF" -> SJF;
+                case "PRIORITY" -> PRIORITY;
+                case "FCFS" -> FCFS;
+                default -> throw new IllegalArgumentException("Unknown SMP policy: " + name);
+            };
+        }
+    }
+}
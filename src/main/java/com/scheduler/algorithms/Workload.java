@@ -0,0 +1,167 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.*;
+
+/**
+ * A scheduling run's view of its processes as alternating CPU and I/O bursts.
+ *
+ * <p>Processes are referred to by their ordinal in (arrival, id) order. Arrivals
+ * are read from the sorted processes and wakeups from I/O from an event queue;
+ * {@link #pollDue(long)} merges both in time order. When a CPU burst finishes the
+ * process either completes or blocks on the {@link IoDevice}, which emits an I/O
+ * segment and schedules the wakeup. {@link #index(int)} maps an ordinal back to the
+ * process's position in the list the scheduler was given.
+ *
+ * <p>Parameters:
+ * <ul>
+ *   <li>{@code ioChannels} - requests the I/O device serves at once, 0 for unlimited (default 0)</li>
+ * </ul>
+ */
+final class Workload {
+    private final ProcessModel[] order;
+    private final int[] index;
+    private final int[] phase;
+    private final int[] burstLeft;
+    private IntHeap wakeups;
+    private IoDevice device;
+    private final SegmentSink sink;
+    private int nextArrival;
+    private int completed;
+    private long wakeSequence;
+
+    Workload(List<ProcessModel> processes, Map<String, Object> params, List<GanttSegment> segments) {
+        this(processes, params, SegmentSink.into(processes, segments));
+    }
+
+    Workload(List<ProcessModel> processes, Map<String, Object> params, SegmentSink sink) {
+        ProcessModel[] given = processes.toArray(new ProcessModel[0]);
+        Integer[] sorted = new Integer[given.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparingLong((Integer i) -> given[i].getArrival())
+                .thenComparing(i -> given[i].getId()));
+        this.order = new ProcessModel[sorted.length];
+        this.index = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = given[sorted[i]];
+            index[i] = sorted[i];
+        }
+        this.phase = new int[order.length];
+        this.burstLeft = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            burstLeft[i] = order[i].getCpuBurst(0);
+        }
+        this.wakeups = new IntHeap(16);
+        this.device = new IoDevice(ParamSpec.IO_CHANNELS.intValue(params));
+        this.sink = sink;
+    }
+
+    /**
+     * State of the processes that have arrived so far. Processes arriving later
+     * are still in their initial state, so they are not saved.
+     */
+    Snapshot save() {
+        return new Snapshot(nextArrival, completed, wakeSequence,
+                Arrays.copyOf(phase, nextArrival), Arrays.copyOf(burstLeft, nextArrival),
+                wakeups.copy(), device.copy());
+    }
+
+    /**
+     * Return to a saved state. The processes that had arrived when it was saved must
+     * be unchanged and still come first in arrival order.
+     */
+    void restore(Snapshot snapshot) {
+        nextArrival = snapshot.nextArrival();
+        completed = snapshot.completed();
+        wakeSequence = snapshot.wakeSequence();
+        System.arraycopy(snapshot.phase(), 0, phase, 0, nextArrival);
+        System.arraycopy(snapshot.burstLeft(), 0, burstLeft, 0, nextArrival);
+        wakeups = snapshot.wakeups().copy();
+        device = snapshot.device().copy();
+    }
+
+    record Snapshot(int nextArrival, int completed, long wakeSequence, int[] phase, int[] burstLeft,
+                    IntHeap wakeups, IoDevice device) {
+    }
+
+    int size() {
+        return order.length;
+    }
+
+    ProcessModel process(int p) {
+        return order[p];
+    }
+
+    String id(int p) {
+        return order[p].getId();
+    }
+
+    /**
+     * Position of the process in the list the workload was built from.
+     */
+    int index(int p) {
+        return index[p];
+    }
+
+    boolean isDone() {
+        return completed == order.length;
+    }
+
+    /**
+     * CPU time left in the process's current CPU burst.
+     */
+    int burstLeft(int p) {
+        return burstLeft[p];
+    }
+
+    /**
+     * Time of the next arrival or wakeup, or {@link Long#MAX_VALUE} if none is pending.
+     */
+    long nextEventTime() {
+        long arrival = nextArrival < order.length ? order[nextArrival].getArrival() : Long.MAX_VALUE;
+        long wakeup = wakeups.isEmpty() ? Long.MAX_VALUE : wakeups.peekPrimary();
+        return Math.min(arrival, wakeup);
+    }
+
+    /**
+     * Next process that arrives or wakes up by {@code now}, or -1 if none is due.
+     * Arrivals come before wakeups at the same time.
+     */
+    int pollDue(long now) {
+        boolean arrivalDue = nextArrival < order.length && order[nextArrival].getArrival() <= now;
+        boolean wakeupDue = !wakeups.isEmpty() && wakeups.peekPrimary() <= now;
+        if (arrivalDue && (!wakeupDue || order[nextArrival].getArrival() <= wakeups.peekPrimary())) {
+            return nextArrival++;
+        }
+        return wakeupDue ? wakeups.pop() : -1;
+    }
+
+    /**
+     * Charge CPU time to the process's current burst, ending at {@code now}.
+     *
+     * @return true if the burst finished, meaning the process blocked on I/O or completed
+     */
+    boolean run(int p, int time, long now) {
+        burstLeft[p] -= time;
+        if (burstLeft[p] > 0) return false;
+
+        ProcessModel process = order[p];
+        int io = process.getIoBurst(phase[p]);
+        phase[p]++;
+        if (phase[p] >= process.getCpuBurstCount()) {
+            completed++;
+            return true;
+        }
+
+        long wake = device.submit(now, io);
+        sink.segment(index[p], device.lastStart(), wake, device.lastChannel(), true);
+        burstLeft[p] = process.getCpuBurst(phase[p]);
+        wakeups.push(p, wake, wakeSequence++);
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.scheduler.cli;
+
+import com.scheduler.algorithms.ParamSpec;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.diagnostics.RunMetrics;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.JsonIO;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Headless run that schedules every workload file under a directory with one or more
+ * algorithms and writes a {@link BatchReport} row per file and algorithm.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar batch workloads/ report.csv algorithms=FCFS,Round-Robin quantum=4
+ * java -jar cpu-scheduler.jar batch workloads/ report.csv resume=true
+ * </pre>
+ *
+ * Files are read by {@code readers} threads (default 2) and scheduled by {@code threads}
+ * threads (default all cores); at most two loaded workloads per scheduling thread are held
+ * at once. Parameters apply to the algorithms that declare them. With {@code resume=true}
+ * rows already in the report are kept and their runs skipped; files that failed are not
+ * recorded, so they are retried.
+ */
+public final class BatchCommand {
+
+    private BatchCommand() {
+    }
+
+    /**
+     * @return process exit code, 1 if any file failed
+     */
+    public static int run(String[] args) {
+        return run(args, System.err);
+    }
+
+    static int run(String[] args, PrintStream err) {
+        if (args.length < 2) {
+            err.println("usage: batch <dir> <report.csv> [algorithms=A,B] [threads=N] [readers=N] [resume=true]"
+                    + " [key=value ...]");
+            return 2;
+        }
+        try {
+            Path dir = Paths.get(args[0]);
+            Map<String, Object> settings = MetricsCommand.parseParams(args, 2);
+            Object names = settings.remove("algorithms");
+            int threads = intSetting(settings.remove("threads"), Runtime.getRuntime().availableProcessors());
+            int readers = intSetting(settings.remove("readers"), 2);
+            Object resume = settings.remove("resume");
+            Map<Scheduler, Map<String, Object>> runs = plan(names == null ? null : names.toString(), settings);
+
+            List<Path> files = workloadFiles(dir);
+            long started = System.nanoTime();
+            int failures;
+            try (BatchReport report = BatchReport.open(Paths.get(args[1]),
+                    resume != null && Boolean.parseBoolean(resume.toString()))) {
+                if (report.resumedRows() > 0) {
+                    err.printf("Resuming, %d rows already in %s%n", report.resumedRows(), args[1]);
+                }
+                failures = runAll(dir, files, runs, report, threads, readers, err);
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            err.printf("%d files, %d algorithms in %d ms, %d failed%n", files.size(), runs.size(), elapsedMs,
+                    failures);
+            return failures == 0 ? 0 : 1;
+        } catch (IOException | RuntimeException e) {
+            err.println("batch: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int intSetting(Object value, int defaultValue) {
+        int number = value == null ? defaultValue : Integer.parseInt(value.toString());
+        if (number < 1) throw new IllegalArgumentException("Thread counts must be at least 1: " + number);
+        return number;
+    }
+
+    /**
+     * The schedulers to run, each with the parameters it declares.
+     *
+     * @param names comma-separated algorithm names, or null for all
+     * @throws IllegalArgumentException if a parameter is declared by none of them
+     */
+    static Map<Scheduler, Map<String, Object>> plan(String names, Map<String, Object> params) {
+        List<Scheduler> schedulers = new ArrayList<>();
+        if (names == null) {
+            schedulers.addAll(Schedulers.create().values());
+        } else {
+            for (String name : names.split(",")) {
+                if (!name.isBlank()) schedulers.add(Schedulers.byName(name.trim()));
+            }
+        }
+        Map<Scheduler, Map<String, Object>> runs = new LinkedHashMap<>();
+        Map<String, Object> unused = new HashMap<>(params);
+        for (Scheduler scheduler : schedulers) {
+            Map<String, Object> own = new HashMap<>();
+            for (ParamSpec spec : scheduler.getParams()) {
+                if (params.containsKey(spec.key())) {
+                    own.put(spec.key(), params.get(spec.key()));
+                    unused.remove(spec.key());
+                }
+            }
+            runs.put(scheduler, Schedulers.validate(scheduler, own));
+        }
+        if (!unused.isEmpty()) {
+            throw new IllegalArgumentException("No selected algorithm takes " + unused.keySet());
+        }
+        return runs;
+    }
+
+    static List<Path> workloadFiles(Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int runAll(Path dir, List<Path> files, Map<Scheduler, Map<String, Object>> runs,
+                              BatchReport report, int threads, int readers, PrintStream err) {
+        ExecutorService io = Executors.newFixedThreadPool(readers);
+        ExecutorService cpu = Executors.newFixedThreadPool(threads);
+        // Loaded workloads held at once, so memory does not grow with the directory
+        Semaphore loaded = new Semaphore(threads * 2);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger queued = new AtomicInteger(files.size());
+        RunMetrics.setQueueDepth(queued.get());
+        List<CompletableFuture<Void>> jobs = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                String name = dir.relativize(file).toString().replace('\\', '/');
+                List<Scheduler> todo = runs.keySet().stream()
+                        .filter(s -> !report.isDone(name, s.getName()))
+                        .toList();
+                if (todo.isEmpty()) {
+                    RunMetrics.setQueueDepth(queued.decrementAndGet());
+                    continue;
+                }
+                loaded.acquireUninterruptibly();
+                CompletableFuture<Void> job = CompletableFuture
+                        .supplyAsync(() -> load(file), io)
+                        .thenCompose(processes -> CompletableFuture.allOf(todo.stream()
+                                .map(s -> CompletableFuture.runAsync(
+                                        () -> schedule(name, s, runs.get(s), processes, report), cpu))
+                                .toArray(CompletableFuture[]::new)))
+                        .whenComplete((ignored, failure) -> {
+                            loaded.release();
+                            RunMetrics.setQueueDepth(queued.decrementAndGet());
+                            if (failure != null) {
+                                failures.incrementAndGet();
+                                Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                                err.println("batch: " + name + ": " + cause.getMessage());
+                            }
+                        });
+                jobs.add(job);
+            }
+            CompletableFuture.allOf(jobs.toArray(CompletableFuture[]::new))
+                    .exceptionally(failure -> null)
+                    .join();
+        } finally {
+            io.shutdown();
+            cpu.shutdown();
+            RunMetrics.setQueueDepth(0);
+        }
+        return failures.get();
+    }
+
+    private static List<ProcessModel> load(Path file) {
+        try {
+            return JsonIO.importProcesses(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void schedule(String name, Scheduler scheduler, Map<String, Object> params,
+                                 List<ProcessModel> processes, BatchReport report) {
+        // Each algorithm gets its own copy; schedulers may update the processes they run
+        List<ProcessModel> copy = processes.stream().map(ProcessModel::new).toList();
+        MetricsCommand.Run run = MetricsCommand.measure(scheduler, copy, params);
+        String row = BatchReport.row(name, scheduler.getName(), copy.size(), run.segments(), run.metrics(),
+                run.deadlines());
+        try {
+            report.append(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.scheduler.cli;
+
+import com.scheduler.metrics.LatencyHistogram;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.DeadlineReport;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CSV report with one row of metrics per workload file and algorithm, appended and
+ * flushed row by row so an interrupted run loses at most the rows being written.
+ *
+ * <p>Real-time runs leave the completed, throughput and latency columns empty, since
+ * those count tasks rather than jobs, and fill the deadline columns instead. Other
+ * runs leave the deadline columns empty.
+ *
+ * <p>Reopening a report to resume drops a partly written last line and remembers which
+ * (file, algorithm) pairs are already in it.
+ */
+final class BatchReport implements Closeable {
+    static final String HEADER;
+
+    static {
+        StringBuilder sb = new StringBuilder("file,algorithm,processes,segments,completed,makespan,throughput,"
+                + "cpu_utilization");
+        for (String name : List.of("waiting", "response", "turnaround")) {
+            sb.append(',').append(name).append("_mean");
+            for (double p : ScheduleMetrics.PERCENTILES) {
+                sb.append(',').append(name).append("_p").append(ScheduleMetrics.formatPercentile(p));
+            }
+            sb.append(',').append(name).append("_max");
+        }
+        sb.append(",released_jobs,missed_deadlines,min_slack");
+        HEADER = sb.toString();
+    }
+
+    private final Writer out;
+    private final Set<String> done;
+    private final int resumedRows;
+
+    private BatchReport(Writer out, Set<String> done) {
+        this.out = out;
+        this.done = done;
+        this.resumedRows = done.size();
+    }
+
+    /**
+     * @param resume keep the rows of an existing report instead of starting over
+     */
+    static BatchReport open(Path path, boolean resume) throws IOException {
+        Set<String> done = new HashSet<>();
+        if (resume && Files.exists(path)) {
+            truncatePartialLine(path);
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line = reader.readLine();
+                if (line != null && !line.equals(HEADER)) {
+                    throw new IOException(path + " is not a batch report with the current columns");
+                }
+                while ((line = reader.readLine()) != null) {
+                    List<String> fields = parseLeadingFields(line, 2);
+                    if (fields.size() == 2) done.add(key(fields.get(0), fields.get(1)));
+                }
+            }
+        } else {
+            Files.deleteIfExists(path);
+        }
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        Writer out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        if (fresh) {
+            out.write(HEADER);
+            out.write('\n');
+            out.flush();
+        }
+        return new BatchReport(out, done);
+    }
+
+    synchronized boolean isDone(String file, String algorithm) {
+        return done.contains(key(file, algorithm));
+    }
+
+    /**
+     * Rows that were already in the report when it was opened.
+     */
+    int resumedRows() {
+        return resumedRows;
+    }
+
+    /**
+     * @param deadlines deadline report of a real-time run, or null
+     */
+    static String row(String file, String algorithm, int processes, long segments, ScheduleMetrics metrics,
+                      DeadlineReport deadlines) {
+        boolean realTime = deadlines != null;
+        StringBuilder sb = new StringBuilder();
+        sb.append(csv(file)).append(',').append(csv(algorithm)).append(',').append(processes).append(',')
+                .append(segments).append(',');
+        if (!realTime) sb.append(metrics.getCompleted());
+        sb.append(',').append(metrics.getMakespan()).append(',');
+        if (!realTime) sb.append(String.format(Locale.ROOT, "%.6f", metrics.getThroughput()));
+        sb.append(String.format(Locale.ROOT, ",%.6f", metrics.getCpuUtilization()));
+        for (LatencyHistogram histogram : List.of(metrics.getWaiting(), metrics.getResponse(),
+                metrics.getTurnaround())) {
+            if (realTime) {
+                sb.append(",".repeat(ScheduleMetrics.PERCENTILES.length + 2));
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, ",%.3f", histogram.getMean()));
+            for (double p : ScheduleMetrics.PERCENTILES) {
+                sb.append(',').append(histogram.getPercentile(p));
+            }
+            sb.append(',').append(histogram.getMax());
+        }
+        if (realTime) {
+            sb.append(',').append(deadlines.getReleasedJobs()).append(',').append(deadlines.getMissedDeadlines())
+                    .append(',').append(deadlines.getMinSlack());
+        } else {
+            sb.append(",,,");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append a row made by {@link #row} and flush it.
+     */
+    synchronized void append(String row) throws IOException {
+        out.write(row);
+        out.write('\n');
+        out.flush();
+        List<String> fields = parseLeadingFields(row, 2);
+        done.add(key(fields.get(0), fields.get(1)));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private static String key(String file, String algorithm) {
+        return file + '\n' + algorithm;
+    }
+
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) return field;
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * The first {@code count} fields of a CSV line, fewer if the line is shorter.
+     */
+    static List<String> parseLeadingFields(String line, int count) {
+        List<String> fields = new ArrayList<>(count);
+        int i = 0;
+        while (fields.size() < count && i <= line.length()) {
+            StringBuilder field = new StringBuilder();
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (i < line.length()) {
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                i++; // comma
+            } else {
+                int comma = line.indexOf(',', i);
+                int stop = comma < 0 ? line.length() : comma;
+                field.append(line, i, stop);
+                i = stop + 1;
+            }
+            fields.add(field.toString());
+        }
+        return fields;
+    }
+
+    private static void truncatePartialLine(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long end = file.length();
+            while (end > 0) {
+                file.seek(end - 1);
+                if (file.read() == '\n') break;
+                end--;
+            }
+            file.setLength(end);
+        }
+    }
+}
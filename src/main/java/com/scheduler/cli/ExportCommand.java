@@ -0,0 +1,125 @@
+package com.scheduler.cli;
+
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.export.ChromeTraceWriter;
+import com.scheduler.export.GanttImage;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentStore;
+import com.scheduler.util.JsonIO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headless run that schedules a workload and writes the schedule out, for runs too large
+ * for the Gantt chart: a {@code .png} or {@code .svg} output is an image of the whole chart,
+ * anything else a Chrome Trace Event file for Perfetto.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar export processes.json "Round-Robin" schedule.trace.json quantum=4
+ * java -jar cpu-scheduler.jar export processes.json "Round-Robin" schedule.png quantum=4 width=8192
+ * java -jar cpu-scheduler.jar export processes.json "Round-Robin" schedule.png quantum=1 store=memory
+ * java -jar cpu-scheduler.jar export processes.json "Round-Robin" schedule.trace.json quantum=1 store=memory
+ * </pre>
+ *
+ * With {@code store=memory} or {@code store=<file>} the schedule goes into an off-heap
+ * {@link SegmentStore} and is drawn or traced from there, so it is never held as segment
+ * objects. Traces visit the segments in start order by merging core and I/O lanes, never
+ * by sorting them.
+ */
+public final class ExportCommand {
+
+    private ExportCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(args, System.err);
+    }
+
+    static int run(String[] args, PrintStream err) {
+        if (args.length < 3) {
+            err.println("usage: export <processes.json> <algorithm> <out.json|out.png|out.svg> [width=N] [key=value ...]");
+            return 2;
+        }
+        try {
+            List<ProcessModel> processes = JsonIO.importProcesses(new File(args[0]));
+            Scheduler scheduler = Schedulers.byName(args[1]);
+            Map<String, Object> params = MetricsCommand.parseParams(args, 3);
+            Object width = params.remove("width");
+            Object store = params.remove("store");
+            String name = args[2].toLowerCase(Locale.ROOT);
+            boolean drawn = name.endsWith(".png") || name.endsWith(".svg");
+            if (!drawn && width != null) {
+                throw new IllegalArgumentException("width only applies to .png and .svg output");
+            }
+            int imageWidth = width == null ? GanttImage.DEFAULT_WIDTH : Integer.parseInt(width.toString());
+
+            long started = System.nanoTime();
+            long count;
+            if (store == null) {
+                List<GanttSegment> segments = MetricsCommand.schedule(scheduler, processes,
+                        Schedulers.validate(scheduler, params));
+                write(processes, segments, args[2], drawn, imageWidth);
+                count = segments.size();
+            } else {
+                try (SegmentStore segments = MetricsCommand.openStore(store.toString())) {
+                    MetricsCommand.schedule(scheduler, processes, Schedulers.validate(scheduler, params), segments);
+                    if (drawn) {
+                        int threads = Runtime.getRuntime().availableProcessors();
+                        writeImage(GanttImage.of(processes, segments, imageWidth, threads), args[2], threads);
+                    } else {
+                        try (Writer out = textFile(args[2])) {
+                            ChromeTraceWriter.write(processes, segments, out);
+                        }
+                    }
+                    count = segments.size();
+                }
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            err.printf("%d segments written to %s in %d ms%n", count, args[2], elapsedMs);
+            return 0;
+        } catch (UncheckedIOException e) {
+            err.println("export: " + e.getCause().getMessage());
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            err.println("export: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static void write(List<ProcessModel> processes, List<GanttSegment> segments, String path,
+                              boolean drawn, int width) throws IOException {
+        if (drawn) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            writeImage(GanttImage.of(processes, segments, width, threads), path, threads);
+        } else {
+            try (Writer out = textFile(path)) {
+                ChromeTraceWriter.write(processes, segments, out);
+            }
+        }
+    }
+
+    private static void writeImage(GanttImage image, String path, int threads) throws IOException {
+        if (path.toLowerCase(Locale.ROOT).endsWith(".png")) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(path), 1 << 16)) {
+                image.writePng(out, threads);
+            }
+        } else {
+            try (Writer out = textFile(path)) {
+                image.writeSvg(out);
+            }
+        }
+    }
+
+    private static Writer textFile(String path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8), 1 << 16);
+    }
+}
@@ -0,0 +1,62 @@
+package com.scheduler.cli;
+
+import com.scheduler.workload.WorkloadGenerator;
+import com.scheduler.workload.WorkloadSpec;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Headless run that writes a seeded synthetic workload as JSON, in constant memory.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar generate workload.json 1000000 seed=7 arrivals=mmpp bursts=pareto
+ * </pre>
+ *
+ * An output of {@code -} writes to standard output. See {@link WorkloadSpec} for the settings.
+ */
+public final class GenerateCommand {
+
+    private GenerateCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(args, System.out, System.err);
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length < 2) {
+            err.println("usage: generate <out.json|-> <count> [key=value ...]");
+            return 2;
+        }
+        try {
+            long count = Long.parseLong(args[1]);
+            Map<String, Object> settings = MetricsCommand.parseParams(args, 2);
+            WorkloadGenerator generator = new WorkloadGenerator(WorkloadSpec.fromParams(settings));
+
+            if ("-".equals(args[0])) {
+                // writeJson flushes, and standard output stays open
+                generator.writeJson(count, new BufferedOutputStream(out, 1 << 20));
+                return 0;
+            }
+
+            long started = System.nanoTime();
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(args[0]), 1 << 20)) {
+                generator.writeJson(count, stream);
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            err.printf("%d processes written to %s in %d ms%n", count, args[0], elapsedMs);
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("generate: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.scheduler.cli;
+
+import com.scheduler.algorithms.RealTimeScheduler;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.diagnostics.RunMetrics;
+import com.scheduler.diagnostics.ScheduleEvent;
+import com.scheduler.metrics.MetricsCollector;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.DeadlineReport;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+import com.scheduler.model.SegmentStore;
+import com.scheduler.util.JsonIO;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless run that prints latency percentiles, throughput and utilization, or for a
+ * real-time scheduler the deadline misses and slack of each task.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar metrics processes.json "Round-Robin" quantum=4 contextSwitch=1
+ * java -jar cpu-scheduler.jar metrics processes.json "Round-Robin" quantum=1 store=schedule.seg
+ * </pre>
+ *
+ * With {@code store=memory} or {@code store=<file>} the schedule goes into an off-heap
+ * {@link SegmentStore}, in direct memory or a mapped file, instead of segment objects.
+ */
+public final class MetricsCommand {
+
+    private MetricsCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(args, System.out, System.err);
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length < 2) {
+            err.println("usage: metrics <processes.json> <algorithm> [key=value ...]");
+            return 2;
+        }
+        try {
+            List<ProcessModel> processes = JsonIO.importProcesses(new File(args[0]));
+            Scheduler scheduler = Schedulers.byName(args[1]);
+            Map<String, Object> settings = parseParams(args, 2);
+            Object store = settings.remove("store");
+            Map<String, Object> params = Schedulers.validate(scheduler, settings);
+
+            long started = System.nanoTime();
+            ScheduleMetrics metrics;
+            DeadlineReport deadlines;
+            String where = "";
+            if (store == null) {
+                Run run = measure(scheduler, processes, params);
+                metrics = run.metrics();
+                deadlines = run.deadlines();
+            } else {
+                try (SegmentStore segments = openStore(store.toString())) {
+                    deadlines = schedule(scheduler, processes, params, segments);
+                    MetricsCollector collector = new MetricsCollector(processes);
+                    segments.forEach(collector);
+                    metrics = collector.finish();
+                    RunMetrics.recordMetrics(metrics);
+                    where = String.format(", %d segments in %d MiB off-heap", segments.size(),
+                            segments.getBytes() >> 20);
+                }
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            out.printf("%s, %d processes%s, %d ms%n", scheduler.getName(), processes.size(), where, elapsedMs);
+            out.print(deadlines == null ? metrics.summary() : summary(metrics, deadlines));
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("metrics: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Run the scheduler, recording a {@link ScheduleEvent} when flight recording is on
+     * and counting the run in {@link RunMetrics}.
+     */
+    static List<GanttSegment> schedule(Scheduler scheduler, List<ProcessModel> processes,
+                                       Map<String, Object> params) {
+        ScheduleEvent event = new ScheduleEvent();
+        long started = System.nanoTime();
+        event.begin();
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        event.end();
+        RunMetrics.recordRun(segments.size(), System.nanoTime() - started);
+        if (event.shouldCommit()) {
+            event.algorithm = scheduler.getName();
+            event.processes = processes.size();
+            event.segments = segments.size();
+            event.commit();
+        }
+        return segments;
+    }
+
+    /**
+     * Metrics of one scheduler run and how many segments it emitted. Real-time runs
+     * also carry their deadline report; their latencies are per task, not per job, and
+     * mean nothing for periodic tasks.
+     */
+    record Run(ScheduleMetrics metrics, long segments, DeadlineReport deadlines) {
+    }
+
+    /**
+     * Schedule straight into a {@link MetricsCollector}, without building the segment
+     * list.
+     */
+    static Run measure(Scheduler scheduler, List<ProcessModel> processes, Map<String, Object> params) {
+        MetricsCollector collector = new MetricsCollector(processes);
+        long[] segments = new long[1];
+        DeadlineReport deadlines = schedule(scheduler, processes, params, (process, start, end, core, io) -> {
+            segments[0]++;
+            collector.segment(process, start, end, core, io);
+        });
+        ScheduleMetrics metrics = collector.finish();
+        RunMetrics.recordMetrics(metrics);
+        return new Run(metrics, segments[0], deadlines);
+    }
+
+    /**
+     * Like {@link #schedule(Scheduler, List, Map)}, but into a sink such as an off-heap
+     * store.
+     *
+     * @return the deadline report of a real-time scheduler, else null
+     */
+    static DeadlineReport schedule(Scheduler scheduler, List<ProcessModel> processes, Map<String, Object> params,
+                                   SegmentSink sink) {
+        long[] segments = new long[1];
+        ScheduleEvent event = new ScheduleEvent();
+        long started = System.nanoTime();
+        event.begin();
+        DeadlineReport deadlines = scheduleInto(scheduler, processes, params, (process, start, end, core, io) -> {
+            segments[0]++;
+            sink.segment(process, start, end, core, io);
+        });
+        event.end();
+        RunMetrics.recordRun(segments[0], System.nanoTime() - started);
+        if (event.shouldCommit()) {
+            event.algorithm = scheduler.getName();
+            event.processes = processes.size();
+            event.segments = (int) Math.min(Integer.MAX_VALUE, segments[0]);
+            event.commit();
+        }
+        return deadlines;
+    }
+
+    /**
+     * Run the scheduler into a sink, through {@link RealTimeScheduler#simulate} for a
+     * real-time one so its deadline report is kept.
+     *
+     * @return the deadline report, or null if the scheduler is not a real-time one
+     */
+    private static DeadlineReport scheduleInto(Scheduler scheduler, List<ProcessModel> processes,
+                                               Map<String, Object> params, SegmentSink sink) {
+        if (scheduler instanceof RealTimeScheduler realTime) {
+            return realTime.simulate(processes, params, sink);
+        }
+        scheduler.schedule(processes, params, sink);
+        return null;
+    }
+
+    /**
+     * Deadline outcome of a real-time run, in place of {@link ScheduleMetrics#summary()}.
+     */
+    static String summary(ScheduleMetrics metrics, DeadlineReport deadlines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Jobs: %d released, %d missed in %d (CPU %.1f%% on %d core(s))%n",
+                deadlines.getReleasedJobs(), deadlines.getMissedDeadlines(), metrics.getMakespan(),
+                metrics.getCpuUtilization() * 100, metrics.getCoreCount()));
+        for (DeadlineReport.TaskStats task : deadlines.getTasks()) {
+            sb.append(String.format("%-10s released %d, missed %d, min slack %d, mean slack %.2f%n",
+                    task.getId(), task.getReleased(), task.getMissed(), task.getMinSlack(),
+                    task.getAverageSlack()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Store named by a {@code store=} setting: {@code memory} for direct memory, else the
+     * path of a file to map.
+     */
+    static SegmentStore openStore(String store) throws IOException {
+        return "memory".equals(store) ? SegmentStore.allocate() : SegmentStore.map(Paths.get(store));
+    }
+
+    /**
+     * Scheduler parameters from {@code key=value} arguments; values stay strings and
+     * are converted by the scheduler.
+     */
+    static Map<String, Object> parseParams(String[] args, int from) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = from; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + args[i] + "'");
+            }
+            params.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,188 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.JsonIO;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unix filter that schedules one workload per line: each input line is a JSON process
+ * array, each output line the {@link ScheduleJson} result for it, or {@code {"error": ...,
+ * "line": n}} if the line could not be scheduled. Blank lines are skipped.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar pipe Round-Robin quantum=4 &lt; workloads.jsonl &gt; results.jsonl
+ * java -jar cpu-scheduler.jar pipe SJF segments=true threads=8 &lt; workloads.jsonl
+ * </pre>
+ *
+ * Lines are scheduled in parallel, {@code threads} at a time (all cores by default), and
+ * written in input order. At most a few lines per thread are in flight, so memory stays
+ * bounded however long the input is.
+ */
+public final class PipeCommand {
+    /** Lines read ahead per thread, so slow lines do not stall the others. */
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private PipeCommand() {
+    }
+
+    /**
+     * @return process exit code, 1 if any line failed
+     */
+    public static int run(String[] args) {
+        // Not System.out, which hides write errors, so a closed pipe stops the run
+        return run(args, System.in, new FileOutputStream(FileDescriptor.out), System.err);
+    }
+
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+        if (args.length < 1) {
+            err.println("usage: pipe <algorithm> [segments=true] [threads=N] [key=value ...]");
+            return 2;
+        }
+        Scheduler scheduler;
+        Map<String, Object> params;
+        boolean withSegments;
+        int threads;
+        try {
+            scheduler = Schedulers.byName(args[0]);
+            Map<String, Object> settings = MetricsCommand.parseParams(args, 1);
+            Object segments = settings.remove("segments");
+            withSegments = segments != null && Boolean.parseBoolean(segments.toString());
+            Object count = settings.remove("threads");
+            threads = count == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(count.toString());
+            if (threads < 1) throw new IllegalArgumentException("threads must be at least 1: " + threads);
+            params = Schedulers.validate(scheduler, settings);
+        } catch (RuntimeException e) {
+            err.println("pipe: " + e.getMessage());
+            return 1;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pipe-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Results in input order; the bound is the read-ahead window
+        BlockingQueue<CompletableFuture<String>> pending = new ArrayBlockingQueue<>(threads * WINDOW_PER_THREAD);
+        AtomicInteger failures = new AtomicInteger();
+        Writer output = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        CompletableFuture<String> end = CompletableFuture.completedFuture(null);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        Thread writer = new Thread(() -> write(pending, end, output, closed, err), "pipe-writer");
+        writer.start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            String line;
+            long number = 0;
+            while (!closed.get() && (line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) continue;
+                String text = line;
+                long lineNumber = number;
+                pending.put(CompletableFuture.supplyAsync(
+                        () -> schedule(scheduler, params, withSegments, text, lineNumber, failures), pool));
+            }
+        } catch (IOException e) {
+            err.println("pipe: " + e.getMessage());
+            failures.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                pending.put(end);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool.shutdown();
+        }
+        return failures.get() == 0 && !closed.get() ? 0 : 1;
+    }
+
+    private static String schedule(Scheduler scheduler, Map<String, Object> params, boolean withSegments,
+                                   String line, long number, AtomicInteger failures) {
+        try {
+            List<ProcessModel> processes = JsonIO.readProcesses(new StringReader(line));
+            StringWriter text = new StringWriter();
+            ScheduleJson writer = new ScheduleJson(() -> new JsonWriter(text), scheduler, processes, withSegments);
+            MetricsCommand.schedule(scheduler, processes, params, writer);
+            writer.finish();
+            return text.toString();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            JsonObject error = new JsonObject();
+            error.addProperty("error", String.valueOf(e.getMessage()));
+            error.addProperty("line", number);
+            return error.toString();
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write results in order, flushing whenever the next one is not ready yet so
+     * interactive use sees each result as soon as it can.
+     */
+    private static void write(BlockingQueue<CompletableFuture<String>> pending, CompletableFuture<String> end,
+                              Writer output, AtomicBoolean closed, PrintStream err) {
+        try {
+            while (true) {
+                CompletableFuture<String> next = pending.peek();
+                try {
+                    if (!closed.get() && (next == null || !next.isDone())) {
+                        output.flush();
+                    }
+                } catch (IOException e) {
+                    closed.set(true);
+                }
+                next = pending.take();
+                if (next == end) break;
+                if (closed.get()) continue;
+                try {
+                    output.write(next.get());
+                    output.write('\n');
+                } catch (IOException e) {
+                    // Output closed, e.g. by "| head": stop reading, drain what is queued
+                    closed.set(true);
+                } catch (ExecutionException e) {
+                    err.println("pipe: " + e.getCause());
+                    closed.set(true);
+                }
+            }
+            if (!closed.get()) output.flush();
+        } catch (IOException e) {
+            closed.set(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
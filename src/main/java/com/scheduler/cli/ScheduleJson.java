@@ -0,0 +1,143 @@
+package com.scheduler.cli;
+
+import com.google.gson.stream.JsonWriter;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.metrics.LatencyHistogram;
+import com.scheduler.metrics.MetricsCollector;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes a schedule and its metrics as one JSON object while the scheduler produces it,
+ * so neither the segments nor the text are ever held in memory whole:
+ *
+ * <pre>
+ * {"algorithm": "Round-Robin", "processes": 3,
+ *  "segments": [{"pid": "P1", "start": 0, "end": 2, "core": 0}, ...], "segmentCount": 7,
+ *  "metrics": {"completed": 3, "makespan": 9, "throughput": 0.33, "cpuUtilization": 1.0, "cores": 1,
+ *              "waiting": {"mean": 2.3, "p50": 2, "p90": 4, "p99": 4, "p99.9": 4, "max": 4},
+ *              "response": {...}, "turnaround": {...}}}
+ * </pre>
+ *
+ * I/O segments carry {@code "io": true} and their device channel as {@code core}.
+ *
+ * <p>The output is opened on the first segment, or by {@link #finish()}, so a scheduler
+ * that rejects its input before emitting anything leaves nothing written.
+ */
+final class ScheduleJson implements SegmentSink {
+
+    /**
+     * Where the JSON goes, opened when the first of it is written.
+     */
+    @FunctionalInterface
+    interface Output {
+        JsonWriter open() throws IOException;
+    }
+
+    private final Output output;
+    private final Scheduler scheduler;
+    private final List<ProcessModel> processes;
+    private final boolean withSegments;
+    private final MetricsCollector collector;
+    private JsonWriter json;
+    private long segmentCount;
+
+    /**
+     * @param withSegments whether to include the segments or only their count
+     */
+    ScheduleJson(Output output, Scheduler scheduler, List<ProcessModel> processes, boolean withSegments) {
+        this.output = output;
+        this.scheduler = scheduler;
+        this.processes = processes;
+        this.withSegments = withSegments;
+        this.collector = new MetricsCollector(processes);
+    }
+
+    /**
+     * Whether any JSON has been written yet.
+     */
+    boolean isStarted() {
+        return json != null;
+    }
+
+    /**
+     * @throws UncheckedIOException if the output fails
+     */
+    @Override
+    public void segment(int process, long start, long end, int core, boolean io) {
+        collector.segment(process, start, end, core, io);
+        segmentCount++;
+        try {
+            begin();
+            if (!withSegments) return;
+            json.beginObject();
+            json.name("pid").value(switch (process) {
+                case IDLE -> GanttSegment.IDLE;
+                case SWITCH -> GanttSegment.SWITCH;
+                default -> processes.get(process).getId();
+            });
+            json.name("start").value(start);
+            json.name("end").value(end);
+            json.name("core").value(core);
+            if (io) json.name("io").value(true);
+            json.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Close the segments and write their count and the metrics, once the scheduler is
+     * done. Flushes the output but does not close it.
+     */
+    void finish() throws IOException {
+        begin();
+        if (withSegments) {
+            json.endArray();
+        }
+        json.name("segmentCount").value(segmentCount);
+        writeMetrics(json.name("metrics"), collector.finish());
+        json.endObject();
+        json.flush();
+    }
+
+    private void begin() throws IOException {
+        if (json != null) return;
+        json = output.open();
+        json.beginObject();
+        json.name("algorithm").value(scheduler.getName());
+        json.name("processes").value(processes.size());
+        if (withSegments) {
+            json.name("segments").beginArray();
+        }
+    }
+
+    private static void writeMetrics(JsonWriter json, ScheduleMetrics metrics) throws IOException {
+        json.beginObject();
+        json.name("completed").value(metrics.getCompleted());
+        json.name("makespan").value(metrics.getMakespan());
+        json.name("throughput").value(metrics.getThroughput());
+        json.name("cpuUtilization").value(metrics.getCpuUtilization());
+        json.name("cores").value(metrics.getCoreCount());
+        writeHistogram(json.name("waiting"), metrics.getWaiting());
+        writeHistogram(json.name("response"), metrics.getResponse());
+        writeHistogram(json.name("turnaround"), metrics.getTurnaround());
+        json.endObject();
+    }
+
+    private static void writeHistogram(JsonWriter json, LatencyHistogram histogram) throws IOException {
+        json.beginObject();
+        json.name("mean").value(histogram.getMean());
+        for (double p : ScheduleMetrics.PERCENTILES) {
+            json.name("p" + ScheduleMetrics.formatPercentile(p)).value(histogram.getPercentile(p));
+        }
+        json.name("max").value(histogram.getMax());
+        json.endObject();
+    }
+}
@@ -0,0 +1,313 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.scheduler.algorithms.ParamSpec;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.diagnostics.MetricsServer;
+import com.scheduler.diagnostics.RunMetrics;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.BinaryIO;
+import com.scheduler.util.JsonIO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduling service on the loopback address, one virtual thread per request.
+ *
+ * <ul>
+ *   <li>{@code POST /schedule?algorithm=<name>[&segments=false][&key=value...]} schedules the
+ *       workload in the body and streams back the segments and metrics as written by
+ *       {@link ScheduleJson}. The body is a JSON process array as in {@link JsonIO}, or
+ *       {@link BinaryIO}'s format when sent as {@code application/octet-stream}.</li>
+ *   <li>{@code GET /schedulers} lists the algorithms and their parameters.</li>
+ *   <li>{@code GET /metrics} serves the run metrics in Prometheus text format.</li>
+ * </ul>
+ *
+ * <p>Admission control keeps the estimated memory of in-flight jobs under a budget: a job
+ * reserves its body while reading and parsing it, then releases that and reserves its
+ * parsed workload and expected segments, waiting while the budget is spent. A job never
+ * holds one reservation while waiting for another. Jobs larger than the whole budget are
+ * refused with 413, and jobs that wait too long with 503.
+ */
+public final class ScheduleServer implements AutoCloseable {
+    /** Estimated heap per byte of request body while it is held and parsed. */
+    static final int BODY_EXPANSION = 4;
+    /** Estimated heap per parsed process. */
+    static final long PROCESS_BYTES = 256;
+    static final long SEGMENT_BYTES = 48;
+    private static final long ADMISSION_TIMEOUT_SECONDS = 30;
+    private static final int BACKLOG = 4096;
+    private static final String BINARY_TYPE = "application/octet-stream";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Scheduler> schedulers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Semaphore budget;
+    private final long budgetBytes;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private ScheduleServer(int port, long budgetBytes) throws IOException {
+        this.budgetBytes = budgetBytes;
+        // Reserved in KiB so large budgets fit in an int
+        this.budget = new Semaphore(kib(budgetBytes), true);
+        // Schedulers keep no state between runs, so one instance serves every request
+        this.schedulers.putAll(Schedulers.create());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/schedule", this::handleSchedule);
+        server.createContext("/schedulers", this::handleSchedulers);
+        server.createContext("/metrics", MetricsServer.handler(RunMetrics.registry()));
+        server.setExecutor(executor);
+    }
+
+    /**
+     * @param port TCP port, or 0 for any free port
+     * @param budgetBytes estimated memory that in-flight jobs may use together
+     */
+    public static ScheduleServer start(int port, long budgetBytes) throws IOException {
+        if (budgetBytes < 1024) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 KiB: " + budgetBytes);
+        }
+        ScheduleServer server = new ScheduleServer(port, budgetBytes);
+        server.server.start();
+        return server;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleSchedule(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String algorithm = query.remove("algorithm");
+            boolean withSegments = !"false".equalsIgnoreCase(query.remove("segments"));
+            Scheduler scheduler;
+            Map<String, Object> params;
+            try {
+                if (algorithm == null) throw new IllegalArgumentException("Missing algorithm parameter");
+                scheduler = schedulers.get(algorithm);
+                if (scheduler == null) {
+                    throw new IllegalArgumentException("Unknown algorithm '" + algorithm + "', expected one of "
+                            + schedulers.keySet());
+                }
+                params = Schedulers.validate(scheduler, query);
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            String length = exchange.getRequestHeaders().getFirst("Content-Length");
+            if (length == null) {
+                sendError(exchange, 411, "Content-Length is required");
+                return;
+            }
+            long bodyBytes;
+            try {
+                bodyBytes = Long.parseLong(length.trim());
+                if (bodyBytes < 0) throw new NumberFormatException();
+            } catch (NumberFormatException e) {
+                sendError(exchange, 400, "Invalid Content-Length: " + length);
+                return;
+            }
+            long bodyCost = bodyBytes * BODY_EXPANSION;
+            if (bodyCost > budgetBytes) {
+                sendError(exchange, 413, "Workload of " + bodyBytes + " bytes exceeds the memory budget");
+                return;
+            }
+            if (!admit(bodyCost)) {
+                sendError(exchange, 503, "Server busy");
+                return;
+            }
+            List<ProcessModel> processes;
+            try {
+                processes = read(exchange, bodyBytes);
+            } catch (IOException | JsonParseException | IllegalStateException | NullPointerException
+                     | IllegalArgumentException e) {
+                sendError(exchange, 400, "Invalid workload: " + e.getMessage());
+                return;
+            } finally {
+                // The body is garbage once parsed; the parsed workload is part of the run's cost
+                budget.release(kib(bodyCost));
+            }
+            long runCost = estimate(scheduler, processes, params);
+            if (runCost > budgetBytes) {
+                sendError(exchange, 413, "Schedule of " + processes.size()
+                        + " processes is estimated to exceed the memory budget");
+                return;
+            }
+            if (!admit(runCost)) {
+                sendError(exchange, 503, "Server busy");
+                return;
+            }
+            try {
+                run(exchange, scheduler, processes, params, withSegments);
+            } finally {
+                budget.release(kib(runCost));
+            }
+        }
+    }
+
+    private void run(HttpExchange exchange, Scheduler scheduler, List<ProcessModel> processes,
+                     Map<String, Object> params, boolean withSegments) throws IOException {
+        // Headers go out with the first segment, so a workload the scheduler rejects up front still gets a 400
+        ScheduleJson writer = new ScheduleJson(() -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            // Chunked, so segments go out as they are written
+            exchange.sendResponseHeaders(200, 0);
+            return new JsonWriter(new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 16));
+        }, scheduler, processes, withSegments);
+        try {
+            MetricsCommand.schedule(scheduler, processes, params, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // Once streaming has begun the status is sent; closing the exchange cuts the body short
+            if (writer.isStarted()) throw e;
+            sendError(exchange, 400, scheduler.getName() + " failed: " + e.getMessage());
+            return;
+        }
+        writer.finish();
+    }
+
+    private static List<ProcessModel> read(HttpExchange exchange, long bodyBytes) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(Math.toIntExact(bodyBytes));
+        if (body.length < bodyBytes) throw new IOException("Body ended after " + body.length + " bytes");
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        InputStream in = new ByteArrayInputStream(body);
+        if (type != null && type.toLowerCase(Locale.ROOT).startsWith(BINARY_TYPE)) {
+            return BinaryIO.readProcesses(in);
+        }
+        return JsonIO.readProcesses(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Estimated memory of the parsed workload and its schedule, from
+     * {@link Schedulers#estimateSegments}.
+     */
+    static long estimate(Scheduler scheduler, List<ProcessModel> processes, Map<String, Object> params) {
+        double segments = Schedulers.estimateSegments(scheduler, processes, params);
+        // Casting saturates at Long.MAX_VALUE
+        return (long) (processes.size() * PROCESS_BYTES + segments * SEGMENT_BYTES);
+    }
+
+    private boolean admit(long bytes) {
+        waiting.incrementAndGet();
+        RunMetrics.setQueueDepth(waiting.get());
+        try {
+            return budget.tryAcquire(kib(bytes), ADMISSION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            RunMetrics.setQueueDepth(waiting.decrementAndGet());
+        }
+    }
+
+    private static int kib(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.ceilDiv(bytes, 1024)));
+    }
+
+    private void handleSchedulers(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (JsonWriter json = new JsonWriter(new OutputStreamWriter(exchange.getResponseBody(),
+                    StandardCharsets.UTF_8))) {
+                json.beginArray();
+                for (Scheduler scheduler : schedulers.values()) {
+                    json.beginObject();
+                    json.name("name").value(scheduler.getName());
+                    json.name("preemptive").value(scheduler.isPreemptive());
+                    json.name("multicore").value(scheduler.supportsMulticore());
+                    json.name("params").beginArray();
+                    for (ParamSpec spec : scheduler.getParams()) {
+                        json.beginObject();
+                        json.name("key").value(spec.key());
+                        json.name("kind").value(spec.kind().name().toLowerCase(Locale.ROOT));
+                        json.name("default").value(String.valueOf(spec.defaultValue()));
+                        if (spec.kind() == ParamSpec.Kind.INTEGER) {
+                            json.name("min").value(spec.min());
+                            json.name("max").value(spec.max());
+                        } else if (spec.kind() == ParamSpec.Kind.CHOICE) {
+                            json.name("choices").beginArray();
+                            for (String choice : spec.choices()) json.value(choice);
+                            json.endArray();
+                        }
+                        json.name("description").value(spec.description());
+                        json.endObject();
+                    }
+                    json.endArray();
+                    json.endObject();
+                }
+                json.endArray();
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter text = new StringWriter();
+        try (JsonWriter json = new JsonWriter(text)) {
+            json.beginObject().name("error").value(message).endObject();
+        }
+        byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,61 @@
+package com.scheduler.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the {@link ScheduleServer} until the process is stopped.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar serve port=8080 memoryMb=512
+ * curl -X POST --data-binary @processes.json "http://localhost:8080/schedule?algorithm=Round-Robin&amp;quantum=4"
+ * </pre>
+ *
+ * {@code memoryMb} is the estimated memory in-flight jobs may use together, a quarter of
+ * the maximum heap by default.
+ */
+public final class ServeCommand {
+    static final int DEFAULT_PORT = 8080;
+
+    private ServeCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(args, System.err);
+    }
+
+    static int run(String[] args, PrintStream err) {
+        ScheduleServer server;
+        try {
+            Map<String, Object> settings = MetricsCommand.parseParams(args, 0);
+            int port = Integer.parseInt(settings.getOrDefault("port", DEFAULT_PORT).toString());
+            Object memoryMb = settings.get("memoryMb");
+            long budget = memoryMb == null ? Runtime.getRuntime().maxMemory() / 4
+                    : Long.parseLong(memoryMb.toString()) << 20;
+            settings.keySet().removeAll(List.of("port", "memoryMb"));
+            if (!settings.isEmpty()) {
+                throw new IllegalArgumentException("Unknown settings " + settings.keySet()
+                        + ", expected port and memoryMb");
+            }
+            server = ScheduleServer.start(port, budget);
+            err.printf("Scheduling at http://localhost:%d/schedule, %d MB for in-flight jobs%n",
+                    server.getPort(), budget >> 20);
+        } catch (IOException | RuntimeException e) {
+            err.println("serve: " + e.getMessage());
+            return 1;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
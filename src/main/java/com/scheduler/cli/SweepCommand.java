@@ -0,0 +1,377 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.scheduler.Launcher;
+import com.scheduler.algorithms.ParamSpec;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.diagnostics.RunMetrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parameter sweep spread over worker JVMs, for sweeps too large for one heap. Every
+ * workload file under a directory is run with each selected algorithm and each combination
+ * of the parameter values given, and one {@link BatchReport} row is written per file and
+ * run.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar sweep workloads/ sweep.csv algorithms=Round-Robin,Priority quantum=1,2,4,8 contextSwitch=0,1 workers=4 heapMb=2048
+ * java -jar cpu-scheduler.jar sweep workloads/ sweep.csv algorithms=Round-Robin quantum=1,2,4,8 resume=true
+ * </pre>
+ *
+ * Each file is a shard. This JVM only coordinates: it starts {@code workers} JVMs (default
+ * all cores) running {@link WorkerCommand}, each with {@code heapMb} of heap if given, hands
+ * them shards over stdin/stdout and appends the rows they send back. When a worker dies its
+ * shard goes back to the queue for the next free worker and a fresh JVM takes its place; a
+ * shard that kills {@value #MAX_ATTEMPTS} workers is given up. Rows are labelled with the
+ * algorithm and the swept values, so {@code resume=true} skips the runs already reported.
+ */
+public final class SweepCommand {
+    static final int MAX_ATTEMPTS = 3;
+
+    private SweepCommand() {
+    }
+
+    /**
+     * @return process exit code, 1 if any shard failed
+     */
+    public static int run(String[] args) {
+        return run(args, System.err, null);
+    }
+
+    /**
+     * @param workerCommand command line that starts a worker, or null for this JVM's
+     *                      Java and class path
+     */
+    static int run(String[] args, PrintStream err, List<String> workerCommand) {
+        if (args.length < 2) {
+            err.println("usage: sweep <dir> <report.csv> [algorithms=A,B] [workers=N] [heapMb=N] [resume=true]"
+                    + " [key=v1,v2 ...]");
+            return 2;
+        }
+        try {
+            Path dir = Paths.get(args[0]).toAbsolutePath();
+            Map<String, Object> settings = MetricsCommand.parseParams(args, 2);
+            Object names = settings.remove("algorithms");
+            int workers = positive(settings.remove("workers"), Runtime.getRuntime().availableProcessors());
+            Object heap = settings.remove("heapMb");
+            Object resume = settings.remove("resume");
+            List<Run> runs = grid(names == null ? null : names.toString(), settings);
+            List<String> command = workerCommand != null ? workerCommand
+                    : workerCommand(heap == null ? 0 : positive(heap, 0));
+
+            List<Path> files = BatchCommand.workloadFiles(dir);
+            long started = System.nanoTime();
+            Outcome outcome;
+            try (BatchReport report = BatchReport.open(Paths.get(args[1]),
+                    resume != null && Boolean.parseBoolean(resume.toString()))) {
+                if (report.resumedRows() > 0) {
+                    err.printf("Resuming, %d rows already in %s%n", report.resumedRows(), args[1]);
+                }
+                outcome = runAll(dir, files, runs, report, command, workers, err);
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            err.printf("%d files, %d runs each on %d workers in %d ms, %d workers restarted, %d failed%n",
+                    files.size(), runs.size(), workers, elapsedMs, outcome.restarts.get(), outcome.failures.get());
+            return outcome.failures.get() == 0 ? 0 : 1;
+        } catch (IOException | RuntimeException e) {
+            err.println("sweep: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int positive(Object value, int defaultValue) {
+        int number = value == null ? defaultValue : Integer.parseInt(value.toString());
+        if (number < 1) throw new IllegalArgumentException("Counts and sizes must be at least 1: " + number);
+        return number;
+    }
+
+    /**
+     * One algorithm with one combination of swept values.
+     *
+     * @param label report label: the algorithm name followed by the swept values
+     */
+    record Run(String algorithm, Map<String, String> params, String label) {
+    }
+
+    /**
+     * Every combination of the comma-separated values of each parameter, for each selected
+     * algorithm over the parameters it declares.
+     *
+     * @param names comma-separated algorithm names, or null for all
+     * @throws IllegalArgumentException if a value is invalid or a parameter is declared by
+     *                                  none of the algorithms
+     */
+    static List<Run> grid(String names, Map<String, Object> params) {
+        List<Scheduler> schedulers = new ArrayList<>();
+        if (names == null) {
+            schedulers.addAll(Schedulers.create().values());
+        } else {
+            for (String name : names.split(",")) {
+                if (!name.isBlank()) schedulers.add(Schedulers.byName(name.trim()));
+            }
+        }
+        List<Run> runs = new ArrayList<>();
+        Set<String> used = new HashSet<>();
+        for (Scheduler scheduler : schedulers) {
+            List<Map<String, String>> combinations = new ArrayList<>();
+            combinations.add(new LinkedHashMap<>());
+            for (ParamSpec spec : scheduler.getParams()) {
+                Object values = params.get(spec.key());
+                if (values == null) continue;
+                used.add(spec.key());
+                List<Map<String, String>> extended = new ArrayList<>();
+                for (Map<String, String> combination : combinations) {
+                    for (String value : values.toString().split(",")) {
+                        if (value.isBlank()) continue;
+                        Map<String, String> next = new LinkedHashMap<>(combination);
+                        next.put(spec.key(), value.trim());
+                        extended.add(next);
+                    }
+                }
+                combinations = extended;
+            }
+            for (Map<String, String> combination : combinations) {
+                // Fail here, before any worker starts, rather than once per shard
+                Schedulers.validate(scheduler, new HashMap<>(combination));
+                StringBuilder label = new StringBuilder(scheduler.getName());
+                combination.forEach((key, value) -> label.append(' ').append(key).append('=').append(value));
+                runs.add(new Run(scheduler.getName(), combination, label.toString()));
+            }
+        }
+        Set<String> unused = new HashSet<>(params.keySet());
+        unused.removeAll(used);
+        if (!unused.isEmpty()) {
+            throw new IllegalArgumentException("No selected algorithm takes " + unused);
+        }
+        return runs;
+    }
+
+    /**
+     * Command line that starts a worker with this JVM's Java and class path.
+     *
+     * @param heapMb worker heap in MiB, or 0 for the JVM default
+     */
+    static List<String> workerCommand(int heapMb) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (heapMb > 0) command.add("-Xmx" + heapMb + "m");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Launcher.class.getName());
+        command.add("worker");
+        return command;
+    }
+
+    private static final class Shard {
+        final int id;
+        final String name;
+        final JsonObject request;
+        int attempts;
+
+        Shard(int id, Path file, String name, List<Run> runs) {
+            this.id = id;
+            this.name = name;
+            request = new JsonObject();
+            request.addProperty("id", id);
+            request.addProperty("file", file.toString());
+            request.addProperty("name", name);
+            JsonArray list = new JsonArray();
+            for (Run run : runs) {
+                JsonObject item = new JsonObject();
+                item.addProperty("algorithm", run.algorithm());
+                JsonObject values = new JsonObject();
+                run.params().forEach(values::addProperty);
+                item.add("params", values);
+                item.addProperty("label", run.label());
+                list.add(item);
+            }
+            request.add("runs", list);
+        }
+    }
+
+    private record Outcome(AtomicInteger failures, AtomicInteger restarts) {
+    }
+
+    private static Outcome runAll(Path dir, List<Path> files, List<Run> runs, BatchReport report,
+                                  List<String> command, int workers, PrintStream err) throws IOException {
+        Deque<Shard> queue = new ConcurrentLinkedDeque<>();
+        for (Path file : files) {
+            String name = dir.relativize(file).toString().replace('\\', '/');
+            List<Run> todo = runs.stream().filter(run -> !report.isDone(name, run.label())).toList();
+            if (!todo.isEmpty()) queue.add(new Shard(queue.size(), file, name, todo));
+        }
+        AtomicInteger remaining = new AtomicInteger(queue.size());
+        RunMetrics.setQueueDepth(remaining.get());
+        Outcome outcome = new Outcome(new AtomicInteger(), new AtomicInteger());
+        List<IOException> reportErrors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, queue.size()); i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    drive(command, queue, report, remaining, outcome, err);
+                } catch (IOException e) {
+                    synchronized (reportErrors) {
+                        reportErrors.add(e);
+                    }
+                    // Nothing more can be recorded; let the other workers stop too
+                    queue.clear();
+                }
+            }, "sweep-worker-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.clear();
+        } finally {
+            RunMetrics.setQueueDepth(0);
+        }
+        if (!reportErrors.isEmpty()) throw reportErrors.get(0);
+        return outcome;
+    }
+
+    /**
+     * Feed shards to one worker JVM until the queue is empty, replacing the JVM whenever it
+     * dies.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    private static void drive(List<String> command, Deque<Shard> queue, BatchReport report,
+                              AtomicInteger remaining, Outcome outcome, PrintStream err) throws IOException {
+        Worker worker = null;
+        try {
+            Shard shard;
+            while ((shard = queue.poll()) != null) {
+                JsonObject reply;
+                try {
+                    if (worker == null) worker = Worker.start(command);
+                    reply = worker.call(shard.request, shard.id);
+                } catch (IOException e) {
+                    if (worker != null) {
+                        worker.kill();
+                        worker = null;
+                        outcome.restarts.incrementAndGet();
+                    }
+                    if (++shard.attempts < MAX_ATTEMPTS) {
+                        err.println("sweep: " + shard.name + ": " + e.getMessage() + ", retrying");
+                        queue.addFirst(shard);
+                    } else {
+                        err.println("sweep: " + shard.name + ": " + e.getMessage() + ", giving up");
+                        outcome.failures.incrementAndGet();
+                        RunMetrics.setQueueDepth(remaining.decrementAndGet());
+                    }
+                    continue;
+                }
+                if (reply.has("error")) {
+                    err.println("sweep: " + shard.name + ": " + reply.get("error").getAsString());
+                    outcome.failures.incrementAndGet();
+                } else {
+                    for (JsonElement row : reply.getAsJsonArray("rows")) {
+                        report.append(row.getAsString());
+                    }
+                }
+                RunMetrics.setQueueDepth(remaining.decrementAndGet());
+            }
+        } finally {
+            if (worker != null) worker.close();
+        }
+    }
+
+    /**
+     * A worker JVM and its protocol streams; its standard error is passed through.
+     */
+    private static final class Worker implements Closeable {
+        private final Process process;
+        private final BufferedWriter requests;
+        private final BufferedReader replies;
+
+        private Worker(Process process) {
+            this.process = process;
+            requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            replies = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        static Worker start(List<String> command) throws IOException {
+            return new Worker(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start());
+        }
+
+        /**
+         * @throws IOException if the worker died or answered out of protocol
+         */
+        JsonObject call(JsonObject request, int id) throws IOException {
+            requests.write(request.toString());
+            requests.write('\n');
+            requests.flush();
+            String line = replies.readLine();
+            if (line == null) {
+                throw new IOException("worker exited" + exitStatus());
+            }
+            try {
+                JsonObject reply = JsonParser.parseString(line).getAsJsonObject();
+                if (reply.has("id") && reply.get("id").getAsInt() == id) return reply;
+            } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+                // Fall through: treat the worker as broken
+            }
+            throw new IOException("worker answered out of protocol");
+        }
+
+        private String exitStatus() {
+            try {
+                return process.waitFor(5, TimeUnit.SECONDS) ? " with code " + process.exitValue() : "";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "";
+            }
+        }
+
+        void kill() {
+            process.destroyForcibly();
+        }
+
+        /**
+         * Ask the worker to stop by ending its input, killing it if it does not.
+         */
+        @Override
+        public void close() {
+            try {
+                requests.close();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) kill();
+            } catch (IOException e) {
+                kill();
+            } catch (InterruptedException e) {
+                kill();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.scheduler.cli;
+
+import com.google.gson.stream.JsonWriter;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.workload.TraceImporter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Headless conversion of an ftrace or {@code perf sched script} trace into a workload
+ * that the other commands and the GUI can load, streaming in bounded memory.
+ *
+ * <pre>
+ * java -jar cpu-scheduler.jar trace sched.txt workload.json reference=reference.csv unitNanos=1000
+ * </pre>
+ *
+ * The optional reference schedule is written as {@code pid,start,end,cpu} lines.
+ */
+public final class TraceCommand {
+
+    private TraceCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(args, System.err);
+    }
+
+    static int run(String[] args, PrintStream err) {
+        if (args.length < 2) {
+            err.println("usage: trace <trace.txt> <workload.json> [reference=<file.csv>] [unitNanos=N] [maxBursts=N]");
+            return 2;
+        }
+        try {
+            Map<String, Object> params = MetricsCommand.parseParams(args, 2);
+            Object reference = params.remove("reference");
+            Object unitNanos = params.remove("unitNanos");
+            Object maxBursts = params.remove("maxBursts");
+            if (!params.isEmpty()) {
+                throw new IllegalArgumentException("Unknown settings: " + params.keySet());
+            }
+
+            long started = System.nanoTime();
+            try (JsonWriter json = new JsonWriter(new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(args[1]), StandardCharsets.UTF_8), 1 << 16));
+                 Writer csv = reference == null ? null : new BufferedWriter(new FileWriter(reference.toString()), 1 << 16);
+                 InputStream in = new FileInputStream(args[0])) {
+                json.setIndent("  ");
+                json.beginArray();
+                TraceImporter importer = new TraceImporter(process -> write(json, process),
+                        csv == null ? segment -> { } : csvSink(csv));
+                if (unitNanos != null) importer.setTimeUnitNanos(Long.parseLong(unitNanos.toString()));
+                if (maxBursts != null) importer.setMaxBursts(Integer.parseInt(maxBursts.toString()));
+                importer.read(in);
+                importer.finish();
+                json.endArray();
+
+                long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+                err.printf("%d lines, %d events, %d processes (%d tasks never ran) in %d ms%n",
+                        importer.getLines(), importer.getEvents(), importer.getProcessCount(),
+                        importer.getSkipped(), elapsedMs);
+            }
+            return 0;
+        } catch (UncheckedIOException e) {
+            err.println("trace: " + e.getCause().getMessage());
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            err.println("trace: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * One process in the format {@code JsonIO} imports.
+     */
+    private static void write(JsonWriter json, ProcessModel process) {
+        try {
+            json.beginObject();
+            json.name("id").value(process.getId());
+            json.name("arrival").value(process.getArrival());
+            json.name("burst").value(process.getBurst());
+            json.name("priority").value(process.getPriority());
+            if (process.hasIo()) {
+                json.name("bursts").beginArray();
+                for (int burst : process.getBursts()) {
+                    json.value(burst);
+                }
+                json.endArray();
+            }
+            json.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Consumer<GanttSegment> csvSink(Writer csv) {
+        return segment -> {
+            try {
+                csv.write(segment.getPid() + "," + segment.getStart() + "," + segment.getEnd() + ","
+                        + segment.getCore() + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
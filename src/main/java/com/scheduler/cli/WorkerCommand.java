@@ -0,0 +1,97 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.JsonIO;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Worker side of a {@link SweepCommand}: reads one shard request per line and answers
+ * each with one line, until its input ends. Only protocol lines go to standard output.
+ *
+ * <p>Request: {@code {"id": 7, "file": "/abs/w.json", "name": "w.json", "runs": [{"algorithm":
+ * "Round-Robin", "params": {"quantum": "4"}, "label": "Round-Robin quantum=4"}, ...]}}
+ * <br>Reply: {@code {"id": 7, "rows": ["<BatchReport row>", ...]}} or {@code {"id": 7,
+ * "error": "..."}}.
+ *
+ * <p>The protocol only needs a pair of streams, so workers could as well be reached over
+ * a socket on another machine that sees the same files.
+ */
+public final class WorkerCommand {
+
+    private WorkerCommand() {
+    }
+
+    /**
+     * @return process exit code
+     */
+    public static int run(String[] args) {
+        return run(System.in, new FileOutputStream(FileDescriptor.out));
+    }
+
+    static int run(InputStream in, OutputStream out) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                writer.write(answer(line).toString());
+                writer.write('\n');
+                writer.flush();
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("worker: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    static JsonObject answer(String line) {
+        JsonObject reply = new JsonObject();
+        try {
+            JsonObject request = JsonParser.parseString(line).getAsJsonObject();
+            reply.add("id", request.get("id"));
+            List<ProcessModel> processes = JsonIO.importProcesses(new File(request.get("file").getAsString()));
+            String name = request.get("name").getAsString();
+            JsonArray rows = new JsonArray();
+            for (JsonElement element : request.getAsJsonArray("runs")) {
+                JsonObject run = element.getAsJsonObject();
+                Scheduler scheduler = Schedulers.byName(run.get("algorithm").getAsString());
+                Map<String, Object> params = new HashMap<>();
+                for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                    params.put(param.getKey(), param.getValue().getAsString());
+                }
+                // Each run gets its own copy; schedulers may update the processes they run
+                List<ProcessModel> copy = processes.stream().map(ProcessModel::new).toList();
+                MetricsCommand.Run result = MetricsCommand.measure(scheduler, copy,
+                        Schedulers.validate(scheduler, params));
+                rows.add(BatchReport.row(name, run.get("label").getAsString(), copy.size(), result.segments(),
+                        result.metrics(), result.deadlines()));
+            }
+            reply.add("rows", rows);
+        } catch (IOException | RuntimeException e) {
+            reply.addProperty("error", String.valueOf(e.getMessage()));
+        }
+        return reply;
+    }
+}
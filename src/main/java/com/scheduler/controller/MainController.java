@@ -1,23 +1,35 @@
 package com.scheduler.controller;
 
 import com.scheduler.algorithms.*;
+import com.scheduler.diagnostics.FrameEvent;
+import com.scheduler.export.ChromeTraceWriter;
+import com.scheduler.export.GanttImage;
+import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentStore;
 import com.scheduler.model.SimulationState;
 import com.scheduler.simulation.Simulator;
 import com.scheduler.util.ColorPalette;
 import com.scheduler.util.JsonIO;
 import com.scheduler.view.GanttView;
 import com.scheduler.view.MetricsView;
+import com.scheduler.view.PerformanceOverlay;
 import com.scheduler.view.ProcessTableView;
 import com.scheduler.view.ReadyQueueView;
+import com.scheduler.workload.WorkloadGenerator;
+import com.scheduler.workload.WorkloadSpec;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
@@ -25,8 +37,16 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 import org.controlsfx.control.ToggleSwitch;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Main controller for the CPU Scheduler application.
@@ -41,10 +61,16 @@ public class MainController {
     private GanttView ganttView;
     private ReadyQueueView readyQueueView;
     private MetricsView metricsView;
+    private PerformanceOverlay performanceOverlay;
+    // State updates posted with runLater that have not run yet
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
     
     private ComboBox<String> algorithmCombo;
-    private Spinner<Integer> quantumSpinner;
-    private Label quantumLabel;
+    // Controls built from the selected algorithm's declared parameters
+    private FlowPane paramsPane;
+    private final Map<String, Supplier<Object>> paramReaders = new LinkedHashMap<>();
+    // Values set per algorithm and key, kept when switching algorithms
+    private final Map<String, Object> paramValues = new HashMap<>();
     private Label currentTimeLabel;
     private Label currentProcessLabel;
     private Slider speedSlider;
@@ -54,6 +80,8 @@ public class MainController {
     private Button stepBackButton;
     private Button playPauseButton;
     private Button stepForwardButton;
+    private CheckBox eventStepCheck;
+    private Spinner<Integer> seedSpinner;
     private Button jumpStartButton;
     private Button jumpEndButton;
     
@@ -69,12 +97,7 @@ public class MainController {
     public MainController(Stage stage) {
         this.stage = stage;
         this.simulator = new Simulator();
-        this.schedulers = new HashMap<>();
-        
-        schedulers.put("FCFS", new FcfsScheduler());
-        schedulers.put("Round-Robin", new RrScheduler());
-        schedulers.put("SJF", new SjfScheduler());
-        schedulers.put("Priority", new PriorityScheduler());
+        this.schedulers = Schedulers.create();
         
         initializeUI();
         setupEventHandlers();
@@ -107,13 +130,47 @@ public class MainController {
         HBox bottomPanel = createBottomPanel();
         root.setBottom(bottomPanel);
         
-        scene = new Scene(root, 1400, 800);
+        StackPane layers = new StackPane(root);
+        scene = new Scene(layers, 1400, 800);
+        performanceOverlay = new PerformanceOverlay(scene, pendingUpdates::get);
+        performanceOverlay.addView("Gantt", ganttView);
+        performanceOverlay.addView("Queue", readyQueueView);
+        performanceOverlay.addView("Metrics", metricsView);
+        StackPane.setAlignment(performanceOverlay, Pos.TOP_RIGHT);
+        StackPane.setMargin(performanceOverlay, new Insets(40, 20, 0, 0));
+        layers.getChildren().add(performanceOverlay);
         loadStylesheet();
+        recordFrames();
         
         stage.setScene(scene);
         stage.setTitle("CPU Scheduler Visualizer");
     }
 
+    /**
+     * Record a {@link FrameEvent} for the layout and CSS pass of every pulse while
+     * flight recording is on; pulses only run when the scene changes.
+     */
+    private void recordFrames() {
+        FrameEvent[] frame = new FrameEvent[1];
+        long[] lastFrame = new long[1];
+        scene.addPreLayoutPulseListener(() -> {
+            frame[0] = new FrameEvent();
+            frame[0].begin();
+        });
+        scene.addPostLayoutPulseListener(() -> {
+            FrameEvent event = frame[0];
+            if (event == null) return;
+            event.end();
+            long now = System.nanoTime();
+            if (event.shouldCommit()) {
+                event.interval = lastFrame[0] == 0 ? 0 : now - lastFrame[0];
+                event.commit();
+            }
+            lastFrame[0] = now;
+            frame[0] = null;
+        });
+    }
+
     private MenuBar createMenuBar() {
         MenuBar menuBar = new MenuBar();
         
@@ -125,16 +182,26 @@ public class MainController {
         MenuItem exportItem = new MenuItem("Export JSON...");
         exportItem.setOnAction(e -> exportProcesses());
         
+        MenuItem traceItem = new MenuItem("Export Trace...");
+        traceItem.setOnAction(e -> exportTrace());
+        
+        MenuItem imageItem = new MenuItem("Export Image...");
+        imageItem.setOnAction(e -> exportImage());
+        
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> Platform.exit());
         
-        fileMenu.getItems().addAll(importItem, exportItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(importItem, exportItem, traceItem, imageItem, new SeparatorMenuItem(), exitItem);
         
         // View menu
         Menu viewMenu = new Menu("View");
         MenuItem toggleThemeItem = new MenuItem("Toggle Theme");
         toggleThemeItem.setOnAction(e -> toggleTheme());
-        viewMenu.getItems().add(toggleThemeItem);
+        CheckMenuItem overlayItem = new CheckMenuItem("Performance Overlay");
+        overlayItem.setAccelerator(new KeyCodeCombination(KeyCode.P, KeyCombination.SHORTCUT_DOWN,
+                KeyCombination.SHIFT_DOWN));
+        overlayItem.setOnAction(e -> performanceOverlay.setVisible(overlayItem.isSelected()));
+        viewMenu.getItems().addAll(toggleThemeItem, overlayItem);
         
         // Help menu
         Menu helpMenu = new Menu("Help");
@@ -183,20 +250,14 @@ public class MainController {
         HBox algoBox = new HBox(10);
         algoBox.setAlignment(Pos.CENTER_LEFT);
         Label algoLabel = new Label("Algorithm:");
-        algorithmCombo = new ComboBox<>(FXCollections.observableArrayList(
-                "FCFS", "Round-Robin", "SJF", "Priority"));
-        algorithmCombo.setValue("FCFS");
+        algorithmCombo = new ComboBox<>(FXCollections.observableArrayList(schedulers.keySet()));
+        algorithmCombo.setValue(schedulers.keySet().iterator().next());
         algoBox.getChildren().addAll(algoLabel, algorithmCombo);
         
-        // Quantum input (for Round-Robin)
-        HBox quantumBox = new HBox(10);
-        quantumBox.setAlignment(Pos.CENTER_LEFT);
-        quantumLabel = new Label("Quantum:");
-        quantumSpinner = new Spinner<>(1, 20, 2);
-        quantumSpinner.setEditable(true);
-        quantumSpinner.setPrefWidth(80);
-        quantumBox.getChildren().addAll(quantumLabel, quantumSpinner);
-        quantumBox.setVisible(false);
+        // Parameter controls for the selected algorithm
+        paramsPane = new FlowPane(10, 6);
+        paramsPane.setAlignment(Pos.CENTER_LEFT);
+        buildParamControls();
         
         // Process management buttons
         HBox buttonBox1 = new HBox(10);
@@ -209,13 +270,19 @@ public class MainController {
         HBox buttonBox2 = new HBox(10);
         Button generateButton = new Button("Generate Random");
         generateButton.setOnAction(e -> generateRandomProcesses());
+        // The same seed always generates the same processes; generating advances it
+        seedSpinner = new Spinner<>(0, Integer.MAX_VALUE, 1);
+        seedSpinner.setEditable(true);
+        seedSpinner.setPrefWidth(90);
+        seedSpinner.setTooltip(new Tooltip("Seed"));
         Button clearButton = new Button("Clear All");
         clearButton.setOnAction(e -> processTable.clearProcesses());
-        buttonBox2.getChildren().addAll(generateButton, clearButton);
+        buttonBox2.getChildren().addAll(generateButton, seedSpinner, clearButton);
         
         // Process table
         processTable = new ProcessTableView();
         processTable.setPrefHeight(250);
+        processTable.setOnEdit(this::rescheduleAfterEdit);
         
         // Run/Reset buttons
         HBox runBox = new HBox(10);
@@ -231,7 +298,7 @@ public class MainController {
         
         runBox.getChildren().addAll(runButton, resetButton);
         
-        panel.getChildren().addAll(controlsLabel, algoBox, quantumBox, 
+        panel.getChildren().addAll(controlsLabel, algoBox, paramsPane,
                 buttonBox1, buttonBox2, processTable, runBox);
         
         return panel;
@@ -310,6 +377,11 @@ public class MainController {
         jumpEndButton = new Button("⏭");
         jumpEndButton.setOnAction(e -> jumpToEnd());
         jumpEndButton.setDisable(true);
+
+        // Skip the ticks where nothing changes
+        eventStepCheck = new CheckBox("Step by events");
+        eventStepCheck.selectedProperty().addListener((obs, old, selected) ->
+                simulator.setStepMode(selected ? Simulator.StepMode.EVENT : Simulator.StepMode.TICK));
         
         Label speedLabel = new Label("Speed:");
         speedSlider = new Slider(0.5, 5.0, 1.0);
@@ -319,17 +391,14 @@ public class MainController {
         speedSlider.setMajorTickUnit(1.0);
         
         panel.getChildren().addAll(jumpStartButton, stepBackButton, playPauseButton, 
-                stepForwardButton, jumpEndButton, speedLabel, speedSlider);
+                stepForwardButton, jumpEndButton, eventStepCheck, speedLabel, speedSlider);
         
         return panel;
     }
 
     private void setupEventHandlers() {
-        // Show/hide quantum input based on algorithm
-        algorithmCombo.valueProperty().addListener((obs, old, newVal) -> {
-            quantumLabel.setVisible("Round-Robin".equals(newVal));
-            quantumSpinner.setVisible("Round-Robin".equals(newVal));
-        });
+        // Rebuild the parameter controls for the selected algorithm
+        algorithmCombo.valueProperty().addListener((obs, old, newVal) -> buildParamControls());
         
         // Gantt segment click handler
         ganttView.setOnSegmentClick(tick -> {
@@ -373,7 +442,9 @@ public class MainController {
     }
 
     private void updateUIFromState(SimulationState state) {
+        pendingUpdates.incrementAndGet();
         Platform.runLater(() -> {
+            pendingUpdates.decrementAndGet();
             currentTimeLabel.setText("Current Time: " + state.getCurrentTick());
             
             String running = state.getCurrentRunningProcess();
@@ -383,7 +454,8 @@ public class MainController {
             
             ganttView.updateTimeMarker(state.getCurrentTick());
             
-            metricsView.updateMetrics(state.getProcessMap().values(), state.getTotalTime());
+            metricsView.updateMetrics(state.getProcessMap().values(), state.getTotalTime(),
+                    state.getScheduleStats(), state.getMetrics(), state.getDeadlineReport());
         });
     }
 
@@ -398,18 +470,19 @@ public class MainController {
         processTable.clearProcesses();
         ColorPalette.reset();
         
-        Random random = new Random();
-        int count = 4 + random.nextInt(4); // 4-7 processes
+        long seed = seedSpinner.getValue();
+        int count = 4 + new SplittableRandom(seed).nextInt(4); // 4-7 processes
         
-        for (int i = 1; i <= count; i++) {
-            int arrival = random.nextInt(8);
-            int burst = 1 + random.nextInt(8);
-            int priority = 1 + random.nextInt(5);
-            
-            ProcessModel process = new ProcessModel("P" + i, arrival, burst, priority);
+        WorkloadSpec spec = new WorkloadSpec();
+        spec.setSeed(seed);
+        spec.setRate(0.5);
+        spec.setMeanBurst(4);
+        spec.setThreads(1);
+        for (ProcessModel process : new WorkloadGenerator(spec).generate(count)) {
             process.setColor(ColorPalette.getNextColor());
             processTable.addProcess(process);
         }
+        seedSpinner.getValueFactory().setValue((int) Math.min(Integer.MAX_VALUE, seed + 1));
     }
 
     private void addSampleProcesses() {
@@ -429,6 +502,95 @@ public class MainController {
         processTable.addProcess(p3);
     }
 
+    /**
+     * Bring a running simulation up to date with an edited process table, recomputing
+     * only the part of the schedule the edit can affect.
+     */
+    private void rescheduleAfterEdit() {
+        if (!runButton.isDisable() || processTable.getProcesses().isEmpty()) return;
+
+        int unchanged = simulator.update(new ArrayList<>(processTable.getProcesses()));
+        if (simulator.getState().getStore() != null) {
+            renderStore();
+        } else {
+            ganttView.updateGantt(simulator.getState().getSegments(), unchanged,
+                    simulator.getState().getProcessMap());
+        }
+    }
+
+    /**
+     * Draw a schedule kept in a store as an image off the FX thread, since it has too
+     * many segments for one node each.
+     */
+    private void renderStore() {
+        record Chart(int width, int height, int[] argb) {
+        }
+        SegmentStore store = simulator.getState().getStore();
+        List<ProcessModel> processes = simulator.getState().getStoreProcesses();
+        Task<Chart> task = new Task<>() {
+            @Override
+            protected Chart call() {
+                int threads = Runtime.getRuntime().availableProcessors();
+                GanttImage image = GanttImage.of(processes, store, GanttImage.DEFAULT_WIDTH, threads);
+                return new Chart(image.getWidth(), image.getHeight(), image.toArgb());
+            }
+        };
+        task.setOnSucceeded(e -> {
+            // A later run may have replaced the schedule while this one was drawn
+            if (simulator.getState().getStore() != store) return;
+            Chart chart = task.getValue();
+            ganttView.renderImage(chart.width(), chart.height(), chart.argb());
+        });
+        task.setOnFailed(e -> showAlert("Render Failed", "Failed to draw the chart: "
+                + task.getException().getMessage()));
+        Thread thread = new Thread(task, "render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * One control per parameter the selected algorithm declares: a spinner for an
+     * integer, a check box for a flag and a combo box for a choice.
+     */
+    private void buildParamControls() {
+        String algorithm = algorithmCombo.getValue();
+        paramsPane.getChildren().clear();
+        paramReaders.clear();
+        for (ParamSpec spec : schedulers.get(algorithm).getParams()) {
+            String memoryKey = algorithm + "/" + spec.key();
+            Object value = paramValues.getOrDefault(memoryKey, spec.defaultValue());
+            Tooltip tooltip = new Tooltip(spec.description());
+            switch (spec.kind()) {
+                case INTEGER -> {
+                    Spinner<Integer> spinner = new Spinner<>((int) Math.max(Integer.MIN_VALUE, spec.min()),
+                            (int) Math.min(Integer.MAX_VALUE, spec.max()), ((Number) value).intValue());
+                    spinner.setEditable(true);
+                    spinner.setPrefWidth(80);
+                    spinner.setTooltip(tooltip);
+                    spinner.valueProperty().addListener((obs, old, v) -> paramValues.put(memoryKey, v.longValue()));
+                    paramReaders.put(spec.key(), spinner::getValue);
+                    paramsPane.getChildren().add(new HBox(6, new Label(spec.label() + ":"), spinner));
+                }
+                case BOOLEAN -> {
+                    CheckBox check = new CheckBox(spec.label());
+                    check.setSelected((Boolean) value);
+                    check.setTooltip(tooltip);
+                    check.selectedProperty().addListener((obs, old, v) -> paramValues.put(memoryKey, v));
+                    paramReaders.put(spec.key(), check::isSelected);
+                    paramsPane.getChildren().add(check);
+                }
+                case CHOICE -> {
+                    ComboBox<String> combo = new ComboBox<>(FXCollections.observableArrayList(spec.choices()));
+                    combo.setValue((String) value);
+                    combo.setTooltip(tooltip);
+                    combo.valueProperty().addListener((obs, old, v) -> paramValues.put(memoryKey, v));
+                    paramReaders.put(spec.key(), combo::getValue);
+                    paramsPane.getChildren().add(new HBox(6, new Label(spec.label() + ":"), combo));
+                }
+            }
+        }
+    }
+
     private void runSimulation() {
         if (processTable.getProcesses().isEmpty()) {
             showAlert("No Processes", "Please add processes before running simulation.");
@@ -438,16 +600,31 @@ public class MainController {
         String algorithm = algorithmCombo.getValue();
         Scheduler scheduler = schedulers.get(algorithm);
         
-        Map<String, Object> params = new HashMap<>();
-        if ("Round-Robin".equals(algorithm)) {
-            params.put("quantum", quantumSpinner.getValue());
+        Map<String, Object> raw = new HashMap<>();
+        paramReaders.forEach((key, reader) -> raw.put(key, reader.get()));
+        Map<String, Object> params;
+        try {
+            params = Schedulers.validate(scheduler, raw);
+        } catch (IllegalArgumentException e) {
+            showAlert("Invalid Parameter", e.getMessage());
+            return;
         }
         
         List<ProcessModel> processes = new ArrayList<>(processTable.getProcesses());
-        simulator.initialize(processes, scheduler, params);
+        try {
+            simulator.initialize(processes, scheduler, params);
+        } catch (IllegalArgumentException e) {
+            // The workload does not suit the algorithm, e.g. real-time tasks with I/O
+            showAlert("Cannot Schedule", e.getMessage());
+            return;
+        }
         
-        ganttView.renderGantt(simulator.getState().getSegments(), 
-                             simulator.getState().getProcessMap());
+        if (simulator.getState().getStore() != null) {
+            renderStore();
+        } else {
+            ganttView.renderGantt(simulator.getState().getSegments(), 
+                                 simulator.getState().getProcessMap());
+        }
         
         enablePlaybackControls(true);
         runButton.setDisable(true);
@@ -579,6 +756,95 @@ public class MainController {
         }
     }
 
+    private void exportTrace() {
+        SimulationState state = simulator.getState();
+        if (!state.hasSchedule()) {
+            showAlert("No Schedule", "Run a simulation before exporting its trace.");
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Trace");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Chrome Trace Event JSON", "*.json"));
+        fileChooser.setInitialFileName("schedule.trace.json");
+        
+        File file = fileChooser.showSaveDialog(stage);
+        if (file != null) {
+            // A new run replaces the segment list or store rather than changing it, so the task can read it as is
+            List<ProcessModel> processes = new ArrayList<>(state.getProcessMap().values());
+            List<GanttSegment> segments = state.getSegments();
+            SegmentStore store = state.getStore();
+            List<ProcessModel> storeProcesses = state.getStoreProcesses();
+            exportInBackground(new Task<>() {
+                @Override
+                protected Void call() throws Exception {
+                    try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                        if (store != null) {
+                            ChromeTraceWriter.write(storeProcesses, store, out);
+                        } else {
+                            ChromeTraceWriter.write(processes, segments, out);
+                        }
+                    }
+                    return null;
+                }
+            }, "Exported to " + file.getName() + "; open it in ui.perfetto.dev", "Failed to export trace: ");
+        }
+    }
+
+    /**
+     * Write an export off the FX thread and report how it went.
+     */
+    private void exportInBackground(Task<Void> task, String done, String failed) {
+        task.setOnSucceeded(e -> showInfo("Export Successful", done));
+        task.setOnFailed(e -> showAlert("Export Failed", failed + task.getException().getMessage()));
+        Thread thread = new Thread(task, "export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void exportImage() {
+        SimulationState state = simulator.getState();
+        if (!state.hasSchedule()) {
+            showAlert("No Schedule", "Run a simulation before exporting its chart.");
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Image");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("PNG Image", "*.png"),
+                new FileChooser.ExtensionFilter("SVG Image", "*.svg"));
+        fileChooser.setInitialFileName("schedule.png");
+        
+        File file = fileChooser.showSaveDialog(stage);
+        if (file != null) {
+            List<ProcessModel> processes = new ArrayList<>(state.getProcessMap().values());
+            List<GanttSegment> segments = state.getSegments();
+            SegmentStore store = state.getStore();
+            List<ProcessModel> storeProcesses = state.getStoreProcesses();
+            exportInBackground(new Task<>() {
+                @Override
+                protected Void call() throws Exception {
+                    int threads = Runtime.getRuntime().availableProcessors();
+                    GanttImage image = store != null
+                            ? GanttImage.of(storeProcesses, store, GanttImage.DEFAULT_WIDTH, threads)
+                            : GanttImage.of(processes, segments, GanttImage.DEFAULT_WIDTH, threads);
+                    if (file.getName().toLowerCase().endsWith(".svg")) {
+                        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                            image.writeSvg(out);
+                        }
+                    } else {
+                        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                            image.writePng(out, threads);
+                        }
+                    }
+                    return null;
+                }
+            }, "Exported to " + file.getName(), "Failed to export image: ");
+        }
+    }
+
     private void toggleTheme() {
         isDarkTheme = !isDarkTheme;
         loadStylesheet();
@@ -595,7 +861,7 @@ public class MainController {
         alert.setTitle("About");
         alert.setHeaderText("CPU Scheduler Visualizer");
         alert.setContentText("An interactive educational tool for visualizing CPU scheduling algorithms.\n\n" +
-                "Algorithms: FCFS, Round-Robin, SJF, Priority\n\n" +
+                "Algorithms: " + String.join(", ", schedulers.keySet()) + "\n\n" +
                 "Built with JavaFX\nVersion 1.0.0");
         alert.showAndWait();
     }
@@ -0,0 +1,21 @@
+package com.scheduler.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One JavaFX pulse, from the start of layout to the end of layout and CSS.
+ */
+@Name("com.scheduler.Frame")
+@Label("Frame")
+@Category({"CPU Scheduler", "Rendering"})
+@Description("Layout and CSS pass of one JavaFX pulse")
+public final class FrameEvent extends Event {
+    @Label("Since Previous Frame")
+    @Timespan(Timespan.NANOSECONDS)
+    public long interval;
+}
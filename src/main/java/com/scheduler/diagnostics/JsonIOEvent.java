@@ -0,0 +1,25 @@
+package com.scheduler.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading or writing a workload file.
+ */
+@Name("com.scheduler.JsonIO")
+@Label("Workload File")
+@Category({"CPU Scheduler", "I/O"})
+@Description("Importing or exporting processes as JSON")
+public final class JsonIOEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Processes")
+    public int processes;
+}
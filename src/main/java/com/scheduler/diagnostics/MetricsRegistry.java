@@ -0,0 +1,329 @@
+package com.scheduler.diagnostics;
+
+import com.scheduler.metrics.LatencyHistogram;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Live counters, gauges and summaries of a long-running process, readable over JMX
+ * and in the Prometheus text format.
+ *
+ * <p>Metric names follow Prometheus conventions ({@code snake_case}, counters ending in
+ * {@code _total}). Registering a name twice returns the existing metric, so callers can
+ * look metrics up by name instead of passing them around. Updates are thread-safe and
+ * cheap enough for per-run bookkeeping; they are not meant for per-segment hot loops.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    // Registration order, for stable output
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * The registry the application records into.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private sealed interface Metric permits Counter, Gauge, Summary {
+        String help();
+    }
+
+    /**
+     * Monotonically increasing count.
+     */
+    public static final class Counter implements Metric {
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String help) {
+            this.help = help;
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        public String help() {
+            return help;
+        }
+    }
+
+    /**
+     * Value read when the metrics are collected; settable if registered without a supplier.
+     */
+    public static final class Gauge implements Metric {
+        private final String help;
+        private final DoubleSupplier supplier;
+        private final AtomicLong bits = new AtomicLong(Double.doubleToLongBits(0));
+
+        private Gauge(String help, DoubleSupplier supplier) {
+            this.help = help;
+            this.supplier = supplier;
+        }
+
+        public void set(double value) {
+            bits.set(Double.doubleToLongBits(value));
+        }
+
+        public double get() {
+            return supplier != null ? supplier.getAsDouble() : Double.longBitsToDouble(bits.get());
+        }
+
+        @Override
+        public String help() {
+            return help;
+        }
+    }
+
+    /**
+     * Distribution of recorded values in a {@link LatencyHistogram}, reported as quantiles,
+     * sum and count. Values are multiplied by {@code scale} on output, e.g. 1e-9 to record
+     * nanoseconds and report seconds.
+     */
+    public static final class Summary implements Metric {
+        private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+        private final String help;
+        private final double scale;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Summary(String help, double scale) {
+            this.help = help;
+            this.scale = scale;
+        }
+
+        public synchronized void record(long value) {
+            histogram.record(Math.max(0, value));
+        }
+
+        public synchronized void merge(LatencyHistogram values) {
+            histogram.merge(values);
+        }
+
+        public synchronized long getCount() {
+            return histogram.getCount();
+        }
+
+        public synchronized double getSum() {
+            return histogram.getSum() * scale;
+        }
+
+        public synchronized double getQuantile(double quantile) {
+            return histogram.getCount() == 0 ? Double.NaN : histogram.getPercentile(quantile * 100) * scale;
+        }
+
+        @Override
+        public String help() {
+            return help;
+        }
+    }
+
+    public Counter counter(String name, String help) {
+        return register(name, Counter.class, () -> new Counter(help));
+    }
+
+    /**
+     * A gauge set with {@link Gauge#set(double)}.
+     */
+    public Gauge gauge(String name, String help) {
+        return register(name, Gauge.class, () -> new Gauge(help, null));
+    }
+
+    /**
+     * A gauge that reads the supplier whenever the metrics are collected.
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier) {
+        return register(name, Gauge.class, () -> new Gauge(help, supplier));
+    }
+
+    public Summary summary(String name, String help, double scale) {
+        return register(name, Summary.class, () -> new Summary(help, scale));
+    }
+
+    private synchronized <T extends Metric> T register(String name, Class<T> type,
+                                                       Supplier<T> factory) {
+        if (!name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        Metric existing = metrics.get(name);
+        if (existing != null) {
+            if (!type.isInstance(existing)) {
+                throw new IllegalArgumentException("Metric " + name + " is already a "
+                        + existing.getClass().getSimpleName());
+            }
+            return type.cast(existing);
+        }
+        T metric = factory.get();
+        metrics.put(name, metric);
+        names.add(name);
+        return metric;
+    }
+
+    private synchronized List<String> names() {
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Write every metric in the Prometheus text exposition format, version 0.0.4.
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        for (String name : names()) {
+            Metric metric = metrics.get(name);
+            out.write("# HELP " + name + " " + metric.help().replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+            switch (metric) {
+                case Counter counter -> {
+                    out.write("# TYPE " + name + " counter\n");
+                    out.write(name + " " + counter.get() + "\n");
+                }
+                case Gauge gauge -> {
+                    out.write("# TYPE " + name + " gauge\n");
+                    out.write(name + " " + format(gauge.get()) + "\n");
+                }
+                case Summary summary -> {
+                    out.write("# TYPE " + name + " summary\n");
+                    synchronized (summary) {
+                        for (double quantile : Summary.QUANTILES) {
+                            out.write(name + "{quantile=\"" + quantile + "\"} "
+                                    + format(summary.getQuantile(quantile)) + "\n");
+                        }
+                        out.write(name + "_sum " + format(summary.getSum()) + "\n");
+                        out.write(name + "_count " + summary.getCount() + "\n");
+                    }
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return String.valueOf((long) value);
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    /**
+     * Register the metrics as one MBean, {@code com.scheduler:type=Metrics}, with an
+     * attribute per counter and gauge and count, sum and quantile attributes per summary.
+     * Registering again is a no-op.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.scheduler:type=Metrics");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new RegistryMBean(), name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered concurrently
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics MBean", e);
+        }
+    }
+
+    /**
+     * Attributes are computed from the registry on every read, so metrics registered
+     * after the MBean still show up.
+     */
+    private final class RegistryMBean implements DynamicMBean {
+
+        private Map<String, Object> attributes() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String name : names()) {
+                switch (metrics.get(name)) {
+                    case Counter counter -> values.put(name, counter.get());
+                    case Gauge gauge -> values.put(name, gauge.get());
+                    case Summary summary -> {
+                        values.put(name + "_count", summary.getCount());
+                        values.put(name + "_sum", summary.getSum());
+                        for (double quantile : Summary.QUANTILES) {
+                            String suffix = String.valueOf(quantile * 100).replace(".0", "").replace('.', '_');
+                            values.put(name + "_p" + suffix, summary.getQuantile(quantile));
+                        }
+                    }
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object value = attributes().get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] requested) {
+            Map<String, Object> values = attributes();
+            AttributeList list = new AttributeList();
+            for (String name : requested) {
+                if (values.containsKey(name)) list.add(new Attribute(name, values.get(name)));
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String action, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> infos = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : attributes().entrySet()) {
+                String base = entry.getKey().replaceAll("_(count|sum|p[0-9_]+)$", "");
+                Metric metric = metrics.get(metrics.containsKey(entry.getKey()) ? entry.getKey() : base);
+                infos.add(new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                        metric == null ? entry.getKey() : metric.help(), true, false, false));
+            }
+            return new MBeanInfo(RegistryMBean.class.getName(), "CPU scheduler metrics",
+                    infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
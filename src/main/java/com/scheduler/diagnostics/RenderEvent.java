@@ -0,0 +1,26 @@
+package com.scheduler.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building or updating the Gantt chart's scene graph.
+ */
+@Name("com.scheduler.RenderGantt")
+@Label("Render Gantt")
+@Category({"CPU Scheduler", "Rendering"})
+@Description("Creating the Gantt chart nodes for a schedule")
+public final class RenderEvent extends Event {
+    @Label("Segments")
+    public int segments;
+
+    @Label("Reused Segments")
+    @Description("Leading segments kept from the previous chart")
+    public int reused;
+
+    @Label("Nodes")
+    public int nodes;
+}
@@ -0,0 +1,74 @@
+package com.scheduler.diagnostics;
+
+import com.scheduler.metrics.ScheduleMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * The standard metrics of scheduling runs, recorded into {@link MetricsRegistry#getDefault()}.
+ *
+ * <p>Times are wall-clock; dispatch latency is simulated time from arrival to first
+ * dispatch, the same values as the response-time percentiles of {@link ScheduleMetrics}.
+ */
+public final class RunMetrics {
+    /** Estimated retained size of one segment: the object plus its list reference. */
+    static final long SEGMENT_BYTES = 48;
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private static final MetricsRegistry.Counter WORKLOADS = REGISTRY.counter("scheduler_workloads_total",
+            "Workloads scheduled");
+    private static final MetricsRegistry.Counter SEGMENTS = REGISTRY.counter("scheduler_segments_total",
+            "Gantt segments emitted by schedulers");
+    private static final MetricsRegistry.Gauge SEGMENT_RATE = REGISTRY.gauge("scheduler_segments_per_second",
+            "Segments emitted per second by the most recent run");
+    private static final MetricsRegistry.Summary RUN_TIME = REGISTRY.summary("scheduler_run_seconds",
+            "Wall-clock time of scheduler runs", 1e-9);
+    private static final MetricsRegistry.Summary DISPATCH_LATENCY = REGISTRY.summary(
+            "scheduler_dispatch_latency", "Simulated time from arrival to first dispatch", 1);
+    private static final MetricsRegistry.Gauge QUEUE_DEPTH = REGISTRY.gauge("scheduler_queue_depth",
+            "Workloads waiting to be scheduled");
+    private static final MetricsRegistry.Gauge SCHEDULE_BYTES = REGISTRY.gauge("scheduler_schedule_bytes",
+            "Estimated heap held by the segments of the most recent schedule");
+
+    static {
+        REGISTRY.gauge("jvm_heap_used_bytes", "Heap in use by the JVM",
+                () -> MEMORY.getHeapMemoryUsage().getUsed());
+    }
+
+    private RunMetrics() {
+    }
+
+    /**
+     * The registry holding these metrics, with all of them registered.
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Count one finished scheduler run.
+     *
+     * @param nanos wall-clock duration of the run
+     */
+    public static void recordRun(long segments, long nanos) {
+        WORKLOADS.increment();
+        SEGMENTS.add(segments);
+        RUN_TIME.record(nanos);
+        SEGMENT_RATE.set(nanos > 0 ? segments * 1e9 / nanos : 0);
+        SCHEDULE_BYTES.set((double) segments * SEGMENT_BYTES);
+    }
+
+    /**
+     * Add the response times of a finished schedule to the dispatch latency.
+     */
+    public static void recordMetrics(ScheduleMetrics metrics) {
+        DISPATCH_LATENCY.merge(metrics.getResponse());
+    }
+
+    public static void setQueueDepth(int workloads) {
+        QUEUE_DEPTH.set(workloads);
+    }
+}
@@ -0,0 +1,29 @@
+package com.scheduler.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One run of a scheduling algorithm over a workload.
+ */
+@Name("com.scheduler.Schedule")
+@Label("Schedule")
+@Category({"CPU Scheduler", "Phases"})
+@Description("A scheduling algorithm computing the Gantt segments of a workload")
+public final class ScheduleEvent extends Event {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Processes")
+    public int processes;
+
+    @Label("Segments")
+    public int segments;
+
+    @Label("Incremental")
+    @Description("Whether the run resumed from a checkpoint after an edit")
+    public boolean incremental;
+}
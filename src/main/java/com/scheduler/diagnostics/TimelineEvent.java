@@ -0,0 +1,30 @@
+package com.scheduler.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building the checkpointed timeline that playback steps through.
+ */
+@Name("com.scheduler.BuildTimeline")
+@Label("Build Timeline")
+@Category({"CPU Scheduler", "Phases"})
+@Description("Sweeping a schedule's events and saving checkpoints for stepping")
+public final class TimelineEvent extends Event {
+    @Label("Segments")
+    public int segments;
+
+    @Label("Events")
+    public int events;
+
+    @Label("Checkpoint Interval")
+    public int interval;
+
+    @Label("Checkpoint Memory")
+    @DataAmount
+    public long checkpointBytes;
+}
@@ -0,0 +1,265 @@
+package com.scheduler.export;
+
+import com.google.gson.stream.JsonWriter;
+import com.scheduler.metrics.PidIndex;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+import com.scheduler.model.SegmentStore;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Streams a schedule as Chrome Trace Event JSON, which Perfetto and chrome://tracing open.
+ *
+ * <p>The trace has one track per core and I/O channel, one track per process with its CPU
+ * and I/O slices plus arrival and completion instants, and a ready-queue length counter.
+ * One tick is written as one microsecond. Segments must be fed in start order; each is
+ * written as soon as it is accepted, and the counter is kept by a sweep whose state is per
+ * process and per segment in progress, so memory does not grow with the segment count.
+ *
+ * <p>A periodic process never leaves the ready-queue count, since its jobs share one id.
+ */
+public final class ChromeTraceWriter implements Consumer<GanttSegment>, Closeable {
+    private static final int CPUS = 1;
+    private static final int IO = 2;
+    private static final int PROCESSES = 3;
+
+    private final JsonWriter json;
+    private final List<ProcessModel> processes;
+    private final PidIndex index;
+    private final long[] remaining;
+    private final long[] lastEnd;
+    private final int[] busy;
+    private final boolean[] live;
+    private final int[] byArrival;
+    private final BitSet coreNamed = new BitSet();
+    private final BitSet channelNamed = new BitSet();
+
+    // Segments in progress, by end, for the ready-queue sweep
+    private final PriorityQueue<Pending> pending = new PriorityQueue<>(Comparator.comparingLong(Pending::end));
+    private int arrivalPtr;
+    private long lastStart = Long.MIN_VALUE;
+    private int ready;
+    private long sampleTime = -1;
+    private int sampled = -1;
+    private boolean closed;
+
+    private record Pending(long end, int process, boolean completes) {
+    }
+
+    /**
+     * Start a trace; the writer is closed, but not the stream under it, by {@link #close()}.
+     */
+    public ChromeTraceWriter(List<ProcessModel> processes, Writer out) throws IOException {
+        this.json = new JsonWriter(out);
+        this.processes = processes;
+        int n = processes.size();
+        this.index = new PidIndex(n);
+        this.remaining = new long[n];
+        this.lastEnd = new long[n];
+        this.busy = new int[n];
+        this.live = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            ProcessModel process = processes.get(i);
+            index.put(process.getId(), i);
+            remaining[i] = process.isPeriodic() ? Long.MAX_VALUE : process.getBurst();
+            lastEnd[i] = -1;
+        }
+        this.byArrival = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingLong(i -> processes.get(i).getArrival()))
+                .mapToInt(Integer::intValue).toArray();
+
+        json.beginObject();
+        json.name("traceEvents").beginArray();
+        metadata("process_name", CPUS, -1, "name", "CPUs");
+        metadata("process_name", IO, -1, "name", "I/O");
+        metadata("process_name", PROCESSES, -1, "name", "Processes");
+        for (int i = 0; i < n; i++) {
+            metadata("thread_name", PROCESSES, i + 1, "name", processes.get(i).getId());
+            metadata("thread_sort_index", PROCESSES, i + 1, "sort_index", i);
+            instant("arrival", processes.get(i).getArrival(), i + 1);
+        }
+    }
+
+    /**
+     * Write a whole schedule, visiting the segments in start order by merging their core
+     * and I/O lanes; the list is neither sorted nor copied.
+     */
+    public static void write(List<ProcessModel> processes, List<GanttSegment> segments, Writer out)
+            throws IOException {
+        try (ChromeTraceWriter writer = new ChromeTraceWriter(processes, out)) {
+            LaneMerge.forEach(LaneMerge.of(segments), i -> writer.accept(segments.get((int) i)));
+        }
+    }
+
+    /**
+     * Write a schedule held in an off-heap store, making one segment object at a time.
+     *
+     * @param processes the list the segments were scheduled from, for the process ids
+     */
+    public static void write(List<ProcessModel> processes, SegmentStore store, Writer out) throws IOException {
+        try (ChromeTraceWriter writer = new ChromeTraceWriter(processes, out)) {
+            SegmentSink named = SegmentSink.into(processes, writer);
+            LaneMerge.forEach(LaneMerge.of(store), i -> named.segment(store.getProcess(i), store.getStart(i),
+                    store.getEnd(i), store.getCore(i), store.isIo(i)));
+        }
+    }
+
+    /**
+     * Write one segment.
+     *
+     * @throws IllegalArgumentException if it starts before the previous segment
+     * @throws UncheckedIOException if writing fails
+     */
+    @Override
+    public void accept(GanttSegment seg) {
+        if (seg.getStart() < lastStart) {
+            throw new IllegalArgumentException("Segments must be in start order: " + seg + " after " + lastStart);
+        }
+        lastStart = seg.getStart();
+        try {
+            sweep(seg.getStart());
+            if (seg.isIdle()) return;
+
+            if (seg.isIo()) {
+                if (!channelNamed.get(seg.getCore())) {
+                    channelNamed.set(seg.getCore());
+                    metadata("thread_name", IO, seg.getCore(), "name", "I/O " + seg.getCore());
+                }
+                slice(seg.getPid(), seg, IO, seg.getCore());
+            } else {
+                if (!coreNamed.get(seg.getCore())) {
+                    coreNamed.set(seg.getCore());
+                    metadata("thread_name", CPUS, seg.getCore(), "name", "CPU " + seg.getCore());
+                }
+                slice(seg.getPid(), seg, CPUS, seg.getCore());
+            }
+            if (seg.isContextSwitch()) return;
+
+            int p = index.get(seg.getPid());
+            if (p < 0) return;
+            slice((seg.isIo() ? "I/O " : "CPU ") + seg.getCore(), seg, PROCESSES, p + 1);
+            lastEnd[p] = Math.max(lastEnd[p], seg.getEnd());
+
+            boolean completes = false;
+            if (!seg.isIo() && remaining[p] != Long.MAX_VALUE) {
+                remaining[p] -= seg.getDuration();
+                completes = remaining[p] <= 0;
+            }
+            if (busy[p]++ == 0 && live[p]) change(seg.getStart(), -1);
+            pending.add(new Pending(seg.getEnd(), p, completes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finish the sweep, write the completion instants and end the JSON document.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        sweep(Long.MAX_VALUE);
+        sample(Long.MAX_VALUE);
+        for (int p = 0; p < lastEnd.length; p++) {
+            if (lastEnd[p] >= 0) instant("completion", lastEnd[p], p + 1);
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Apply every arrival and segment end up to the given time, in time order.
+     */
+    private void sweep(long to) throws IOException {
+        while (true) {
+            long arrival = arrivalPtr < byArrival.length
+                    ? processes.get(byArrival[arrivalPtr]).getArrival() : Long.MAX_VALUE;
+            long end = pending.isEmpty() ? Long.MAX_VALUE : pending.peek().end();
+            if (Math.min(arrival, end) > to || Math.min(arrival, end) == Long.MAX_VALUE) return;
+
+            if (arrival <= end) {
+                int p = byArrival[arrivalPtr++];
+                live[p] = true;
+                if (busy[p] == 0) change(arrival, 1);
+            } else {
+                Pending done = pending.poll();
+                int p = done.process();
+                if (--busy[p] == 0 && live[p]) {
+                    if (done.completes()) {
+                        live[p] = false;
+                    } else {
+                        change(end, 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adjust the ready-queue length; changes at one time are written as a single sample.
+     */
+    private void change(long time, int delta) throws IOException {
+        sample(time);
+        ready += delta;
+    }
+
+    private void sample(long time) throws IOException {
+        if (time == sampleTime) return;
+        if (sampleTime >= 0 && ready != sampled) {
+            json.beginObject();
+            json.name("name").value("ready queue");
+            json.name("ph").value("C");
+            json.name("ts").value(sampleTime);
+            json.name("pid").value(CPUS);
+            json.name("args").beginObject().name("length").value(ready).endObject();
+            json.endObject();
+            sampled = ready;
+        }
+        sampleTime = time;
+    }
+
+    private void slice(String name, GanttSegment seg, int pid, int tid) throws IOException {
+        json.beginObject();
+        json.name("name").value(name);
+        json.name("ph").value("X");
+        json.name("ts").value(seg.getStart());
+        json.name("dur").value(seg.getDuration());
+        json.name("pid").value(pid);
+        json.name("tid").value(tid);
+        json.endObject();
+    }
+
+    private void instant(String name, long time, int tid) throws IOException {
+        json.beginObject();
+        json.name("name").value(name);
+        json.name("ph").value("i");
+        json.name("s").value("t");
+        json.name("ts").value(time);
+        json.name("pid").value(PROCESSES);
+        json.name("tid").value(tid);
+        json.endObject();
+    }
+
+    private void metadata(String name, int pid, int tid, String key, Object value) throws IOException {
+        json.beginObject();
+        json.name("name").value(name);
+        json.name("ph").value("M");
+        json.name("pid").value(pid);
+        if (tid >= 0) json.name("tid").value(tid);
+        json.name("args").beginObject().name(key);
+        if (value instanceof Number number) {
+            json.value(number);
+        } else {
+            json.value(value.toString());
+        }
+        json.endObject();
+        json.endObject();
+    }
+}
@@ -0,0 +1,441 @@
+package com.scheduler.export;
+
+import com.scheduler.metrics.PidIndex;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+import com.scheduler.model.SegmentStore;
+import javafx.scene.paint.Color;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Off-screen Gantt chart of a whole schedule at a fixed pixel width, for PNG and SVG reports.
+ *
+ * <p>Segments are folded into one cell per lane and pixel column as they are accepted: the
+ * fraction of the column's time that is busy, and the color of the segment covering most of
+ * it. Memory and output size therefore depend on the image size, not on the segment count.
+ * A PNG is rasterized in bands of rows on background threads, and each band goes to the
+ * encoder as soon as it and the bands above it are done. An SVG merges each lane's adjacent
+ * columns of the same color into one rectangle, so a process's consecutive runs become one.
+ */
+public final class GanttImage implements Consumer<GanttSegment>, SegmentSink {
+    public static final int DEFAULT_WIDTH = 4096;
+
+    private static final int LANE_HEIGHT = 24;
+    private static final int LANE_GAP = 6;
+    private static final int LEFT = 56;
+    private static final int RIGHT = 12;
+    private static final int TOP = 10;
+    private static final int AXIS = 28;
+    private static final int BAND_ROWS = 32;
+    private static final int SHADES = 16;
+    private static final int BACKGROUND = 0xFFFFFF;
+    private static final int FOREGROUND = 0x333333;
+    private static final int SWITCH = 0xFF8C00;
+    private static final int UNKNOWN = 0xADD8E6;
+
+    private final int width;
+    private final int columns;
+    private final long maxTime;
+    private final int cores;
+    private final int ioChannels;
+    private final PidIndex index;
+    private final int[] colors;
+    // Per lane and column: busy fraction, and the color covering the largest part of it
+    private final float[] coverage;
+    private final float[] best;
+    private final int[] color;
+
+    /**
+     * @param width image width in pixels, including the lane labels
+     * @param maxTime end of the time axis
+     */
+    public GanttImage(List<ProcessModel> processes, int width, long maxTime, int cores, int ioChannels) {
+        if (width < LEFT + RIGHT + 1) {
+            throw new IllegalArgumentException("Width must be at least " + (LEFT + RIGHT + 1) + " pixels");
+        }
+        this.width = width;
+        this.columns = width - LEFT - RIGHT;
+        this.maxTime = Math.max(1, maxTime);
+        this.cores = Math.max(1, cores);
+        this.ioChannels = Math.max(0, ioChannels);
+        this.index = new PidIndex(processes.size());
+        this.colors = new int[processes.size()];
+        for (int i = 0; i < processes.size(); i++) {
+            index.put(processes.get(i).getId(), i);
+            colors[i] = rgb(processes.get(i).getColor());
+        }
+        int cells = getLaneCount() * columns;
+        this.coverage = new float[cells];
+        this.best = new float[cells];
+        this.color = new int[cells];
+    }
+
+    /**
+     * Image of a whole schedule, sized to its lanes and length. The segments are split
+     * among the threads, each folding its share into its own cells before they are merged.
+     */
+    public static GanttImage of(List<ProcessModel> processes, List<GanttSegment> segments, int width, int threads) {
+        Bounds bounds = new Bounds();
+        for (GanttSegment seg : segments) {
+            bounds.segment(0, seg.getStart(), seg.getEnd(), seg.getCore(), seg.isIo());
+        }
+        return draw(processes, bounds, width, threads, segments.size(),
+                (image, from, to) -> segments.subList((int) from, (int) to).forEach(image));
+    }
+
+    /**
+     * Image of a schedule held in an off-heap store, read in one pass for the image size
+     * and one to draw, with no segment objects made.
+     *
+     * @param processes the list the segments were scheduled from
+     */
+    public static GanttImage of(List<ProcessModel> processes, SegmentStore store, int width, int threads) {
+        Bounds bounds = new Bounds();
+        store.forEach(bounds);
+        return draw(processes, bounds, width, threads, store.size(),
+                (image, from, to) -> store.forEach(from, to, image));
+    }
+
+    /**
+     * Segments {@code from} up to {@code to} of a schedule, folded into an image.
+     */
+    @FunctionalInterface
+    private interface Share {
+        void draw(GanttImage image, long from, long to);
+    }
+
+    /**
+     * Length and lane counts of a schedule.
+     */
+    private static final class Bounds implements SegmentSink {
+        long maxTime;
+        int cores = 1;
+        int ioChannels;
+
+        @Override
+        public void segment(int process, long start, long end, int core, boolean io) {
+            maxTime = Math.max(maxTime, end);
+            if (io) {
+                ioChannels = Math.max(ioChannels, core + 1);
+            } else {
+                cores = Math.max(cores, core + 1);
+            }
+        }
+    }
+
+    private static GanttImage draw(List<ProcessModel> processes, Bounds bounds, int width, int threads,
+                                   long count, Share share) {
+        GanttImage image = new GanttImage(processes, width, bounds.maxTime, bounds.cores, bounds.ioChannels);
+        int parts = (int) Math.max(1, Math.min(threads, count / 100_000));
+        if (parts == 1) {
+            share.draw(image, 0, count);
+            return image;
+        }
+
+        GanttImage[] partial = new GanttImage[parts];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[parts];
+        ExecutorService pool = Executors.newFixedThreadPool(parts, daemonThreads());
+        try {
+            for (int i = 0; i < parts; i++) {
+                int part = i;
+                partial[part] = part == 0 ? image
+                        : new GanttImage(processes, width, bounds.maxTime, bounds.cores, bounds.ioChannels);
+                long from = count * part / parts;
+                long to = count * (part + 1) / parts;
+                futures[part] = CompletableFuture.runAsync(() -> share.draw(partial[part], from, to), pool);
+            }
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 1; i < parts; i++) {
+            image.merge(partial[i]);
+        }
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return TOP + getLaneCount() * (LANE_HEIGHT + LANE_GAP) + AXIS;
+    }
+
+    private int getLaneCount() {
+        return cores + ioChannels;
+    }
+
+    /**
+     * Fold one segment into the columns it overlaps; segments may come in any order.
+     */
+    @Override
+    public void accept(GanttSegment seg) {
+        if (seg.isIdle()) return;
+        int rgb;
+        if (seg.isContextSwitch()) {
+            rgb = SWITCH;
+        } else {
+            int p = index.get(seg.getPid());
+            rgb = p < 0 ? UNKNOWN : colors[p];
+        }
+        fold(seg.getStart(), seg.getEnd(), seg.getCore(), seg.isIo(), rgb);
+    }
+
+    /**
+     * Like {@link #accept}, for a segment of the process at the given index in the list
+     * this image was made with.
+     */
+    @Override
+    public void segment(int process, long start, long end, int core, boolean io) {
+        if (process == SegmentSink.IDLE) return;
+        int rgb;
+        if (process == SegmentSink.SWITCH) {
+            rgb = SWITCH;
+        } else {
+            rgb = process < 0 || process >= colors.length ? UNKNOWN : colors[process];
+        }
+        fold(start, end, core, io, rgb);
+    }
+
+    private void fold(long start, long end, int core, boolean io, int rgb) {
+        if (end <= start) return;
+        int lane = io ? cores + core : core;
+        if (lane < 0 || lane >= getLaneCount()) return;
+        // I/O is drawn paler, as in the Gantt view
+        if (io) rgb = blend(rgb, BACKGROUND, 0.45);
+
+        double scale = (double) columns / maxTime;
+        double x0 = start * scale;
+        double x1 = end * scale;
+        int first = (int) Math.max(0, Math.floor(x0));
+        int last = (int) Math.min(columns - 1, Math.ceil(x1) - 1);
+        int row = lane * columns;
+        for (int c = first; c <= last; c++) {
+            float overlap = (float) (Math.min(x1, c + 1) - Math.max(x0, c));
+            int cell = row + c;
+            coverage[cell] += overlap;
+            if (overlap > best[cell]) {
+                best[cell] = overlap;
+                color[cell] = rgb;
+            }
+        }
+    }
+
+    private void merge(GanttImage other) {
+        for (int cell = 0; cell < coverage.length; cell++) {
+            coverage[cell] += other.coverage[cell];
+            if (other.best[cell] > best[cell]) {
+                best[cell] = other.best[cell];
+                color[cell] = other.color[cell];
+            }
+        }
+    }
+
+    /**
+     * The whole image as opaque {@code 0xAARRGGBB} pixels, row by row, for display.
+     */
+    public int[] toArgb() {
+        return renderBand(0, getHeight());
+    }
+
+    /**
+     * Encode as PNG, rendering bands of rows on the given number of threads while earlier
+     * bands are compressed. The stream is flushed but left open.
+     */
+    public void writePng(OutputStream out, int threads) throws IOException {
+        int height = getHeight();
+        PngWriter png = new PngWriter(out, width, height);
+        ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads, daemonThreads()) : null;
+        try {
+            ArrayDeque<CompletableFuture<int[]>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            while (next < height || !inFlight.isEmpty()) {
+                while (next < height && inFlight.size() < 2 * Math.max(1, threads)) {
+                    int top = next;
+                    int rows = Math.min(BAND_ROWS, height - top);
+                    inFlight.add(pool == null
+                            ? CompletableFuture.completedFuture(renderBand(top, rows))
+                            : CompletableFuture.supplyAsync(() -> renderBand(top, rows), pool));
+                    next += rows;
+                }
+                int[] band = inFlight.poll().join();
+                png.writeRows(band, band.length / width);
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+        png.finish();
+    }
+
+    /**
+     * Write as SVG, one rectangle per run of same-colored columns in a lane.
+     */
+    public void writeSvg(Writer out) throws IOException {
+        int height = getHeight();
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\" font-family=\"sans-serif\" font-size=\"11\">\n");
+        out.write("<rect width=\"100%\" height=\"100%\" fill=\"" + hex(BACKGROUND) + "\"/>\n");
+        for (int lane = 0; lane < getLaneCount(); lane++) {
+            int y = laneY(lane);
+            out.write("<text x=\"4\" y=\"" + (y + LANE_HEIGHT / 2 + 4) + "\" fill=\"" + hex(FOREGROUND) + "\">"
+                    + laneName(lane) + "</text>\n");
+            int row = lane * columns;
+            int c = 0;
+            while (c < columns) {
+                int shade = shade(row + c);
+                int start = c;
+                while (c < columns && shade(row + c) == shade) c++;
+                if (shade == BACKGROUND) continue;
+                out.write("<rect x=\"" + (LEFT + start) + "\" y=\"" + y + "\" width=\"" + (c - start)
+                        + "\" height=\"" + LANE_HEIGHT + "\" fill=\"" + hex(shade) + "\"/>\n");
+            }
+        }
+        int axisY = axisY();
+        out.write("<line x1=\"" + LEFT + "\" y1=\"" + axisY + "\" x2=\"" + (LEFT + columns) + "\" y2=\"" + axisY
+                + "\" stroke=\"" + hex(FOREGROUND) + "\"/>\n");
+        long interval = tickInterval();
+        for (long t = 0; t <= maxTime; t += interval) {
+            int x = LEFT + (int) Math.round((double) t * columns / maxTime);
+            out.write("<line x1=\"" + x + "\" y1=\"" + axisY + "\" x2=\"" + x + "\" y2=\"" + (axisY + 5)
+                    + "\" stroke=\"" + hex(FOREGROUND) + "\"/>\n");
+            out.write("<text x=\"" + x + "\" y=\"" + (axisY + 17) + "\" text-anchor=\"middle\" fill=\""
+                    + hex(FOREGROUND) + "\">" + t + "</text>\n");
+        }
+        out.write("</svg>\n");
+        out.flush();
+    }
+
+    /**
+     * Draw the rows from {@code top} into a band of {@code 0xRRGGBB} pixels.
+     */
+    private int[] renderBand(int top, int rows) {
+        BufferedImage band = new BufferedImage(width, rows, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = band.createGraphics();
+        try {
+            g.translate(0, -top);
+            g.setColor(new java.awt.Color(BACKGROUND));
+            g.fillRect(0, top, width, rows);
+            for (int lane = 0; lane < getLaneCount(); lane++) {
+                int y = laneY(lane);
+                if (y + LANE_HEIGHT <= top || y >= top + rows) continue;
+                int row = lane * columns;
+                int c = 0;
+                while (c < columns) {
+                    int shade = shade(row + c);
+                    int start = c;
+                    while (c < columns && shade(row + c) == shade) c++;
+                    if (shade == BACKGROUND) continue;
+                    g.setColor(new java.awt.Color(shade));
+                    g.fillRect(LEFT + start, y, c - start, LANE_HEIGHT);
+                }
+            }
+
+            // Text is drawn in every band it may reach; the band clips it
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+            g.setColor(new java.awt.Color(FOREGROUND));
+            for (int lane = 0; lane < getLaneCount(); lane++) {
+                g.drawString(laneName(lane), 4, laneY(lane) + LANE_HEIGHT / 2 + 4);
+            }
+            int axisY = axisY();
+            g.drawLine(LEFT, axisY, LEFT + columns, axisY);
+            long interval = tickInterval();
+            for (long t = 0; t <= maxTime; t += interval) {
+                int x = LEFT + (int) Math.round((double) t * columns / maxTime);
+                g.drawLine(x, axisY, x, axisY + 5);
+                String label = String.valueOf(t);
+                g.drawString(label, x - g.getFontMetrics().stringWidth(label) / 2, axisY + 17);
+            }
+        } finally {
+            g.dispose();
+        }
+        return band.getRGB(0, 0, width, rows, null, 0, width);
+    }
+
+    /**
+     * Displayed color of a cell: its color faded by how much of the column is busy, in a
+     * few steps so neighbouring columns merge into runs.
+     */
+    private int shade(int cell) {
+        if (coverage[cell] <= 0) return BACKGROUND;
+        int steps = Math.max(1, Math.min(SHADES, Math.round(coverage[cell] * SHADES)));
+        return blend(color[cell], BACKGROUND, 1 - (double) steps / SHADES);
+    }
+
+    private String laneName(int lane) {
+        return lane < cores ? "CPU " + lane : "I/O " + (lane - cores);
+    }
+
+    private static int laneY(int lane) {
+        return TOP + lane * (LANE_HEIGHT + LANE_GAP);
+    }
+
+    private int axisY() {
+        return laneY(getLaneCount()) + 2;
+    }
+
+    /**
+     * Tick spacing of 1, 2 or 5 times a power of ten, keeping labels about 80 pixels apart.
+     */
+    private long tickInterval() {
+        long labels = Math.max(1, columns / 80);
+        long interval = 1;
+        while (true) {
+            for (long step : new long[] {1, 2, 5}) {
+                if (maxTime / (interval * step) <= labels) return interval * step;
+            }
+            interval *= 10;
+        }
+    }
+
+    private static int rgb(Color color) {
+        if (color == null) return UNKNOWN;
+        return (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8
+                | (int) Math.round(color.getBlue() * 255);
+    }
+
+    /**
+     * Mix {@code weight} of {@code other} into {@code rgb}.
+     */
+    private static int blend(int rgb, int other, double weight) {
+        int result = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int a = (rgb >>> shift) & 0xFF;
+            int b = (other >>> shift) & 0xFF;
+            result |= (int) Math.round(a + (b - a) * weight) << shift;
+        }
+        return result;
+    }
+
+    private static String hex(int rgb) {
+        return String.format("#%06X", rgb);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "gantt-image");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.scheduler.export;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.SegmentStore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Visits a schedule's segments in start order without sorting or copying them.
+ *
+ * <p>Schedulers emit each core's and each I/O channel's segments in start order, but
+ * interleave the lanes by when segments end. A heap holds one cursor per lane, so memory
+ * is proportional to the lane count; ties in start time go to the earlier index, which
+ * gives the order a stable sort by start would. Each cursor scans forward for its lane's
+ * next segment, so a pass reads the segments once per lane.
+ */
+final class LaneMerge {
+
+    /**
+     * Segments by index, as a list or a store holds them.
+     */
+    interface Source {
+        long size();
+
+        long start(long index);
+
+        int core(long index);
+
+        boolean io(long index);
+    }
+
+    private static final class Cursor {
+        final int lane;
+        long index;
+        long start;
+
+        Cursor(int lane, long index, long start) {
+            this.lane = lane;
+            this.index = index;
+            this.start = start;
+        }
+    }
+
+    private LaneMerge() {
+    }
+
+    static Source of(List<GanttSegment> segments) {
+        return new Source() {
+            @Override
+            public long size() {
+                return segments.size();
+            }
+
+            @Override
+            public long start(long index) {
+                return segments.get((int) index).getStart();
+            }
+
+            @Override
+            public int core(long index) {
+                return segments.get((int) index).getCore();
+            }
+
+            @Override
+            public boolean io(long index) {
+                return segments.get((int) index).isIo();
+            }
+        };
+    }
+
+    static Source of(SegmentStore store) {
+        return new Source() {
+            @Override
+            public long size() {
+                return store.size();
+            }
+
+            @Override
+            public long start(long index) {
+                return store.getStart(index);
+            }
+
+            @Override
+            public int core(long index) {
+                return store.getCore(index);
+            }
+
+            @Override
+            public boolean io(long index) {
+                return store.isIo(index);
+            }
+        };
+    }
+
+    /**
+     * Hand the index of every segment to the action, in start order.
+     *
+     * @throws IllegalArgumentException if a lane is not in start order
+     */
+    static void forEach(Source source, LongConsumer action) {
+        long size = source.size();
+        Map<Integer, Cursor> lanes = new HashMap<>();
+        for (long i = 0; i < size; i++) {
+            int lane = lane(source, i);
+            if (!lanes.containsKey(lane)) lanes.put(lane, new Cursor(lane, i, source.start(i)));
+        }
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, lanes.size()), (a, b) -> a.start != b.start
+                ? Long.compare(a.start, b.start) : Long.compare(a.index, b.index));
+        heap.addAll(lanes.values());
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            action.accept(cursor.index);
+            long next = cursor.index + 1;
+            while (next < size && lane(source, next) != cursor.lane) next++;
+            if (next == size) continue;
+            long start = source.start(next);
+            if (start < cursor.start) {
+                throw new IllegalArgumentException("Segment " + next + " starts at " + start
+                        + ", before the previous segment of its lane at " + cursor.start);
+            }
+            cursor.index = next;
+            cursor.start = start;
+            heap.add(cursor);
+        }
+    }
+
+    /**
+     * Cores are lanes 0 and up, I/O channels -1 and down.
+     */
+    private static int lane(Source source, long index) {
+        int core = source.core(index);
+        return source.io(index) ? -1 - core : core;
+    }
+}
@@ -0,0 +1,111 @@
+package com.scheduler.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal streaming PNG encoder for 8-bit RGB images: rows are compressed as they are
+ * written, so the whole image never has to be held at once.
+ */
+final class PngWriter {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int IDAT_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final int width;
+    private final int height;
+    private final byte[] scanline;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final DeflaterOutputStream compressed;
+    private int rows;
+
+    PngWriter(OutputStream out, int width, int height) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+        this.scanline = new byte[1 + 3 * width];
+        this.compressed = new DeflaterOutputStream(new IdatStream(), deflater, IDAT_SIZE);
+
+        this.out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream fields = new DataOutputStream(header);
+        fields.writeInt(width);
+        fields.writeInt(height);
+        fields.writeByte(8); // bit depth
+        fields.writeByte(2); // truecolor
+        fields.writeByte(0); // deflate
+        fields.writeByte(0); // adaptive filtering
+        fields.writeByte(0); // no interlace
+        chunk("IHDR", header.toByteArray(), header.size());
+    }
+
+    /**
+     * Append rows of {@code 0xRRGGBB} pixels, {@code width} per row.
+     */
+    void writeRows(int[] pixels, int count) throws IOException {
+        if (rows + count > height) {
+            throw new IllegalStateException("Image has only " + height + " rows");
+        }
+        for (int row = 0; row < count; row++) {
+            // Filter type 0 per row; runs of one color compress well without prediction
+            scanline[0] = 0;
+            int offset = row * width;
+            for (int x = 0, i = 1; x < width; x++) {
+                int rgb = pixels[offset + x];
+                scanline[i++] = (byte) (rgb >>> 16);
+                scanline[i++] = (byte) (rgb >>> 8);
+                scanline[i++] = (byte) rgb;
+            }
+            compressed.write(scanline);
+        }
+        rows += count;
+    }
+
+    /**
+     * Flush the compressed data and write the end chunk; the stream is left open.
+     */
+    void finish() throws IOException {
+        if (rows != height) {
+            throw new IllegalStateException("Wrote " + rows + " of " + height + " rows");
+        }
+        compressed.finish();
+        deflater.end();
+        chunk("IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private void chunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Packs the deflater's output into IDAT chunks.
+     */
+    private final class IdatStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            byte[] data = off == 0 ? b : Arrays.copyOfRange(b, off, off + len);
+            chunk("IDAT", data, len);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.scheduler.metrics;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass metrics engine. Feed it every segment of a schedule, in any order, as
+ * {@link GanttSegment}s or through its {@link SegmentSink} side, then call
+ * {@link #finish()} to record each process into fixed-memory histograms.
+ *
+ * <p>Per-process state is long columns: arrival and total work are copied in up front,
+ * first start and completion are filled in as segments arrive. A collector can follow a
+ * scheduler's output as it is produced without the segment list ever being materialized,
+ * and {@link #finish()} is a loop over those columns that touches no process object.
+ */
+public final class MetricsCollector implements Consumer<GanttSegment>, SegmentSink {
+    private final List<ProcessModel> processes;
+    private final PidIndex index;
+    private final long[] arrival;
+    private final long[] work;
+    private final long[] firstStart;
+    private final long[] lastEnd;
+    private long makespan;
+    private long busyTime;
+    private int coreCount = 1;
+
+    public MetricsCollector(List<ProcessModel> processes) {
+        this.processes = processes;
+        this.index = new PidIndex(processes.size());
+        this.arrival = new long[processes.size()];
+        this.work = new long[processes.size()];
+        this.firstStart = new long[processes.size()];
+        this.lastEnd = new long[processes.size()];
+        Arrays.fill(firstStart, Long.MAX_VALUE);
+        Arrays.fill(lastEnd, -1);
+        for (int i = 0; i < processes.size(); i++) {
+            ProcessModel process = processes.get(i);
+            index.put(process.getId(), i);
+            arrival[i] = process.getArrival();
+            work[i] = process.getBurst() + process.getIoTime();
+        }
+    }
+
+    @Override
+    public void accept(GanttSegment seg) {
+        makespan = Math.max(makespan, seg.getEnd());
+        if (seg.isIdle() || seg.isContextSwitch() || seg.isIo()) return;
+
+        busyTime += seg.getDuration();
+        coreCount = Math.max(coreCount, seg.getCore() + 1);
+        int p = index.get(seg.getPid());
+        if (p < 0) return;
+        firstStart[p] = Math.min(firstStart[p], seg.getStart());
+        lastEnd[p] = Math.max(lastEnd[p], seg.getEnd());
+    }
+
+    /**
+     * Take a segment of the process at the given index in the list this collector was
+     * made with.
+     */
+    @Override
+    public void segment(int process, long start, long end, int core, boolean io) {
+        makespan = Math.max(makespan, end);
+        if (process < 0 || io) return;
+
+        busyTime += end - start;
+        coreCount = Math.max(coreCount, core + 1);
+        firstStart[process] = Math.min(firstStart[process], start);
+        lastEnd[process] = Math.max(lastEnd[process], end);
+    }
+
+    /**
+     * Record every process that ran into the latency histograms.
+     */
+    public ScheduleMetrics finish() {
+        LatencyHistogram waiting = new LatencyHistogram();
+        LatencyHistogram response = new LatencyHistogram();
+        LatencyHistogram turnaround = new LatencyHistogram();
+        long completed = 0;
+
+        for (int p = 0; p < lastEnd.length; p++) {
+            if (lastEnd[p] < 0) continue;
+            long sojourn = lastEnd[p] - arrival[p];
+            response.record(firstStart[p] - arrival[p]);
+            turnaround.record(sojourn);
+            waiting.record(Math.max(0, sojourn - work[p]));
+            completed++;
+        }
+
+        return new ScheduleMetrics(waiting, response, turnaround, completed, makespan, busyTime, coreCount);
+    }
+
+    /**
+     * Copy each process's first start and completion time onto the process, for the
+     * per-process table. Processes that never ran are left untouched.
+     */
+    public void applyTimes() {
+        for (int p = 0; p < processes.size(); p++) {
+            if (lastEnd[p] < 0) continue;
+            ProcessModel process = processes.get(p);
+            process.setStartTime(firstStart[p]);
+            process.setCompletionTime(lastEnd[p]);
+        }
+    }
+
+    /**
+     * Metrics of the given schedule in one pass over its segments.
+     */
+    public static ScheduleMetrics of(List<ProcessModel> processes, List<GanttSegment> segments) {
+        MetricsCollector collector = new MetricsCollector(processes);
+        for (GanttSegment seg : segments) {
+            collector.accept(seg);
+        }
+        return collector.finish();
+    }
+}
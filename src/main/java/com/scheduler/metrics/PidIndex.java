@@ -0,0 +1,41 @@
+package com.scheduler.metrics;
+
+/**
+ * Open-addressing map from process id to its position in the process list, kept
+ * as two flat arrays so large runs do not pay for a boxed entry per process.
+ */
+public final class PidIndex {
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+
+    public PidIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public void put(String key, int value) {
+        int slot = slotOf(key);
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Position of the given id, or -1 if it is unknown.
+     */
+    public int get(String key) {
+        int slot = slotOf(key);
+        return keys[slot] == null ? -1 : values[slot];
+    }
+
+    private int slotOf(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,99 @@
+package com.scheduler.metrics;
+
+/**
+ * Latency distributions and throughput of a finished schedule.
+ *
+ * <p>Response time is first run minus arrival, turnaround time is completion minus
+ * arrival, and waiting time is turnaround minus CPU and I/O time.
+ */
+public final class ScheduleMetrics {
+    /** Percentiles reported by {@link #summary()}. */
+    public static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LatencyHistogram waiting;
+    private final LatencyHistogram response;
+    private final LatencyHistogram turnaround;
+    private final long completed;
+    private final long makespan;
+    private final long busyTime;
+    private final int coreCount;
+
+    ScheduleMetrics(LatencyHistogram waiting, LatencyHistogram response, LatencyHistogram turnaround,
+                    long completed, long makespan, long busyTime, int coreCount) {
+        this.waiting = waiting;
+        this.response = response;
+        this.turnaround = turnaround;
+        this.completed = completed;
+        this.makespan = makespan;
+        this.busyTime = busyTime;
+        this.coreCount = coreCount;
+    }
+
+    public LatencyHistogram getWaiting() {
+        return waiting;
+    }
+
+    public LatencyHistogram getResponse() {
+        return response;
+    }
+
+    public LatencyHistogram getTurnaround() {
+        return turnaround;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getMakespan() {
+        return makespan;
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    /**
+     * Completed processes per time unit.
+     */
+    public double getThroughput() {
+        return makespan == 0 ? 0.0 : (double) completed / makespan;
+    }
+
+    /**
+     * Fraction of the makespan the cores spent running processes, averaged over cores.
+     */
+    public double getCpuUtilization() {
+        return makespan == 0 ? 0.0 : (double) busyTime / ((double) makespan * coreCount);
+    }
+
+    /**
+     * Multi-line text report of the percentiles, throughput and utilization.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Completed: %d in %d (throughput %.4f/tick, CPU %.1f%% on %d core(s))%n",
+                completed, makespan, getThroughput(), getCpuUtilization() * 100, coreCount));
+        appendLine(sb, "Waiting", waiting);
+        appendLine(sb, "Response", response);
+        appendLine(sb, "Turnaround", turnaround);
+        return sb.toString();
+    }
+
+    private static void appendLine(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append(String.format("%-10s mean %.2f", name, histogram.getMean()));
+        for (double p : PERCENTILES) {
+            sb.append(String.format("  p%s %d", formatPercentile(p), histogram.getPercentile(p)));
+        }
+        sb.append(String.format("  max %d%n", histogram.getMax()));
+    }
+
+    /**
+     * Percentile label without a trailing ".0", e.g. "99" or "99.9".
+     */
+    public static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+    }
+}
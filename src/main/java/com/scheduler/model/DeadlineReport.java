@@ -0,0 +1,120 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deadline misses and slack of a real-time schedule, accumulated per task while
+ * jobs are simulated so memory stays proportional to the number of tasks.
+ */
+public class DeadlineReport {
+    private final List<TaskStats> tasks;
+    private final long horizon;
+
+    public DeadlineReport(List<String> taskIds, long horizon) {
+        this.tasks = new ArrayList<>(taskIds.size());
+        for (String id : taskIds) {
+            tasks.add(new TaskStats(id));
+        }
+        this.horizon = horizon;
+    }
+
+    /**
+     * Record a job release for the task at the given index.
+     */
+    public void recordRelease(int task) {
+        tasks.get(task).released++;
+    }
+
+    /**
+     * Record a job that finished with the given slack (deadline minus completion time).
+     */
+    public void recordCompletion(int task, long slack) {
+        TaskStats stats = tasks.get(task);
+        stats.completed++;
+        stats.totalSlack += slack;
+        stats.minSlack = Math.min(stats.minSlack, slack);
+    }
+
+    /**
+     * Record a job that was still unfinished at its deadline.
+     */
+    public void recordMiss(int task) {
+        tasks.get(task).missed++;
+    }
+
+    public List<TaskStats> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Time up to which jobs were released.
+     */
+    public long getHorizon() {
+        return horizon;
+    }
+
+    public long getReleasedJobs() {
+        long total = 0;
+        for (TaskStats stats : tasks) total += stats.released;
+        return total;
+    }
+
+    public long getMissedDeadlines() {
+        long total = 0;
+        for (TaskStats stats : tasks) total += stats.missed;
+        return total;
+    }
+
+    /**
+     * Smallest slack of any completed job, or 0 if no job completed.
+     */
+    public long getMinSlack() {
+        long min = Long.MAX_VALUE;
+        for (TaskStats stats : tasks) {
+            if (stats.completed > 0) min = Math.min(min, stats.minSlack);
+        }
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Outcome of all jobs of one task.
+     */
+    public static class TaskStats {
+        private final String id;
+        private long released;
+        private long completed;
+        private long missed;
+        private long totalSlack;
+        private long minSlack = Long.MAX_VALUE;
+
+        TaskStats(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getReleased() {
+            return released;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getMissed() {
+            return missed;
+        }
+
+        public long getMinSlack() {
+            return completed == 0 ? 0 : minSlack;
+        }
+
+        public double getAverageSlack() {
+            return completed == 0 ? 0.0 : (double) totalSlack / completed;
+        }
+    }
+}
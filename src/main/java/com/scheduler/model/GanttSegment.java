@@ -4,14 +4,34 @@ package com.scheduler.model;
  * Represents a segment in the Gantt chart timeline.
  */
 public class GanttSegment {
+    /** Pid of a core's idle time; no process may use it. */
+    public static final String IDLE = "idle";
+    /** Pid of context-switch overhead; no process may use it. */
+    public static final String SWITCH = "switch";
+
     private String pid;
-    private int start;
-    private int end;
+    private long start;
+    private long end;
+    private int core;
+    private boolean io;
+
+    public GanttSegment(String pid, long start, long end) {
+        this(pid, start, end, 0);
+    }
+
+    public GanttSegment(String pid, long start, long end, int core) {
+        this(pid, start, end, core, false);
+    }
 
-    public GanttSegment(String pid, int start, int end) {
+    /**
+     * @param io whether the segment is an I/O burst, in which case {@code core} is the device channel
+     */
+    public GanttSegment(String pid, long start, long end, int core, boolean io) {
         this.pid = pid;
         this.start = start;
         this.end = end;
+        this.core = core;
+        this.io = io;
     }
 
     public String getPid() {
@@ -22,32 +42,67 @@ public class GanttSegment {
         this.pid = pid;
     }
 
-    public int getStart() {
+    public long getStart() {
         return start;
     }
 
-    public void setStart(int start) {
+    public void setStart(long start) {
         this.start = start;
     }
 
-    public int getEnd() {
+    public long getEnd() {
         return end;
     }
 
-    public void setEnd(int end) {
+    public void setEnd(long end) {
         this.end = end;
     }
 
-    public int getDuration() {
+    public int getCore() {
+        return core;
+    }
+
+    public void setCore(int core) {
+        this.core = core;
+    }
+
+    /**
+     * Whether this segment is a process blocked on an I/O device rather than running on a core.
+     */
+    public boolean isIo() {
+        return io;
+    }
+
+    public void setIo(boolean io) {
+        this.io = io;
+    }
+
+    public long getDuration() {
         return end - start;
     }
 
     public boolean isIdle() {
-        return "idle".equals(pid);
+        return IDLE.equals(pid);
+    }
+
+    /**
+     * Whether this segment is context-switch overhead rather than process execution.
+     */
+    public boolean isContextSwitch() {
+        return SWITCH.equals(pid);
+    }
+
+    /**
+     * Whether a process id is taken by idle or context-switch segments.
+     */
+    public static boolean isReservedPid(String id) {
+        return IDLE.equals(id) || SWITCH.equals(id);
     }
 
     @Override
     public String toString() {
-        return pid + ":" + start + "–" + end;
+        String range = pid + ":" + start + "–" + end;
+        if (io) return range + "@io" + core;
+        return core == 0 ? range : range + "@cpu" + core;
     }
 }
@@ -2,20 +2,27 @@ package com.scheduler.model;
 
 import javafx.scene.paint.Color;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Represents a process in the CPU scheduling simulation.
  */
 public class ProcessModel {
     private String id;
-    private int arrival;
+    private long arrival;
     private int burst;
+    private int[] bursts;
     private int remaining;
     private int priority;
-    private Integer startTime;
-    private Integer completionTime;
+    private int period;
+    private int deadline;
+    private Long startTime;
+    private Long completionTime;
     private Color color;
 
-    public ProcessModel(String id, int arrival, int burst, int priority) {
+    public ProcessModel(String id, long arrival, int burst, int priority) {
         this.id = id;
         this.arrival = arrival;
         this.burst = burst;
@@ -26,7 +33,7 @@ public class ProcessModel {
         this.color = generateColor();
     }
 
-    public ProcessModel(String id, int arrival, int burst) {
+    public ProcessModel(String id, long arrival, int burst) {
         this(id, arrival, burst, 0);
     }
 
@@ -35,8 +42,11 @@ public class ProcessModel {
         this.id = other.id;
         this.arrival = other.arrival;
         this.burst = other.burst;
+        this.bursts = other.bursts;
         this.remaining = other.remaining;
         this.priority = other.priority;
+        this.period = other.period;
+        this.deadline = other.deadline;
         this.startTime = other.startTime;
         this.completionTime = other.completionTime;
         this.color = other.color;
@@ -57,11 +67,11 @@ public class ProcessModel {
         this.id = id;
     }
 
-    public int getArrival() {
+    public long getArrival() {
         return arrival;
     }
 
-    public void setArrival(int arrival) {
+    public void setArrival(long arrival) {
         this.arrival = arrival;
     }
 
@@ -71,9 +81,97 @@ public class ProcessModel {
 
     public void setBurst(int burst) {
         this.burst = burst;
+        this.bursts = null;
         this.remaining = burst;
     }
 
+    /**
+     * Alternating CPU and I/O bursts, starting and ending with a CPU burst.
+     * A process without I/O has the single CPU burst {@link #getBurst()}.
+     */
+    public List<Integer> getBursts() {
+        List<Integer> list = new ArrayList<>();
+        if (bursts == null) {
+            list.add(burst);
+        } else {
+            for (int b : bursts) list.add(b);
+        }
+        return list;
+    }
+
+    /**
+     * Set alternating CPU and I/O bursts; {@link #getBurst()} becomes the total CPU time.
+     */
+    public void setBursts(List<Integer> cycle) {
+        if (cycle.isEmpty() || cycle.size() % 2 == 0) {
+            throw new IllegalArgumentException("Bursts must alternate CPU and I/O and end with CPU: " + cycle);
+        }
+        int[] values = new int[cycle.size()];
+        int cpu = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cycle.get(i);
+            if (values[i] < 0) throw new IllegalArgumentException("Negative burst: " + cycle);
+            if (i % 2 == 0) cpu += values[i];
+        }
+        this.bursts = values.length == 1 ? null : values;
+        this.burst = cpu;
+        this.remaining = cpu;
+    }
+
+    public boolean hasIo() {
+        return bursts != null;
+    }
+
+    public int getCpuBurstCount() {
+        return bursts == null ? 1 : (bursts.length + 1) / 2;
+    }
+
+    /**
+     * Length of the k-th CPU burst.
+     */
+    public int getCpuBurst(int k) {
+        return bursts == null ? burst : bursts[2 * k];
+    }
+
+    /**
+     * Length of the I/O burst following the k-th CPU burst, or 0 after the last one.
+     */
+    public int getIoBurst(int k) {
+        return bursts == null || 2 * k + 1 >= bursts.length ? 0 : bursts[2 * k + 1];
+    }
+
+    /**
+     * Total I/O service time over all bursts.
+     */
+    public long getIoTime() {
+        long io = 0;
+        if (bursts != null) {
+            for (int i = 1; i < bursts.length; i += 2) io += bursts[i];
+        }
+        return io;
+    }
+
+    /**
+     * Bursts formatted as a comma-separated cycle, e.g. "4,2,3".
+     */
+    public String getBurstCycle() {
+        if (bursts == null) return String.valueOf(burst);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < bursts.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(bursts[i]);
+        }
+        return sb.toString();
+    }
+
+    public void setBurstCycle(String cycle) {
+        List<Integer> values = new ArrayList<>();
+        for (String part : cycle.split(",")) {
+            values.add(Integer.parseInt(part.trim()));
+        }
+        setBursts(values);
+    }
+
     public int getRemaining() {
         return remaining;
     }
@@ -90,21 +188,54 @@ public class ProcessModel {
         this.priority = priority;
     }
 
-    public Integer getStartTime() {
+    /**
+     * Release period for periodic real-time tasks; 0 means the process is released once.
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(int period) {
+        this.period = period;
+    }
+
+    /**
+     * Relative deadline for real-time tasks; 0 means the deadline equals the period.
+     */
+    public int getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(int deadline) {
+        this.deadline = deadline;
+    }
+
+    public boolean isPeriodic() {
+        return period > 0;
+    }
+
+    /**
+     * Deadline of each job relative to its release, or 0 if the process has none.
+     */
+    public int getRelativeDeadline() {
+        return deadline > 0 ? deadline : period;
+    }
+
+    public Long getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(Integer startTime) {
+    public void setStartTime(Long startTime) {
         if (this.startTime == null) {
             this.startTime = startTime;
         }
     }
 
-    public Integer getCompletionTime() {
+    public Long getCompletionTime() {
         return completionTime;
     }
 
-    public void setCompletionTime(Integer completionTime) {
+    public void setCompletionTime(Long completionTime) {
         this.completionTime = completionTime;
     }
 
@@ -116,16 +247,33 @@ public class ProcessModel {
         this.color = color;
     }
 
-    public int getWaitingTime() {
+    /**
+     * Time spent ready but not running, including any wait for a busy I/O device.
+     */
+    public long getWaitingTime() {
         if (completionTime == null) return 0;
-        return completionTime - arrival - burst;
+        return completionTime - arrival - burst - getIoTime();
     }
 
-    public int getTurnaroundTime() {
+    public long getTurnaroundTime() {
         if (completionTime == null) return 0;
         return completionTime - arrival;
     }
 
+    /**
+     * Whether the other process describes the same work: same ID, arrival, bursts,
+     * priority, period and deadline. Color and run results are ignored.
+     */
+    public boolean sameWorkAs(ProcessModel other) {
+        return id.equals(other.id)
+                && arrival == other.arrival
+                && burst == other.burst
+                && Arrays.equals(bursts, other.bursts)
+                && priority == other.priority
+                && period == other.period
+                && deadline == other.deadline;
+    }
+
     public void reset() {
         this.remaining = this.burst;
         this.startTime = null;
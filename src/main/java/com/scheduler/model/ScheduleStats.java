@@ -0,0 +1,223 @@
+package com.scheduler.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-core statistics derived from a schedule in a single pass over its segments.
+ */
+public class ScheduleStats {
+    private final int coreCount;
+    private final long[] busyTime;
+    private final long makespan;
+    private final int migrations;
+    private final int contextSwitches;
+    private final long switchOverhead;
+    private final int ioChannels;
+    private final long ioTime;
+
+    private ScheduleStats(int coreCount, long[] busyTime, long makespan, int migrations,
+                          int contextSwitches, long switchOverhead, int ioChannels, long ioTime) {
+        this.coreCount = coreCount;
+        this.busyTime = busyTime;
+        this.makespan = makespan;
+        this.migrations = migrations;
+        this.contextSwitches = contextSwitches;
+        this.switchOverhead = switchOverhead;
+        this.ioChannels = ioChannels;
+        this.ioTime = ioTime;
+    }
+
+    /**
+     * Compute statistics for the given segments, which must be in time order per core.
+     * A context switch is counted each time a core runs a different process than the one
+     * it last ran, whether or not the switch was charged; a migration each time a process
+     * runs on a different core than the one it last ran on. Switch segments count as
+     * overhead, not as busy time; I/O segments count towards I/O time only.
+     */
+    public static ScheduleStats of(List<GanttSegment> segments) {
+        int coreCount = 1;
+        int ioChannels = 0;
+        for (GanttSegment seg : segments) {
+            if (seg.isIo()) {
+                ioChannels = Math.max(ioChannels, seg.getCore() + 1);
+            } else {
+                coreCount = Math.max(coreCount, seg.getCore() + 1);
+            }
+        }
+
+        long[] busyTime = new long[coreCount];
+        String[] lastOnCore = new String[coreCount];
+        Map<String, Integer> lastCore = new HashMap<>();
+        long makespan = 0;
+        int migrations = 0;
+        int contextSwitches = 0;
+        long switchOverhead = 0;
+        long ioTime = 0;
+
+        for (GanttSegment seg : segments) {
+            makespan = Math.max(makespan, seg.getEnd());
+            if (seg.isIdle()) continue;
+            if (seg.isIo()) {
+                ioTime += seg.getDuration();
+                continue;
+            }
+            if (seg.isContextSwitch()) {
+                switchOverhead += seg.getDuration();
+                continue;
+            }
+
+            busyTime[seg.getCore()] += seg.getDuration();
+            String previousOnCore = lastOnCore[seg.getCore()];
+            if (previousOnCore != null && !previousOnCore.equals(seg.getPid())) {
+                contextSwitches++;
+            }
+            lastOnCore[seg.getCore()] = seg.getPid();
+            Integer previous = lastCore.put(seg.getPid(), seg.getCore());
+            if (previous != null && previous != seg.getCore()) {
+                migrations++;
+            }
+        }
+
+        return new ScheduleStats(coreCount, busyTime, makespan, migrations, contextSwitches, switchOverhead,
+                ioChannels, ioTime);
+    }
+
+    /**
+     * Like {@link #of(List)}, for a schedule in an off-heap store, in two passes over it
+     * and with per-process state in arrays indexed like the scheduled list.
+     */
+    public static ScheduleStats of(SegmentStore store) {
+        Extent extent = new Extent();
+        store.forEach(extent);
+        Sweep sweep = new Sweep(extent);
+        store.forEach(sweep);
+        return new ScheduleStats(extent.cores, sweep.busyTime, sweep.makespan, sweep.migrations,
+                sweep.contextSwitches, sweep.switchOverhead, extent.ioChannels, sweep.ioTime);
+    }
+
+    /**
+     * Core, I/O channel and process counts of a stored schedule.
+     */
+    private static final class Extent implements SegmentSink {
+        int cores = 1;
+        int ioChannels;
+        int processes;
+
+        @Override
+        public void segment(int process, long start, long end, int core, boolean io) {
+            if (io) {
+                ioChannels = Math.max(ioChannels, core + 1);
+            } else {
+                cores = Math.max(cores, core + 1);
+            }
+            processes = Math.max(processes, process + 1);
+        }
+    }
+
+    /**
+     * The single pass of {@link #of(List)}, over process indexes instead of ids.
+     */
+    private static final class Sweep implements SegmentSink {
+        final long[] busyTime;
+        final int[] lastOnCore;
+        final int[] lastCore;
+        long makespan;
+        int migrations;
+        int contextSwitches;
+        long switchOverhead;
+        long ioTime;
+
+        Sweep(Extent extent) {
+            busyTime = new long[extent.cores];
+            lastOnCore = new int[extent.cores];
+            lastCore = new int[extent.processes];
+            Arrays.fill(lastOnCore, -1);
+            Arrays.fill(lastCore, -1);
+        }
+
+        @Override
+        public void segment(int process, long start, long end, int core, boolean io) {
+            makespan = Math.max(makespan, end);
+            if (process == IDLE) return;
+            if (io) {
+                ioTime += end - start;
+                return;
+            }
+            if (process == SWITCH) {
+                switchOverhead += end - start;
+                return;
+            }
+
+            busyTime[core] += end - start;
+            if (lastOnCore[core] >= 0 && lastOnCore[core] != process) {
+                contextSwitches++;
+            }
+            lastOnCore[core] = process;
+            if (lastCore[process] >= 0 && lastCore[process] != core) {
+                migrations++;
+            }
+            lastCore[process] = core;
+        }
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    public long getMakespan() {
+        return makespan;
+    }
+
+    public int getMigrations() {
+        return migrations;
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    /**
+     * Total time spent switching between processes, summed over all cores.
+     */
+    public long getSwitchOverhead() {
+        return switchOverhead;
+    }
+
+    /**
+     * Number of I/O channels that served requests, 0 if no process did I/O.
+     */
+    public int getIoChannels() {
+        return ioChannels;
+    }
+
+    /**
+     * Total time processes spent in I/O, summed over all channels.
+     */
+    public long getIoTime() {
+        return ioTime;
+    }
+
+    public long getBusyTime(int core) {
+        return busyTime[core];
+    }
+
+    /**
+     * Fraction of the makespan the given core spent running processes.
+     */
+    public double getUtilization(int core) {
+        if (makespan == 0) return 0.0;
+        return (double) busyTime[core] / makespan;
+    }
+
+    public double getAverageUtilization() {
+        if (makespan == 0) return 0.0;
+        long total = 0;
+        for (long busy : busyTime) {
+            total += busy;
+        }
+        return (double) total / (makespan * coreCount);
+    }
+}
@@ -0,0 +1,48 @@
+package com.scheduler.model;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Receiver of schedule segments as primitives, for runs too long to keep one
+ * {@link GanttSegment} object per slice.
+ *
+ * <p>{@code process} is the index of the process in the list given to the scheduler,
+ * or {@link #IDLE} or {@link #SWITCH} for the CPU's idle and context-switch time.
+ */
+@FunctionalInterface
+public interface SegmentSink {
+    int IDLE = -1;
+    int SWITCH = -2;
+
+    /**
+     * @param core core that ran the segment, or the device channel of an I/O segment
+     */
+    void segment(int process, long start, long end, int core, boolean io);
+
+    /**
+     * A sink that appends {@link GanttSegment}s named after the processes to a list.
+     */
+    static SegmentSink into(List<ProcessModel> processes, List<GanttSegment> segments) {
+        return into(processes, (Consumer<GanttSegment>) segments::add);
+    }
+
+    /**
+     * A sink that hands {@link GanttSegment}s named after the processes to a consumer.
+     */
+    static SegmentSink into(List<ProcessModel> processes, Consumer<GanttSegment> segments) {
+        String[] ids = new String[processes.size()];
+        int i = 0;
+        for (ProcessModel process : processes) {
+            ids[i++] = process.getId();
+        }
+        return (process, start, end, core, io) -> {
+            String pid = switch (process) {
+                case IDLE -> GanttSegment.IDLE;
+                case SWITCH -> GanttSegment.SWITCH;
+                default -> ids[process];
+            };
+            segments.accept(new GanttSegment(pid, start, end, core, io));
+        };
+    }
+}
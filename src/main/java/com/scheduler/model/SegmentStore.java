@@ -0,0 +1,300 @@
+package com.scheduler.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import sun.misc.Unsafe;
+
+/**
+ * Append-only schedule held outside the Java heap, for schedules with more segments than
+ * fit in arrays or than the collector should trace. Segments are fixed-size records in
+ * chunks of direct memory, or of a memory-mapped file, addressed by a {@code long} index,
+ * so the store grows past two billion segments and adds a few objects per chunk to the
+ * heap rather than one per segment.
+ *
+ * <p>Records hold the process index as a {@link SegmentSink} receives it, so schedulers
+ * write straight into a store and it replays into any other sink. Direct memory is capped
+ * by {@code -XX:MaxDirectMemorySize} (the heap size by default); a store backed by a file
+ * is only bounded by the disk, records its length in a header and can be reopened
+ * read-only with {@link #open}.
+ *
+ * <p>{@link #close()} frees the direct memory or unmaps the file at once, rather than
+ * when the collector gets to the buffers; a store that is never closed is released when
+ * it is collected. Nothing may read a store after it is closed, including views from
+ * {@link #asList}.
+ *
+ * <p>Not thread-safe; a store has one writer, and readers once writing is done.
+ */
+public final class SegmentStore implements SegmentSink, Closeable {
+    /** Bytes per segment: start, end, process, core with the I/O flag in its top bit. */
+    public static final int RECORD_BYTES = 24;
+    private static final int MAGIC = 0x43505553; // "CPUS"
+    private static final int HEADER_BYTES = 16;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_BITS;
+    private static final long CHUNK_BYTES = (long) CHUNK_RECORDS * RECORD_BYTES;
+    private static final int IO_FLAG = 1 << 31;
+    private static final Unsafe UNSAFE = unsafe();
+
+    private final FileChannel file;
+    private final boolean writable;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer header;
+    private long size;
+    private boolean closed;
+
+    private SegmentStore(FileChannel file, boolean writable) {
+        this.file = file;
+        this.writable = writable;
+    }
+
+    /**
+     * Empty store in direct memory.
+     */
+    public static SegmentStore allocate() {
+        return new SegmentStore(null, true);
+    }
+
+    /**
+     * Empty store backed by a memory-mapped file, which is created or truncated.
+     */
+    public static SegmentStore map(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        SegmentStore store = new SegmentStore(channel, true);
+        store.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        store.header.putInt(0, MAGIC);
+        store.header.putLong(8, 0);
+        return store;
+    }
+
+    /**
+     * Read-only view of a store written by {@link #map}.
+     *
+     * @throws IOException if the file is not a segment store
+     */
+    public static SegmentStore open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES) throw new IOException(path + " is not a segment store");
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            long size = header.getLong(8);
+            if (header.getInt(0) != MAGIC || size < 0 || HEADER_BYTES + size * RECORD_BYTES > channel.size()) {
+                throw new IOException(path + " is not a segment store");
+            }
+            SegmentStore store = new SegmentStore(channel, false);
+            store.header = header;
+            store.size = size;
+            for (long offset = 0; offset < size * RECORD_BYTES; offset += CHUNK_BYTES) {
+                long length = Math.min(CHUNK_BYTES, size * RECORD_BYTES - offset);
+                store.chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset, length)
+                        .order(ByteOrder.LITTLE_ENDIAN));
+            }
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void segment(int process, long start, long end, int core, boolean io) {
+        if (!writable || closed) throw new IllegalStateException("Segment store is read-only or closed");
+        int chunk = (int) (size >>> CHUNK_BITS);
+        if (chunk == chunks.size()) chunks.add(newChunk(chunk));
+        ByteBuffer buffer = chunks.get(chunk);
+        int at = (int) (size & (CHUNK_RECORDS - 1)) * RECORD_BYTES;
+        buffer.putLong(at, start);
+        buffer.putLong(at + 8, end);
+        buffer.putInt(at + 16, process);
+        buffer.putInt(at + 20, io ? core | IO_FLAG : core);
+        size++;
+        if (header != null) header.putLong(8, size);
+    }
+
+    private ByteBuffer newChunk(int chunk) {
+        if (file == null) {
+            return ByteBuffer.allocateDirect((int) CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try {
+            return file.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + chunk * CHUNK_BYTES, CHUNK_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Memory or file space taken by the records, in bytes.
+     */
+    public long getBytes() {
+        return chunks.size() * CHUNK_BYTES;
+    }
+
+    public long getStart(long index) {
+        return chunk(index).getLong(offset(index));
+    }
+
+    public long getEnd(long index) {
+        return chunk(index).getLong(offset(index) + 8);
+    }
+
+    /**
+     * Index of the process in the scheduled list, or {@link #IDLE} or {@link #SWITCH}.
+     */
+    public int getProcess(long index) {
+        return chunk(index).getInt(offset(index) + 16);
+    }
+
+    public int getCore(long index) {
+        return chunk(index).getInt(offset(index) + 20) & ~IO_FLAG;
+    }
+
+    public boolean isIo(long index) {
+        return (chunk(index).getInt(offset(index) + 20) & IO_FLAG) != 0;
+    }
+
+    /**
+     * Send every segment, in the order they were written, to another sink.
+     */
+    public void forEach(SegmentSink sink) {
+        forEach(0, size, sink);
+    }
+
+    /**
+     * Send the segments from index {@code from} up to {@code to}, exclusive, to another sink.
+     */
+    public void forEach(long from, long to, SegmentSink sink) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Segments " + from + " to " + to + " of " + size);
+        }
+        for (long i = from; i < to; i++) {
+            ByteBuffer buffer = chunks.get((int) (i >>> CHUNK_BITS));
+            int at = offset(i);
+            int core = buffer.getInt(at + 20);
+            sink.segment(buffer.getInt(at + 16), buffer.getLong(at), buffer.getLong(at + 8), core & ~IO_FLAG,
+                    (core & IO_FLAG) != 0);
+        }
+    }
+
+    /**
+     * Read-only list view for code that takes segments as a list. Each {@code get} makes
+     * a new {@link GanttSegment}, so nothing is kept on the heap between calls.
+     *
+     * @param processes the list the segments were scheduled from, for the process ids
+     * @throws IllegalStateException if the store holds more segments than a list can index
+     */
+    public List<GanttSegment> asList(List<ProcessModel> processes) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException(size + " segments are too many for a list view");
+        }
+        String[] ids = new String[processes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = processes.get(i).getId();
+        }
+        int count = (int) size;
+        return new SegmentList(count, ids);
+    }
+
+    private final class SegmentList extends AbstractList<GanttSegment> implements RandomAccess {
+        private final int count;
+        private final String[] ids;
+
+        SegmentList(int count, String[] ids) {
+            this.count = count;
+            this.ids = ids;
+        }
+
+        @Override
+        public GanttSegment get(int index) {
+            if (index < 0 || index >= count) throw new IndexOutOfBoundsException(index);
+            int process = getProcess(index);
+            String pid = switch (process) {
+                case IDLE -> GanttSegment.IDLE;
+                case SWITCH -> GanttSegment.SWITCH;
+                default -> ids[process];
+            };
+            return new GanttSegment(pid, getStart(index), getEnd(index), getCore(index), isIo(index));
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private ByteBuffer chunk(long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Segment " + index + " of " + size);
+        return chunks.get((int) (index >>> CHUNK_BITS));
+    }
+
+    private static int offset(long index) {
+        return (int) (index & (CHUNK_RECORDS - 1)) * RECORD_BYTES;
+    }
+
+    /**
+     * Write a file-backed store out and close its file, then free the direct memory or
+     * unmap the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        List<ByteBuffer> buffers = new ArrayList<>(chunks);
+        if (header != null) buffers.add(header);
+        // Accessors check the size, so nothing reaches a freed buffer through them
+        chunks.clear();
+        size = 0;
+        header = null;
+        try {
+            if (file != null && writable) {
+                for (ByteBuffer buffer : buffers) {
+                    ((MappedByteBuffer) buffer).force();
+                }
+            }
+        } finally {
+            try {
+                if (file != null) file.close();
+            } finally {
+                for (ByteBuffer buffer : buffers) {
+                    free(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Release a direct or mapped buffer now. Without access to the cleaner, the buffer is
+     * left to the collector.
+     */
+    private static void free(ByteBuffer buffer) {
+        if (UNSAFE != null) UNSAFE.invokeCleaner(buffer);
+    }
+
+    private static Unsafe unsafe() {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.scheduler.model;
 
+import com.scheduler.metrics.ScheduleMetrics;
+
 import java.util.*;
 
 /**
  * Holds the complete state of a scheduling simulation.
  */
 public class SimulationState {
-    private int currentTick;
+    private long currentTick;
     private List<GanttSegment> segments;
     private Map<String, ProcessModel> processMap;
     private List<String> readyQueueSnapshot;
     private String currentRunningProcess;
+    private ScheduleStats scheduleStats;
+    private DeadlineReport deadlineReport;
+    private ScheduleMetrics metrics;
+    private SegmentStore store;
+    private List<ProcessModel> storeProcesses = List.of();
 
     public SimulationState() {
         this.currentTick = 0;
@@ -18,13 +25,14 @@ public class SimulationState {
         this.processMap = new HashMap<>();
         this.readyQueueSnapshot = new ArrayList<>();
         this.currentRunningProcess = null;
+        this.scheduleStats = ScheduleStats.of(segments);
     }
 
-    public int getCurrentTick() {
+    public long getCurrentTick() {
         return currentTick;
     }
 
-    public void setCurrentTick(int currentTick) {
+    public void setCurrentTick(long currentTick) {
         this.currentTick = currentTick;
     }
 
@@ -33,7 +41,54 @@ public class SimulationState {
     }
 
     public void setSegments(List<GanttSegment> segments) {
+        setSegments(segments, ScheduleStats.of(segments));
+    }
+
+    /**
+     * Set segments whose statistics are already known.
+     */
+    public void setSegments(List<GanttSegment> segments, ScheduleStats stats) {
         this.segments = segments;
+        this.scheduleStats = stats;
+        this.store = null;
+        this.storeProcesses = List.of();
+    }
+
+    /**
+     * Hold a schedule too long for a segment list in a store instead. Its process
+     * numbers index {@code processes}, the list it was scheduled from; the segment list
+     * is left empty.
+     */
+    public void setStore(SegmentStore store, List<ProcessModel> processes, ScheduleStats stats) {
+        this.segments = List.of();
+        this.scheduleStats = stats;
+        this.store = store;
+        this.storeProcesses = processes;
+    }
+
+    /**
+     * The schedule's segments if they were kept in a store, otherwise null.
+     */
+    public SegmentStore getStore() {
+        return store;
+    }
+
+    /**
+     * The processes a store's process numbers index, or an empty list without a store.
+     */
+    public List<ProcessModel> getStoreProcesses() {
+        return storeProcesses;
+    }
+
+    /**
+     * Whether a schedule has been computed and has any segments, in a list or a store.
+     */
+    public boolean hasSchedule() {
+        return store != null ? store.size() > 0 : !segments.isEmpty();
+    }
+
+    public ScheduleStats getScheduleStats() {
+        return scheduleStats;
     }
 
     public Map<String, ProcessModel> getProcessMap() {
@@ -60,24 +115,38 @@ public class SimulationState {
         this.currentRunningProcess = currentRunningProcess;
     }
 
-    public int getTotalTime() {
-        if (segments.isEmpty()) return 0;
-        return segments.get(segments.size() - 1).getEnd();
+    /**
+     * Deadline misses and slack, or null if the schedule is not a real-time one.
+     */
+    public DeadlineReport getDeadlineReport() {
+        return deadlineReport;
+    }
+
+    public void setDeadlineReport(DeadlineReport deadlineReport) {
+        this.deadlineReport = deadlineReport;
+    }
+
+    public long getTotalTime() {
+        // Segments of different cores interleave, so the last one is not necessarily the latest
+        return scheduleStats.getMakespan();
+    }
+
+    /**
+     * Latency percentiles, throughput and utilization, or null if none were computed.
+     */
+    public ScheduleMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(ScheduleMetrics metrics) {
+        this.metrics = metrics;
     }
 
     public double getAverageWaitingTime() {
-        if (processMap.isEmpty()) return 0.0;
-        return processMap.values().stream()
-                .mapToInt(ProcessModel::getWaitingTime)
-                .average()
-                .orElse(0.0);
+        return metrics == null ? 0.0 : metrics.getWaiting().getMean();
     }
 
     public double getAverageTurnaroundTime() {
-        if (processMap.isEmpty()) return 0.0;
-        return processMap.values().stream()
-                .mapToInt(ProcessModel::getTurnaroundTime)
-                .average()
-                .orElse(0.0);
+        return metrics == null ? 0.0 : metrics.getTurnaround().getMean();
     }
 }
@@ -0,0 +1,153 @@
+package com.scheduler.simulation;
+
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.DeadlineReport;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.ScheduleStats;
+
+import java.util.*;
+
+/**
+ * Least-recently-used cache of finished schedules, keyed by a content hash of the
+ * workload plus the algorithm name and parameters.
+ *
+ * <p>Entries are weighed by an estimate of the memory they hold, and the least
+ * recently used ones are evicted once the total exceeds the budget. A hit is confirmed
+ * against a copy of the cached workload, so a hash collision cannot return a wrong schedule.
+ */
+final class ScheduleCache {
+    private static final long SEGMENT_BYTES = 48;
+    private static final long PROCESS_BYTES = 160;
+
+    private final long budget;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+
+    ScheduleCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * An eighth of the maximum heap, capped at 256 MB.
+     */
+    static long defaultBudget() {
+        return Math.min(256L << 20, Runtime.getRuntime().maxMemory() / 8);
+    }
+
+    record Key(long fingerprint, String algorithm, String params) {
+    }
+
+    /**
+     * A finished schedule and everything derived from it.
+     *
+     * @param startTimes      first start of each process in workload order, or -1
+     * @param completionTimes completion of each process in workload order, or -1
+     */
+    record Entry(List<ProcessModel> workload, List<GanttSegment> segments, ScheduleStats stats,
+                 ScheduleMetrics metrics, DeadlineReport deadlines, long[] startTimes, long[] completionTimes,
+                 Timeline timeline, long weight) {
+
+        Entry(List<ProcessModel> workload, List<GanttSegment> segments, ScheduleStats stats,
+              ScheduleMetrics metrics, DeadlineReport deadlines, long[] startTimes, long[] completionTimes,
+              Timeline timeline) {
+            this(workload, segments, stats, metrics, deadlines, startTimes, completionTimes, timeline,
+                    estimateWeight(workload, segments, timeline));
+        }
+    }
+
+    private static long estimateWeight(List<ProcessModel> workload, List<GanttSegment> segments,
+                                       Timeline timeline) {
+        long bytes = segments.size() * SEGMENT_BYTES + workload.size() * PROCESS_BYTES;
+        return timeline == null ? bytes : bytes + timeline.getCheckpointBytes();
+    }
+
+    static Key keyOf(List<ProcessModel> processes, String algorithm, Map<String, Object> params) {
+        String canonicalParams = params == null ? "{}" : new TreeMap<>(params).toString();
+        return new Key(fingerprint(processes), algorithm, canonicalParams);
+    }
+
+    /**
+     * 64-bit hash of everything about the processes that affects a schedule.
+     */
+    static long fingerprint(List<ProcessModel> processes) {
+        long h = mix(0x9E3779B97F4A7C15L, processes.size());
+        for (ProcessModel p : processes) {
+            h = mix(h, p.getId().hashCode());
+            h = mix(h, p.getArrival());
+            for (int burst : p.getBursts()) {
+                h = mix(h, burst);
+            }
+            h = mix(h, p.getPriority());
+            h = mix(h, p.getPeriod());
+            h = mix(h, p.getDeadline());
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        h = (h ^ value) * 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * The cached schedule for the key, or null if there is none for exactly these processes.
+     */
+    Entry get(Key key, List<ProcessModel> processes) {
+        Entry entry = entries.get(key);
+        if (entry == null || !sameWorkload(entry.workload(), processes)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    void put(Key key, Entry entry) {
+        long entryWeight = entry.weight;
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        if (entryWeight > budget) return;
+
+        entries.put(key, entry);
+        weight += entryWeight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > budget && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getWeight() {
+        return weight;
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    private static boolean sameWorkload(List<ProcessModel> cached, List<ProcessModel> processes) {
+        if (cached.size() != processes.size()) return false;
+        for (int i = 0; i < cached.size(); i++) {
+            if (!cached.get(i).sameWorkAs(processes.get(i))) return false;
+        }
+        return true;
+    }
+}
@@ -1,15 +1,38 @@
 package com.scheduler.simulation;
 
+import com.scheduler.algorithms.CheckpointLog;
+import com.scheduler.algorithms.IncrementalScheduler;
+import com.scheduler.algorithms.RealTimeScheduler;
 import com.scheduler.algorithms.Scheduler;
+import com.scheduler.algorithms.Schedulers;
+import com.scheduler.diagnostics.RunMetrics;
+import com.scheduler.diagnostics.ScheduleEvent;
+import com.scheduler.diagnostics.TimelineEvent;
+import com.scheduler.metrics.MetricsCollector;
 import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.ScheduleStats;
+import com.scheduler.model.SegmentSink;
+import com.scheduler.model.SegmentStore;
 import com.scheduler.model.SimulationState;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.Consumer;
 
 /**
- * Manages the simulation of CPU scheduling with tick-based stepping.
+ * Manages the simulation of CPU scheduling, stepping either one tick at a time or from
+ * one scheduling event to the next. States are recomputed on demand from a checkpointed,
+ * event-indexed {@link Timeline} rather than stored. Finished
+ * schedules are kept in a {@link ScheduleCache}, so resetting or switching back to
+ * an algorithm already run on the same workload does not schedule again.
+ *
+ * <p>Schedules of more than {@link #STORE_THRESHOLD} segments are kept in a
+ * {@link SegmentStore} instead of a segment list, and are neither cached nor stepped
+ * through: the simulation shows the finished schedule. A store is not closed when the
+ * next run replaces it, since an export may still be reading it; it is freed when
+ * collected.
  */
 public class Simulator {
     private SimulationState state;
@@ -17,15 +40,33 @@ public class Simulator {
     private Scheduler scheduler;
     private Map<String, Object> schedulerParams;
     private Consumer<SimulationState> updateCallback;
+    private CheckpointLog checkpointLog;
+    private Map<String, ProcessModel> scheduledWorkload;
+    private final ScheduleCache cache = new ScheduleCache(ScheduleCache.defaultBudget());
+
+    /** Memory for timeline checkpoints; longer timelines get sparser checkpoints. */
+    private static final long TIMELINE_BUDGET = Math.min(16L << 20, Runtime.getRuntime().maxMemory() / 32);
+
+    /** Most segments a schedule may have to be kept as a list and stepped through. */
+    static final long STORE_THRESHOLD = 1 << 20;
     
-    private List<TickState> tickStates;
-    private int currentTickIndex;
+    private Timeline timeline;
+    private long currentTime;
+    private StepMode stepMode = StepMode.TICK;
+
+    /**
+     * How far a step moves: one time unit, or to the next arrival, dispatch,
+     * preemption or completion.
+     */
+    public enum StepMode {
+        TICK,
+        EVENT
+    }
 
     public Simulator() {
         this.state = new SimulationState();
         this.originalProcesses = new ArrayList<>();
-        this.tickStates = new ArrayList<>();
-        this.currentTickIndex = 0;
+        this.currentTime = 0;
     }
 
     /**
@@ -41,9 +82,135 @@ public class Simulator {
             p.reset();
         }
 
-        // Run the scheduling algorithm
-        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        ScheduleCache.Key key = ScheduleCache.keyOf(processes, scheduler.getName(), params);
+        ScheduleCache.Entry cached = cache.get(key, processes);
+        checkpointLog = null;
+        if (cached != null) {
+            // Checkpoints are not cached, so an edit after a hit reschedules from the start
+            restore(processes, cached);
+            scheduledWorkload = snapshotWorkload(processes);
+            currentTime = 0;
+            if (timeline != null) {
+                applyTickState(timeline.stateAt(currentTime));
+            }
+            return;
+        }
+
+        // Run the scheduling algorithm; real-time schedulers also report deadline misses
+        ScheduleEvent event = new ScheduleEvent();
+        long started = System.nanoTime();
+        event.begin();
+        List<GanttSegment> segments;
+        if (Schedulers.estimateSegments(scheduler, processes, params) > STORE_THRESHOLD) {
+            // Likely too long for a list, so schedule into a store and copy it out if it is not
+            SegmentStore store = SegmentStore.allocate();
+            if (scheduler instanceof RealTimeScheduler realTime) {
+                state.setDeadlineReport(realTime.simulate(processes, params, store));
+            } else {
+                scheduler.schedule(processes, params, store);
+                state.setDeadlineReport(null);
+            }
+            if (store.size() > STORE_THRESHOLD) {
+                commit(event, started, processes, store.size(), false);
+                scheduledWorkload = snapshotWorkload(processes);
+                applyStore(processes, store, !(scheduler instanceof RealTimeScheduler));
+                return;
+            }
+            segments = new ArrayList<>((int) store.size());
+            store.forEach(SegmentSink.into(processes, segments));
+            close(store);
+        } else if (scheduler instanceof IncrementalScheduler incremental) {
+            checkpointLog = new CheckpointLog();
+            segments = incremental.schedule(processes, params, checkpointLog, 0);
+            state.setDeadlineReport(null);
+        } else if (scheduler instanceof RealTimeScheduler realTime) {
+            segments = new ArrayList<>();
+            state.setDeadlineReport(realTime.simulate(processes, params, segments::add));
+            state.setMetrics(null);
+        } else {
+            segments = scheduler.schedule(processes, params);
+            state.setDeadlineReport(null);
+        }
+        commit(event, started, processes, segments.size(), false);
+        scheduledWorkload = snapshotWorkload(processes);
+
+        applySchedule(processes, segments, !(scheduler instanceof RealTimeScheduler));
+
+        // Build the timeline for stepping
+        buildTimeline();
+        currentTime = 0;
+        cache.put(key, capture(processes));
         
+        if (timeline != null) {
+            applyTickState(timeline.stateAt(currentTime));
+        }
+    }
+
+    /**
+     * Re-run the current scheduler after processes were added, removed or edited. For
+     * an {@link IncrementalScheduler} only the schedule from the first change onward is
+     * recomputed; other schedulers start over.
+     *
+     * @return number of leading segments that are unchanged from the previous schedule
+     */
+    public int update(List<ProcessModel> processes) {
+        if (checkpointLog == null) {
+            initialize(processes, scheduler, schedulerParams);
+            return 0;
+        }
+
+        long changedFrom = firstChange(scheduledWorkload, processes);
+        if (changedFrom == Long.MAX_VALUE) {
+            return state.getSegments().size();
+        }
+
+        this.originalProcesses = new ArrayList<>(processes);
+        for (ProcessModel p : processes) {
+            p.reset();
+        }
+        ScheduleEvent event = new ScheduleEvent();
+        long started = System.nanoTime();
+        event.begin();
+        List<GanttSegment> segments = ((IncrementalScheduler) scheduler)
+                .schedule(processes, schedulerParams, checkpointLog, changedFrom);
+        commit(event, started, processes, segments.size(), true);
+        scheduledWorkload = snapshotWorkload(processes);
+        applySchedule(processes, segments, true);
+
+        buildTimeline();
+        cache.put(ScheduleCache.keyOf(processes, scheduler.getName(), schedulerParams), capture(processes));
+        if (timeline != null) {
+            currentTime = Math.min(currentTime, timeline.getLastTick());
+            applyTickState(timeline.stateAt(currentTime));
+        }
+        return checkpointLog.getReusedSegments();
+    }
+
+    private void commit(ScheduleEvent event, long started, List<ProcessModel> processes,
+                        long segments, boolean incremental) {
+        event.end();
+        RunMetrics.recordRun(segments, System.nanoTime() - started);
+        if (event.shouldCommit()) {
+            event.algorithm = scheduler.getName();
+            event.processes = processes.size();
+            event.segments = (int) Math.min(Integer.MAX_VALUE, segments);
+            event.incremental = incremental;
+            event.commit();
+        }
+    }
+
+    private void applySchedule(List<ProcessModel> processes, List<GanttSegment> segments, boolean withMetrics) {
+        if (withMetrics) {
+            // Derive start and completion times from the schedule in one pass
+            MetricsCollector collector = new MetricsCollector(processes);
+            segments.forEach(collector);
+            collector.applyTimes();
+            state.setMetrics(collector.finish());
+            RunMetrics.recordMetrics(state.getMetrics());
+        } else {
+            state.setMetrics(null);
+        }
+
         // Build process map with updated completion times
         Map<String, ProcessModel> processMap = new HashMap<>();
         for (ProcessModel p : processes) {
@@ -52,82 +219,133 @@ public class Simulator {
 
         state.setSegments(segments);
         state.setProcessMap(processMap);
-        state.setCurrentTick(0);
+    }
 
-        // Build tick states for stepping
-        buildTickStates();
-        currentTickIndex = 0;
-        
-        if (currentTickIndex < tickStates.size()) {
-            applyTickState(tickStates.get(currentTickIndex));
+    /**
+     * Show a schedule kept in a store at its end: metrics and statistics come from one
+     * pass each over the store, and there is no timeline to step through.
+     */
+    private void applyStore(List<ProcessModel> processes, SegmentStore store, boolean withMetrics) {
+        if (withMetrics) {
+            MetricsCollector collector = new MetricsCollector(processes);
+            store.forEach(collector);
+            collector.applyTimes();
+            state.setMetrics(collector.finish());
+            RunMetrics.recordMetrics(state.getMetrics());
+        } else {
+            state.setMetrics(null);
+        }
+
+        Map<String, ProcessModel> processMap = new HashMap<>();
+        for (ProcessModel p : processes) {
+            processMap.put(p.getId(), p);
+        }
+        state.setStore(store, List.copyOf(processes), ScheduleStats.of(store));
+        state.setProcessMap(processMap);
+
+        timeline = null;
+        currentTime = state.getTotalTime();
+        TickState end = new TickState();
+        end.tick = currentTime;
+        end.readyQueue = List.of();
+        applyTickState(end);
+    }
+
+    private static void close(SegmentStore store) {
+        try {
+            store.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     /**
-     * Build a timeline of states for each tick.
+     * Everything derived from the current schedule, for the cache.
      */
-    private void buildTickStates() {
-        tickStates.clear();
-        
-        if (state.getSegments().isEmpty()) {
-            return;
+    private ScheduleCache.Entry capture(List<ProcessModel> processes) {
+        List<ProcessModel> workload = new ArrayList<>(processes.size());
+        long[] startTimes = new long[processes.size()];
+        long[] completionTimes = new long[processes.size()];
+        for (int i = 0; i < processes.size(); i++) {
+            ProcessModel p = processes.get(i);
+            workload.add(new ProcessModel(p));
+            startTimes[i] = p.getStartTime() == null ? -1 : p.getStartTime();
+            completionTimes[i] = p.getCompletionTime() == null ? -1 : p.getCompletionTime();
         }
+        return new ScheduleCache.Entry(workload, state.getSegments(), state.getScheduleStats(),
+                state.getMetrics(), state.getDeadlineReport(), startTimes, completionTimes, timeline);
+    }
 
-        int totalTime = state.getTotalTime();
-        
-        for (int tick = 0; tick <= totalTime; tick++) {
-            TickState tickState = new TickState();
-            tickState.tick = tick;
-            
-            // Find current segment
-            GanttSegment currentSegment = null;
-            for (GanttSegment seg : state.getSegments()) {
-                if (tick >= seg.getStart() && tick < seg.getEnd()) {
-                    currentSegment = seg;
-                    break;
-                }
+    private void restore(List<ProcessModel> processes, ScheduleCache.Entry cached) {
+        Map<String, ProcessModel> processMap = new HashMap<>();
+        for (int i = 0; i < processes.size(); i++) {
+            ProcessModel p = processes.get(i);
+            if (cached.startTimes()[i] >= 0) p.setStartTime(cached.startTimes()[i]);
+            if (cached.completionTimes()[i] >= 0) p.setCompletionTime(cached.completionTimes()[i]);
+            processMap.put(p.getId(), p);
+        }
+        state.setSegments(cached.segments(), cached.stats());
+        state.setMetrics(cached.metrics());
+        state.setDeadlineReport(cached.deadlines());
+        state.setProcessMap(processMap);
+        timeline = cached.timeline();
+    }
+
+    /**
+     * Copies of the scheduled processes by ID, to detect later edits.
+     */
+    private static Map<String, ProcessModel> snapshotWorkload(List<ProcessModel> processes) {
+        Map<String, ProcessModel> copies = new HashMap<>();
+        for (ProcessModel p : processes) {
+            copies.put(p.getId(), new ProcessModel(p));
+        }
+        return copies;
+    }
+
+    /**
+     * Earliest arrival, before or after the edit, of any process that was added, removed
+     * or changed, or {@link Long#MAX_VALUE} if the workload is unchanged.
+     */
+    static long firstChange(Map<String, ProcessModel> before, List<ProcessModel> after) {
+        long changedFrom = Long.MAX_VALUE;
+        Set<String> seen = new HashSet<>();
+        for (ProcessModel p : after) {
+            if (!seen.add(p.getId())) return 0;
+            ProcessModel old = before.get(p.getId());
+            if (old == null) {
+                changedFrom = Math.min(changedFrom, p.getArrival());
+            } else if (!old.sameWorkAs(p)) {
+                changedFrom = Math.min(changedFrom, Math.min(old.getArrival(), p.getArrival()));
             }
-            
-            if (currentSegment != null && !currentSegment.isIdle()) {
-                tickState.runningProcess = currentSegment.getPid();
-            } else {
-                tickState.runningProcess = null;
+        }
+        for (ProcessModel old : before.values()) {
+            if (!seen.contains(old.getId())) {
+                changedFrom = Math.min(changedFrom, old.getArrival());
             }
-            
-            // Build ready queue at this tick
-            tickState.readyQueue = buildReadyQueueAtTick(tick);
-            
-            tickStates.add(tickState);
         }
+        return changedFrom;
     }
 
     /**
-     * Build the ready queue snapshot at a specific tick.
+     * Build the checkpointed timeline used for stepping.
      */
-    private List<String> buildReadyQueueAtTick(int tick) {
-        List<String> queue = new ArrayList<>();
-        
-        // For simplicity, show processes that have arrived but not completed
-        for (ProcessModel p : state.getProcessMap().values()) {
-            if (p.getArrival() <= tick) {
-                Integer completion = p.getCompletionTime();
-                if (completion == null || completion > tick) {
-                    // Check if currently running
-                    boolean isRunning = false;
-                    for (GanttSegment seg : state.getSegments()) {
-                        if (seg.getPid().equals(p.getId()) && tick >= seg.getStart() && tick < seg.getEnd()) {
-                            isRunning = true;
-                            break;
-                        }
-                    }
-                    if (!isRunning) {
-                        queue.add(p.getId());
-                    }
-                }
-            }
+    private void buildTimeline() {
+        if (state.getSegments().isEmpty()) {
+            timeline = null;
+            return;
+        }
+        TimelineEvent event = new TimelineEvent();
+        event.begin();
+        timeline = new Timeline(state.getSegments(), state.getProcessMap().values(), state.getTotalTime(),
+                TIMELINE_BUDGET);
+        event.end();
+        if (event.shouldCommit()) {
+            event.segments = state.getSegments().size();
+            event.events = timeline.getEventCount();
+            event.interval = timeline.getInterval();
+            event.checkpointBytes = timeline.getCheckpointBytes();
+            event.commit();
         }
-        
-        return queue;
     }
 
     /**
@@ -144,36 +362,41 @@ public class Simulator {
     }
 
     /**
-     * Step forward one tick.
+     * Set how far {@link #stepForward()} and {@link #stepBackward()} move.
+     */
+    public void setStepMode(StepMode stepMode) {
+        this.stepMode = stepMode;
+    }
+
+    public StepMode getStepMode() {
+        return stepMode;
+    }
+
+    /**
+     * Step forward one tick, or to the next event in {@link StepMode#EVENT} mode.
      */
     public boolean stepForward() {
-        if (currentTickIndex < tickStates.size() - 1) {
-            currentTickIndex++;
-            applyTickState(tickStates.get(currentTickIndex));
-            return true;
-        }
-        return false;
+        if (isAtEnd()) return false;
+        jumpToTick(stepMode == StepMode.EVENT ? timeline.nextEvent(currentTime) : currentTime + 1);
+        return true;
     }
 
     /**
-     * Step backward one tick.
+     * Step backward one tick, or to the previous event in {@link StepMode#EVENT} mode.
      */
     public boolean stepBackward() {
-        if (currentTickIndex > 0) {
-            currentTickIndex--;
-            applyTickState(tickStates.get(currentTickIndex));
-            return true;
-        }
-        return false;
+        if (isAtStart()) return false;
+        jumpToTick(stepMode == StepMode.EVENT ? timeline.previousEvent(currentTime) : currentTime - 1);
+        return true;
     }
 
     /**
      * Jump to a specific tick.
      */
-    public void jumpToTick(int tick) {
-        if (tick >= 0 && tick < tickStates.size()) {
-            currentTickIndex = tick;
-            applyTickState(tickStates.get(currentTickIndex));
+    public void jumpToTick(long tick) {
+        if (timeline != null && tick >= 0 && tick <= timeline.getLastTick()) {
+            currentTime = tick;
+            applyTickState(timeline.stateAt(currentTime));
         }
     }
 
@@ -188,8 +411,8 @@ public class Simulator {
      * Jump to end.
      */
     public void jumpToEnd() {
-        if (!tickStates.isEmpty()) {
-            jumpToTick(tickStates.size() - 1);
+        if (timeline != null) {
+            jumpToTick(timeline.getLastTick());
         }
     }
 
@@ -197,14 +420,14 @@ public class Simulator {
      * Check if at the end of simulation.
      */
     public boolean isAtEnd() {
-        return currentTickIndex >= tickStates.size() - 1;
+        return timeline == null || currentTime >= timeline.getLastTick();
     }
 
     /**
      * Check if at the start of simulation.
      */
     public boolean isAtStart() {
-        return currentTickIndex == 0;
+        return timeline == null || currentTime == 0;
     }
 
     /**
@@ -230,8 +453,8 @@ public class Simulator {
     /**
      * Internal class to store state at a specific tick.
      */
-    private static class TickState {
-        int tick;
+    static class TickState {
+        long tick;
         String runningProcess;
         List<String> readyQueue;
     }
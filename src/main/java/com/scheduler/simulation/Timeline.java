@@ -0,0 +1,350 @@
+package com.scheduler.simulation;
+
+import com.scheduler.algorithms.IntHeap;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+
+import java.util.*;
+
+/**
+ * Point-in-time view of a schedule, indexed by its events rather than by ticks.
+ *
+ * <p>The state only changes at an event: an arrival, a completion, or a segment starting
+ * or ending, which covers every dispatch and preemption. The timeline keeps the sorted
+ * distinct event times, so its size follows the number of events however long the
+ * schedule is. Building it sweeps the events once and saves a checkpoint of the sweep
+ * every K events. K starts small and doubles, dropping every other checkpoint, whenever
+ * the checkpoints outgrow the memory budget. The state at any time is recovered by
+ * replaying forward from the nearest earlier checkpoint, so a step in either direction
+ * costs at most K events of replay.
+ *
+ * <p>Checkpoints only hold the segments in progress, which are bounded by the cores and
+ * I/O channels. Processes that have arrived but not completed are not saved: a max-tree
+ * of completion times over the processes in arrival order reports them for any time in
+ * O(log n) each, so many outstanding processes neither grow the checkpoints nor the
+ * interval.
+ */
+final class Timeline {
+    private static final int INITIAL_INTERVAL = 16;
+    private static final long CHECKPOINT_BYTES = 64;
+
+    private final long lastTick;
+    private final long budget;
+
+    // Events in time order; processes are referred to by their index in the input
+    private final String[] ids;
+    private final int[] byArrival;
+    private final long[] arrivals;
+    // Max-tree over completion times in arrival order; leaves start at index leaves
+    private final int leaves;
+    private final long[] liveUntil;
+    private final GanttSegment[] byStart;
+    // Process index of each segment in byStart, or -1 for a process not in the input
+    private final int[] owners;
+    // Distinct times at which the state can change, ascending
+    private final long[] events;
+
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private int interval = INITIAL_INTERVAL;
+    private long checkpointBytes;
+    private Cursor cursor;
+
+    Timeline(List<GanttSegment> segments, Collection<ProcessModel> processes, long lastTick, long budget) {
+        this.lastTick = lastTick;
+        this.budget = budget;
+
+        int n = processes.size();
+        this.ids = new String[n];
+        long[] arrivalOf = new long[n];
+        long[] completionOf = new long[n];
+        int i = 0;
+        for (ProcessModel p : processes) {
+            ids[i] = p.getId();
+            arrivalOf[i] = p.getArrival();
+            completionOf[i] = p.getCompletionTime() == null ? -1 : p.getCompletionTime();
+            i++;
+        }
+
+        this.byArrival = sortedBy(arrivalOf);
+        this.arrivals = gather(byArrival, arrivalOf);
+        int size = 1;
+        while (size < n) size <<= 1;
+        this.leaves = size;
+        this.liveUntil = new long[2 * size];
+        Arrays.fill(liveUntil, size, 2 * size, Long.MIN_VALUE);
+        for (int rank = 0; rank < n; rank++) {
+            long completion = completionOf[byArrival[rank]];
+            liveUntil[size + rank] = completion < 0 ? Long.MAX_VALUE : completion;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            liveUntil[node] = Math.max(liveUntil[2 * node], liveUntil[2 * node + 1]);
+        }
+
+        this.byStart = segments.stream()
+                .filter(seg -> !seg.isIdle() && !seg.isContextSwitch())
+                .sorted(Comparator.comparingLong(GanttSegment::getStart))
+                .toArray(GanttSegment[]::new);
+        Map<String, Integer> index = new HashMap<>();
+        for (int p = 0; p < n; p++) {
+            index.put(ids[p], p);
+        }
+        this.owners = new int[byStart.length];
+        for (int s = 0; s < byStart.length; s++) {
+            owners[s] = index.getOrDefault(byStart[s].getPid(), -1);
+        }
+        this.events = eventTimes(completionOf);
+
+        build();
+    }
+
+    /**
+     * Last tick of the timeline; time runs from 0 to this inclusive.
+     */
+    long getLastTick() {
+        return lastTick;
+    }
+
+    /**
+     * Number of distinct event times, including time 0 and the last tick.
+     */
+    int getEventCount() {
+        return events.length;
+    }
+
+    /**
+     * Earliest event strictly after the given time, or -1 if there is none.
+     */
+    long nextEvent(long time) {
+        int i = floorIndex(time) + 1;
+        return i < events.length ? events[i] : -1;
+    }
+
+    /**
+     * Latest event strictly before the given time, or -1 if there is none.
+     */
+    long previousEvent(long time) {
+        int i = floorIndex(time);
+        if (i >= 0 && events[i] == time) i--;
+        return i >= 0 ? events[i] : -1;
+    }
+
+    /**
+     * Current checkpoint spacing in events.
+     */
+    int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Estimated memory held by the checkpoints.
+     */
+    long getCheckpointBytes() {
+        return checkpointBytes;
+    }
+
+    /**
+     * State at the given time: processes running on any core and processes ready to run.
+     */
+    Simulator.TickState stateAt(long time) {
+        int event = Math.max(0, floorIndex(time));
+        if (cursor == null) cursor = new Cursor();
+        if (cursor.tick > time || event - cursor.event > interval) {
+            cursor.restore(checkpoints.get(Math.min(checkpoints.size() - 1, event / interval)));
+        }
+        cursor.advance(time);
+        return cursor.snapshot();
+    }
+
+    /**
+     * Index of the latest event at or before the given time, or -1 if there is none.
+     */
+    private int floorIndex(long time) {
+        int i = Arrays.binarySearch(events, time);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Sorted distinct event times; processes that never complete have a completion of -1.
+     */
+    private long[] eventTimes(long[] completions) {
+        long[] times = new long[2 + arrivals.length + completions.length + 2 * byStart.length];
+        int n = 0;
+        times[n++] = 0;
+        times[n++] = lastTick;
+        for (long arrival : arrivals) times[n++] = arrival;
+        for (long completion : completions) times[n++] = completion;
+        for (GanttSegment seg : byStart) {
+            times[n++] = seg.getStart();
+            times[n++] = seg.getEnd();
+        }
+        Arrays.sort(times);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (times[i] < 0 || times[i] > lastTick) continue;
+            if (distinct == 0 || times[i] != times[distinct - 1]) times[distinct++] = times[i];
+        }
+        return Arrays.copyOf(times, distinct);
+    }
+
+    private void build() {
+        Cursor sweep = new Cursor();
+        for (int event = 0; event < events.length; event += interval) {
+            sweep.advance(events[event]);
+            Checkpoint checkpoint = sweep.save();
+            checkpoints.add(checkpoint);
+            checkpointBytes += checkpoint.bytes();
+            while (checkpointBytes > budget && checkpoints.size() > 1) {
+                thin();
+                // The next checkpoint must land on the doubled grid
+                event = checkpoints.get(checkpoints.size() - 1).event;
+            }
+        }
+    }
+
+    /**
+     * Drop every other checkpoint and double the interval.
+     */
+    private void thin() {
+        int kept = 0;
+        checkpointBytes = 0;
+        for (int i = 0; i < checkpoints.size(); i += 2) {
+            Checkpoint checkpoint = checkpoints.get(i);
+            checkpoints.set(kept++, checkpoint);
+            checkpointBytes += checkpoint.bytes();
+        }
+        checkpoints.subList(kept, checkpoints.size()).clear();
+        interval *= 2;
+    }
+
+    /**
+     * Indexes ordered by key, ties in index order.
+     */
+    private static int[] sortedBy(long[] key) {
+        Integer[] order = new Integer[key.length];
+        for (int i = 0; i < key.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> key[i]));
+        int[] sorted = new int[key.length];
+        for (int i = 0; i < key.length; i++) {
+            sorted[i] = order[i];
+        }
+        return sorted;
+    }
+
+    private static long[] gather(int[] order, long[] key) {
+        long[] values = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            values[i] = key[order[i]];
+        }
+        return values;
+    }
+
+    /**
+     * Saved sweep position: event pointers plus the segments in progress.
+     */
+    private record Checkpoint(long tick, int event, int arrivalPtr, int startPtr, int[] activeSegments) {
+
+        long bytes() {
+            return CHECKPOINT_BYTES + 4L * activeSegments.length;
+        }
+    }
+
+    /**
+     * Sweep over the events that can only move forward, or jump back to a checkpoint.
+     */
+    private final class Cursor {
+        long tick = -1;
+        // Index of the latest event at or before tick
+        int event = -1;
+        int arrivalPtr;
+        int startPtr;
+        // Segments in progress, as indexes into byStart ordered by end
+        final IntHeap active = new IntHeap(16);
+        // Segments in progress per process, for telling ready processes from busy ones
+        final int[] busy = new int[ids.length];
+
+        void restore(Checkpoint checkpoint) {
+            for (int i = 0; i < active.size(); i++) {
+                int owner = owners[active.get(i)];
+                if (owner >= 0) busy[owner]--;
+            }
+            active.clear();
+            tick = checkpoint.tick();
+            event = checkpoint.event();
+            arrivalPtr = checkpoint.arrivalPtr();
+            startPtr = checkpoint.startPtr();
+            for (int s : checkpoint.activeSegments()) {
+                start(s);
+            }
+        }
+
+        private void start(int s) {
+            active.push(s, byStart[s].getEnd(), s);
+            if (owners[s] >= 0) busy[owners[s]]++;
+        }
+
+        void advance(long to) {
+            while (arrivalPtr < arrivals.length && arrivals[arrivalPtr] <= to) {
+                arrivalPtr++;
+            }
+            while (startPtr < byStart.length && byStart[startPtr].getStart() <= to) {
+                start(startPtr++);
+            }
+            while (!active.isEmpty() && active.peekPrimary() <= to) {
+                int owner = owners[active.pop()];
+                if (owner >= 0) busy[owner]--;
+            }
+            while (event + 1 < events.length && events[event + 1] <= to) {
+                event++;
+            }
+            tick = to;
+        }
+
+        Checkpoint save() {
+            int[] activeSegments = new int[active.size()];
+            for (int i = 0; i < activeSegments.length; i++) {
+                activeSegments[i] = active.get(i);
+            }
+            return new Checkpoint(tick, event, arrivalPtr, startPtr, activeSegments);
+        }
+
+        Simulator.TickState snapshot() {
+            Simulator.TickState state = new Simulator.TickState();
+            state.tick = tick;
+
+            List<GanttSegment> running = new ArrayList<>();
+            for (int i = 0; i < active.size(); i++) {
+                GanttSegment seg = byStart[active.get(i)];
+                if (!seg.isIo()) running.add(seg);
+            }
+            running.sort(Comparator.comparingInt(GanttSegment::getCore));
+            StringJoiner names = new StringJoiner(", ");
+            for (GanttSegment seg : running) {
+                names.add(seg.getPid());
+            }
+            state.runningProcess = running.isEmpty() ? null : names.toString();
+
+            state.readyQueue = new ArrayList<>();
+            addReady(1, 0, leaves, state.readyQueue);
+            return state;
+        }
+
+        /**
+         * Add the processes under a tree node, in arrival order, that have arrived and
+         * are neither completed nor busy. Subtrees where everything completed by now
+         * are skipped whole.
+         */
+        private void addReady(int node, int from, int width, List<String> ready) {
+            if (from >= arrivalPtr || liveUntil[node] <= tick) return;
+            if (width == 1) {
+                int p = byArrival[from];
+                if (busy[p] == 0) ready.add(ids[p]);
+                return;
+            }
+            int half = width >>> 1;
+            addReady(2 * node, from, half, ready);
+            addReady(2 * node + 1, from + half, half, ready);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.scheduler.util;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary workload format, for tools that submit large workloads and would
+ * rather not produce and parse JSON.
+ *
+ * <p>Big-endian, as written by {@link DataOutputStream}:
+ * <pre>
+ * int    magic 0x43505557 ("CPUW")
+ * byte   version 1
+ * int    process count
+ * per process:
+ *   UTF  id (modified UTF-8, length-prefixed)
+ *   long arrival
+ *   int  priority
+ *   int  period (0 = not periodic)
+ *   int  deadline (0 = none)
+ *   int  burst count n, odd
+ *   int  n bursts, alternating CPU and I/O
+ * </pre>
+ */
+public final class BinaryIO {
+    public static final int MAGIC = 0x43505557;
+    public static final int VERSION = 1;
+
+    private BinaryIO() {
+    }
+
+    public static void writeProcesses(List<ProcessModel> processes, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(processes.size());
+        for (ProcessModel p : processes) {
+            data.writeUTF(p.getId());
+            data.writeLong(p.getArrival());
+            data.writeInt(p.getPriority());
+            data.writeInt(p.getPeriod());
+            data.writeInt(p.getDeadline());
+            List<Integer> bursts = p.getBursts();
+            data.writeInt(bursts.size());
+            for (int b : bursts) {
+                data.writeInt(b);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Read a workload; the stream is left open.
+     *
+     * @throws IOException if the data is truncated or not in this format, or a process
+     *                     uses a reserved id
+     */
+    public static List<ProcessModel> readProcesses(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Not a binary workload");
+            }
+            int version = data.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary workload version " + version);
+            }
+            int count = data.readInt();
+            if (count < 0) {
+                throw new IOException("Negative process count " + count);
+            }
+            // Grow as processes arrive rather than trusting the count with an allocation
+            List<ProcessModel> processes = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                String id = data.readUTF();
+                if (GanttSegment.isReservedPid(id)) {
+                    throw new IOException("Process id '" + id + "' is reserved for idle and switch segments");
+                }
+                long arrival = data.readLong();
+                int priority = data.readInt();
+                int period = data.readInt();
+                int deadline = data.readInt();
+                int n = data.readInt();
+                if (n <= 0 || n % 2 == 0) {
+                    throw new IOException("Process " + id + " has " + n + " bursts, expected an odd count");
+                }
+                List<Integer> bursts = new ArrayList<>(Math.min(n, 1 << 10));
+                for (int k = 0; k < n; k++) {
+                    bursts.add(data.readInt());
+                }
+                ProcessModel process = new ProcessModel(id, arrival, 0, priority);
+                process.setBursts(bursts);
+                process.setPeriod(period);
+                process.setDeadline(deadline);
+                processes.add(process);
+            }
+            return processes;
+        } catch (EOFException e) {
+            throw new IOException("Truncated binary workload", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
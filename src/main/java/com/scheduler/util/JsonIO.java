@@ -4,6 +4,9 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.scheduler.diagnostics.JsonIOEvent;
+import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
 import javafx.scene.paint.Color;
 
@@ -21,6 +24,8 @@ public class JsonIO {
      * Export processes to JSON file.
      */
     public static void exportProcesses(List<ProcessModel> processes, File file) throws IOException {
+        JsonIOEvent event = new JsonIOEvent();
+        event.begin();
         JsonArray jsonArray = new JsonArray();
         
         for (ProcessModel p : processes) {
@@ -29,6 +34,19 @@ public class JsonIO {
             obj.addProperty("arrival", p.getArrival());
             obj.addProperty("burst", p.getBurst());
             obj.addProperty("priority", p.getPriority());
+            if (p.hasIo()) {
+                JsonArray bursts = new JsonArray();
+                for (int b : p.getBursts()) {
+                    bursts.add(b);
+                }
+                obj.add("bursts", bursts);
+            }
+            if (p.isPeriodic()) {
+                obj.addProperty("period", p.getPeriod());
+            }
+            if (p.getDeadline() > 0) {
+                obj.addProperty("deadline", p.getDeadline());
+            }
             
             // Export color as hex
             Color color = p.getColor();
@@ -44,38 +62,83 @@ public class JsonIO {
         try (Writer writer = new FileWriter(file)) {
             gson.toJson(jsonArray, writer);
         }
+        commit(event, "export", file, processes.size());
     }
 
     /**
      * Import processes from JSON file.
      */
     public static List<ProcessModel> importProcesses(File file) throws IOException {
-        List<ProcessModel> processes = new ArrayList<>();
+        JsonIOEvent event = new JsonIOEvent();
+        event.begin();
+        List<ProcessModel> processes;
 
         try (Reader reader = new FileReader(file)) {
-            JsonArray jsonArray = gson.fromJson(reader, JsonArray.class);
-            
-            for (int i = 0; i < jsonArray.size(); i++) {
-                JsonObject obj = jsonArray.get(i).getAsJsonObject();
-                
-                String id = obj.get("id").getAsString();
-                int arrival = obj.get("arrival").getAsInt();
-                int burst = obj.get("burst").getAsInt();
-                int priority = obj.has("priority") ? obj.get("priority").getAsInt() : 0;
-                
-                ProcessModel process = new ProcessModel(id, arrival, burst, priority);
-                
-                // Import color if present
-                if (obj.has("color")) {
-                    String colorHex = obj.get("color").getAsString();
-                    Color color = Color.web(colorHex);
-                    process.setColor(color);
+            processes = readProcesses(reader);
+        }
+
+        commit(event, "import", file, processes.size());
+        return processes;
+    }
+
+    /**
+     * Read processes from a JSON array in the format written by {@link #exportProcesses}.
+     *
+     * @throws com.google.gson.JsonParseException if the text is not such an array, or a
+     *                                            process uses a reserved id
+     */
+    public static List<ProcessModel> readProcesses(Reader reader) {
+        List<ProcessModel> processes = new ArrayList<>();
+        JsonArray jsonArray = gson.fromJson(reader, JsonArray.class);
+        if (jsonArray == null) {
+            throw new JsonParseException("Expected a JSON array of processes");
+        }
+
+        for (int i = 0; i < jsonArray.size(); i++) {
+            JsonObject obj = jsonArray.get(i).getAsJsonObject();
+
+            String id = obj.get("id").getAsString();
+            if (GanttSegment.isReservedPid(id)) {
+                throw new JsonParseException("Process id '" + id + "' is reserved for idle and switch segments");
+            }
+            long arrival = obj.get("arrival").getAsLong();
+            int burst = obj.get("burst").getAsInt();
+            int priority = obj.has("priority") ? obj.get("priority").getAsInt() : 0;
+
+            ProcessModel process = new ProcessModel(id, arrival, burst, priority);
+            if (obj.has("bursts")) {
+                List<Integer> bursts = new ArrayList<>();
+                for (var b : obj.getAsJsonArray("bursts")) {
+                    bursts.add(b.getAsInt());
                 }
-                
-                processes.add(process);
+                process.setBursts(bursts);
+            }
+            if (obj.has("period")) {
+                process.setPeriod(obj.get("period").getAsInt());
+            }
+            if (obj.has("deadline")) {
+                process.setDeadline(obj.get("deadline").getAsInt());
+            }
+
+            // Import color if present
+            if (obj.has("color")) {
+                String colorHex = obj.get("color").getAsString();
+                Color color = Color.web(colorHex);
+                process.setColor(color);
             }
-        }
 
+            processes.add(process);
+        }
         return processes;
     }
+
+    private static void commit(JsonIOEvent event, String operation, File file, int processes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = file.getPath();
+            event.processes = processes;
+            event.commit();
+        }
+    }
 }
@@ -1,20 +1,29 @@
 package com.scheduler.view;
 
+import com.scheduler.diagnostics.RenderEvent;
 import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
 import javafx.animation.TranslateTransition;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -24,12 +33,23 @@ public class GanttView extends BorderPane {
     private static final double SCALE = 40.0; // pixels per time unit
     private static final double BAR_HEIGHT = 50.0;
     private static final double LABEL_HEIGHT = 30.0;
+    private static final double LANE_GAP = 10.0;
     
     private Pane chartPane;
     private ScrollPane scrollPane;
     private Line timeMarker;
-    private int currentTick = 0;
-    private Consumer<Integer> onSegmentClick;
+    private long currentTick = 0;
+    private Consumer<Long> onSegmentClick;
+    private final List<Node[]> segmentNodes = new ArrayList<>();
+    private final List<Node> frameNodes = new ArrayList<>();
+    private int laneCount = 1;
+    private int ioLaneCount;
+    private double axisY;
+    private long measuredMaxTime;
+    private int measuredLanes;
+    private int measuredIoLanes;
+    // Processes of the latest schedule, read by tooltips when they are shown
+    private Map<String, ProcessModel> processMap = Map.of();
 
     public GanttView() {
         initializeUI();
@@ -44,17 +64,24 @@ public class GanttView extends BorderPane {
         scrollPane.setFitToHeight(true);
         scrollPane.setPannable(true);
         scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
         scrollPane.getStyleClass().add("gantt-scroll-pane");
         
         setCenter(scrollPane);
     }
 
     /**
-     * Render the Gantt chart from segments.
+     * Render the Gantt chart from segments, one lane per core followed by one lane
+     * per I/O channel.
      */
     public void renderGantt(List<GanttSegment> segments, Map<String, ProcessModel> processMap) {
+        this.processMap = processMap;
+        RenderEvent event = new RenderEvent();
+        event.begin();
         chartPane.getChildren().clear();
+        segmentNodes.clear();
+        frameNodes.clear();
+        timeMarker = null;
         
         if (segments.isEmpty()) {
             Label emptyLabel = new Label("No segments to display");
@@ -64,95 +91,227 @@ public class GanttView extends BorderPane {
             return;
         }
 
-        int maxTime = segments.get(segments.size() - 1).getEnd();
+        measureLanes(segments);
+        laneCount = measuredLanes;
+        ioLaneCount = measuredIoLanes;
+        drawFrame(measuredMaxTime);
+        for (GanttSegment segment : segments) {
+            addSegment(segment, processMap);
+        }
+        addTimeMarker();
+        updateTimeMarker(0);
+        commit(event, segments.size(), 0);
+    }
+
+    /**
+     * Update the chart after a reschedule that kept the first {@code unchanged} segments,
+     * replacing only the nodes of the segments after them.
+     */
+    public void updateGantt(List<GanttSegment> segments, int unchanged, Map<String, ProcessModel> processMap) {
+        this.processMap = processMap;
+        measureLanes(segments);
+        if (timeMarker == null || unchanged > segmentNodes.size()
+                || measuredLanes != laneCount || measuredIoLanes != ioLaneCount) {
+            renderGantt(segments, processMap);
+            return;
+        }
+
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        List<Node> children = chartPane.getChildren();
+        Set<Node> stale = new HashSet<>(frameNodes);
+        stale.add(timeMarker);
+        for (Node[] nodes : segmentNodes.subList(unchanged, segmentNodes.size())) {
+            stale.addAll(Arrays.asList(nodes));
+        }
+        children.removeAll(stale);
+        segmentNodes.subList(unchanged, segmentNodes.size()).clear();
+        frameNodes.clear();
+
+        drawFrame(measuredMaxTime);
+        for (GanttSegment segment : segments.subList(unchanged, segments.size())) {
+            addSegment(segment, processMap);
+        }
+        addTimeMarker();
+        updateTimeMarker(currentTick);
+        commit(event, segments.size(), unchanged);
+    }
+
+    /**
+     * Show a schedule too long for one node per segment as a prerendered image of
+     * {@code 0xAARRGGBB} pixels, row by row. The image has no time marker or tooltips.
+     */
+    public void renderImage(int width, int height, int[] argb) {
+        processMap = Map.of();
+        chartPane.getChildren().clear();
+        segmentNodes.clear();
+        frameNodes.clear();
+        timeMarker = null;
+
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        chartPane.setPrefWidth(width);
+        chartPane.setPrefHeight(height);
+        chartPane.setMinHeight(height);
+        chartPane.getChildren().add(new ImageView(image));
+    }
+
+    private void commit(RenderEvent event, int segments, int reused) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.segments = segments;
+            event.reused = reused;
+            event.nodes = chartPane.getChildren().size();
+            event.commit();
+        }
+    }
+
+    private void measureLanes(List<GanttSegment> segments) {
+        measuredMaxTime = 0;
+        measuredLanes = 1;
+        measuredIoLanes = 0;
+        for (GanttSegment segment : segments) {
+            measuredMaxTime = Math.max(measuredMaxTime, segment.getEnd());
+            if (segment.isIo()) {
+                measuredIoLanes = Math.max(measuredIoLanes, segment.getCore() + 1);
+            } else {
+                measuredLanes = Math.max(measuredLanes, segment.getCore() + 1);
+            }
+        }
+    }
+
+    /**
+     * Draw the lane labels and time scale behind the segments.
+     */
+    private void drawFrame(long maxTime) {
+        axisY = laneY(laneCount + ioLaneCount - 1) + BAR_HEIGHT - 10;
         chartPane.setPrefWidth(maxTime * SCALE + 50);
+        chartPane.setPrefHeight(axisY + LABEL_HEIGHT + 20);
+        chartPane.setMinHeight(axisY + LABEL_HEIGHT + 20);
+
+        if (laneCount > 1 || ioLaneCount > 0) {
+            for (int lane = 0; lane < laneCount + ioLaneCount; lane++) {
+                String name = lane < laneCount ? "CPU " + lane : "I/O " + (lane - laneCount);
+                Label laneLabel = new Label(name);
+                laneLabel.setLayoutX(maxTime * SCALE + 5);
+                laneLabel.setLayoutY(laneY(lane) + BAR_HEIGHT / 2 - 8);
+                laneLabel.getStyleClass().add("time-label");
+                frameNodes.add(laneLabel);
+            }
+        }
 
         // Draw time scale with dynamic intervals to avoid rendering too many ticks
-        int tickInterval = calculateTickInterval(maxTime);
-        for (int t = 0; t <= maxTime; t += tickInterval) {
-            Line tick = new Line(t * SCALE, BAR_HEIGHT, t * SCALE, BAR_HEIGHT + 10);
+        long tickInterval = calculateTickInterval(maxTime);
+        for (long t = 0; t <= maxTime; t += tickInterval) {
+            Line tick = new Line(t * SCALE, axisY, t * SCALE, axisY + 10);
             tick.getStyleClass().add("time-tick");
-            chartPane.getChildren().add(tick);
+            frameNodes.add(tick);
             
             Label timeLabel = new Label(String.valueOf(t));
             timeLabel.setLayoutX(t * SCALE - 5);
-            timeLabel.setLayoutY(BAR_HEIGHT + 10);
+            timeLabel.setLayoutY(axisY + 10);
             timeLabel.getStyleClass().add("time-label");
-            chartPane.getChildren().add(timeLabel);
+            frameNodes.add(timeLabel);
         }
+        chartPane.getChildren().addAll(0, frameNodes);
+    }
 
-        // Draw segments
-        for (GanttSegment segment : segments) {
-            Rectangle rect = new Rectangle();
-            rect.setX(segment.getStart() * SCALE);
-            rect.setY(10);
-            rect.setWidth((segment.getEnd() - segment.getStart()) * SCALE);
-            rect.setHeight(BAR_HEIGHT);
-            rect.setArcWidth(8);
-            rect.setArcHeight(8);
-            
-            if (segment.isIdle()) {
-                rect.setFill(Color.gray(0.3, 0.3));
-                rect.setStroke(Color.gray(0.5));
+    private void addSegment(GanttSegment segment, Map<String, ProcessModel> processMap) {
+        int lane = segment.isIo() ? laneCount + segment.getCore() : segment.getCore();
+        Rectangle rect = new Rectangle();
+        rect.setX(segment.getStart() * SCALE);
+        rect.setY(laneY(lane));
+        rect.setWidth((segment.getEnd() - segment.getStart()) * SCALE);
+        rect.setHeight(BAR_HEIGHT);
+        rect.setArcWidth(8);
+        rect.setArcHeight(8);
+        
+        if (segment.isIdle()) {
+            rect.setFill(Color.gray(0.3, 0.3));
+            rect.setStroke(Color.gray(0.5));
+        } else if (segment.isContextSwitch()) {
+            rect.setFill(Color.gray(0.1, 0.6));
+            rect.setStroke(Color.ORANGE);
+        } else {
+            ProcessModel process = processMap.get(segment.getPid());
+            if (process != null && segment.isIo()) {
+                rect.setFill(process.getColor().deriveColor(0, 1, 1, 0.35));
+                rect.setStroke(process.getColor());
+                rect.getStrokeDashArray().addAll(6.0, 4.0);
+            } else if (process != null) {
+                rect.setFill(process.getColor());
+                rect.setStroke(process.getColor().darker());
             } else {
-                ProcessModel process = processMap.get(segment.getPid());
-                if (process != null) {
-                    rect.setFill(process.getColor());
-                    rect.setStroke(process.getColor().darker());
-                } else {
-                    rect.setFill(Color.LIGHTBLUE);
-                    rect.setStroke(Color.BLUE);
-                }
+                rect.setFill(Color.LIGHTBLUE);
+                rect.setStroke(Color.BLUE);
             }
-            
-            rect.setStrokeWidth(2);
-            rect.getStyleClass().add("gantt-segment");
-            
-            // Add tooltip
-            Tooltip tooltip = createTooltip(segment, processMap);
-            Tooltip.install(rect, tooltip);
-            
-            // Add click handler
-            int startTime = segment.getStart();
-            rect.setOnMouseClicked(e -> {
-                if (onSegmentClick != null) {
-                    onSegmentClick.accept(startTime);
-                }
-            });
-            
-            // Add hover effect
-            rect.setOnMouseEntered(e -> rect.setOpacity(0.8));
-            rect.setOnMouseExited(e -> rect.setOpacity(1.0));
-            
-            chartPane.getChildren().add(rect);
-            
-            // Add process ID label
-            Label pidLabel = new Label(segment.getPid());
-            pidLabel.setLayoutX(segment.getStart() * SCALE + 5);
-            pidLabel.setLayoutY(25);
-            pidLabel.getStyleClass().add("segment-label");
-            pidLabel.setMouseTransparent(true);
-            chartPane.getChildren().add(pidLabel);
         }
+        
+        rect.setStrokeWidth(2);
+        rect.getStyleClass().add("gantt-segment");
+        
+        // Add tooltip
+        Tooltip tooltip = createTooltip(segment, laneCount > 1 || segment.isIo());
+        Tooltip.install(rect, tooltip);
+        
+        // Add click handler
+        long startTime = segment.getStart();
+        rect.setOnMouseClicked(e -> {
+            if (onSegmentClick != null) {
+                onSegmentClick.accept(startTime);
+            }
+        });
+        
+        // Add hover effect
+        rect.setOnMouseEntered(e -> rect.setOpacity(0.8));
+        rect.setOnMouseExited(e -> rect.setOpacity(1.0));
+        
+        // Add process ID label
+        Label pidLabel = new Label(segment.getPid());
+        pidLabel.setLayoutX(segment.getStart() * SCALE + 5);
+        pidLabel.setLayoutY(laneY(lane) + 15);
+        pidLabel.getStyleClass().add("segment-label");
+        pidLabel.setMouseTransparent(true);
 
-        // Add time marker
-        timeMarker = new Line(0, 0, 0, BAR_HEIGHT);
+        chartPane.getChildren().addAll(rect, pidLabel);
+        segmentNodes.add(new Node[] {rect, pidLabel});
+    }
+
+    private void addTimeMarker() {
+        timeMarker = new Line(0, 0, 0, axisY);
         timeMarker.setStroke(Color.RED);
         timeMarker.setStrokeWidth(3);
         timeMarker.getStyleClass().add("time-marker");
         chartPane.getChildren().add(timeMarker);
-        
-        updateTimeMarker(0);
     }
 
-    private Tooltip createTooltip(GanttSegment segment, Map<String, ProcessModel> processMap) {
+    private static double laneY(int core) {
+        return 10 + core * (BAR_HEIGHT + LANE_GAP);
+    }
+
+    /**
+     * Tooltip whose text is rebuilt each time it is shown: segments kept across an edit
+     * belong to processes whose waiting and turnaround times may since have changed.
+     */
+    private Tooltip createTooltip(GanttSegment segment, boolean showCore) {
+        Tooltip tooltip = new Tooltip(describe(segment, showCore));
+        tooltip.setOnShowing(e -> tooltip.setText(describe(segment, showCore)));
+        return tooltip;
+    }
+
+    private String describe(GanttSegment segment, boolean showCore) {
         StringBuilder sb = new StringBuilder();
         sb.append("Process: ").append(segment.getPid()).append("\n");
         sb.append("Start: ").append(segment.getStart()).append("\n");
         sb.append("End: ").append(segment.getEnd()).append("\n");
         sb.append("Duration: ").append(segment.getDuration()).append("\n");
+        if (segment.isIo()) {
+            sb.append("I/O channel: ").append(segment.getCore()).append("\n");
+        } else if (showCore) {
+            sb.append("Core: ").append(segment.getCore()).append("\n");
+        }
         
-        if (!segment.isIdle()) {
+        if (!segment.isIdle() && !segment.isContextSwitch()) {
             ProcessModel process = processMap.get(segment.getPid());
             if (process != null) {
                 sb.append("Waiting Time: ").append(process.getWaitingTime()).append("\n");
@@ -160,13 +319,13 @@ public class GanttView extends BorderPane {
             }
         }
         
-        return new Tooltip(sb.toString());
+        return sb.toString();
     }
 
     /**
      * Update the time marker position with animation.
      */
-    public void updateTimeMarker(int tick) {
+    public void updateTimeMarker(long tick) {
         this.currentTick = tick;
         if (timeMarker != null) {
             double targetX = tick * SCALE;
@@ -186,7 +345,7 @@ public class GanttView extends BorderPane {
     /**
      * Set callback for segment click events.
      */
-    public void setOnSegmentClick(Consumer<Integer> callback) {
+    public void setOnSegmentClick(Consumer<Long> callback) {
         this.onSegmentClick = callback;
     }
 
@@ -194,13 +353,18 @@ public class GanttView extends BorderPane {
      * Calculate appropriate tick interval based on max time to avoid rendering too many ticks.
      * Ensures reasonable number of ticks regardless of timescale.
      */
-    private int calculateTickInterval(int maxTime) {
+    private long calculateTickInterval(long maxTime) {
         if (maxTime <= 20) return 1;
         if (maxTime <= 100) return 5;
         if (maxTime <= 500) return 10;
         if (maxTime <= 1000) return 50;
         if (maxTime <= 5000) return 100;
         if (maxTime <= 10000) return 500;
-        return 1000;
+        // Past that, keep about ten to a hundred labels
+        long interval = 1000;
+        while (maxTime / interval > 100) {
+            interval *= 10;
+        }
+        return interval;
     }
 }
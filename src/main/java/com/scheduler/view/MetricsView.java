@@ -1,6 +1,10 @@
 package com.scheduler.view;
 
+import com.scheduler.metrics.LatencyHistogram;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.DeadlineReport;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.ScheduleStats;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -22,6 +26,13 @@ public class MetricsView extends BorderPane {
     private Label avgWaitingLabel;
     private Label avgTurnaroundLabel;
     private Label totalTimeLabel;
+    private Label throughputLabel;
+    private Label latencyLabel;
+    private Label utilizationLabel;
+    private Label migrationsLabel;
+    private Label switchesLabel;
+    private Label ioLabel;
+    private Label deadlineLabel;
 
     public MetricsView() {
         processes = FXCollections.observableArrayList();
@@ -44,22 +55,22 @@ public class MetricsView extends BorderPane {
         TableColumn<ProcessModel, String> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
 
-        TableColumn<ProcessModel, Integer> arrivalCol = new TableColumn<>("Arrival");
+        TableColumn<ProcessModel, Long> arrivalCol = new TableColumn<>("Arrival");
         arrivalCol.setCellValueFactory(new PropertyValueFactory<>("arrival"));
 
         TableColumn<ProcessModel, Integer> burstCol = new TableColumn<>("Burst");
         burstCol.setCellValueFactory(new PropertyValueFactory<>("burst"));
 
-        TableColumn<ProcessModel, Integer> startCol = new TableColumn<>("Start");
+        TableColumn<ProcessModel, Long> startCol = new TableColumn<>("Start");
         startCol.setCellValueFactory(new PropertyValueFactory<>("startTime"));
 
-        TableColumn<ProcessModel, Integer> completionCol = new TableColumn<>("Completion");
+        TableColumn<ProcessModel, Long> completionCol = new TableColumn<>("Completion");
         completionCol.setCellValueFactory(new PropertyValueFactory<>("completionTime"));
 
-        TableColumn<ProcessModel, Integer> waitingCol = new TableColumn<>("Waiting");
+        TableColumn<ProcessModel, Long> waitingCol = new TableColumn<>("Waiting");
         waitingCol.setCellValueFactory(new PropertyValueFactory<>("waitingTime"));
 
-        TableColumn<ProcessModel, Integer> turnaroundCol = new TableColumn<>("Turnaround");
+        TableColumn<ProcessModel, Long> turnaroundCol = new TableColumn<>("Turnaround");
         turnaroundCol.setCellValueFactory(new PropertyValueFactory<>("turnaroundTime"));
 
         metricsTable.getColumns().addAll(idCol, arrivalCol, burstCol, startCol, 
@@ -79,41 +90,128 @@ public class MetricsView extends BorderPane {
         totalTimeLabel = new Label("Total Time: -");
         totalTimeLabel.getStyleClass().add("metric-label");
 
-        summaryBox.getChildren().addAll(avgWaitingLabel, avgTurnaroundLabel, totalTimeLabel);
+        throughputLabel = new Label("Throughput: -");
+        throughputLabel.getStyleClass().add("metric-label");
+
+        latencyLabel = new Label("Latency: -");
+        latencyLabel.getStyleClass().add("metric-label");
+        latencyLabel.setWrapText(true);
+
+        utilizationLabel = new Label("CPU Utilization: -");
+        utilizationLabel.getStyleClass().add("metric-label");
+        utilizationLabel.setWrapText(true);
+
+        migrationsLabel = new Label("Migrations: -");
+        migrationsLabel.getStyleClass().add("metric-label");
+
+        switchesLabel = new Label("Context Switches: -");
+        switchesLabel.getStyleClass().add("metric-label");
+
+        ioLabel = new Label();
+        ioLabel.getStyleClass().add("metric-label");
+        ioLabel.setVisible(false);
+        ioLabel.setManaged(false);
+
+        deadlineLabel = new Label();
+        deadlineLabel.getStyleClass().add("metric-label");
+        deadlineLabel.setVisible(false);
+        deadlineLabel.setManaged(false);
+
+        summaryBox.getChildren().addAll(avgWaitingLabel, avgTurnaroundLabel, totalTimeLabel,
+                throughputLabel, latencyLabel, utilizationLabel, migrationsLabel, switchesLabel, ioLabel, deadlineLabel);
 
         mainBox.getChildren().addAll(titleLabel, metricsTable, summaryBox);
         setCenter(mainBox);
     }
 
-    public void updateMetrics(Collection<ProcessModel> processList, int totalTime) {
+    public void updateMetrics(Collection<ProcessModel> processList, long totalTime, ScheduleStats stats,
+                              ScheduleMetrics metrics, DeadlineReport deadlines) {
         processes.clear();
         processes.addAll(processList);
 
         if (!processList.isEmpty()) {
-            double avgWaiting = processList.stream()
-                    .mapToInt(ProcessModel::getWaitingTime)
-                    .average()
-                    .orElse(0.0);
-
-            double avgTurnaround = processList.stream()
-                    .mapToInt(ProcessModel::getTurnaroundTime)
-                    .average()
-                    .orElse(0.0);
-
-            avgWaitingLabel.setText(String.format("Avg Waiting Time: %.2f", avgWaiting));
-            avgTurnaroundLabel.setText(String.format("Avg Turnaround Time: %.2f", avgTurnaround));
+            // Latencies of periodic tasks span all their jobs; the deadline line replaces them
+            showLatency(deadlines == null ? metrics : null);
             totalTimeLabel.setText("Total Time: " + totalTime);
+            utilizationLabel.setText(formatUtilization(stats));
+            migrationsLabel.setText("Migrations: " + stats.getMigrations());
+            switchesLabel.setText(String.format("Context Switches: %d (overhead %d)",
+                    stats.getContextSwitches(), stats.getSwitchOverhead()));
+            showIo(stats);
+            showDeadlines(deadlines);
         } else {
+            clearSummary();
+        }
+    }
+
+    private void showLatency(ScheduleMetrics metrics) {
+        if (metrics == null) {
             avgWaitingLabel.setText("Avg Waiting Time: -");
             avgTurnaroundLabel.setText("Avg Turnaround Time: -");
-            totalTimeLabel.setText("Total Time: -");
+            throughputLabel.setText("Throughput: -");
+            latencyLabel.setText("Latency: -");
+            return;
+        }
+        avgWaitingLabel.setText(String.format("Avg Waiting Time: %.2f", metrics.getWaiting().getMean()));
+        avgTurnaroundLabel.setText(String.format("Avg Turnaround Time: %.2f", metrics.getTurnaround().getMean()));
+        throughputLabel.setText(String.format("Throughput: %.3f processes/tick", metrics.getThroughput()));
+        latencyLabel.setText("Latency:"
+                + formatPercentiles("Waiting", metrics.getWaiting())
+                + formatPercentiles("Response", metrics.getResponse())
+                + formatPercentiles("Turnaround", metrics.getTurnaround()));
+    }
+
+    private static String formatPercentiles(String name, LatencyHistogram histogram) {
+        StringBuilder sb = new StringBuilder(String.format("%n  %s:", name));
+        for (double p : ScheduleMetrics.PERCENTILES) {
+            sb.append(String.format(" p%s=%d", ScheduleMetrics.formatPercentile(p), histogram.getPercentile(p)));
         }
+        return sb.toString();
+    }
+
+    private String formatUtilization(ScheduleStats stats) {
+        StringBuilder sb = new StringBuilder(String.format("CPU Utilization: %.1f%%",
+                stats.getAverageUtilization() * 100));
+        if (stats.getCoreCount() > 1) {
+            for (int core = 0; core < stats.getCoreCount(); core++) {
+                sb.append(String.format("%n  CPU %d: %.1f%%", core, stats.getUtilization(core) * 100));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void showIo(ScheduleStats stats) {
+        boolean io = stats != null && stats.getIoChannels() > 0;
+        ioLabel.setVisible(io);
+        ioLabel.setManaged(io);
+        if (io) {
+            ioLabel.setText(String.format("I/O Time: %d on %d channel(s)",
+                    stats.getIoTime(), stats.getIoChannels()));
+        }
+    }
+
+    private void showDeadlines(DeadlineReport deadlines) {
+        boolean realTime = deadlines != null;
+        deadlineLabel.setVisible(realTime);
+        deadlineLabel.setManaged(realTime);
+        if (realTime) {
+            deadlineLabel.setText(String.format("Deadline Misses: %d / %d jobs, Min Slack: %d",
+                    deadlines.getMissedDeadlines(), deadlines.getReleasedJobs(), deadlines.getMinSlack()));
+        }
+    }
+
+    private void clearSummary() {
+        showLatency(null);
+        totalTimeLabel.setText("Total Time: -");
+        utilizationLabel.setText("CPU Utilization: -");
+        migrationsLabel.setText("Migrations: -");
+        switchesLabel.setText("Context Switches: -");
+        showIo(null);
+        showDeadlines(null);
     }
 
     public void clear() {
         processes.clear();
-        avgWaitingLabel.setText("Avg Waiting Time: -");
-        avgTurnaroundLabel.setText("Avg Turnaround Time: -");
-        totalTimeLabel.setText("Total Time: -");
+        clearSummary();
     }
 }
@@ -0,0 +1,169 @@
+package com.scheduler.view;
+
+import com.scheduler.metrics.LatencyHistogram;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Heads-up display of rendering performance: frame rate, frame-time and layout-time
+ * percentiles, scene-graph node count per view, the pending {@code runLater} backlog and
+ * heap usage.
+ *
+ * <p>Frames are timed with pulse listeners, which only fire when the scene changes, so an
+ * idle window shows a low frame rate rather than a slow one. Nothing is measured while the
+ * overlay is hidden.
+ */
+public class PerformanceOverlay extends VBox {
+    private static final Duration REFRESH = Duration.millis(500);
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private final Scene scene;
+    private final Map<String, Parent> views = new LinkedHashMap<>();
+    private final IntSupplier backlog;
+    private final Label text = new Label();
+    private final Timeline refresh;
+
+    // Frame interval and layout time in microseconds since the last refresh
+    private final LatencyHistogram frames = new LatencyHistogram();
+    private final LatencyHistogram layouts = new LatencyHistogram();
+    private final Runnable preLayout = this::preLayout;
+    private final Runnable postLayout = this::postLayout;
+    private long layoutStarted;
+    private long lastFrame;
+    private long windowStarted;
+    private int peakBacklog;
+
+    /**
+     * @param backlog number of {@code runLater} updates posted but not yet run
+     */
+    public PerformanceOverlay(Scene scene, IntSupplier backlog) {
+        this.scene = scene;
+        this.backlog = backlog;
+        setPadding(new Insets(8));
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        setMouseTransparent(true);
+        getStyleClass().add("performance-overlay");
+        text.getStyleClass().add("performance-overlay-text");
+        getChildren().add(text);
+
+        refresh = new Timeline(new KeyFrame(REFRESH, e -> refresh()));
+        refresh.setCycleCount(Animation.INDEFINITE);
+        setVisible(false);
+        managedProperty().bind(visibleProperty());
+        visibleProperty().addListener((obs, was, visible) -> {
+            if (visible) start(); else stop();
+        });
+    }
+
+    /**
+     * Add a view whose scene-graph nodes are counted.
+     */
+    public void addView(String name, Parent view) {
+        views.put(name, view);
+    }
+
+    private void start() {
+        frames.reset();
+        layouts.reset();
+        lastFrame = 0;
+        peakBacklog = 0;
+        windowStarted = System.nanoTime();
+        scene.addPreLayoutPulseListener(preLayout);
+        scene.addPostLayoutPulseListener(postLayout);
+        refresh();
+        refresh.play();
+    }
+
+    private void stop() {
+        refresh.stop();
+        scene.removePreLayoutPulseListener(preLayout);
+        scene.removePostLayoutPulseListener(postLayout);
+    }
+
+    private void preLayout() {
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            frames.record((now - lastFrame) / 1_000);
+        }
+        lastFrame = now;
+        layoutStarted = now;
+        peakBacklog = Math.max(peakBacklog, backlog.getAsInt());
+    }
+
+    private void postLayout() {
+        layouts.record((System.nanoTime() - layoutStarted) / 1_000);
+    }
+
+    private void refresh() {
+        long now = System.nanoTime();
+        double seconds = (now - windowStarted) / 1e9;
+        int pending = backlog.getAsInt();
+        peakBacklog = Math.max(peakBacklog, pending);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "FPS %.1f%n", seconds > 0 ? frames.getCount() / seconds : 0));
+        appendTimes(sb, "Frame ", frames);
+        appendTimes(sb, "Layout", layouts);
+        sb.append("Nodes ");
+        for (Map.Entry<String, Parent> view : views.entrySet()) {
+            sb.append(' ').append(view.getKey()).append(' ').append(countNodes(view.getValue()));
+        }
+        sb.append("  total ").append(countNodes(scene.getRoot())).append('\n');
+        sb.append("runLater backlog ").append(pending).append(" (peak ").append(peakBacklog).append(")\n");
+        MemoryUsage heap = MEMORY.getHeapMemoryUsage();
+        sb.append(String.format(Locale.ROOT, "Heap %d / %d MB", heap.getUsed() >> 20,
+                (heap.getMax() > 0 ? heap.getMax() : heap.getCommitted()) >> 20));
+        text.setText(sb.toString());
+
+        frames.reset();
+        layouts.reset();
+        peakBacklog = pending;
+        windowStarted = now;
+    }
+
+    private static void appendTimes(StringBuilder sb, String name, LatencyHistogram micros) {
+        if (micros.getCount() == 0) {
+            sb.append(name).append(" -\n");
+            return;
+        }
+        sb.append(String.format(Locale.ROOT, "%s p50 %.1f  p90 %.1f  p99 %.1f  max %.1f ms%n", name,
+                micros.getPercentile(50) / 1e3, micros.getPercentile(90) / 1e3,
+                micros.getPercentile(99) / 1e3, micros.getMax() / 1e3));
+    }
+
+    /**
+     * Number of nodes in the subtree, including the root.
+     */
+    static int countNodes(Node root) {
+        int count = 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            count++;
+            if (node instanceof Parent parent) {
+                for (Node child : parent.getChildrenUnmodifiable()) {
+                    stack.push(child);
+                }
+            }
+        }
+        return count;
+    }
+}
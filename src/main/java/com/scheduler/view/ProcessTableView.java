@@ -1,5 +1,6 @@
 package com.scheduler.view;
 
+import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -11,6 +12,7 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
 import javafx.util.converter.IntegerStringConverter;
+import javafx.util.converter.LongStringConverter;
 
 /**
  * Custom component for editing process list in a table.
@@ -18,6 +20,7 @@ import javafx.util.converter.IntegerStringConverter;
 public class ProcessTableView extends BorderPane {
     private TableView<ProcessModel> table;
     private ObservableList<ProcessModel> processes;
+    private Runnable onEdit;
 
     public ProcessTableView() {
         processes = FXCollections.observableArrayList();
@@ -34,31 +37,83 @@ public class ProcessTableView extends BorderPane {
         TableColumn<ProcessModel, String> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
         idCol.setCellFactory(TextFieldTableCell.forTableColumn());
-        idCol.setOnEditCommit(event -> event.getRowValue().setId(event.getNewValue()));
+        idCol.setOnEditCommit(event -> {
+            if (GanttSegment.isReservedPid(event.getNewValue())) {
+                // "idle" and "switch" name the CPU's own segments; keep the previous id
+                table.refresh();
+                return;
+            }
+            event.getRowValue().setId(event.getNewValue());
+            notifyEdited();
+        });
         idCol.setPrefWidth(60);
 
         // Arrival column
-        TableColumn<ProcessModel, Integer> arrivalCol = new TableColumn<>("Arrival");
+        TableColumn<ProcessModel, Long> arrivalCol = new TableColumn<>("Arrival");
         arrivalCol.setCellValueFactory(new PropertyValueFactory<>("arrival"));
-        arrivalCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
-        arrivalCol.setOnEditCommit(event -> event.getRowValue().setArrival(event.getNewValue()));
+        arrivalCol.setCellFactory(TextFieldTableCell.forTableColumn(new LongStringConverter()));
+        arrivalCol.setOnEditCommit(event -> {
+            event.getRowValue().setArrival(event.getNewValue());
+            notifyEdited();
+        });
         arrivalCol.setPrefWidth(70);
 
         // Burst column
         TableColumn<ProcessModel, Integer> burstCol = new TableColumn<>("Burst");
         burstCol.setCellValueFactory(new PropertyValueFactory<>("burst"));
         burstCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
-        burstCol.setOnEditCommit(event -> event.getRowValue().setBurst(event.getNewValue()));
+        burstCol.setOnEditCommit(event -> {
+            event.getRowValue().setBurst(event.getNewValue());
+            table.refresh();
+            notifyEdited();
+        });
         burstCol.setPrefWidth(70);
 
+        // Bursts column: alternating CPU and I/O bursts, e.g. "4,2,3"
+        TableColumn<ProcessModel, String> cycleCol = new TableColumn<>("Bursts");
+        cycleCol.setCellValueFactory(new PropertyValueFactory<>("burstCycle"));
+        cycleCol.setCellFactory(TextFieldTableCell.forTableColumn());
+        cycleCol.setOnEditCommit(event -> {
+            try {
+                event.getRowValue().setBurstCycle(event.getNewValue());
+            } catch (IllegalArgumentException e) {
+                // Keep the previous cycle on malformed input
+            }
+            table.refresh();
+            notifyEdited();
+        });
+        cycleCol.setPrefWidth(90);
+
         // Priority column
         TableColumn<ProcessModel, Integer> priorityCol = new TableColumn<>("Priority");
         priorityCol.setCellValueFactory(new PropertyValueFactory<>("priority"));
         priorityCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
-        priorityCol.setOnEditCommit(event -> event.getRowValue().setPriority(event.getNewValue()));
+        priorityCol.setOnEditCommit(event -> {
+            event.getRowValue().setPriority(event.getNewValue());
+            notifyEdited();
+        });
         priorityCol.setPrefWidth(70);
 
-        table.getColumns().addAll(idCol, arrivalCol, burstCol, priorityCol);
+        // Period and deadline columns (for real-time schedulers)
+        TableColumn<ProcessModel, Integer> periodCol = new TableColumn<>("Period");
+        periodCol.setCellValueFactory(new PropertyValueFactory<>("period"));
+        periodCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
+        periodCol.setOnEditCommit(event -> {
+            event.getRowValue().setPeriod(event.getNewValue());
+            notifyEdited();
+        });
+        periodCol.setPrefWidth(60);
+
+        TableColumn<ProcessModel, Integer> deadlineCol = new TableColumn<>("Deadline");
+        deadlineCol.setCellValueFactory(new PropertyValueFactory<>("deadline"));
+        deadlineCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
+        deadlineCol.setOnEditCommit(event -> {
+            event.getRowValue().setDeadline(event.getNewValue());
+            notifyEdited();
+        });
+        deadlineCol.setPrefWidth(60);
+
+        table.getColumns().addAll(idCol, arrivalCol, burstCol, cycleCol, priorityCol, periodCol, deadlineCol);
         
         setCenter(table);
     }
@@ -71,6 +126,20 @@ public class ProcessTableView extends BorderPane {
         ProcessModel selected = table.getSelectionModel().getSelectedItem();
         if (selected != null) {
             processes.remove(selected);
+            notifyEdited();
+        }
+    }
+
+    /**
+     * Set a callback invoked after a cell edit is committed or a process is removed.
+     */
+    public void setOnEdit(Runnable callback) {
+        this.onEdit = callback;
+    }
+
+    private void notifyEdited() {
+        if (onEdit != null) {
+            onEdit.run();
         }
     }
 
@@ -0,0 +1,541 @@
+package com.scheduler.workload;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming importer for kernel scheduler traces: ftrace text output with the
+ * {@code sched_switch} and {@code sched_wakeup} events, and {@code perf sched script}
+ * output in either its compact or its raw field format.
+ *
+ * <p>Each task becomes a process that arrives when it first wakes. Its CPU bursts are
+ * its run time between blocking, with preemptions folded in. Its I/O bursts are the
+ * time it spent blocked. The runs themselves form a reference schedule, one lane per
+ * CPU, for comparing the real scheduler with the simulated ones.
+ *
+ * <p>The trace is read once through a fixed buffer and parsed as bytes. A process is
+ * handed to the process sink as soon as it exits, or once its burst cycle reaches
+ * {@link #setMaxBursts(int) maxBursts}, in which case its later activity continues as
+ * a new process. Reference segments go to their sink as they end. Memory therefore
+ * depends on the number of distinct tasks, not on the length of the trace.
+ */
+public final class TraceImporter {
+    private static final byte[] SWITCH = "sched_switch:".getBytes();
+    private static final byte[] WAKEUP = "sched_wakeup".getBytes();
+    private static final byte[] ARROW = " ==> ".getBytes();
+    private static final byte[] PREV_PID = "prev_pid=".getBytes();
+    private static final byte[] PREV_STATE = "prev_state=".getBytes();
+    private static final byte[] NEXT_PID = "next_pid=".getBytes();
+    private static final byte[] NEXT_COMM = "next_comm=".getBytes();
+    private static final byte[] PREV_COMM = "prev_comm=".getBytes();
+    private static final byte[] COMM = "comm=".getBytes();
+    private static final byte[] PID = " pid=".getBytes();
+
+    private enum State { RUNNING, RUNNABLE, BLOCKED }
+
+    private final Consumer<ProcessModel> processSink;
+    private final Consumer<GanttSegment> referenceSink;
+    private final Map<Integer, Task> tasks = new HashMap<>();
+    private long timeUnitNanos = 1000;
+    private int maxBursts = 1025;
+
+    private long firstTimestamp = -1;
+    private long lastTime;
+    private long[] cpuSince = new long[0];
+    private int[] cpuPid = new int[0];
+    private long lines;
+    private long events;
+    private long skipped;
+    private long processCount;
+
+    /**
+     * @param processSink   receives each imported process once its activity is known
+     * @param referenceSink receives the runs and idle time of every CPU as in the trace
+     */
+    public TraceImporter(Consumer<ProcessModel> processSink, Consumer<GanttSegment> referenceSink) {
+        this.processSink = processSink;
+        this.referenceSink = referenceSink;
+    }
+
+    /**
+     * Length of one time unit in nanoseconds (default 1000, so times are in microseconds).
+     */
+    public void setTimeUnitNanos(long timeUnitNanos) {
+        if (timeUnitNanos < 1) throw new IllegalArgumentException("Time unit must be positive: " + timeUnitNanos);
+        this.timeUnitNanos = timeUnitNanos;
+    }
+
+    /**
+     * Longest burst cycle kept for one process; must be odd, as cycles end with a CPU burst.
+     */
+    public void setMaxBursts(int maxBursts) {
+        if (maxBursts < 1 || maxBursts % 2 == 0) {
+            throw new IllegalArgumentException("maxBursts must be a positive odd number: " + maxBursts);
+        }
+        this.maxBursts = maxBursts;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Scheduler events parsed, out of {@link #getLines()} lines.
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Tasks dropped because they never ran within the trace.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getProcessCount() {
+        return processCount;
+    }
+
+    /**
+     * Import a whole trace file into memory, for traces small enough to hold.
+     */
+    public static Result importFile(Path file) throws IOException {
+        List<ProcessModel> processes = new ArrayList<>();
+        List<GanttSegment> reference = new ArrayList<>();
+        TraceImporter importer = new TraceImporter(processes::add, reference::add);
+        try (InputStream in = Files.newInputStream(file)) {
+            importer.read(in);
+        }
+        importer.finish();
+        return new Result(processes, reference);
+    }
+
+    public record Result(List<ProcessModel> processes, List<GanttSegment> reference) {
+    }
+
+    /**
+     * Parse every line of the stream. May be called again to continue with a later part of the same trace.
+     */
+    public void read(InputStream in) throws IOException {
+        byte[] buf = new byte[1 << 20];
+        int end = 0;
+        while (true) {
+            int n = in.read(buf, end, buf.length - end);
+            if (n < 0) break;
+            int lineStart = 0;
+            for (int i = end; i < end + n; i++) {
+                if (buf[i] == '\n') {
+                    parseLine(buf, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            end += n;
+            // Keep the partial last line, growing the buffer if a single line fills it
+            int partial = end - lineStart;
+            if (partial == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            } else {
+                System.arraycopy(buf, lineStart, buf, 0, partial);
+            }
+            end = partial;
+        }
+        if (end > 0) parseLine(buf, 0, end);
+    }
+
+    /**
+     * Close every task still live at the end of the trace and hand it on.
+     */
+    public void finish() {
+        for (int cpu = 0; cpu < cpuPid.length; cpu++) {
+            if (cpuSince[cpu] < 0) continue;
+            Task task = cpuPid[cpu] == 0 ? null : tasks.get(cpuPid[cpu]);
+            emitRun(cpu, task, lastTime);
+            if (task != null) task.cpu += lastTime - cpuSince[cpu];
+            cpuSince[cpu] = -1;
+        }
+        for (Task task : tasks.values()) {
+            if (task.open) emitProcess(task, task.state != State.BLOCKED);
+        }
+        tasks.clear();
+    }
+
+    private void parseLine(byte[] b, int from, int to) {
+        lines++;
+        if (to > from && b[to - 1] == '\r') to--;
+        int event = indexOf(b, from, to, SWITCH);
+        boolean isSwitch = event >= 0;
+        if (!isSwitch) {
+            event = indexOf(b, from, to, WAKEUP);
+            if (event < 0) return;
+        }
+        int cpu = cpuBefore(b, from, event);
+        long time = timeBefore(b, from, event);
+        if (cpu < 0 || time < 0) return;
+        events++;
+
+        int payload = isSwitch ? event + SWITCH.length : indexOf(b, event, to, (byte) ':') + 1;
+        if (payload <= 0) return;
+        if (isSwitch) {
+            parseSwitch(b, payload, to, cpu, time);
+        } else {
+            parseWakeup(b, payload, to, time);
+        }
+    }
+
+    private void parseSwitch(byte[] b, int from, int to, int cpu, long time) {
+        int arrow = indexOf(b, from, to, ARROW);
+        if (arrow < 0) return;
+        int prevPid;
+        char prevState;
+        int nextPid;
+        String nextComm;
+        String prevComm;
+        int field = indexOf(b, from, arrow, PREV_PID);
+        if (field >= 0) {
+            // Raw format: prev_comm=.. prev_pid=.. prev_prio=.. prev_state=.. ==> next_comm=.. next_pid=..
+            prevPid = (int) parseLong(b, field + PREV_PID.length, arrow);
+            int state = indexOf(b, from, arrow, PREV_STATE);
+            prevState = state < 0 ? 'R' : (char) b[state + PREV_STATE.length];
+            int nextPidAt = indexOf(b, arrow, to, NEXT_PID);
+            if (nextPidAt < 0) return;
+            nextPid = (int) parseLong(b, nextPidAt + NEXT_PID.length, to);
+            prevComm = between(b, indexOf(b, from, arrow, PREV_COMM), PREV_COMM.length, field);
+            nextComm = between(b, indexOf(b, arrow, to, NEXT_COMM), NEXT_COMM.length, nextPidAt);
+        } else {
+            // Compact format: comm:pid [prio] state ==> comm:pid [prio]
+            int prevBracket = lastIndexOf(b, from, arrow, (byte) '[');
+            int nextBracket = lastIndexOf(b, arrow, to, (byte) '[');
+            if (prevBracket < 0 || nextBracket < 0) return;
+            int prevColon = lastIndexOf(b, from, prevBracket, (byte) ':');
+            int nextColon = lastIndexOf(b, arrow, nextBracket, (byte) ':');
+            if (prevColon < 0 || nextColon < 0) return;
+            prevPid = (int) parseLong(b, prevColon + 1, prevBracket);
+            nextPid = (int) parseLong(b, nextColon + 1, nextBracket);
+            int close = indexOf(b, prevBracket, arrow, (byte) ']');
+            int state = skipSpaces(b, close + 1, arrow);
+            prevState = state < arrow ? (char) b[state] : 'R';
+            prevComm = text(b, skipSpaces(b, from, prevColon), prevColon);
+            nextComm = text(b, arrow + ARROW.length, nextColon);
+        }
+
+        ensureCpu(cpu);
+        if (cpuSince[cpu] >= 0) {
+            Task prev = prevPid == 0 ? null : taskFor(prevPid, prevComm, 0);
+            emitRun(cpu, prev, time);
+            if (prev != null) switchOut(prev, prevState, time - cpuSince[cpu], time);
+        } else if (prevPid != 0) {
+            // First event on this CPU: running since its wakeup, or since before the trace started
+            Task prev = taskFor(prevPid, prevComm, 0);
+            long since = prev.state == State.RUNNABLE ? prev.since : 0;
+            emitRun(cpu, prev, time, since);
+            switchOut(prev, prevState, time - since, time);
+        }
+
+        cpuSince[cpu] = time;
+        cpuPid[cpu] = nextPid;
+        if (nextPid != 0) {
+            Task next = taskFor(nextPid, nextComm, time);
+            if (next.state == State.BLOCKED) {
+                // Its wakeup is not in the trace
+                next.addIo(time - next.since);
+            }
+            next.state = State.RUNNING;
+            next.since = time;
+        }
+        lastTime = Math.max(lastTime, time);
+    }
+
+    private void parseWakeup(byte[] b, int from, int to, long time) {
+        int pid;
+        String comm;
+        int field = indexOf(b, from, to, PID);
+        if (field >= 0) {
+            // Raw format: comm=.. pid=.. prio=.. target_cpu=..
+            pid = (int) parseLong(b, field + PID.length, to);
+            comm = between(b, indexOf(b, from, field, COMM), COMM.length, field);
+        } else {
+            // Compact format: comm:pid [prio] ... CPU:nnn
+            int bracket = indexOf(b, from, to, (byte) '[');
+            if (bracket < 0) return;
+            int colon = lastIndexOf(b, from, bracket, (byte) ':');
+            if (colon < 0) return;
+            pid = (int) parseLong(b, colon + 1, bracket);
+            comm = text(b, skipSpaces(b, from, colon), colon);
+        }
+        if (pid <= 0) return;
+
+        Task task = taskFor(pid, comm, time);
+        if (task.state == State.BLOCKED) {
+            task.addIo(time - task.since);
+            task.state = State.RUNNABLE;
+            task.since = time;
+        }
+        lastTime = Math.max(lastTime, time);
+    }
+
+    /**
+     * Task for the pid, starting a new process if it has none open. A new process arrives at {@code time}.
+     */
+    private Task taskFor(int pid, String comm, long time) {
+        Task task = tasks.get(pid);
+        if (task == null) {
+            task = new Task(pid);
+            tasks.put(pid, task);
+        }
+        if (!task.open) {
+            // A reused pid or an exec may have renamed the task
+            if (comm != null) task.comm = comm;
+            task.open = true;
+            task.episode++;
+            task.arrival = time;
+            task.cycleLength = 0;
+            task.cpu = 0;
+            task.ran = false;
+            task.state = State.RUNNABLE;
+            task.since = time;
+        }
+        return task;
+    }
+
+    private void switchOut(Task task, char state, long ran, long time) {
+        task.cpu += ran;
+        task.ran = true;
+        task.since = time;
+        if (state == 'R') {
+            task.state = State.RUNNABLE;
+            return;
+        }
+        task.state = State.BLOCKED;
+        if (state == 'X' || state == 'Z' || state == 'x') {
+            emitProcess(task, true);
+        } else if (task.cycleLength + 1 >= maxBursts) {
+            emitProcess(task, true);
+        } else {
+            task.addCpu(task.cpu);
+            task.cpu = 0;
+        }
+    }
+
+    private void emitRun(int cpu, Task task, long time) {
+        emitRun(cpu, task, time, cpuSince[cpu]);
+    }
+
+    private void emitRun(int cpu, Task task, long time, long since) {
+        if (time <= since) return;
+        referenceSink.accept(new GanttSegment(task == null ? "idle" : task.id(), since, time, cpu));
+    }
+
+    /**
+     * Hand on the task's open process and close it.
+     *
+     * @param withCurrentBurst whether the CPU time since the last block is a final burst
+     */
+    private void emitProcess(Task task, boolean withCurrentBurst) {
+        task.open = false;
+        if (withCurrentBurst && task.cpu > 0) {
+            task.addCpu(task.cpu);
+        }
+        if (task.cycleLength % 2 == 0 && task.cycleLength > 0) {
+            // Ends on an I/O burst that was never followed by more CPU time
+            task.cycleLength--;
+        }
+        if (!task.ran || task.cycleLength == 0) {
+            skipped++;
+            return;
+        }
+
+        List<Integer> cycle = new ArrayList<>(task.cycleLength);
+        for (int i = 0; i < task.cycleLength; i++) {
+            cycle.add(task.cycle[i]);
+        }
+        ProcessModel process = new ProcessModel(task.id(), task.arrival, cycle.get(0), 0);
+        process.setBursts(cycle);
+        processCount++;
+        processSink.accept(process);
+    }
+
+    private void ensureCpu(int cpu) {
+        if (cpu < cpuSince.length) return;
+        int old = cpuSince.length;
+        cpuSince = Arrays.copyOf(cpuSince, cpu + 1);
+        cpuPid = Arrays.copyOf(cpuPid, cpu + 1);
+        Arrays.fill(cpuSince, old, cpu + 1, -1);
+    }
+
+    /**
+     * CPU number from the "[nnn]" field before the event name, or -1.
+     */
+    private static int cpuBefore(byte[] b, int from, int event) {
+        int close = lastIndexOf(b, from, event, (byte) ']');
+        // Skip the "[prio]" of perf's compact format, which can only follow the event name
+        while (close >= 0) {
+            int open = lastIndexOf(b, from, close, (byte) '[');
+            if (open < 0) return -1;
+            long cpu = parseLong(b, open + 1, close);
+            if (cpu >= 0) return (int) cpu;
+            close = lastIndexOf(b, from, open, (byte) ']');
+        }
+        return -1;
+    }
+
+    /**
+     * Timestamp "secs.frac:" before the event name, in time units since the first event, or -1.
+     */
+    private long timeBefore(byte[] b, int from, int event) {
+        int i = event - 1;
+        // Step back over "sched:" of perf output and the spaces before the event name
+        while (i >= from && b[i] != ' ') i--;
+        while (i >= from && b[i] == ' ') i--;
+        if (i < from || b[i] != ':') return -1;
+        int end = i;
+        while (i > from && b[i - 1] != ' ') i--;
+
+        long seconds = 0;
+        long nanos = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (int k = i; k < end; k++) {
+            byte c = b[k];
+            if (c == '.') {
+                fraction = true;
+            } else if (c >= '0' && c <= '9') {
+                if (!fraction) {
+                    seconds = seconds * 10 + (c - '0');
+                } else if (scale < 9) {
+                    nanos = nanos * 10 + (c - '0');
+                    scale++;
+                }
+            } else {
+                return -1;
+            }
+        }
+        for (; scale < 9; scale++) nanos *= 10;
+        long timestamp = seconds * 1_000_000_000L + nanos;
+        if (firstTimestamp < 0) firstTimestamp = timestamp;
+        return Math.max(0, (timestamp - firstTimestamp) / timeUnitNanos);
+    }
+
+    private static int indexOf(byte[] b, int from, int to, byte[] pattern) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int k = 0; k < pattern.length; k++) {
+                if (b[i + k] != pattern[k]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] b, int from, int to, byte c) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] b, int from, int to, byte c) {
+        for (int i = to - 1; i >= from; i--) {
+            if (b[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static int skipSpaces(byte[] b, int from, int to) {
+        while (from < to && b[from] == ' ') from++;
+        return from;
+    }
+
+    /**
+     * Leading decimal number in the range, ignoring leading spaces, or -1 if there is none.
+     */
+    private static long parseLong(byte[] b, int from, int to) {
+        int i = skipSpaces(b, from, to);
+        long value = 0;
+        int digits = 0;
+        while (i < to && b[i] >= '0' && b[i] <= '9') {
+            value = value * 10 + (b[i++] - '0');
+            digits++;
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    private static String text(byte[] b, int from, int to) {
+        while (to > from && b[to - 1] == ' ') to--;
+        return from >= to ? null : new String(b, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Value of a "key=value" field that runs up to the next field at {@code next}.
+     */
+    private static String between(byte[] b, int key, int keyLength, int next) {
+        return key < 0 || key + keyLength > next ? null : text(b, key + keyLength, next);
+    }
+
+    private static final class Task {
+        final int pid;
+        String comm = "pid";
+        int episode;
+        boolean open;
+        boolean ran;
+        long arrival;
+        State state = State.RUNNABLE;
+        long since;
+        long cpu;
+        int[] cycle = new int[4];
+        int cycleLength;
+
+        Task(int pid) {
+            this.pid = pid;
+        }
+
+        String id() {
+            return episode <= 1 ? comm + "-" + pid : comm + "-" + pid + "#" + episode;
+        }
+
+        /**
+         * Append a CPU burst of at least one unit, so the process does not vanish from
+         * the schedule. Lost events can report two in a row, which are then merged.
+         */
+        void addCpu(long length) {
+            if (cycleLength % 2 == 1) {
+                cycle[cycleLength - 1] = clamp(cycle[cycleLength - 1] + Math.max(0, length));
+            } else {
+                append(Math.max(1, length));
+            }
+        }
+
+        /**
+         * Append an I/O burst, merging it into a previous one; one before any CPU time is dropped.
+         */
+        void addIo(long length) {
+            if (cycleLength == 0) return;
+            if (cycleLength % 2 == 0) {
+                cycle[cycleLength - 1] = clamp(cycle[cycleLength - 1] + Math.max(0, length));
+            } else {
+                append(Math.max(0, length));
+            }
+        }
+
+        private void append(long length) {
+            if (cycleLength == cycle.length) cycle = Arrays.copyOf(cycle, cycleLength * 2);
+            cycle[cycleLength++] = clamp(length);
+        }
+
+        private static int clamp(long length) {
+            return (int) Math.min(Integer.MAX_VALUE, length);
+        }
+    }
+}
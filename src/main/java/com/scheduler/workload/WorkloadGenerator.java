@@ -0,0 +1,311 @@
+package com.scheduler.workload;
+
+import com.scheduler.model.ProcessModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.IntConsumer;
+
+/**
+ * Seeded generator of synthetic workloads following a {@link WorkloadSpec}.
+ *
+ * <p>Processes are generated in fixed-size chunks, each drawing from its own
+ * {@link SplittableRandom} split off the seeded root in chunk order. Chunks are filled
+ * in parallel, then handed on in order with their arrival times shifted to follow the
+ * previous chunk, so the output depends only on the seed and the spec, not on the
+ * number of threads. At most two chunks per thread are held at once, so any number of
+ * processes streams in constant memory.
+ *
+ * <p>Arrival gaps are exponential, so chunks join seamlessly for Poisson arrivals. An
+ * MMPP chunk starts in a state drawn from the chain's stationary distribution.
+ */
+public final class WorkloadGenerator {
+    static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Receives generated processes in index order.
+     */
+    @FunctionalInterface
+    public interface ProcessSink {
+        void accept(long index, long arrival, int burst, int priority);
+    }
+
+    private final WorkloadSpec spec;
+    private final int chunkSize;
+    private final double[] priorityCdf;
+
+    public WorkloadGenerator(WorkloadSpec spec) {
+        this(spec, DEFAULT_CHUNK_SIZE);
+    }
+
+    WorkloadGenerator(WorkloadSpec spec, int chunkSize) {
+        this.spec = spec;
+        this.chunkSize = chunkSize;
+        this.priorityCdf = zipfCdf(spec.getPriorities(), spec.getZipf());
+    }
+
+    /**
+     * ID of the process with the given index, e.g. "P1" for index 0.
+     */
+    public static String id(long index) {
+        return "P" + (index + 1);
+    }
+
+    /**
+     * Stream {@code count} processes into the sink in index order.
+     */
+    public void generate(long count, ProcessSink sink) {
+        run(count, false, chunk -> {
+            for (int i = 0; i < chunk.size; i++) {
+                sink.accept(chunk.first + i, chunk.arrival(i), chunk.burst[i], chunk.priority[i]);
+            }
+        });
+    }
+
+    /**
+     * Generate {@code count} processes in memory, ready to schedule.
+     */
+    public List<ProcessModel> generate(int count) {
+        List<ProcessModel> processes = new ArrayList<>(count);
+        generate(count, (index, arrival, burst, priority) ->
+                processes.add(new ProcessModel(id(index), arrival, burst, priority)));
+        return processes;
+    }
+
+    /**
+     * Write {@code count} processes as a JSON array that {@code JsonIO} can import.
+     * Chunks are also formatted in parallel, so this is bound by the output stream.
+     */
+    public void writeJson(long count, OutputStream out) throws IOException {
+        out.write('[');
+        try {
+            run(count, true, chunk -> {
+                try {
+                    out.write(chunk.text, 0, chunk.textLength);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write("\n]\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private interface ChunkConsumer {
+        void accept(Chunk chunk);
+    }
+
+    private void run(long count, boolean format, ChunkConsumer consumer) {
+        int threads = spec.getThreads();
+        Chunk[] chunks = new Chunk[2 * threads];
+        SplittableRandom root = new SplittableRandom(spec.getSeed());
+        ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads, daemonThreads()) : null;
+        try {
+            long next = 0;
+            double offset = 0;
+            while (next < count) {
+                int batch = 0;
+                while (batch < chunks.length && next < count) {
+                    if (chunks[batch] == null) {
+                        chunks[batch] = new Chunk((int) Math.min(chunkSize, count));
+                    }
+                    int size = (int) Math.min(chunkSize, count - next);
+                    chunks[batch++].reset(next, size, root.split());
+                    next += size;
+                }
+
+                forEach(pool, batch, i -> chunks[i].fill());
+                for (int i = 0; i < batch; i++) {
+                    chunks[i].offset = offset;
+                    offset += chunks[i].duration;
+                }
+                if (format) {
+                    forEach(pool, batch, i -> chunks[i].format());
+                }
+                for (int i = 0; i < batch; i++) {
+                    consumer.accept(chunks[i]);
+                }
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    private static void forEach(ExecutorService pool, int count, IntConsumer task) {
+        if (pool == null || count == 1) {
+            for (int i = 0; i < count; i++) task.accept(i);
+            return;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures[i] = CompletableFuture.runAsync(() -> task.accept(index), pool);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "workload-generator");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static double[] zipfCdf(int levels, double exponent) {
+        double[] cdf = new double[levels];
+        double total = 0;
+        for (int k = 1; k <= levels; k++) {
+            total += 1.0 / Math.pow(k, exponent);
+            cdf[k - 1] = total;
+        }
+        for (int k = 0; k < levels; k++) {
+            cdf[k] /= total;
+        }
+        cdf[levels - 1] = 1.0;
+        return cdf;
+    }
+
+    /**
+     * A run of consecutive processes, with arrival times relative to the chunk start
+     * until {@link #offset} is known.
+     */
+    private final class Chunk {
+        final double[] time;
+        final int[] burst;
+        final int[] priority;
+        long first;
+        int size;
+        SplittableRandom random;
+        double duration;
+        double offset;
+        byte[] text = new byte[0];
+        int textLength;
+
+        Chunk(int capacity) {
+            time = new double[capacity];
+            burst = new int[capacity];
+            priority = new int[capacity];
+        }
+
+        void reset(long first, int size, SplittableRandom random) {
+            this.first = first;
+            this.size = size;
+            this.random = random;
+        }
+
+        long arrival(int i) {
+            return (long) (offset + time[i]);
+        }
+
+        void fill() {
+            boolean mmpp = spec.getArrivals() == WorkloadSpec.Arrivals.MMPP;
+            double calmRate = spec.getRate();
+            double burstRate = spec.getRate() * spec.getBurstFactor();
+            double calmLength = spec.getCalmLength();
+            double burstLength = spec.getBurstLength();
+
+            boolean bursty = mmpp && random.nextDouble() < burstLength / (calmLength + burstLength);
+            double dwell = mmpp ? random.nextExponential() * (bursty ? burstLength : calmLength) : 0;
+            double clock = 0;
+            for (int i = 0; i < size; i++) {
+                double gap = random.nextExponential() / (bursty ? burstRate : calmRate);
+                if (mmpp) {
+                    // Exponential gaps are memoryless, so a gap cut short by a state change restarts
+                    while (gap > dwell) {
+                        clock += dwell;
+                        bursty = !bursty;
+                        dwell = random.nextExponential() * (bursty ? burstLength : calmLength);
+                        gap = random.nextExponential() / (bursty ? burstRate : calmRate);
+                    }
+                    dwell -= gap;
+                }
+                clock += gap;
+                time[i] = clock;
+                burst[i] = nextBurst();
+                priority[i] = nextPriority();
+            }
+            duration = clock;
+        }
+
+        private int nextBurst() {
+            double mean = spec.getMeanBurst();
+            double value = switch (spec.getBursts()) {
+                case EXPONENTIAL -> mean * random.nextExponential();
+                case LOGNORMAL -> {
+                    double sigma = spec.getSigma();
+                    yield Math.exp(Math.log(mean) - sigma * sigma / 2 + sigma * random.nextGaussian());
+                }
+                case PARETO -> {
+                    double alpha = spec.getAlpha();
+                    double scale = mean * (alpha - 1) / alpha;
+                    yield scale / Math.pow(1 - random.nextDouble(), 1 / alpha);
+                }
+            };
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.round(value)));
+        }
+
+        private int nextPriority() {
+            int level = Arrays.binarySearch(priorityCdf, random.nextDouble());
+            return (level < 0 ? -level - 1 : level) + 1;
+        }
+
+        /**
+         * Format the chunk as JSON array elements, comma-separated from the previous chunk.
+         */
+        void format() {
+            textLength = 0;
+            for (int i = 0; i < size; i++) {
+                append(first + i == 0 ? "\n  {\"id\": \"P" : ",\n  {\"id\": \"P");
+                append(first + i + 1);
+                append("\", \"arrival\": ");
+                append(arrival(i));
+                append(", \"burst\": ");
+                append(burst[i]);
+                append(", \"priority\": ");
+                append(priority[i]);
+                append("}");
+            }
+        }
+
+        private void append(String s) {
+            ensure(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                text[textLength++] = (byte) s.charAt(i);
+            }
+        }
+
+        private void append(long value) {
+            ensure(20);
+            if (value == 0) {
+                text[textLength++] = '0';
+                return;
+            }
+            int end = textLength + 20;
+            int pos = end;
+            for (long v = value; v > 0; v /= 10) {
+                text[--pos] = (byte) ('0' + v % 10);
+            }
+            System.arraycopy(text, pos, text, textLength, end - pos);
+            textLength += end - pos;
+        }
+
+        private void ensure(int extra) {
+            if (textLength + extra > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + extra + 64));
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.scheduler.workload;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shape of a synthetic workload: how processes arrive, how long their bursts are and
+ * how their priorities are spread. Every setting has a default, so an empty spec is a
+ * Poisson stream of exponential bursts.
+ *
+ * <p>Settings, as accepted by {@link #fromParams(Map)}:
+ * <ul>
+ *   <li>{@code seed} - RNG seed; the same seed always gives the same workload (default 1)</li>
+ *   <li>{@code arrivals} - {@code poisson} or {@code mmpp} (default poisson)</li>
+ *   <li>{@code rate} - mean arrivals per time unit, in the calm state for MMPP (default 0.1)</li>
+ *   <li>{@code burstFactor} - MMPP arrival rate multiplier in the bursty state (default 10)</li>
+ *   <li>{@code calmLength}, {@code burstLength} - MMPP mean time spent in each state (default 1000, 100)</li>
+ *   <li>{@code bursts} - {@code exponential}, {@code lognormal} or {@code pareto} (default exponential)</li>
+ *   <li>{@code meanBurst} - mean CPU burst (default 8)</li>
+ *   <li>{@code sigma} - lognormal shape (default 1)</li>
+ *   <li>{@code alpha} - Pareto shape, above 1 so the mean exists (default 2.5)</li>
+ *   <li>{@code priorities} - number of priority levels, 1 being the most common (default 5)</li>
+ *   <li>{@code zipf} - Zipf exponent of the priority levels (default 1)</li>
+ *   <li>{@code threads} - generator threads (default: available processors)</li>
+ * </ul>
+ */
+public final class WorkloadSpec {
+
+    public enum Arrivals {
+        POISSON,
+        MMPP
+    }
+
+    public enum Bursts {
+        EXPONENTIAL,
+        LOGNORMAL,
+        PARETO
+    }
+
+    private long seed = 1;
+    private Arrivals arrivals = Arrivals.POISSON;
+    private double rate = 0.1;
+    private double burstFactor = 10;
+    private double calmLength = 1000;
+    private double burstLength = 100;
+    private Bursts bursts = Bursts.EXPONENTIAL;
+    private double meanBurst = 8;
+    private double sigma = 1;
+    private double alpha = 2.5;
+    private int priorities = 5;
+    private double zipf = 1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Spec from {@code key=value} settings; values may be strings or numbers.
+     */
+    public static WorkloadSpec fromParams(Map<String, ?> params) {
+        WorkloadSpec spec = new WorkloadSpec();
+        for (Map.Entry<String, ?> entry : params.entrySet()) {
+            String value = String.valueOf(entry.getValue()).trim();
+            switch (entry.getKey()) {
+                case "seed" -> spec.setSeed(Long.parseLong(value));
+                case "arrivals" -> spec.setArrivals(Arrivals.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "rate" -> spec.setRate(Double.parseDouble(value));
+                case "burstFactor" -> spec.setBurstFactor(Double.parseDouble(value));
+                case "calmLength" -> spec.setCalmLength(Double.parseDouble(value));
+                case "burstLength" -> spec.setBurstLength(Double.parseDouble(value));
+                case "bursts" -> spec.setBursts(Bursts.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "meanBurst" -> spec.setMeanBurst(Double.parseDouble(value));
+                case "sigma" -> spec.setSigma(Double.parseDouble(value));
+                case "alpha" -> spec.setAlpha(Double.parseDouble(value));
+                case "priorities" -> spec.setPriorities(Integer.parseInt(value));
+                case "zipf" -> spec.setZipf(Double.parseDouble(value));
+                case "threads" -> spec.setThreads(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unknown workload setting: " + entry.getKey());
+            }
+        }
+        return spec;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Arrivals getArrivals() {
+        return arrivals;
+    }
+
+    public void setArrivals(Arrivals arrivals) {
+        this.arrivals = arrivals;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        requirePositive("rate", rate);
+        this.rate = rate;
+    }
+
+    public double getBurstFactor() {
+        return burstFactor;
+    }
+
+    public void setBurstFactor(double burstFactor) {
+        requirePositive("burstFactor", burstFactor);
+        this.burstFactor = burstFactor;
+    }
+
+    public double getCalmLength() {
+        return calmLength;
+    }
+
+    public void setCalmLength(double calmLength) {
+        requirePositive("calmLength", calmLength);
+        this.calmLength = calmLength;
+    }
+
+    public double getBurstLength() {
+        return burstLength;
+    }
+
+    public void setBurstLength(double burstLength) {
+        requirePositive("burstLength", burstLength);
+        this.burstLength = burstLength;
+    }
+
+    public Bursts getBursts() {
+        return bursts;
+    }
+
+    public void setBursts(Bursts bursts) {
+        this.bursts = bursts;
+    }
+
+    public double getMeanBurst() {
+        return meanBurst;
+    }
+
+    public void setMeanBurst(double meanBurst) {
+        requirePositive("meanBurst", meanBurst);
+        this.meanBurst = meanBurst;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    public void setSigma(double sigma) {
+        requirePositive("sigma", sigma);
+        this.sigma = sigma;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(double alpha) {
+        if (!(alpha > 1)) throw new IllegalArgumentException("alpha must be above 1: " + alpha);
+        this.alpha = alpha;
+    }
+
+    public int getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(int priorities) {
+        if (priorities < 1) throw new IllegalArgumentException("priorities must be at least 1: " + priorities);
+        this.priorities = priorities;
+    }
+
+    public double getZipf() {
+        return zipf;
+    }
+
+    public void setZipf(double zipf) {
+        if (zipf < 0) throw new IllegalArgumentException("zipf must not be negative: " + zipf);
+        this.zipf = zipf;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        this.threads = threads;
+    }
+
+    private static void requirePositive(String name, double value) {
+        if (!(value > 0)) throw new IllegalArgumentException(name + " must be positive: " + value);
+    }
+}
@@ -0,0 +1,86 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CFS scheduling algorithm.
+ */
+class CfsSchedulerTest {
+
+    @Test
+    void testEqualWeightsShareCpuFairly() {
+        CfsScheduler scheduler = new CfsScheduler();
+
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 6),
+            new ProcessModel("P2", 0, 6)
+        );
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("targetLatency", 4);
+
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+
+        // Expected: each process gets half of the 4-tick latency per turn
+        assertEquals(6, segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            assertEquals(i % 2 == 0 ? "P1" : "P2", segments.get(i).getPid());
+            assertEquals(2, segments.get(i).getDuration());
+        }
+    }
+
+    @Test
+    void testHigherWeightGetsMoreCpu() {
+        CfsScheduler scheduler = new CfsScheduler();
+
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 20, 0),
+            new ProcessModel("P2", 0, 20, 5)
+        );
+
+        List<GanttSegment> segments = scheduler.schedule(processes, null);
+
+        // Within the first 20 ticks the nice-0 process should receive the larger share
+        long p1Time = 0;
+        long p2Time = 0;
+        for (GanttSegment seg : segments) {
+            long overlap = Math.max(0, Math.min(seg.getEnd(), 20) - seg.getStart());
+            if (seg.getPid().equals("P1")) p1Time += overlap;
+            if (seg.getPid().equals("P2")) p2Time += overlap;
+        }
+        assertTrue(p1Time > 2 * p2Time, "P1=" + p1Time + " P2=" + p2Time);
+        assertEquals(40, segments.get(segments.size() - 1).getEnd());
+    }
+
+    @Test
+    void testSingleProcessRunsAsOneSegment() {
+        CfsScheduler scheduler = new CfsScheduler();
+
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 2, 10)
+        );
+
+        List<GanttSegment> segments = scheduler.schedule(processes, null);
+
+        // Expected: idle:0-2, P1:2-12
+        assertEquals(2, segments.size());
+        assertEquals("idle", segments.get(0).getPid());
+        assertEquals("P1", segments.get(1).getPid());
+        assertEquals(12, segments.get(1).getEnd());
+    }
+
+    @Test
+    void testEmptyProcessList() {
+        CfsScheduler scheduler = new CfsScheduler();
+
+        List<GanttSegment> segments = scheduler.schedule(new ArrayList<>(), null);
+
+        assertTrue(segments.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.DeadlineReport;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EDF scheduling algorithm.
+ */
+class EdfSchedulerTest {
+
+    private static ProcessModel task(String id, int wcet, int period) {
+        ProcessModel task = new ProcessModel(id, 0, wcet);
+        task.setPeriod(period);
+        return task;
+    }
+
+    @Test
+    void testFeasibleTaskSetMeetsAllDeadlines() {
+        EdfScheduler scheduler = new EdfScheduler();
+
+        // Utilization 2/5 + 4/7 = 0.97, schedulable under EDF
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 2, 5), task("T2", 4, 7));
+
+        List<GanttSegment> segments = new ArrayList<>();
+        DeadlineReport report = scheduler.simulate(tasks, null, segments::add);
+
+        assertEquals(35, report.getHorizon());
+        assertEquals(7 + 5, report.getReleasedJobs());
+        assertEquals(0, report.getMissedDeadlines());
+        assertTrue(report.getMinSlack() >= 0);
+
+        long busy = 0;
+        for (GanttSegment seg : segments) {
+            if (!seg.isIdle()) busy += seg.getDuration();
+        }
+        assertEquals(7 * 2 + 5 * 4, busy);
+    }
+
+    @Test
+    void testOverloadReportsMisses() {
+        EdfScheduler scheduler = new EdfScheduler();
+
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 3, 4), task("T2", 3, 4));
+
+        DeadlineReport report = scheduler.simulate(tasks, null, seg -> { });
+
+        assertTrue(report.getMissedDeadlines() > 0);
+    }
+
+    @Test
+    void testTasksWithIoAreRejected() {
+        ProcessModel blocking = task("T2", 2, 10);
+        blocking.setBursts(Arrays.asList(1, 3, 1));
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 1, 5), blocking);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new EdfScheduler().schedule(tasks, Map.of()));
+        assertTrue(e.getMessage().contains("T2"), e.getMessage());
+    }
+
+    @Test
+    void testLongHyperperiodStreamsSegments() {
+        EdfScheduler scheduler = new EdfScheduler();
+
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 20, 97), task("T2", 20, 89), task("T3", 20, 83));
+
+        long[] segmentCount = new long[1];
+        DeadlineReport report = scheduler.simulate(tasks, null, seg -> segmentCount[0]++);
+
+        assertEquals(97L * 89 * 83, report.getHorizon());
+        assertEquals(0, report.getMissedDeadlines());
+        assertTrue(segmentCount[0] > report.getReleasedJobs());
+    }
+
+    @Test
+    void testDeadlineBeyondPeriodIsRejected() {
+        ProcessModel task = task("T1", 1, 4);
+        task.setDeadline(5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new EdfScheduler().schedule(List.of(task), null));
+    }
+}
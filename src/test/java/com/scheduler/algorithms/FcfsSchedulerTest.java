@@ -60,6 +60,75 @@ class FcfsSchedulerTest {
         assertEquals("P2", segments.get(2).getPid());
     }
 
+    @Test
+    void testContextSwitchBetweenProcesses() {
+        FcfsScheduler scheduler = new FcfsScheduler();
+        
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 3),
+            new ProcessModel("P2", 1, 2)
+        );
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("contextSwitch", 2);
+        
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        
+        // Expected: P1:0-3, switch:3-5, P2:5-7
+        assertEquals(3, segments.size());
+        assertTrue(segments.get(1).isContextSwitch());
+        assertEquals(5, segments.get(2).getStart());
+        assertEquals(7, segments.get(2).getEnd());
+    }
+
+    @Test
+    void testIoBurstOverlapsOtherProcess() {
+        FcfsScheduler scheduler = new FcfsScheduler();
+        
+        ProcessModel p1 = new ProcessModel("P1", 0, 0);
+        p1.setBursts(Arrays.asList(2, 3, 2));
+        List<ProcessModel> processes = Arrays.asList(p1, new ProcessModel("P2", 0, 4));
+        
+        List<GanttSegment> segments = scheduler.schedule(processes, null);
+        
+        // Expected: P1:0-2, P1 I/O:2-5, P2:2-6, P1:6-8
+        List<GanttSegment> io = segments.stream().filter(GanttSegment::isIo).toList();
+        assertEquals(1, io.size());
+        assertEquals("P1", io.get(0).getPid());
+        assertEquals(2, io.get(0).getStart());
+        assertEquals(5, io.get(0).getEnd());
+        
+        List<GanttSegment> cpu = segments.stream().filter(s -> !s.isIo()).toList();
+        assertEquals(3, cpu.size());
+        assertEquals("P2", cpu.get(1).getPid());
+        assertEquals(2, cpu.get(1).getStart());
+        assertEquals("P1", cpu.get(2).getPid());
+        assertEquals(6, cpu.get(2).getStart());
+        assertEquals(8, cpu.get(2).getEnd());
+    }
+
+    @Test
+    void testIoRequestsQueueOnSingleChannel() {
+        FcfsScheduler scheduler = new FcfsScheduler();
+        
+        ProcessModel p1 = new ProcessModel("P1", 0, 0);
+        p1.setBursts(Arrays.asList(1, 4, 1));
+        ProcessModel p2 = new ProcessModel("P2", 0, 0);
+        p2.setBursts(Arrays.asList(1, 4, 1));
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("ioChannels", 1);
+        
+        List<GanttSegment> segments = scheduler.schedule(Arrays.asList(p1, p2), params);
+        
+        // P2's I/O waits for P1's to finish: P1 I/O:1-5, P2 I/O:5-9, P2 ends at 10
+        List<GanttSegment> io = segments.stream().filter(GanttSegment::isIo).toList();
+        assertEquals(2, io.size());
+        assertEquals(5, io.get(1).getStart());
+        assertEquals(9, io.get(1).getEnd());
+        assertEquals(10, segments.get(segments.size() - 1).getEnd());
+    }
+
     @Test
     void testEmptyProcessList() {
         FcfsScheduler scheduler = new FcfsScheduler();
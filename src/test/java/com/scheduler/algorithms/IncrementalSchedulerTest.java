@@ -0,0 +1,96 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resuming from a checkpoint after an edit must give the same schedule as a full run.
+ */
+class IncrementalSchedulerTest {
+
+    private static List<ProcessModel> workload(Random random, int n) {
+        List<ProcessModel> processes = new ArrayList<>();
+        int arrival = 0;
+        for (int i = 0; i < n; i++) {
+            arrival += random.nextInt(4);
+            ProcessModel p = new ProcessModel("P" + i, arrival, 1 + random.nextInt(6), random.nextInt(5));
+            if (random.nextInt(3) == 0) {
+                p.setBursts(Arrays.asList(1 + random.nextInt(4), 1 + random.nextInt(5), 1 + random.nextInt(4)));
+            }
+            processes.add(p);
+        }
+        return processes;
+    }
+
+    private static List<String> describe(List<GanttSegment> segments) {
+        List<String> out = new ArrayList<>();
+        for (GanttSegment seg : segments) {
+            out.add(seg.toString());
+        }
+        return out;
+    }
+
+    private static void assertResumeMatchesFullRun(IncrementalScheduler scheduler, Map<String, Object> params) {
+        Random random = new Random(42);
+        List<ProcessModel> processes = workload(random, 400);
+        CheckpointLog log = new CheckpointLog();
+        scheduler.schedule(processes, params, log, 0);
+        assertTrue(log.size() > 1);
+
+        for (int edit = 0; edit < 20; edit++) {
+            ProcessModel target = processes.get(random.nextInt(processes.size()));
+            long oldArrival = target.getArrival();
+            target.setArrival(Math.max(0, oldArrival + random.nextInt(11) - 5));
+            target.setBurst(1 + random.nextInt(8));
+            long changedFrom = Math.min(oldArrival, target.getArrival());
+
+            List<GanttSegment> resumed = scheduler.schedule(processes, params, log, changedFrom);
+            List<GanttSegment> full = scheduler.schedule(processes, params);
+
+            assertEquals(describe(full), describe(resumed), scheduler.getName() + " edit " + edit);
+            assertTrue(log.getResumedTime() < changedFrom || log.getResumedTime() == 0);
+        }
+    }
+
+    @Test
+    void testFcfsResumeMatchesFullRun() {
+        assertResumeMatchesFullRun(new FcfsScheduler(), Map.of("contextSwitch", 1, "ioChannels", 2));
+    }
+
+    @Test
+    void testSjfAndPriorityResumeMatchFullRun() {
+        assertResumeMatchesFullRun(new SjfScheduler(), Map.of());
+        assertResumeMatchesFullRun(new PriorityScheduler(), Map.of("contextSwitch", 2));
+    }
+
+    @Test
+    void testRrResumeMatchesFullRun() {
+        assertResumeMatchesFullRun(new RrScheduler(), Map.of("quantum", 3, "contextSwitch", 1, "ioChannels", 1));
+    }
+
+    @Test
+    void testResumeReusesPrefix() {
+        RrScheduler scheduler = new RrScheduler();
+        List<ProcessModel> processes = workload(new Random(1), 400);
+        CheckpointLog log = new CheckpointLog();
+        List<GanttSegment> before = scheduler.schedule(processes, Map.of(), log, 0);
+        
+        ProcessModel last = processes.get(processes.size() - 1);
+        last.setBurst(last.getBurst() + 3);
+        List<GanttSegment> after = scheduler.schedule(processes, Map.of(), log, last.getArrival());
+        
+        // Only the tail after the last checkpoint before the edited arrival is recomputed
+        int reused = log.getReusedSegments();
+        assertTrue(reused > 0);
+        assertTrue(log.getResumedTime() < last.getArrival());
+        assertTrue(before.get(reused - 1).getStart() < last.getArrival());
+        for (int i = 0; i < reused; i++) {
+            assertSame(before.get(i), after.get(i));
+        }
+    }
+}
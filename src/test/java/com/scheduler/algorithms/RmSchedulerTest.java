@@ -0,0 +1,59 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.DeadlineReport;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Rate-Monotonic scheduling algorithm.
+ */
+class RmSchedulerTest {
+
+    private static ProcessModel task(String id, int wcet, int period) {
+        ProcessModel task = new ProcessModel(id, 0, wcet);
+        task.setPeriod(period);
+        return task;
+    }
+
+    @Test
+    void testShorterPeriodPreempts() {
+        RmScheduler scheduler = new RmScheduler();
+
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 1, 4), task("T2", 5, 12));
+
+        List<GanttSegment> segments = scheduler.schedule(tasks, null);
+
+        // Expected: T1:0-1, T2:1-4, T1:4-5, T2:5-7, idle:7-8, T1:8-9, idle:9-12
+        assertEquals("T1", segments.get(0).getPid());
+        assertEquals("T2", segments.get(1).getPid());
+        assertEquals(4, segments.get(1).getEnd());
+        assertEquals("T1", segments.get(2).getPid());
+        assertEquals("T2", segments.get(3).getPid());
+        assertEquals(7, segments.get(3).getEnd());
+    }
+
+    @Test
+    void testRateMonotonicMissesWhereEdfDoesNot() {
+        // Utilization 0.97 exceeds the RM bound: T2 misses at t=7
+        List<ProcessModel> tasks = Arrays.asList(task("T1", 2, 5), task("T2", 4, 7));
+
+        DeadlineReport rm = new RmScheduler().simulate(tasks, null, seg -> { });
+        DeadlineReport edf = new EdfScheduler().simulate(tasks, null, seg -> { });
+
+        assertTrue(rm.getMissedDeadlines() > 0);
+        assertEquals(0, rm.getTasks().get(0).getMissed());
+        assertEquals(0, edf.getMissedDeadlines());
+    }
+
+    @Test
+    void testEmptyTaskSet() {
+        List<GanttSegment> segments = new RmScheduler().schedule(new ArrayList<>(), null);
+
+        assertTrue(segments.isEmpty());
+    }
+}
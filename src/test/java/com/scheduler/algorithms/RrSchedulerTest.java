@@ -2,6 +2,8 @@ package com.scheduler.algorithms;
 
 import com.scheduler.model.GanttSegment;
 import com.scheduler.model.ProcessModel;
+import com.scheduler.model.ScheduleStats;
+import com.scheduler.model.SegmentSink;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
@@ -41,7 +43,7 @@ class RrSchedulerTest {
         assertTrue(p1Found && p2Found && p3Found, "All processes should be scheduled");
         
         // Verify total execution time equals sum of burst times
-        int totalTime = segments.get(segments.size() - 1).getEnd();
+        long totalTime = segments.get(segments.size() - 1).getEnd();
         assertEquals(9, totalTime);
     }
 
@@ -62,6 +64,67 @@ class RrSchedulerTest {
         assertEquals(6, segments.size()); // Should alternate between P1 and P2
     }
 
+    @Test
+    void testSwitchesCountedWithoutCost() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 3),
+            new ProcessModel("P2", 0, 3)
+        );
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 1);
+
+        ScheduleStats stats = ScheduleStats.of(new RrScheduler().schedule(processes, params));
+
+        // P1 P2 P1 P2 P1 P2: five switches, none charged
+        assertEquals(5, stats.getContextSwitches());
+        assertEquals(0, stats.getSwitchOverhead());
+        assertEquals(6, stats.getMakespan());
+    }
+
+    @Test
+    void testContextSwitchOverhead() {
+        RrScheduler scheduler = new RrScheduler();
+        
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 3),
+            new ProcessModel("P2", 0, 3)
+        );
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 1);
+        params.put("contextSwitch", 1);
+        
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        ScheduleStats stats = ScheduleStats.of(segments);
+        
+        // Every alternation between P1 and P2 costs one tick
+        assertEquals(5, stats.getContextSwitches());
+        assertEquals(5, stats.getSwitchOverhead());
+        assertEquals(11, stats.getMakespan());
+        assertTrue(segments.get(1).isContextSwitch());
+    }
+
+    @Test
+    void testBlockedProcessLeavesReadyQueue() {
+        RrScheduler scheduler = new RrScheduler();
+        
+        ProcessModel p1 = new ProcessModel("P1", 0, 0);
+        p1.setBursts(Arrays.asList(3, 2, 1));
+        List<ProcessModel> processes = Arrays.asList(p1, new ProcessModel("P2", 0, 3));
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 2);
+        
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        List<String> cpu = segments.stream()
+                .filter(s -> !s.isIo())
+                .map(s -> s.getPid() + ":" + s.getStart() + "-" + s.getEnd())
+                .toList();
+        
+        // P1 blocks at 5 and wakes at 7; P2 finishes meanwhile
+        assertEquals(List.of("P1:0-2", "P2:2-4", "P1:4-5", "P2:5-6", "idle:6-7", "P1:7-8"), cpu);
+    }
+
     @Test
     void testDefaultQuantum() {
         RrScheduler scheduler = new RrScheduler();
@@ -75,4 +138,32 @@ class RrSchedulerTest {
         assertFalse(segments.isEmpty());
         assertEquals("P1", segments.get(0).getPid());
     }
+
+    @Test
+    void testSinkMatchesSegmentList() {
+        RrScheduler scheduler = new RrScheduler();
+        
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ProcessModel p = new ProcessModel("P" + i, (40 - i) % 7 * 3, 0);
+            p.setBursts(Arrays.asList(2 + i % 5, 1 + i % 3, 3));
+            processes.add(p);
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 2);
+        params.put("contextSwitch", 1);
+        params.put("ioChannels", 2);
+        
+        List<String> expected = scheduler.schedule(processes, params).stream()
+                .map(s -> s.getPid() + ":" + s.getStart() + "-" + s.getEnd() + "@" + s.getCore() + s.isIo())
+                .toList();
+        List<String> streamed = new ArrayList<>();
+        scheduler.schedule(processes, params, (process, start, end, core, io) -> {
+            String pid = process == SegmentSink.IDLE ? "idle"
+                    : process == SegmentSink.SWITCH ? "switch" : processes.get(process).getId();
+            streamed.add(pid + ":" + start + "-" + end + "@" + core + io);
+        });
+        
+        assertEquals(expected, streamed);
+    }
 }
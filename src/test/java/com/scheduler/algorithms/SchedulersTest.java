@@ -0,0 +1,128 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Schedulers are discovered as plugins, their declared parameters are checked, and
+ * they stream into a sink the same schedule they return as a list.
+ */
+class SchedulersTest {
+
+    @Test
+    void testBuiltInSchedulersAreDiscoveredInMenuOrder() {
+        assertEquals(List.of("FCFS", "Round-Robin", "SJF", "Priority", "SMP", "CFS", "EDF", "Rate-Monotonic"),
+                List.copyOf(Schedulers.create().keySet()));
+        assertInstanceOf(RrScheduler.class, Schedulers.byName("round-robin"));
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.byName("Lottery"));
+    }
+
+    @Test
+    void testMetadata() {
+        Scheduler fcfs = Schedulers.byName("FCFS");
+        assertFalse(fcfs.isPreemptive());
+        assertFalse(fcfs.supportsMulticore());
+        assertTrue(Schedulers.byName("Round-Robin").isPreemptive());
+        assertTrue(Schedulers.byName("SMP").supportsMulticore());
+        assertTrue(Schedulers.byName("SMP").getParams().contains(ParamSpec.MIGRATION_PENALTY));
+    }
+
+    @Test
+    void testValidateConvertsAndRejects() {
+        Scheduler smp = Schedulers.byName("SMP");
+        Map<String, Object> typed = Schedulers.validate(smp,
+                Map.of("cores", "8", "queues", "PER-CORE", "stealing", "false", "contextSwitch", 1));
+        assertEquals(8L, typed.get("cores"));
+        assertEquals("per-core", typed.get("queues"));
+        assertEquals(false, typed.get("stealing"));
+        assertEquals(1L, typed.get("contextSwitch"));
+
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.validate(smp, Map.of("quantom", "4")));
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.validate(smp, Map.of("cores", "0")));
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.validate(smp, Map.of("cores", "four")));
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.validate(smp, Map.of("stealing", "maybe")));
+        assertThrows(IllegalArgumentException.class, () -> Schedulers.validate(smp, Map.of("policy", "EDF")));
+        assertThrows(IllegalArgumentException.class,
+                () -> Schedulers.validate(Schedulers.byName("FCFS"), Map.of("quantum", 2)));
+    }
+
+    @Test
+    void testDefaultsComeFromTheDeclarations() {
+        assertEquals(2, RrScheduler.QUANTUM.intValue(null));
+        assertEquals(4, SmpScheduler.CORES.intValue(Map.of()));
+        assertEquals(16, SmpScheduler.CORES.intValue(Map.of("cores", 16)));
+        assertEquals("global", SmpScheduler.QUEUES.stringValue(Map.of()));
+    }
+
+    private static List<ProcessModel> workload(boolean withIo) {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ProcessModel p = new ProcessModel("P" + i, i * 2L, 1 + i % 6);
+            p.setPriority(i % 4);
+            p.setPeriod(i % 3 == 0 ? 20 + i : 0);
+            if (withIo && i % 5 == 0) p.setBursts(Arrays.asList(2, 3, 1 + i % 4));
+            processes.add(p);
+        }
+        return processes;
+    }
+
+    @Test
+    void testBuiltInSchedulersStreamIntoSinks() throws NoSuchMethodException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("contextSwitch", 1);
+        params.put("ioChannels", 1);
+        params.put("cores", 3);
+        params.put("quantum", 2);
+        // The periods are coprime, so the hyperperiod is far too long
+        params.put("horizon", 300);
+
+        for (Scheduler scheduler : Schedulers.create().values()) {
+            // Overridden, so stores and collectors never wait for a whole segment list
+            assertNotEquals(Scheduler.class, scheduler.getClass()
+                    .getMethod("schedule", List.class, Map.class, SegmentSink.class).getDeclaringClass(),
+                    scheduler.getName());
+
+            // Real-time tasks cannot block on I/O
+            List<ProcessModel> processes = workload(!(scheduler instanceof RealTimeScheduler));
+            List<String> expected = scheduler.schedule(processes, params).stream()
+                    .map(seg -> seg.getPid() + ":" + seg.getStart() + "-" + seg.getEnd() + "@" + seg.getCore()
+                            + seg.isIo())
+                    .toList();
+            List<String> streamed = new ArrayList<>();
+            scheduler.schedule(processes, params, (process, start, end, core, io) -> {
+                String pid = process == SegmentSink.IDLE ? GanttSegment.IDLE
+                        : process == SegmentSink.SWITCH ? GanttSegment.SWITCH : processes.get(process).getId();
+                streamed.add(pid + ":" + start + "-" + end + "@" + core + io);
+            });
+            assertEquals(expected, streamed, scheduler.getName());
+        }
+    }
+
+    @Test
+    void testReplayRejectsUnknownProcess() {
+        Scheduler plugin = new Scheduler() {
+            @Override
+            public List<GanttSegment> schedule(List<ProcessModel> processes, Map<String, Object> params) {
+                return List.of(new GanttSegment("ghost", 0, 1));
+            }
+
+            @Override
+            public String getName() {
+                return "Ghost";
+            }
+        };
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> plugin.schedule(List.of(new ProcessModel("P1", 0, 1)), Map.of(), (p, s, end, c, io) -> { }));
+        assertTrue(e.getMessage().contains("ghost"), e.getMessage());
+    }
+}
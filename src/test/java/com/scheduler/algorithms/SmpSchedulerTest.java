@@ -0,0 +1,131 @@
+package com.scheduler.algorithms;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.ScheduleStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SMP scheduling algorithm.
+ */
+class SmpSchedulerTest {
+
+    @Test
+    void testSingleCoreMatchesFcfs() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 3),
+            new ProcessModel("P2", 5, 2),
+            new ProcessModel("P3", 5, 1)
+        );
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 1);
+
+        List<GanttSegment> smp = new SmpScheduler().schedule(processes, params);
+        List<GanttSegment> fcfs = new FcfsScheduler().schedule(processes, null);
+
+        assertEquals(fcfs.toString(), smp.toString());
+    }
+
+    @Test
+    void testSingleCoreWithQuantumMatchesRoundRobin() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 5),
+            new ProcessModel("P2", 1, 3),
+            new ProcessModel("P3", 2, 1)
+        );
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 1);
+        params.put("quantum", 2);
+
+        List<GanttSegment> smp = new SmpScheduler().schedule(processes, params);
+        List<GanttSegment> rr = new RrScheduler().schedule(processes, params);
+
+        assertEquals(rr.toString(), smp.toString());
+    }
+
+    @Test
+    void testTwoCoresRunInParallel() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 4),
+            new ProcessModel("P2", 0, 4),
+            new ProcessModel("P3", 0, 2)
+        );
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 2);
+
+        List<GanttSegment> segments = new SmpScheduler().schedule(processes, params);
+        ScheduleStats stats = ScheduleStats.of(segments);
+
+        // Expected: cpu0 P1:0-4, P3:4-6; cpu1 P2:0-4
+        assertEquals(2, stats.getCoreCount());
+        assertEquals(6, stats.getMakespan());
+        assertEquals(6, stats.getBusyTime(0));
+        assertEquals(4, stats.getBusyTime(1));
+        assertEquals(0, stats.getMigrations());
+    }
+
+    @Test
+    void testWorkStealingMigratesQueuedWork() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 2),
+            new ProcessModel("P2", 0, 2),
+            new ProcessModel("P3", 0, 6)
+        );
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 2);
+        params.put("queues", "per-core");
+        params.put("quantum", 1);
+
+        List<GanttSegment> withStealing = new SmpScheduler().schedule(processes, params);
+        params.put("stealing", false);
+        List<GanttSegment> withoutStealing = new SmpScheduler().schedule(processes, params);
+
+        ScheduleStats stealingStats = ScheduleStats.of(withStealing);
+        ScheduleStats pinnedStats = ScheduleStats.of(withoutStealing);
+
+        assertEquals(0, pinnedStats.getMigrations());
+        assertTrue(stealingStats.getMigrations() > 0, "Idle core should steal queued work");
+        assertTrue(stealingStats.getMakespan() < pinnedStats.getMakespan());
+    }
+
+    @Test
+    void testLargeWorkloadCompletesEveryProcess() {
+        Random random = new Random(42);
+        List<ProcessModel> processes = new ArrayList<>();
+        long totalBurst = 0;
+        for (int i = 0; i < 50_000; i++) {
+            int burst = 1 + random.nextInt(20);
+            processes.add(new ProcessModel("P" + i, random.nextInt(10_000), burst, random.nextInt(5)));
+            totalBurst += burst;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 128);
+        params.put("queues", "per-core");
+        params.put("quantum", 4);
+
+        List<GanttSegment> segments = new SmpScheduler().schedule(processes, params);
+        ScheduleStats stats = ScheduleStats.of(segments);
+
+        long busy = 0;
+        for (int core = 0; core < stats.getCoreCount(); core++) {
+            busy += stats.getBusyTime(core);
+        }
+        assertEquals(totalBurst, busy);
+    }
+
+    @Test
+    void testEmptyProcessList() {
+        List<GanttSegment> segments = new SmpScheduler().schedule(new ArrayList<>(), null);
+
+        assertTrue(segments.isEmpty());
+    }
+}
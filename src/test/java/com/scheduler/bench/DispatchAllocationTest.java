@@ -0,0 +1,59 @@
+package com.scheduler.bench;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-Robin into a primitive sink must not allocate per dispatch: with a quantum of 1
+ * every time unit is a dispatch, so any per-dispatch garbage shows up as whole bytes.
+ */
+class DispatchAllocationTest {
+    private static final int PROCESSES = 500;
+    private static final int BURST = 2_000;
+
+    private static long run(RrScheduler scheduler, List<ProcessModel> processes, Map<String, Object> params) {
+        long[] dispatches = new long[1];
+        scheduler.schedule(processes, params, (process, start, end, core, io) -> dispatches[0]++);
+        return dispatches[0];
+    }
+
+    @Test
+    void testRoundRobinDispatchAllocatesNothing() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean,
+                "Allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < PROCESSES; i++) {
+            processes.add(new ProcessModel("P" + i, i, BURST));
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 1);
+        params.put("contextSwitch", 1);
+        RrScheduler scheduler = new RrScheduler();
+
+        // Warm up so class loading and compilation are not counted
+        run(scheduler, processes, params);
+
+        long thread = Thread.currentThread().threadId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        long dispatches = run(scheduler, processes, params);
+        long allocated = allocations.getThreadAllocatedBytes(thread) - before;
+
+        double perDispatch = (double) allocated / dispatches;
+        assertTrue(dispatches >= (long) PROCESSES * BURST);
+        // Only the per-run setup, proportional to the number of processes, may allocate
+        assertTrue(perDispatch < 0.1, "Allocated " + allocated + " bytes for " + dispatches + " segments");
+    }
+}
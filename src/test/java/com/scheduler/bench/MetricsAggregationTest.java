@@ -0,0 +1,73 @@
+package com.scheduler.bench;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.metrics.LatencyHistogram;
+import com.scheduler.metrics.MetricsCollector;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scheduling straight into a {@link MetricsCollector} against scheduling to a list of
+ * {@link GanttSegment}s and collecting from it. Results must agree exactly, and skipping
+ * the list must be faster. Timed, so it only runs with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+class MetricsAggregationTest {
+    private static final int ROUNDS = 5;
+
+    private static void assertSame(LatencyHistogram expected, LatencyHistogram actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSum(), actual.getSum());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        for (double p : ScheduleMetrics.PERCENTILES) {
+            assertEquals(expected.getPercentile(p), actual.getPercentile(p), "p" + p);
+        }
+    }
+
+    @Test
+    void testRoundRobinIntoCollectorBeatsSegmentList() {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            processes.add(new ProcessModel("P" + i, i * 3L, 1_000 + i % 7));
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 1);
+        RrScheduler scheduler = new RrScheduler();
+
+        ScheduleMetrics viaList = null;
+        ScheduleMetrics viaSink = null;
+        long list = Long.MAX_VALUE;
+        long sink = Long.MAX_VALUE;
+        // Best of several rounds, so both paths are compiled before they are timed
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            List<GanttSegment> segments = scheduler.schedule(processes, params);
+            viaList = MetricsCollector.of(processes, segments);
+            list = Math.min(list, System.nanoTime() - started);
+            started = System.nanoTime();
+            MetricsCollector collector = new MetricsCollector(processes);
+            scheduler.schedule(processes, params, collector);
+            viaSink = collector.finish();
+            sink = Math.min(sink, System.nanoTime() - started);
+        }
+
+        assertEquals(viaList.getCompleted(), viaSink.getCompleted());
+        assertEquals(viaList.getMakespan(), viaSink.getMakespan());
+        assertEquals(viaList.getCpuUtilization(), viaSink.getCpuUtilization(), 1e-12);
+        assertSame(viaList.getWaiting(), viaSink.getWaiting());
+        assertSame(viaList.getResponse(), viaSink.getResponse());
+        assertSame(viaList.getTurnaround(), viaSink.getTurnaround());
+        assertTrue(sink < list, "Into collector took " + sink + " ns, via segment list " + list + " ns");
+    }
+}
@@ -0,0 +1,113 @@
+package com.scheduler.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A batch must report every file and algorithm once, and a resumed batch must finish
+ * the report without repeating rows.
+ */
+class BatchCommandTest {
+
+    private static void workload(Path file, int processes) throws IOException {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < processes; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":\"P").append(i).append("\",\"arrival\":").append(i)
+                    .append(",\"burst\":").append(2 + i % 5).append('}');
+        }
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, sb.append(']'));
+    }
+
+    private static int batch(String... args) {
+        return BatchCommand.run(args, new PrintStream(new ByteArrayOutputStream(), true));
+    }
+
+    private static Set<String> keys(List<String> rows) {
+        Set<String> keys = new HashSet<>();
+        for (String row : rows.subList(1, rows.size())) {
+            List<String> fields = BatchReport.parseLeadingFields(row, 2);
+            assertTrue(keys.add(fields.get(0) + "/" + fields.get(1)), "Duplicate row " + row);
+        }
+        return keys;
+    }
+
+    @Test
+    void testReportAndResume(@TempDir Path dir) throws IOException {
+        Path workloads = dir.resolve("workloads");
+        for (int i = 0; i < 12; i++) {
+            workload(workloads.resolve(i % 3 == 0 ? "nested/w" + i + ".json" : "w,odd " + i + ".json"), 5 + i);
+        }
+        Files.writeString(workloads.resolve("broken.json"), "[{\"id\":");
+        Path report = dir.resolve("report.csv");
+
+        int code = batch(workloads.toString(), report.toString(), "algorithms=FCFS,Round-Robin", "quantum=3",
+                "threads=3");
+        assertEquals(1, code, "The broken file fails");
+        List<String> rows = Files.readAllLines(report);
+        assertEquals(BatchReport.HEADER, rows.get(0));
+        assertEquals(24, keys(rows).size());
+        assertTrue(keys(rows).contains("nested/w3.json/Round-Robin"));
+        assertTrue(keys(rows).contains("w,odd 1.json/FCFS"));
+
+        // Interrupted: the last rows are lost and the one being written is cut short
+        List<String> kept = new ArrayList<>(rows.subList(0, 15));
+        String partial = rows.get(15).substring(0, 10);
+        Files.writeString(report, String.join("\n", kept) + "\n" + partial);
+
+        Files.delete(workloads.resolve("broken.json"));
+        assertEquals(0, batch(workloads.toString(), report.toString(), "algorithms=FCFS,Round-Robin",
+                "quantum=3", "resume=true"));
+        List<String> resumed = Files.readAllLines(report);
+        assertEquals(keys(rows), keys(resumed));
+        assertEquals(kept, resumed.subList(0, 15));
+    }
+
+    @Test
+    void testParametersMustBelongToAnAlgorithm(@TempDir Path dir) throws IOException {
+        workload(dir.resolve("w.json"), 3);
+        assertEquals(1, batch(dir.toString(), dir.resolve("r.csv").toString(), "algorithms=FCFS", "quantum=3"));
+        assertEquals(0, batch(dir.toString(), dir.resolve("r.csv").toString()));
+        // One row per discovered algorithm
+        assertEquals(1 + 8, Files.readAllLines(dir.resolve("r.csv")).size());
+    }
+
+    @Test
+    void testRealTimeRowsReportDeadlinesInsteadOfLatency(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("periodic.json"), "[{\"id\":\"T1\",\"arrival\":0,\"burst\":2,\"period\":5},"
+                + "{\"id\":\"T2\",\"arrival\":0,\"burst\":4,\"period\":7}]");
+        Path report = dir.resolve("r.csv");
+        assertEquals(0, batch(dir.toString(), report.toString(), "algorithms=EDF,FCFS"));
+
+        List<String> columns = List.of(BatchReport.HEADER.split(","));
+        for (String row : Files.readAllLines(report).subList(1, 3)) {
+            String[] fields = row.split(",", -1);
+            assertEquals(columns.size(), fields.length, row);
+            String waiting = fields[columns.indexOf("waiting_mean")];
+            String released = fields[columns.indexOf("released_jobs")];
+            if (fields[1].equals("EDF")) {
+                assertEquals("", waiting);
+                assertEquals("", fields[columns.indexOf("turnaround_max")]);
+                // Hyperperiod 35: seven jobs of T1 and five of T2, all on time
+                assertEquals("12", released);
+                assertEquals("0", fields[columns.indexOf("missed_deadlines")]);
+            } else {
+                assertFalse(waiting.isEmpty());
+                assertEquals("", released);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.scheduler.cli;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.metrics.MetricsCollector;
+import com.scheduler.metrics.ScheduleMetrics;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scheduling straight into the collector must give the metrics and segment count of
+ * scheduling to a list first.
+ */
+class MetricsCommandTest {
+
+    @Test
+    void testMeasureMatchesSegmentList() {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ProcessModel process = new ProcessModel("P" + i, i * 2L, 3 + i % 4);
+            if (i % 5 == 0) process.setBursts(List.of(2, 4, 1));
+            processes.add(process);
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 2);
+        params.put("contextSwitch", 1);
+        RrScheduler scheduler = new RrScheduler();
+
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+        ScheduleMetrics expected = MetricsCollector.of(processes, segments);
+        MetricsCommand.Run run = MetricsCommand.measure(scheduler, processes, params);
+
+        assertEquals(segments.size(), run.segments());
+        assertEquals(expected.getCompleted(), run.metrics().getCompleted());
+        assertEquals(expected.getMakespan(), run.metrics().getMakespan());
+        assertEquals(expected.getWaiting().getSum(), run.metrics().getWaiting().getSum());
+        assertEquals(expected.getResponse().getSum(), run.metrics().getResponse().getSum());
+        assertEquals(expected.getTurnaround().getSum(), run.metrics().getTurnaround().getSum());
+    }
+}
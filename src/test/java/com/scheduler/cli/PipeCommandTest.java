@@ -0,0 +1,76 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Results must come out one per line and in input order, whatever order the threads
+ * finish in.
+ */
+class PipeCommandTest {
+
+    /**
+     * Workload of {@code n} processes; larger ones take longer to schedule.
+     */
+    private static String workload(int n) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":\"P").append(i).append("\",\"arrival\":").append(i)
+                    .append(",\"burst\":").append(1 + i % 9).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static List<String> pipe(String input, int expectedCode, String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int code = PipeCommand.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out,
+                new PrintStream(err, true));
+        assertEquals(expectedCode, code, err.toString());
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Test
+    void testOutputKeepsInputOrder() {
+        StringBuilder input = new StringBuilder();
+        for (int line = 0; line < 200; line++) {
+            // Alternate large and small workloads so later lines often finish first
+            int n = line % 2 == 0 ? 2000 + line : 1 + line % 5;
+            input.append(workload(n)).append('\n');
+        }
+        List<String> lines = pipe(input.toString(), 0, "Round-Robin", "quantum=3", "threads=4");
+
+        assertEquals(200, lines.size());
+        for (int line = 0; line < 200; line++) {
+            JsonObject result = JsonParser.parseString(lines.get(line)).getAsJsonObject();
+            int n = line % 2 == 0 ? 2000 + line : 1 + line % 5;
+            assertEquals(n, result.get("processes").getAsInt());
+            assertEquals(n, result.getAsJsonObject("metrics").get("completed").getAsInt());
+            assertFalse(result.has("segments"));
+        }
+    }
+
+    @Test
+    void testSegmentsAndErrorLines() {
+        String input = workload(3) + "\n\nnot json\n" + workload(2) + "\n";
+        List<String> lines = pipe(input, 1, "FCFS", "segments=true", "threads=2");
+
+        assertEquals(3, lines.size());
+        JsonObject first = JsonParser.parseString(lines.get(0)).getAsJsonObject();
+        assertEquals(first.get("segmentCount").getAsInt(), first.getAsJsonArray("segments").size());
+        JsonObject error = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+        assertEquals(3, error.get("line").getAsInt());
+        assertTrue(error.has("error"));
+        assertEquals(2, JsonParser.parseString(lines.get(2)).getAsJsonObject().get("processes").getAsInt());
+    }
+}
@@ -0,0 +1,139 @@
+package com.scheduler.cli;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.BinaryIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The server must schedule JSON and binary workloads alike, serve many requests at
+ * once, and refuse work that does not fit its memory budget.
+ */
+class ScheduleServerTest {
+    private static final String WORKLOAD = "[{\"id\":\"P1\",\"arrival\":0,\"burst\":5},"
+            + "{\"id\":\"P2\",\"arrival\":1,\"burst\":3},{\"id\":\"P3\",\"arrival\":2,\"burst\":1}]";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ScheduleServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) server.close();
+    }
+
+    private HttpRequest post(String query, String type, byte[] body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/schedule?" + query))
+                .header("Content-Type", type)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testJsonAndBinaryWorkloadsGiveTheSameSchedule() throws Exception {
+        server = ScheduleServer.start(0, 64 << 20);
+        HttpResponse<String> json = send(post("algorithm=round-robin&quantum=2", "application/json",
+                WORKLOAD.getBytes()));
+        assertEquals(200, json.statusCode(), json.body());
+
+        JsonObject result = JsonParser.parseString(json.body()).getAsJsonObject();
+        assertEquals("Round-Robin", result.get("algorithm").getAsString());
+        assertEquals(result.get("segmentCount").getAsInt(), result.getAsJsonArray("segments").size());
+        JsonObject metrics = result.getAsJsonObject("metrics");
+        assertEquals(3, metrics.get("completed").getAsLong());
+        assertEquals(9, metrics.get("makespan").getAsLong());
+        assertTrue(metrics.getAsJsonObject("waiting").has("p99.9"));
+
+        ProcessModel io = new ProcessModel("P2", 1, 0);
+        io.setBursts(Arrays.asList(2, 4, 1));
+        List<ProcessModel> processes = List.of(new ProcessModel("P1", 0, 5), io, new ProcessModel("P3", 2, 1));
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        BinaryIO.writeProcesses(processes, binary);
+        assertEquals(List.of(2, 4, 1), BinaryIO.readProcesses(
+                new ByteArrayInputStream(binary.toByteArray())).get(1).getBursts());
+
+        String ioJson = "[{\"id\":\"P1\",\"arrival\":0,\"burst\":5},"
+                + "{\"id\":\"P2\",\"arrival\":1,\"burst\":3,\"bursts\":[2,4,1]},{\"id\":\"P3\",\"arrival\":2,\"burst\":1}]";
+        HttpResponse<String> fromJson = send(post("algorithm=FCFS", "application/json", ioJson.getBytes()));
+        HttpResponse<String> fromBinary = send(post("algorithm=FCFS", "application/octet-stream",
+                binary.toByteArray()));
+        assertEquals(200, fromBinary.statusCode(), fromBinary.body());
+        assertEquals(fromJson.body(), fromBinary.body());
+    }
+
+    @Test
+    void testManyConcurrentRequests() throws Exception {
+        server = ScheduleServer.start(0, 64 << 20);
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            responses.add(client.sendAsync(post("algorithm=SJF&segments=false", "application/json",
+                    WORKLOAD.getBytes()), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode(), response.get().body());
+            assertFalse(response.get().body().contains("\"segments\""));
+        }
+    }
+
+    @Test
+    void testBadRequestsAndAdmission() throws Exception {
+        server = ScheduleServer.start(0, 64 << 10);
+        assertEquals(400, send(post("algorithm=nope", "application/json", WORKLOAD.getBytes())).statusCode());
+        assertEquals(400, send(post("algorithm=FCFS&quantum=2", "application/json",
+                WORKLOAD.getBytes())).statusCode());
+        assertEquals(400, send(post("algorithm=FCFS", "application/json", "{".getBytes())).statusCode());
+        // Rejected by the scheduler before any segment is streamed
+        HttpResponse<String> rejected = send(post("algorithm=EDF", "application/json",
+                "[{\"id\":\"T1\",\"arrival\":0,\"burst\":3,\"bursts\":[1,1,2]}]".getBytes()));
+        assertEquals(400, rejected.statusCode());
+        assertTrue(rejected.body().contains("I/O"), rejected.body());
+
+        // Small enough to read, but a quantum of 1 over long bursts cannot fit in 64 KiB
+        String heavy = "[{\"id\":\"P1\",\"arrival\":0,\"burst\":100000},{\"id\":\"P2\",\"arrival\":0,\"burst\":100000}]";
+        HttpResponse<String> refused = send(post("algorithm=Round-Robin&quantum=1", "application/json",
+                heavy.getBytes()));
+        assertEquals(413, refused.statusCode());
+        assertTrue(refused.body().contains("memory budget"), refused.body());
+        // The refused job released its reservation
+        assertEquals(200, send(post("algorithm=Round-Robin&quantum=1", "application/json",
+                WORKLOAD.getBytes())).statusCode());
+    }
+
+    @Test
+    void testLongRealTimeHorizonIsRefused() throws Exception {
+        server = ScheduleServer.start(0, 64 << 20);
+        String tasks = "[{\"id\":\"T1\",\"arrival\":0,\"burst\":1,\"period\":4},"
+                + "{\"id\":\"T2\",\"arrival\":0,\"burst\":2,\"period\":5}]";
+
+        // The default horizon is one hyperperiod, a handful of jobs
+        assertEquals(200, send(post("algorithm=EDF", "application/json", tasks.getBytes())).statusCode());
+        // A billion time units release hundreds of millions of jobs
+        for (String algorithm : List.of("EDF", "Rate-Monotonic")) {
+            HttpResponse<String> refused = send(post("algorithm=" + algorithm + "&horizon=1000000000",
+                    "application/json", tasks.getBytes()));
+            assertEquals(413, refused.statusCode(), refused.body());
+            assertTrue(refused.body().contains("memory budget"), refused.body());
+        }
+        assertEquals(413, send(post("algorithm=EDF&horizon=9223372036854775807", "application/json",
+                tasks.getBytes())).statusCode());
+    }
+}
@@ -0,0 +1,124 @@
+package com.scheduler.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sweeps run in real worker JVMs started with the test class path.
+ */
+class SweepCommandTest {
+
+    /**
+     * Worker that dies on its first shard the first time it is started, then behaves.
+     */
+    public static final class CrashingWorker {
+        public static void main(String[] args) throws IOException {
+            Path marker = Path.of(args[0]);
+            if (!Files.exists(marker)) {
+                Files.createFile(marker);
+                System.in.read();
+                System.exit(3);
+            }
+            System.exit(WorkerCommand.run(System.in, System.out));
+        }
+    }
+
+    private static void workloads(Path dir, int count) throws IOException {
+        for (int f = 0; f < count; f++) {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < 5 + f; i++) {
+                if (i > 0) sb.append(',');
+                sb.append("{\"id\":\"P").append(i).append("\",\"arrival\":").append(i)
+                        .append(",\"burst\":").append(2 + i % 5).append(",\"priority\":").append(i % 3).append('}');
+            }
+            Files.writeString(dir.resolve("w" + f + ".json"), sb.append(']').toString());
+        }
+    }
+
+    private static List<String> command(String mainClass, String... args) {
+        List<String> command = new ArrayList<>(SweepCommand.workerCommand(0));
+        // Replace "com.scheduler.Launcher worker"
+        command.subList(command.size() - 2, command.size()).clear();
+        command.add(mainClass);
+        command.addAll(List.of(args));
+        return command;
+    }
+
+    private static Set<String> keys(Path report) throws IOException {
+        List<String> lines = Files.readAllLines(report);
+        assertEquals(BatchReport.HEADER, lines.get(0));
+        Set<String> keys = new HashSet<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = BatchReport.parseLeadingFields(line, 2);
+            assertTrue(keys.add(fields.get(0) + " / " + fields.get(1)), "duplicate row " + line);
+        }
+        return keys;
+    }
+
+    @Test
+    void testGridCoversDeclaredParameters() {
+        List<SweepCommand.Run> runs = SweepCommand.grid("Round-Robin,Priority",
+                Map.of("quantum", "1,4", "contextSwitch", "0,1"));
+
+        assertEquals(List.of("Round-Robin quantum=1 contextSwitch=0", "Round-Robin quantum=1 contextSwitch=1",
+                        "Round-Robin quantum=4 contextSwitch=0", "Round-Robin quantum=4 contextSwitch=1",
+                        "Priority contextSwitch=0", "Priority contextSwitch=1"),
+                runs.stream().map(SweepCommand.Run::label).toList());
+        assertThrows(IllegalArgumentException.class, () -> SweepCommand.grid("Priority", Map.of("quantum", "2")));
+        assertThrows(IllegalArgumentException.class, () -> SweepCommand.grid("Round-Robin", Map.of("quantum", "0")));
+    }
+
+    @Test
+    void testSweepMergesRowsAndResumes(@TempDir Path dir) throws IOException {
+        Path workloads = Files.createDirectory(dir.resolve("workloads"));
+        workloads(workloads, 3);
+        Path report = dir.resolve("sweep.csv");
+        String[] args = {workloads.toString(), report.toString(), "algorithms=Round-Robin,Priority", "quantum=1,4",
+                "workers=2"};
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        assertEquals(0, SweepCommand.run(args, new PrintStream(err, true),
+                command("com.scheduler.Launcher", "worker")), err.toString());
+        Set<String> keys = keys(report);
+        assertEquals(9, keys.size());
+        assertTrue(keys.contains("w2.json / Round-Robin quantum=4"));
+        assertTrue(keys.contains("w0.json / Priority"));
+
+        String[] resume = {workloads.toString(), report.toString(), "algorithms=Round-Robin,Priority",
+                "quantum=1,4,8", "workers=2", "resume=true"};
+        assertEquals(0, SweepCommand.run(resume, new PrintStream(err, true),
+                command("com.scheduler.Launcher", "worker")), err.toString());
+        assertEquals(12, keys(report).size());
+    }
+
+    @Test
+    void testShardOfDeadWorkerIsRedistributed(@TempDir Path dir) throws IOException {
+        Path workloads = Files.createDirectory(dir.resolve("workloads"));
+        workloads(workloads, 2);
+        Path report = dir.resolve("sweep.csv");
+        String[] args = {workloads.toString(), report.toString(), "algorithms=Round-Robin", "quantum=2,3",
+                "workers=1"};
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int code = SweepCommand.run(args, new PrintStream(err, true),
+                command(CrashingWorker.class.getName(), dir.resolve("crashed").toString()));
+
+        assertEquals(0, code, err.toString());
+        assertTrue(err.toString().contains("worker exited with code 3, retrying"), err.toString());
+        assertTrue(err.toString().contains("1 workers restarted"), err.toString());
+        assertEquals(4, keys(report).size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.scheduler.diagnostics;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.simulation.Simulator;
+import com.scheduler.util.JsonIO;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each phase of a run must show up in a flight recording with its sizes.
+ */
+class FlightRecorderEventsTest {
+
+    @Test
+    void testPhasesAreRecorded(@TempDir Path dir) throws Exception {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            processes.add(new ProcessModel("P" + i, i, 3 + i % 4));
+        }
+        File file = dir.resolve("workload.json").toFile();
+        Path dump = dir.resolve("run.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.scheduler.Schedule", "com.scheduler.BuildTimeline",
+                    "com.scheduler.JsonIO")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            JsonIO.exportProcesses(processes, file);
+            List<ProcessModel> imported = JsonIO.importProcesses(file);
+            Simulator simulator = new Simulator();
+            simulator.initialize(imported, new RrScheduler(), new HashMap<>(Map.of("quantum", 2)));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, List<RecordedEvent>> byName = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            byName.computeIfAbsent(event.getEventType().getName(), k -> new ArrayList<>()).add(event);
+        }
+
+        RecordedEvent schedule = byName.get("com.scheduler.Schedule").get(0);
+        assertEquals("Round-Robin", schedule.getString("algorithm"));
+        assertEquals(20, schedule.getInt("processes"));
+        assertTrue(schedule.getInt("segments") >= 20);
+        assertFalse(schedule.getBoolean("incremental"));
+
+        RecordedEvent timeline = byName.get("com.scheduler.BuildTimeline").get(0);
+        assertEquals(schedule.getInt("segments"), timeline.getInt("segments"));
+        assertTrue(timeline.getInt("events") > 0);
+
+        List<String> operations = byName.get("com.scheduler.JsonIO").stream()
+                .map(event -> event.getString("operation")).toList();
+        assertEquals(List.of("export", "import"), operations);
+        assertEquals(20, byName.get("com.scheduler.JsonIO").get(1).getInt("processes"));
+    }
+}
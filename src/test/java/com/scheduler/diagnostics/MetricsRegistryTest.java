@@ -0,0 +1,92 @@
+package com.scheduler.diagnostics;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.simulation.Simulator;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Metrics must read the same in the Prometheus text, over JMX and over HTTP.
+ */
+class MetricsRegistryTest {
+
+    private static String prometheus(MetricsRegistry registry) throws IOException {
+        StringWriter text = new StringWriter();
+        registry.writePrometheus(text);
+        return text.toString();
+    }
+
+    @Test
+    void testPrometheusText() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("jobs_total", "Jobs").add(3);
+        registry.gauge("depth", "Depth").set(2.5);
+        MetricsRegistry.Summary latency = registry.summary("latency_seconds", "Latency", 1e-3);
+        for (int i = 1; i <= 100; i++) {
+            latency.record(i);
+        }
+
+        String text = prometheus(registry);
+        assertTrue(text.contains("# HELP jobs_total Jobs\n# TYPE jobs_total counter\njobs_total 3\n"), text);
+        assertTrue(text.contains("# TYPE depth gauge\ndepth 2.50000\n"), text);
+        assertTrue(text.contains("# TYPE latency_seconds summary\n"), text);
+        assertTrue(text.contains("latency_seconds{quantile=\"0.5\"} 0.0500000\n"), text);
+        assertTrue(text.contains("latency_seconds_sum 5.05000\nlatency_seconds_count 100\n"), text);
+        // Output follows registration order
+        assertTrue(text.indexOf("jobs_total") < text.indexOf("depth") && text.indexOf("depth") < text.indexOf("latency"));
+    }
+
+    @Test
+    void testRegisteringTwiceReturnsTheSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("runs_total", "Runs"), registry.counter("runs_total", "Runs"));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("runs_total", "Runs"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("bad name", "Runs"));
+    }
+
+    @Test
+    void testRunsAreVisibleOverJmxAndHttp() throws Exception {
+        MetricsRegistry registry = RunMetrics.registry();
+        registry.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.scheduler:type=Metrics");
+        long before = (Long) server.getAttribute(name, "scheduler_workloads_total");
+
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            processes.add(new ProcessModel("P" + i, i, 4));
+        }
+        new Simulator().initialize(processes, new RrScheduler(), new HashMap<>(Map.of("quantum", 2)));
+
+        assertEquals(before + 1, server.getAttribute(name, "scheduler_workloads_total"));
+        assertTrue((Long) server.getAttribute(name, "scheduler_dispatch_latency_count") >= 10);
+        assertTrue((Double) server.getAttribute(name, "scheduler_schedule_bytes") > 0);
+        assertTrue((Double) server.getAttribute(name, "jvm_heap_used_bytes") > 0);
+
+        try (MetricsServer http = MetricsServer.start(registry, 0)) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + http.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+            assertTrue(response.body().contains("# TYPE scheduler_segments_total counter"), response.body());
+            assertTrue(response.body().contains("scheduler_run_seconds_count "), response.body());
+        }
+    }
+}
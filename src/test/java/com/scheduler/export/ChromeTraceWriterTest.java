@@ -0,0 +1,132 @@
+package com.scheduler.export;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.scheduler.algorithms.FcfsScheduler;
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.algorithms.SmpScheduler;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The exported trace must be valid Chrome Trace Event JSON with the expected tracks and counters.
+ */
+class ChromeTraceWriterTest {
+
+    private static JsonArray export(List<ProcessModel> processes, List<GanttSegment> segments) throws IOException {
+        StringWriter out = new StringWriter();
+        ChromeTraceWriter.write(processes, new ArrayList<>(segments), out);
+        return JsonParser.parseString(out.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+    }
+
+    private static List<JsonObject> events(JsonArray trace, String phase, String name) {
+        List<JsonObject> found = new ArrayList<>();
+        for (JsonElement element : trace) {
+            JsonObject event = element.getAsJsonObject();
+            if (event.get("ph").getAsString().equals(phase) && (name == null || event.get("name").getAsString().equals(name))) {
+                found.add(event);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void testTracksInstantsAndReadyQueue() throws IOException {
+        List<ProcessModel> processes = List.of(
+                new ProcessModel("P1", 0, 3),
+                new ProcessModel("P2", 1, 2),
+                new ProcessModel("P3", 1, 1));
+        JsonArray trace = export(processes, new FcfsScheduler().schedule(processes, null));
+
+        // One slice on the core and one on the process's own track per segment
+        List<JsonObject> slices = events(trace, "X", null);
+        assertEquals(6, slices.size());
+        assertEquals(3, events(trace, "X", "CPU 0").size());
+
+        List<JsonObject> completions = events(trace, "i", "completion");
+        Map<Integer, Long> completionByTrack = new HashMap<>();
+        for (JsonObject event : completions) {
+            completionByTrack.put(event.get("tid").getAsInt(), event.get("ts").getAsLong());
+        }
+        assertEquals(Map.of(1, 3L, 2, 5L, 3, 6L), completionByTrack);
+        assertEquals(3, events(trace, "i", "arrival").size());
+
+        // P2 and P3 wait from 1, P2 runs at 3 and P3 at 5
+        StringBuilder counter = new StringBuilder();
+        for (JsonObject event : events(trace, "C", "ready queue")) {
+            counter.append(event.get("ts").getAsLong()).append('=')
+                    .append(event.getAsJsonObject("args").get("length").getAsInt()).append(' ');
+        }
+        assertEquals("0=0 1=2 3=1 5=0 ", counter.toString());
+    }
+
+    @Test
+    void testIoSlicesKeepProcessOutOfReadyQueue() throws IOException {
+        ProcessModel io = new ProcessModel("A", 0, 0);
+        io.setBursts(List.of(2, 5, 2));
+        List<ProcessModel> processes = List.of(io, new ProcessModel("B", 0, 4));
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 10);
+        JsonArray trace = export(processes, new RrScheduler().schedule(processes, params));
+
+        assertFalse(events(trace, "X", "I/O 0").isEmpty());
+        for (JsonObject event : events(trace, "C", "ready queue")) {
+            int length = event.getAsJsonObject("args").get("length").getAsInt();
+            assertTrue(length >= 0 && length <= 1, "ready queue length " + length);
+        }
+        assertEquals(2, events(trace, "i", "completion").size());
+    }
+
+    @Test
+    void testOutOfOrderSegmentsAreRejected() throws IOException {
+        List<ProcessModel> processes = List.of(new ProcessModel("P1", 0, 4));
+        ChromeTraceWriter writer = new ChromeTraceWriter(processes, new StringWriter());
+        writer.accept(new GanttSegment("P1", 2, 4));
+        assertThrows(IllegalArgumentException.class, () -> writer.accept(new GanttSegment("P1", 0, 2)));
+    }
+
+    @Test
+    void testLaneMergeMatchesSortedOrderForListAndStore() throws IOException {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ProcessModel process = new ProcessModel("P" + i, i % 7, 0);
+            process.setBursts(i % 3 == 0 ? List.of(3 + i % 5, 2 + i % 4, 1 + i % 3) : List.of(2 + i % 9));
+            processes.add(process);
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("cores", 3);
+        params.put("quantum", 2);
+        params.put("ioChannels", 2);
+        params.put("contextSwitch", 1);
+        SmpScheduler scheduler = new SmpScheduler();
+        List<GanttSegment> segments = scheduler.schedule(processes, params);
+
+        List<GanttSegment> sorted = new ArrayList<>(segments);
+        sorted.sort(Comparator.comparingLong(GanttSegment::getStart));
+        StringWriter expected = new StringWriter();
+        try (ChromeTraceWriter writer = new ChromeTraceWriter(processes, expected)) {
+            sorted.forEach(writer);
+        }
+
+        StringWriter fromList = new StringWriter();
+        ChromeTraceWriter.write(processes, segments, fromList);
+        assertEquals(expected.toString(), fromList.toString());
+
+        StringWriter fromStore = new StringWriter();
+        try (SegmentStore store = SegmentStore.allocate()) {
+            scheduler.schedule(processes, params, store);
+            ChromeTraceWriter.write(processes, store, fromStore);
+        }
+        assertEquals(expected.toString(), fromStore.toString());
+    }
+}
@@ -0,0 +1,132 @@
+package com.scheduler.export;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SegmentStore;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Images must decode, keep their size whatever the segment count, and merge runs.
+ */
+class GanttImageTest {
+
+    private static List<ProcessModel> processes() {
+        ProcessModel red = new ProcessModel("R", 0, 10);
+        red.setColor(Color.rgb(255, 0, 0));
+        ProcessModel blue = new ProcessModel("B", 0, 10);
+        blue.setColor(Color.rgb(0, 0, 255));
+        return List.of(red, blue);
+    }
+
+    /**
+     * Alternating R and B slices of the given length on two cores, up to time 1000.
+     */
+    private static List<GanttSegment> alternating(int slice) {
+        List<GanttSegment> segments = new ArrayList<>();
+        for (int core = 0; core < 2; core++) {
+            for (long t = 0; t < 1000; t += slice) {
+                String pid = (t / slice) % 2 == core ? "R" : "B";
+                segments.add(new GanttSegment(pid, t, t + slice, core));
+            }
+        }
+        return segments;
+    }
+
+    private static byte[] png(GanttImage image, int threads) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        image.writePng(out, threads);
+        return out.toByteArray();
+    }
+
+    private static int rectCount(String svg) {
+        Matcher matcher = Pattern.compile("<rect x=").matcher(svg);
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    @Test
+    void testPngDecodesWithProcessColors() throws IOException {
+        List<GanttSegment> segments = List.of(
+                new GanttSegment("R", 0, 500, 0),
+                new GanttSegment("B", 500, 1000, 0),
+                new GanttSegment("B", 0, 1000, 1));
+        GanttImage image = GanttImage.of(processes(), segments, 1068, 1);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png(image, 3)));
+
+        assertEquals(image.getWidth(), decoded.getWidth());
+        assertEquals(image.getHeight(), decoded.getHeight());
+        // Plot columns start after the lane labels; lanes are 30 pixels apart
+        assertEquals(0xFF0000, decoded.getRGB(56 + 100, 20) & 0xFFFFFF);
+        assertEquals(0x0000FF, decoded.getRGB(56 + 900, 20) & 0xFFFFFF);
+        assertEquals(0x0000FF, decoded.getRGB(56 + 100, 50) & 0xFFFFFF);
+    }
+
+    @Test
+    void testSizeDoesNotGrowWithSegments() throws IOException {
+        GanttImage coarse = GanttImage.of(processes(), alternating(100), 1068, 1);
+        GanttImage fine = GanttImage.of(processes(), alternating(1), 1068, 1);
+        assertEquals(coarse.getHeight(), fine.getHeight());
+
+        StringWriter svg = new StringWriter();
+        fine.writeSvg(svg);
+        // At most one rectangle per lane and column, however many segments there are
+        assertTrue(rectCount(svg.toString()) <= 2 * 1000);
+    }
+
+    @Test
+    void testSvgMergesAdjacentRuns() throws IOException {
+        List<GanttSegment> segments = new ArrayList<>();
+        for (long t = 0; t < 1000; t += 10) {
+            segments.add(new GanttSegment("R", t, t + 10, 0));
+        }
+        StringWriter svg = new StringWriter();
+        GanttImage.of(processes(), segments, 1068, 1).writeSvg(svg);
+        assertEquals(1, rectCount(svg.toString()));
+        assertTrue(svg.toString().contains("width=\"1000\" height=\"24\" fill=\"#FF0000\""));
+    }
+
+    @Test
+    void testThreadsDoNotChangeTheImage() throws IOException {
+        List<GanttSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            segments.addAll(alternating(1));
+        }
+        for (int i = 0; i < 300_000 - segments.size(); i++) {
+            segments.add(new GanttSegment("R", i % 1000, i % 1000 + 1, 0));
+        }
+        byte[] single = png(GanttImage.of(processes(), segments, 1068, 1), 1);
+        byte[] parallel = png(GanttImage.of(processes(), segments, 1068, 4), 4);
+        assertArrayEquals(single, parallel);
+    }
+
+    @Test
+    void testStoreDrawsLikeSegmentList() throws IOException {
+        List<GanttSegment> segments = alternating(7);
+        StringWriter expected = new StringWriter();
+        GanttImage.of(processes(), segments, 1068, 1).writeSvg(expected);
+        try (SegmentStore store = SegmentStore.allocate()) {
+            for (GanttSegment seg : segments) {
+                store.segment(seg.getPid().equals("R") ? 0 : 1, seg.getStart(), seg.getEnd(), seg.getCore(), false);
+            }
+            StringWriter actual = new StringWriter();
+            GanttImage.of(processes(), store, 1068, 3).writeSvg(actual);
+
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+}
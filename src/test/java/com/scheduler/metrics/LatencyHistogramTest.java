@@ -0,0 +1,89 @@
+package com.scheduler.metrics;
+
+import com.scheduler.algorithms.FcfsScheduler;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the latency histogram and the metrics collector.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 1; v <= 100; v++) {
+            histogram.record(v);
+        }
+        
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getPercentile(50));
+        assertEquals(90, histogram.getPercentile(90));
+        assertEquals(99, histogram.getPercentile(99));
+        assertEquals(100, histogram.getPercentile(99.9));
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testLargeValuesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(7);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) (Math.exp(random.nextDouble() * 30));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        
+        for (double p : ScheduleMetrics.PERCENTILES) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = histogram.getPercentile(p);
+            assertTrue(reported >= exact, "p" + p);
+            assertTrue(reported <= exact + exact / 64 + 1, "p" + p);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void testMergeMatchesSingleHistogram() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (int v = 0; v < 1000; v++) {
+            (v % 2 == 0 ? a : b).record(v * 37L);
+            all.record(v * 37L);
+        }
+        a.merge(b);
+        
+        assertEquals(all.getCount(), a.getCount());
+        assertEquals(all.getPercentile(99), a.getPercentile(99));
+        assertEquals(all.getMean(), a.getMean(), 1e-9);
+    }
+
+    @Test
+    void testCollectorDerivesLatenciesFromSegments() {
+        List<ProcessModel> processes = Arrays.asList(
+            new ProcessModel("P1", 0, 5),
+            new ProcessModel("P2", 2, 3),
+            new ProcessModel("P3", 4, 1)
+        );
+        
+        MetricsCollector collector = new MetricsCollector(processes);
+        new FcfsScheduler().schedule(processes, null).forEach(collector);
+        collector.applyTimes();
+        ScheduleMetrics metrics = collector.finish();
+        
+        // P1:0-5, P2:5-8, P3:8-9 -> waiting 0, 3, 4
+        assertEquals(3, metrics.getCompleted());
+        assertEquals(9, metrics.getMakespan());
+        assertEquals(7.0 / 3, metrics.getWaiting().getMean(), 1e-9);
+        assertEquals(4, metrics.getResponse().getMax());
+        assertEquals(1.0, metrics.getCpuUtilization(), 1e-9);
+        assertEquals(8, processes.get(1).getCompletionTime());
+        assertEquals(3, processes.get(1).getWaitingTime());
+    }
+}
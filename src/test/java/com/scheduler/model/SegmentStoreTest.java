@@ -0,0 +1,161 @@
+package com.scheduler.model;
+
+import com.scheduler.algorithms.FcfsScheduler;
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.algorithms.SmpScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Off-heap stores must give back exactly the segments the scheduler produced, across
+ * chunk boundaries and after reopening a mapped file.
+ */
+class SegmentStoreTest {
+
+    private static List<ProcessModel> workload() {
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            processes.add(new ProcessModel("P" + i, i, 300 + i % 11));
+        }
+        return processes;
+    }
+
+    private static Map<String, Object> params() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("quantum", 1);
+        params.put("contextSwitch", 1);
+        return params;
+    }
+
+    private static void assertSameSegments(List<GanttSegment> expected, List<GanttSegment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GanttSegment e = expected.get(i);
+            GanttSegment a = actual.get(i);
+            assertEquals(e.getPid(), a.getPid(), "segment " + i);
+            assertEquals(e.getStart(), a.getStart(), "segment " + i);
+            assertEquals(e.getEnd(), a.getEnd(), "segment " + i);
+            assertEquals(e.getCore(), a.getCore(), "segment " + i);
+            assertEquals(e.isIo(), a.isIo(), "segment " + i);
+        }
+    }
+
+    @Test
+    void testDirectStoreMatchesSegmentList() throws IOException {
+        List<ProcessModel> processes = workload();
+        List<GanttSegment> expected = new RrScheduler().schedule(processes, params());
+
+        try (SegmentStore store = SegmentStore.allocate()) {
+            new RrScheduler().schedule(processes, params(), store);
+
+            // Well over one chunk of 65536 segments
+            assertTrue(store.size() > 100_000);
+            assertSameSegments(expected, store.asList(processes));
+            long last = store.size() - 1;
+            assertEquals(expected.get((int) last).getEnd(), store.getEnd(last));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getStart(store.size()));
+
+            long[] replayed = new long[1];
+            store.forEach((process, start, end, core, io) -> replayed[0]++);
+            assertEquals(store.size(), replayed[0]);
+        }
+    }
+
+    @Test
+    void testMappedStoreReopens(@TempDir Path dir) throws IOException {
+        List<ProcessModel> processes = workload();
+        List<GanttSegment> expected = new RrScheduler().schedule(processes, params());
+        Path file = dir.resolve("schedule.seg");
+
+        try (SegmentStore store = SegmentStore.map(file)) {
+            new RrScheduler().schedule(processes, params(), store);
+            store.segment(0, 5, 9, 2, true);
+        }
+        try (SegmentStore store = SegmentStore.open(file)) {
+            assertEquals(expected.size() + 1, store.size());
+            assertSameSegments(expected, store.asList(processes).subList(0, expected.size()));
+            long io = expected.size();
+            assertTrue(store.isIo(io));
+            assertEquals(2, store.getCore(io));
+            assertEquals(0, store.getProcess(io));
+            assertThrows(IllegalStateException.class, () -> store.segment(0, 0, 1, 0, false));
+        }
+
+        Path other = dir.resolve("other.seg");
+        Files.writeString(other, "not a segment store at all");
+        assertThrows(IOException.class, () -> SegmentStore.open(other));
+    }
+
+    @Test
+    void testDefaultSinkReplaysSegmentList() throws IOException {
+        List<ProcessModel> processes = List.of(
+                new ProcessModel("A", 0, 3),
+                new ProcessModel("B", 10, 2));
+        List<GanttSegment> expected = new FcfsScheduler().schedule(processes, new HashMap<>());
+
+        try (SegmentStore store = SegmentStore.allocate()) {
+            new FcfsScheduler().schedule(processes, new HashMap<>(), store);
+            assertSameSegments(expected, store.asList(processes));
+            assertTrue(expected.stream().anyMatch(GanttSegment::isIdle));
+        }
+    }
+
+    @Test
+    void testRangeReplayAndClose() throws IOException {
+        List<ProcessModel> processes = workload();
+        SegmentStore store = SegmentStore.allocate();
+        new RrScheduler().schedule(processes, params(), store);
+        long size = store.size();
+
+        long[] counted = new long[2];
+        store.forEach(0, size / 2, (process, start, end, core, io) -> counted[0]++);
+        store.forEach(size / 2, size, (process, start, end, core, io) -> counted[1]++);
+        assertEquals(size, counted[0] + counted[1]);
+        assertThrows(IndexOutOfBoundsException.class, () -> store.forEach(0, size + 1, (p, s, e, c, io) -> { }));
+
+        // Freed at once; nothing can read or write the released memory afterwards
+        store.close();
+        assertEquals(0, store.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getStart(0));
+        assertThrows(IllegalStateException.class, () -> store.segment(0, 0, 1, 0, false));
+        store.close();
+    }
+
+    @Test
+    void testStatsMatchSegmentList() throws IOException {
+        List<ProcessModel> processes = workload();
+        for (int i = 0; i < processes.size(); i += 7) {
+            processes.get(i).setBursts(List.of(40, 15, 30));
+        }
+        Map<String, Object> params = params();
+        params.put("cores", 3);
+        params.put("ioChannels", 2);
+        SmpScheduler scheduler = new SmpScheduler();
+        ScheduleStats expected = ScheduleStats.of(scheduler.schedule(processes, params));
+        try (SegmentStore store = SegmentStore.allocate()) {
+            scheduler.schedule(processes, params, store);
+            ScheduleStats actual = ScheduleStats.of(store);
+
+            assertEquals(expected.getCoreCount(), actual.getCoreCount());
+            assertEquals(expected.getIoChannels(), actual.getIoChannels());
+            assertEquals(expected.getMakespan(), actual.getMakespan());
+            assertEquals(expected.getMigrations(), actual.getMigrations());
+            assertEquals(expected.getContextSwitches(), actual.getContextSwitches());
+            assertEquals(expected.getSwitchOverhead(), actual.getSwitchOverhead());
+            assertEquals(expected.getIoTime(), actual.getIoTime());
+            for (int core = 0; core < expected.getCoreCount(); core++) {
+                assertEquals(expected.getBusyTime(core), actual.getBusyTime(core), "core " + core);
+            }
+        }
+    }
+}
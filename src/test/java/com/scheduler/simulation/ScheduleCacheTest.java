@@ -0,0 +1,103 @@
+package com.scheduler.simulation;
+
+import com.scheduler.algorithms.FcfsScheduler;
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the schedule result cache.
+ */
+class ScheduleCacheTest {
+
+    private static List<ProcessModel> sample() {
+        return new ArrayList<>(Arrays.asList(
+            new ProcessModel("P1", 0, 5, 2),
+            new ProcessModel("P2", 2, 3, 1),
+            new ProcessModel("P3", 4, 1, 3)
+        ));
+    }
+
+    private static ScheduleCache.Entry entry(List<ProcessModel> workload, int segments) {
+        List<GanttSegment> list = new ArrayList<>();
+        for (int i = 0; i < segments; i++) {
+            list.add(new GanttSegment("P1", i, i + 1));
+        }
+        return new ScheduleCache.Entry(workload, list, null, null, null, new long[workload.size()],
+                new long[workload.size()], null);
+    }
+
+    @Test
+    void testFingerprintTracksWorkloadContent() {
+        List<ProcessModel> a = sample();
+        List<ProcessModel> b = sample();
+        assertEquals(ScheduleCache.fingerprint(a), ScheduleCache.fingerprint(b));
+        
+        b.get(1).setBurst(4);
+        assertNotEquals(ScheduleCache.fingerprint(a), ScheduleCache.fingerprint(b));
+        
+        // Colors and run results do not affect the schedule
+        List<ProcessModel> c = sample();
+        c.get(0).setCompletionTime(99L);
+        assertEquals(ScheduleCache.fingerprint(a), ScheduleCache.fingerprint(c));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedBySize() {
+        List<ProcessModel> workload = sample();
+        ScheduleCache cache = new ScheduleCache(3 * 160 + 100 * 48 + 3 * 160 + 100 * 48);
+        ScheduleCache.Key first = new ScheduleCache.Key(1, "FCFS", "{}");
+        ScheduleCache.Key second = new ScheduleCache.Key(2, "FCFS", "{}");
+        ScheduleCache.Key third = new ScheduleCache.Key(3, "FCFS", "{}");
+        
+        cache.put(first, entry(workload, 100));
+        cache.put(second, entry(workload, 100));
+        assertNotNull(cache.get(first, workload));
+        cache.put(third, entry(workload, 100));
+        
+        // second was least recently used
+        assertEquals(2, cache.size());
+        assertNull(cache.get(second, workload));
+        assertNotNull(cache.get(first, workload));
+        assertNotNull(cache.get(third, workload));
+    }
+
+    @Test
+    void testEntryLargerThanBudgetIsNotCached() {
+        ScheduleCache cache = new ScheduleCache(1000);
+        cache.put(new ScheduleCache.Key(1, "FCFS", "{}"), entry(sample(), 100));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void testResetAndAlgorithmSwitchReuseSchedules() {
+        Simulator simulator = new Simulator();
+        List<ProcessModel> processes = sample();
+        FcfsScheduler fcfs = new FcfsScheduler();
+        RrScheduler rr = new RrScheduler();
+        Map<String, Object> params = new HashMap<>(Map.of("quantum", 2));
+        
+        simulator.initialize(processes, fcfs, params);
+        List<GanttSegment> fcfsSegments = simulator.getState().getSegments();
+        simulator.initialize(processes, rr, params);
+        simulator.initialize(processes, fcfs, params);
+        
+        assertSame(fcfsSegments, simulator.getState().getSegments());
+        assertEquals(8, processes.get(1).getCompletionTime());
+        
+        simulator.reset();
+        assertSame(fcfsSegments, simulator.getState().getSegments());
+        
+        // A changed workload misses the cache
+        processes.get(2).setBurst(2);
+        simulator.initialize(processes, fcfs, params);
+        assertNotSame(fcfsSegments, simulator.getState().getSegments());
+        assertEquals(10, simulator.getState().getTotalTime());
+    }
+}
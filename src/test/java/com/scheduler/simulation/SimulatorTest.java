@@ -0,0 +1,45 @@
+package com.scheduler.simulation;
+
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.model.ProcessModel;
+import com.scheduler.model.SimulationState;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Schedules too long for a segment list must be kept in a store and shown at their end.
+ */
+class SimulatorTest {
+
+    @Test
+    void testLongScheduleIsKeptInStore() {
+        int burst = (int) (Simulator.STORE_THRESHOLD / 2) + 1000;
+        List<ProcessModel> processes = new ArrayList<>(List.of(
+                new ProcessModel("P1", 0, burst),
+                new ProcessModel("P2", 0, burst)));
+        Simulator simulator = new Simulator();
+        simulator.initialize(processes, new RrScheduler(), new HashMap<>(Map.of("quantum", 1)));
+        SimulationState state = simulator.getState();
+
+        assertNotNull(state.getStore());
+        assertTrue(state.getSegments().isEmpty());
+        assertTrue(state.hasSchedule());
+        assertEquals(2L * burst, state.getStore().size());
+        assertEquals(2L * burst, state.getTotalTime());
+        assertEquals(2L * burst - 1, processes.get(0).getCompletionTime());
+        assertEquals(2L * burst, processes.get(1).getCompletionTime());
+        assertEquals(2, state.getMetrics().getCompleted());
+        assertEquals(2L * burst, state.getCurrentTick());
+        assertTrue(simulator.isAtStart() && simulator.isAtEnd());
+        assertFalse(simulator.stepBackward());
+
+        // A short schedule goes back to a list that can be stepped through
+        simulator.initialize(new ArrayList<>(List.of(new ProcessModel("P1", 0, 3))), new RrScheduler(),
+                new HashMap<>(Map.of("quantum", 1)));
+        assertNull(simulator.getState().getStore());
+        assertFalse(simulator.getState().getSegments().isEmpty());
+    }
+}
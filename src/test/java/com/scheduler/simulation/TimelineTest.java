@@ -0,0 +1,186 @@
+package com.scheduler.simulation;
+
+import com.scheduler.algorithms.FcfsScheduler;
+import com.scheduler.algorithms.RrScheduler;
+import com.scheduler.algorithms.SmpScheduler;
+import com.scheduler.metrics.MetricsCollector;
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The checkpointed timeline must reproduce every tick state exactly, and its events
+ * must mark every tick where the state changes.
+ */
+class TimelineTest {
+
+    private static List<ProcessModel> workload(int n) {
+        Random random = new Random(3);
+        List<ProcessModel> processes = new ArrayList<>();
+        int arrival = 0;
+        for (int i = 0; i < n; i++) {
+            arrival += random.nextInt(3);
+            ProcessModel p = new ProcessModel("P" + i, arrival, 1 + random.nextInt(5));
+            if (random.nextBoolean()) {
+                p.setBursts(Arrays.asList(1 + random.nextInt(3), 2 + random.nextInt(4), 1 + random.nextInt(3)));
+            }
+            processes.add(p);
+        }
+        return processes;
+    }
+
+    /**
+     * Tick state computed the slow way, straight from the segments.
+     */
+    private static String bruteForce(List<GanttSegment> segments, List<ProcessModel> processes, long tick) {
+        List<GanttSegment> running = new ArrayList<>();
+        Set<String> busy = new HashSet<>();
+        for (GanttSegment seg : segments) {
+            if (seg.isIdle() || seg.isContextSwitch() || tick < seg.getStart() || tick >= seg.getEnd()) continue;
+            busy.add(seg.getPid());
+            if (!seg.isIo()) running.add(seg);
+        }
+        running.sort(Comparator.comparingInt(GanttSegment::getCore));
+        StringJoiner names = new StringJoiner(", ");
+        running.forEach(seg -> names.add(seg.getPid()));
+
+        List<ProcessModel> byArrival = new ArrayList<>(processes);
+        byArrival.sort(Comparator.comparingLong(ProcessModel::getArrival));
+        List<String> ready = new ArrayList<>();
+        for (ProcessModel p : byArrival) {
+            if (p.getArrival() <= tick && p.getCompletionTime() > tick && !busy.contains(p.getId())) {
+                ready.add(p.getId());
+            }
+        }
+        return (running.isEmpty() ? null : names.toString()) + " " + ready;
+    }
+
+    private static String describe(Simulator.TickState state) {
+        return state.runningProcess + " " + state.readyQueue;
+    }
+
+    private static long applyTimes(List<GanttSegment> segments, List<ProcessModel> processes) {
+        MetricsCollector collector = new MetricsCollector(processes);
+        segments.forEach(collector);
+        collector.applyTimes();
+        return collector.finish().getMakespan();
+    }
+
+    private static void assertMatches(List<GanttSegment> segments, List<ProcessModel> processes, long budget) {
+        int lastTick = (int) applyTimes(segments, processes);
+        Timeline timeline = new Timeline(segments, processes, lastTick, budget);
+        
+        // Forward, then backward, then random jumps
+        for (int tick = 0; tick <= lastTick; tick++) {
+            assertEquals(bruteForce(segments, processes, tick), describe(timeline.stateAt(tick)), "tick " + tick);
+        }
+        for (int tick = lastTick; tick >= 0; tick--) {
+            assertEquals(bruteForce(segments, processes, tick), describe(timeline.stateAt(tick)), "tick " + tick);
+        }
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            int tick = random.nextInt(lastTick + 1);
+            assertEquals(bruteForce(segments, processes, tick), describe(timeline.stateAt(tick)), "tick " + tick);
+        }
+    }
+
+    @Test
+    void testMatchesSegmentsOnOneCore() {
+        List<ProcessModel> processes = workload(120);
+        List<GanttSegment> segments = new RrScheduler().schedule(processes, Map.of("quantum", 2, "ioChannels", 2));
+        assertMatches(segments, processes, 1 << 20);
+    }
+
+    @Test
+    void testMatchesSegmentsOnManyCores() {
+        List<ProcessModel> processes = workload(200);
+        List<GanttSegment> segments = new SmpScheduler().schedule(processes, Map.of("cores", 3, "quantum", 2));
+        assertMatches(segments, processes, 1 << 20);
+    }
+
+    @Test
+    void testTightBudgetWidensInterval() {
+        List<ProcessModel> processes = workload(300);
+        List<GanttSegment> segments = new RrScheduler().schedule(processes, Map.of("quantum", 1));
+        long lastTick = applyTimes(segments, processes);
+        
+        Timeline roomy = new Timeline(segments, processes, lastTick, 1 << 24);
+        Timeline tight = new Timeline(segments, processes, lastTick, 4096);
+        assertTrue(tight.getInterval() > roomy.getInterval());
+        assertTrue(tight.getCheckpointBytes() <= 4096);
+        
+        assertMatches(segments, processes, 4096);
+    }
+
+    @Test
+    void testOutstandingProcessesDoNotWidenInterval() {
+        // Everything arrives at once, so hundreds of processes wait at every checkpoint
+        List<ProcessModel> processes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            processes.add(new ProcessModel("P" + i, 0, 1 + i % 3));
+        }
+        List<GanttSegment> segments = new FcfsScheduler().schedule(processes, Map.of());
+        long lastTick = applyTimes(segments, processes);
+
+        Timeline timeline = new Timeline(segments, processes, lastTick, 8192);
+        assertEquals(16, timeline.getInterval());
+        assertTrue(timeline.getCheckpointBytes() <= 8192);
+
+        assertMatches(segments, processes, 8192);
+    }
+
+    @Test
+    void testEventsMarkEveryChange() {
+        List<ProcessModel> processes = workload(150);
+        List<GanttSegment> segments = new SmpScheduler().schedule(processes,
+                Map.of("cores", 2, "quantum", 3, "ioChannels", 1));
+        int lastTick = (int) applyTimes(segments, processes);
+        Timeline timeline = new Timeline(segments, processes, lastTick, 1 << 20);
+        assertTrue(timeline.getEventCount() <= lastTick + 1);
+
+        // Walking the events visits every tick where the state differs from the one before
+        long event = 0;
+        for (int tick = 1; tick <= lastTick; tick++) {
+            boolean changed = !bruteForce(segments, processes, tick).equals(bruteForce(segments, processes, tick - 1));
+            if (changed) {
+                assertEquals(tick, timeline.nextEvent(event), "change at " + tick);
+                event = tick;
+            }
+        }
+        assertEquals(-1, timeline.nextEvent(lastTick));
+
+        // Backward steps retrace the same events
+        long back = lastTick;
+        while (back > 0) {
+            long previous = timeline.previousEvent(back);
+            assertTrue(previous < back);
+            assertEquals(back, timeline.nextEvent(previous));
+            back = previous;
+        }
+        assertEquals(-1, timeline.previousEvent(0));
+    }
+
+    @Test
+    void testSparseTimeBeyondIntRange() {
+        List<ProcessModel> processes = new ArrayList<>();
+        processes.add(new ProcessModel("P1", 0, 2_000_000_000));
+        processes.add(new ProcessModel("P2", 1_000_000_000L, 2_000_000_000));
+        processes.add(new ProcessModel("P3", 5_000_000_000L, 1_000_000_000));
+        List<GanttSegment> segments = new FcfsScheduler().schedule(processes, Map.of());
+        long lastTick = applyTimes(segments, processes);
+        assertEquals(6_000_000_000L, lastTick);
+        assertEquals(4_000_000_000L, processes.get(1).getCompletionTime());
+
+        Timeline timeline = new Timeline(segments, processes, lastTick, 1 << 20);
+        assertEquals(6, timeline.getEventCount());
+        assertEquals(2_000_000_000L, timeline.nextEvent(1_500_000_000L));
+        assertEquals("P2 []", describe(timeline.stateAt(3_999_999_999L)));
+        assertEquals("null []", describe(timeline.stateAt(4_500_000_000L)));
+        assertEquals("P3 []", describe(timeline.stateAt(5_000_000_000L)));
+        assertEquals("P1 [P2]", describe(timeline.stateAt(1_000_000_000L)));
+    }
+}
@@ -0,0 +1,41 @@
+package com.scheduler.util;
+
+import com.google.gson.JsonParseException;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports must refuse process ids that would be taken for idle or switch segments.
+ */
+class JsonIOTest {
+
+    @Test
+    void testReservedIdsAreRejected() {
+        for (String id : List.of("idle", "switch")) {
+            String json = "[{\"id\":\"" + id + "\",\"arrival\":0,\"burst\":3}]";
+            JsonParseException e = assertThrows(JsonParseException.class,
+                    () -> JsonIO.readProcesses(new StringReader(json)));
+            assertTrue(e.getMessage().contains("reserved"), e.getMessage());
+        }
+        assertEquals(1, JsonIO.readProcesses(new StringReader("[{\"id\":\"idler\",\"arrival\":0,\"burst\":3}]"))
+                .size());
+    }
+
+    @Test
+    void testReservedIdsAreRejectedInBinaryWorkloads() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryIO.writeProcesses(List.of(new ProcessModel("switch", 0, 3)), out);
+
+        IOException e = assertThrows(IOException.class,
+                () -> BinaryIO.readProcesses(new ByteArrayInputStream(out.toByteArray())));
+        assertTrue(e.getMessage().contains("reserved"), e.getMessage());
+    }
+}
@@ -0,0 +1,140 @@
+package com.scheduler.workload;
+
+import com.scheduler.model.GanttSegment;
+import com.scheduler.model.ProcessModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same trace in ftrace and perf formats must import to the same workload and reference schedule.
+ */
+class TraceImporterTest {
+
+    private static final String FTRACE = """
+            # tracer: nop
+            #
+                      <idle>-0       [000] d..2.   100.000000: sched_switch: prev_comm=swapper/0 prev_pid=0 prev_prio=120 prev_state=R ==> next_comm=bash next_pid=100 next_prio=120
+                        bash-100     [000] d..3.   100.000005: sched_wakeup: comm=Web Content pid=200 prio=120 target_cpu=001
+                      <idle>-0       [001] d..2.   100.000006: sched_switch: prev_comm=swapper/1 prev_pid=0 prev_prio=120 prev_state=R ==> next_comm=Web Content next_pid=200 next_prio=120
+                        bash-100     [000] d..2.   100.000010: sched_switch: prev_comm=bash prev_pid=100 prev_prio=120 prev_state=S ==> next_comm=swapper/0 next_pid=0 next_prio=120
+                      <idle>-0       [000] dNh3.   100.000014: sched_wakeup: comm=bash pid=100 prio=120 target_cpu=001
+                 Web Content-200     [001] d..2.   100.000016: sched_switch: prev_comm=Web Content prev_pid=200 prev_prio=120 prev_state=R+ ==> next_comm=bash next_pid=100 next_prio=120
+                      <idle>-0       [000] d..2.   100.000020: sched_switch: prev_comm=swapper/0 prev_pid=0 prev_prio=120 prev_state=R ==> next_comm=Web Content next_pid=200 next_prio=120
+                        bash-100     [001] d..2.   100.000025: sched_switch: prev_comm=bash prev_pid=100 prev_prio=120 prev_state=X ==> next_comm=swapper/1 next_pid=0 next_prio=120
+                 Web Content-200     [000] d..2.   100.000030: sched_switch: prev_comm=Web Content prev_pid=200 prev_prio=120 prev_state=S ==> next_comm=swapper/0 next_pid=0 next_prio=120
+            """;
+
+    private static final String PERF = """
+                     swapper     0 [000]   100.000000:       sched:sched_switch: swapper/0:0 [120] R ==> bash:100 [120]
+                        bash   100 [000]   100.000005:       sched:sched_wakeup: Web Content:200 [120] success=1 CPU:001
+                     swapper     0 [001]   100.000006:       sched:sched_switch: swapper/1:0 [120] R ==> Web Content:200 [120]
+                        bash   100 [000]   100.000010:       sched:sched_switch: bash:100 [120] S ==> swapper/0:0 [120]
+                     swapper     0 [000]   100.000014:       sched:sched_wakeup: bash:100 [120] success=1 CPU:001
+                 Web Content   200 [001]   100.000016:       sched:sched_switch: Web Content:200 [120] R+ ==> bash:100 [120]
+                     swapper     0 [000]   100.000020:       sched:sched_switch: swapper/0:0 [120] R ==> Web Content:200 [120]
+                        bash   100 [001]   100.000025:       sched:sched_switch: bash:100 [120] X ==> swapper/1:0 [120]
+                 Web Content   200 [000]   100.000030:       sched:sched_switch: Web Content:200 [120] S ==> swapper/0:0 [120]
+            """;
+
+    private record Imported(List<ProcessModel> processes, List<GanttSegment> reference) {
+    }
+
+    /**
+     * Import through a stream that returns a few bytes per read, so lines straddle reads.
+     */
+    private static Imported importTrace(String trace, int maxBursts) throws IOException {
+        List<ProcessModel> processes = new ArrayList<>();
+        List<GanttSegment> reference = new ArrayList<>();
+        TraceImporter importer = new TraceImporter(processes::add, reference::add);
+        importer.setMaxBursts(maxBursts);
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(trace.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        importer.read(in);
+        importer.finish();
+        processes.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return new Imported(processes, reference);
+    }
+
+    private static String describe(List<GanttSegment> segments) {
+        List<String> parts = new ArrayList<>();
+        for (GanttSegment seg : segments) {
+            parts.add(seg.toString());
+        }
+        parts.sort(null);
+        return parts.toString();
+    }
+
+    @Test
+    void testFtraceBecomesBurstCycles() throws IOException {
+        Imported imported = importTrace(FTRACE, 1025);
+        assertEquals(2, imported.processes().size());
+
+        ProcessModel bash = imported.processes().get(1);
+        assertEquals("bash-100", bash.getId());
+        assertEquals(0, bash.getArrival());
+        assertEquals(List.of(10, 4, 9), bash.getBursts());
+
+        // Preempted runs on two CPUs add up to one CPU burst
+        ProcessModel web = imported.processes().get(0);
+        assertEquals("Web Content-200", web.getId());
+        assertEquals(5, web.getArrival());
+        assertEquals(List.of(20), web.getBursts());
+
+        assertEquals(describe(List.of(
+                new GanttSegment("bash-100", 0, 10, 0),
+                new GanttSegment("idle", 10, 20, 0),
+                new GanttSegment("Web Content-200", 20, 30, 0),
+                new GanttSegment("Web Content-200", 6, 16, 1),
+                new GanttSegment("bash-100", 16, 25, 1),
+                new GanttSegment("idle", 25, 30, 1))), describe(imported.reference()));
+    }
+
+    @Test
+    void testPerfMatchesFtrace() throws IOException {
+        Imported ftrace = importTrace(FTRACE, 1025);
+        Imported perf = importTrace(PERF, 1025);
+        assertEquals(ftrace.processes().size(), perf.processes().size());
+        for (int i = 0; i < ftrace.processes().size(); i++) {
+            assertTrue(ftrace.processes().get(i).sameWorkAs(perf.processes().get(i)), "process " + i);
+        }
+        assertEquals(describe(ftrace.reference()), describe(perf.reference()));
+    }
+
+    @Test
+    void testLongCyclesAreSplit() throws IOException {
+        StringBuilder trace = new StringBuilder();
+        long t = 0;
+        for (int i = 0; i < 3; i++) {
+            trace.append(String.format("w-1 [000] d..2. 1.%06d: sched_switch: prev_comm=swapper/0 prev_pid=0 "
+                    + "prev_prio=120 prev_state=R ==> next_comm=w next_pid=1 next_prio=120%n", t));
+            t += 2;
+            trace.append(String.format("w-1 [000] d..2. 1.%06d: sched_switch: prev_comm=w prev_pid=1 "
+                    + "prev_prio=120 prev_state=D ==> next_comm=swapper/0 next_pid=0 next_prio=120%n", t));
+            t += 3;
+            trace.append(String.format("w-1 [000] d..2. 1.%06d: sched_wakeup: comm=w pid=1 prio=120 "
+                    + "target_cpu=000%n", t));
+        }
+
+        Imported imported = importTrace(trace.toString(), 3);
+        assertEquals(2, imported.processes().size());
+        assertEquals("w-1", imported.processes().get(0).getId());
+        assertEquals(List.of(2, 3, 2), imported.processes().get(0).getBursts());
+        // The third run continues as a new process arriving at its wakeup
+        assertEquals("w-1#2", imported.processes().get(1).getId());
+        assertEquals(10, imported.processes().get(1).getArrival());
+        assertEquals(List.of(2), imported.processes().get(1).getBursts());
+    }
+}
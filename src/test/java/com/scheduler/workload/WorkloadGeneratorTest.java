@@ -0,0 +1,112 @@
+package com.scheduler.workload;
+
+import com.scheduler.model.ProcessModel;
+import com.scheduler.util.JsonIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The generator must be reproducible from its seed alone and follow the requested distributions.
+ */
+class WorkloadGeneratorTest {
+
+    private static String describe(WorkloadSpec spec, int chunkSize, long count) {
+        StringBuilder sb = new StringBuilder();
+        new WorkloadGenerator(spec, chunkSize).generate(count, (index, arrival, burst, priority) ->
+                sb.append(index).append(':').append(arrival).append(',').append(burst)
+                        .append(',').append(priority).append(';'));
+        return sb.toString();
+    }
+
+    @Test
+    void testSameSeedSameWorkloadOnAnyThreadCount() {
+        WorkloadSpec spec = WorkloadSpec.fromParams(Map.of("seed", "42", "arrivals", "mmpp", "bursts", "pareto"));
+        spec.setThreads(1);
+        String single = describe(spec, 1000, 25_000);
+        spec.setThreads(4);
+        assertEquals(single, describe(spec, 1000, 25_000));
+
+        spec.setSeed(43);
+        assertNotEquals(single, describe(spec, 1000, 25_000));
+    }
+
+    @Test
+    void testDistributionMeans() {
+        int n = 200_000;
+        for (String bursts : List.of("exponential", "lognormal", "pareto")) {
+            WorkloadSpec spec = WorkloadSpec.fromParams(Map.of("bursts", bursts, "meanBurst", "50", "rate", "0.25"));
+            long[] sums = new long[3];
+            long[] lastArrival = {-1};
+            new WorkloadGenerator(spec, 4096).generate(n, (index, arrival, burst, priority) -> {
+                assertTrue(arrival >= lastArrival[0], "arrivals must not go back in time");
+                lastArrival[0] = arrival;
+                sums[0] += burst;
+                assertTrue(priority >= 1 && priority <= 5);
+                if (priority == 1) sums[1]++;
+                if (priority == 5) sums[2]++;
+            });
+            double meanBurst = (double) sums[0] / n;
+            // Pareto converges slowly, so its tolerance is wider
+            assertEquals(50, meanBurst, bursts.equals("pareto") ? 5 : 1.5, bursts);
+            assertEquals(n / 0.25, lastArrival[0], n / 0.25 * 0.02, bursts);
+            // Zipf with exponent 1 over 5 levels: level 1 is five times as common as level 5
+            assertEquals(5.0, (double) sums[1] / sums[2], 0.3, bursts);
+        }
+    }
+
+    @Test
+    void testMmppArrivalsAreBursty() {
+        WorkloadSpec poisson = WorkloadSpec.fromParams(Map.of("rate", "0.1"));
+        WorkloadSpec mmpp = WorkloadSpec.fromParams(Map.of("arrivals", "mmpp", "rate", "0.1",
+                "burstFactor", "20", "calmLength", "5000", "burstLength", "500"));
+        assertTrue(gapVariation(mmpp) > 1.5 * gapVariation(poisson));
+    }
+
+    /**
+     * Coefficient of variation of the arrival gaps, 1 for a Poisson process.
+     */
+    private static double gapVariation(WorkloadSpec spec) {
+        double[] stats = new double[3];
+        long[] last = {0};
+        new WorkloadGenerator(spec).generate(100_000, (index, arrival, burst, priority) -> {
+            double gap = arrival - last[0];
+            last[0] = arrival;
+            stats[0]++;
+            stats[1] += gap;
+            stats[2] += gap * gap;
+        });
+        double mean = stats[1] / stats[0];
+        return Math.sqrt(stats[2] / stats[0] - mean * mean) / mean;
+    }
+
+    @Test
+    void testJsonOutputMatchesInMemoryWorkload(@TempDir Path dir) throws Exception {
+        WorkloadSpec spec = WorkloadSpec.fromParams(Map.of("seed", "7", "bursts", "lognormal", "threads", "3"));
+        WorkloadGenerator generator = new WorkloadGenerator(spec, 100);
+        List<ProcessModel> expected = generator.generate(1_000);
+
+        File file = dir.resolve("workload.json").toFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            generator.writeJson(1_000, out);
+        }
+        List<ProcessModel> imported = JsonIO.importProcesses(file);
+        assertEquals(expected.size(), imported.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).sameWorkAs(imported.get(i)), "process " + i);
+        }
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        generator.writeJson(0, empty);
+        assertEquals("[\n]\n", empty.toString());
+    }
+}